@@ -3,19 +3,57 @@ package org.example;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.geneticAlgorithm.migration.IslandCoordinator;
+import org.example.geneticAlgorithm.migration.IslandWorker;
 import org.example.geneticAlgorithm.parameter.HyperparameterSearch;
+import org.example.geneticAlgorithm.solver.AnytimeSolver;
+import org.example.geneticAlgorithm.solver.BestSolution;
+import org.example.geneticAlgorithm.solver.SolverBudget;
+import org.example.simulatedAnnealing.SimulatedAnnealing;
+import org.example.tabuSearch.TabuSearch;
+import org.example.utils.ConfigHelper;
 
 import java.io.File;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.example.utils.FileHelper.deleteFolderContents;
 
 public class App
 {
+    // a stopped anytime run still writes its reports, the process waits for them this long
+    private static final long ANYTIME_SHUTDOWN_WAIT_SECONDS = 60;
+
     public static void main( String[] args )
     {
         long startTime = System.currentTimeMillis();
         final Logger logger = LogManager.getLogger(App.class);
 
+        // --island-worker [host] : run one island of a coordinator (127.0.0.1, where it listens by default, see ISLAND_BIND_ADDRESS),
+        // graphs and experiments belong to the coordinator
+        int islandPort = Integer.parseInt(ConfigHelper.getProperty("ISLAND_PORT"));
+        if (args.length > 0 && args[0].equals("--island-worker")) {
+            String host = args.length > 1 ? args[1] : "127.0.0.1";
+            logger.info("Island worker started, coordinator: " + host + ":" + islandPort);
+            new IslandWorker(host, islandPort).run();
+            logger.info("Island worker finished in " + (System.currentTimeMillis() - startTime) / 1000 + " seconds");
+            return;
+        }
+
+        // --resume <checkpoint> : continue a run from its checkpoint, score files of the run are kept and appended to
+        if (args.length > 0 && args[0].equals("--resume")) {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("--resume needs the path of a checkpoint");
+            }
+            logger.info("Genetic Algorithm is resumed from " + args[1]);
+            new GeneticAlgorithm().resume(Paths.get(args[1]), false, 0);
+            logger.info("Resumed Genetic Algorithm finished in " + (System.currentTimeMillis() - startTime) / 1000 + " seconds");
+            return;
+        }
+
         String graphsFolderPath = "graphs/";
         deleteFolderContents(new File(graphsFolderPath));
         String experimentsFolderPath = "experiments/";
@@ -55,8 +93,20 @@ public class App
 //        }
 
         logger.info("Genetic Algorithm with best parameters has started....");
-        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm();
-        geneticAlgorithm.algorithm(false, 0);
+        if (args.length > 0 && args[0].equals("--island-coordinator")) {
+            // islands are the worker processes started with --island-worker
+            new IslandCoordinator(islandPort, Integer.parseInt(ConfigHelper.getProperty("ISLAND_COUNT"))).algorithm(false, 0);
+        } else if (args.length > 0 && args[0].equals("--simulated-annealing")) {
+            // one solution improved by simulated annealing instead of a population, same data and reports
+            new SimulatedAnnealing(new GeneticAlgorithm()).algorithm(false, 0);
+        } else if (args.length > 0 && args[0].equals("--tabu-search")) {
+            new TabuSearch(new GeneticAlgorithm()).algorithm(false, 0);
+        } else if (Boolean.parseBoolean(ConfigHelper.getProperty("ANYTIME_SOLVER"))) {
+            anytimeSolver(logger);
+        } else {
+            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm();
+            geneticAlgorithm.algorithm(false, 0);
+        }
         logger.info("Genetic Algorithm with best parameters has ended.");
 
         long endTime = System.currentTimeMillis();
@@ -68,4 +118,38 @@ public class App
 
     }
 
+    private static void anytimeSolver(Logger logger) {
+        // ANYTIME_SOLVER=true : the run stops at TIME_BUDGET_SECONDS or TARGET_FITNESS_SCORE, and also when the process
+        // is stopped (Ctrl+C), then it ends with the best schedule found so far and its reports instead of being killed
+        AnytimeSolver anytimeSolver = new AnytimeSolver(new GeneticAlgorithm(),
+                Long.parseLong(ConfigHelper.getProperty("TIME_BUDGET_SECONDS")) * 1000,
+                SolverBudget.targetScore(ConfigHelper.getProperty("TARGET_FITNESS_SCORE")));
+        Future<double[]> run = anytimeSolver.start(false, 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (run.isDone()) {
+                return;
+            }
+            logger.info("Anytime solver is stopped, waiting for the reports of the best schedule so far.");
+            anytimeSolver.cancel();
+            try {
+                run.get(ANYTIME_SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                logger.warn("Anytime solver did not finish its reports: " + e);
+            }
+        }, "anytime-solver-shutdown"));
+        try {
+            run.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the anytime solver", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Anytime solver failed", e.getCause());
+        }
+        BestSolution best = anytimeSolver.getBest();
+        if (best != null) {
+            logger.info("Best fitness score of the anytime solver: " + best.getFitnessScore() + " at generation " + best.getGeneration()
+                    + ", found after " + best.getElapsedMillis() + " ms");
+        }
+    }
+
 }
@@ -10,7 +10,7 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class RandomDataGenerator {
     /*
@@ -41,7 +41,6 @@ public class RandomDataGenerator {
     * */
 
     private static final Logger logger = LogManager.getLogger(RandomDataGenerator.class);
-    private static final Random random = new Random();
     public static HashMap<String, HashMap<String, ArrayList<Object>>> combineAllData() {
         //Step 1,2,3
 
@@ -79,7 +78,7 @@ public class RandomDataGenerator {
         return result;
     }
 
-    public static ArrayList<Course> generateCourseInstances(HashMap<String, ArrayList<Object>> courseData) {
+    public static ArrayList<Course> generateCourseInstances(HashMap<String, ArrayList<Object>> courseData, SplittableRandom random) {
         // create Course instances
         ArrayList<Course> courses = new ArrayList<>();
         for (HashMap.Entry<String, ArrayList<Object>> entry : courseData.entrySet()) {
@@ -101,7 +100,7 @@ public class RandomDataGenerator {
         return courses;
     }
 
-    public static ArrayList<Invigilator> generateInvigilatorInstances(HashMap<String, ArrayList<Object>> invigilatorData) {
+    public static ArrayList<Invigilator> generateInvigilatorInstances(HashMap<String, ArrayList<Object>> invigilatorData, SplittableRandom random) {
         // create Invigilator instances
         ArrayList<Invigilator> invigilators = new ArrayList<>();
         for (HashMap.Entry<String, ArrayList<Object>> entry : invigilatorData.entrySet()) {
@@ -118,7 +117,7 @@ public class RandomDataGenerator {
         return invigilators;
     }
 
-    public static ArrayList<Classroom> generateClassroomInstances(HashMap<String, ArrayList<Object>> classroomData) {
+    public static ArrayList<Classroom> generateClassroomInstances(HashMap<String, ArrayList<Object>> classroomData, SplittableRandom random) {
         // create Classroom instances
         ArrayList<Classroom> classrooms = new ArrayList<>();
         for (HashMap.Entry<String, ArrayList<Object>> entry : classroomData.entrySet()) {
@@ -137,7 +136,7 @@ public class RandomDataGenerator {
         return classrooms;
     }
 
-    public static ArrayList<Student> generateStudentInstances(HashMap<String, ArrayList<Object>> studentData) {
+    public static ArrayList<Student> generateStudentInstances(HashMap<String, ArrayList<Object>> studentData, SplittableRandom random) {
         // create Invigilator instances
         ArrayList<Student> students = new ArrayList<>();
         for (HashMap.Entry<String, ArrayList<Object>> entry : studentData.entrySet()) {
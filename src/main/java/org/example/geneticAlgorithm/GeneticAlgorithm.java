@@ -4,11 +4,26 @@ import lombok.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.dataPreprocessing.RandomDataGenerator;
+import org.example.geneticAlgorithm.checkpoint.Checkpoint;
+import org.example.geneticAlgorithm.checkpoint.CheckpointFile;
+import org.example.geneticAlgorithm.checkpoint.CheckpointWriter;
+import org.example.geneticAlgorithm.checkpoint.ProblemData;
+import org.example.geneticAlgorithm.constraints.ConstraintPipeline;
+import org.example.geneticAlgorithm.constraints.ConstraintRegistry;
+import org.example.geneticAlgorithm.evaluation.FitnessSharing;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitness;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitnessStates;
+import org.example.geneticAlgorithm.evaluation.PopulationEvaluator;
 import org.example.geneticAlgorithm.operators.*;
+import org.example.geneticAlgorithm.solver.BestSoFar;
+import org.example.geneticAlgorithm.solver.SolverBudget;
 import org.example.models.*;
 import org.example.utils.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
@@ -36,6 +51,20 @@ public class GeneticAlgorithm {
     private ArrayList<Chromosome> population = new ArrayList<>();
     private ArrayList<HashMap<String, ArrayList<?>>> populationForVisualization = new ArrayList<>();
     private Schedule schedule;
+    private ProblemInstance problemInstance;
+    private HolidayCalendar holidayCalendar;
+    private PopulationEvaluator populationEvaluator;
+    private FitnessSharing fitnessSharing;
+    private IncrementalFitnessStates incrementalFitnessStates;
+    private boolean incrementalFitness = Boolean.parseBoolean(ConfigHelper.getProperty("INCREMENTAL_FITNESS"));
+    // BOUNDED_FITNESS=true skips soft constraints of chromosomes that can not reach the elite threshold
+    private boolean boundedFitness = Boolean.parseBoolean(ConfigHelper.getProperty("BOUNDED_FITNESS"));
+    private double eliteThreshold = Double.NEGATIVE_INFINITY;
+    // PACKED_CHROMOSOME=true keeps the genes of the population in arrays ordered by course (PackedChromosome)
+    private boolean packedChromosome = Boolean.parseBoolean(ConfigHelper.getProperty("PACKED_CHROMOSOME"));
+    // packed genes of replaced chromosomes are reused by the next crossover, CHROMOSOME_POOL_SIZE=0 turns it off
+    private int chromosomePoolSize = Integer.parseInt(ConfigHelper.getProperty("CHROMOSOME_POOL_SIZE"));
+    private ChromosomePool chromosomePool;
     private LocalDate startDate;
     private LocalDate endDate;
     private LocalTime startTime;
@@ -53,24 +82,60 @@ public class GeneticAlgorithm {
     private ArrayList<EncodedExam> encodedExamArrayList = new ArrayList<>();
     private long chromosomeIdCounter = 0;
     private int maxGeneration = Integer.parseInt(ConfigHelper.getProperty("MAX_GENERATIONS"));
+    private int toleratedGenerationsWithoutImprovement = Integer.parseInt(ConfigHelper.getProperty("GENERATIONS_WITHOUT_IMPROVEMENT"));
     private double lowMutationRate = Double.parseDouble(ConfigHelper.getProperty("LOW_MUTATION_RATE"));
     private double highMutationRate = Double.parseDouble(ConfigHelper.getProperty("HIGH_MUTATION_RATE"));
     private double crossoverRate = Double.parseDouble(ConfigHelper.getProperty("CROSSOVER_RATE"));
+    private double elitismPercent = Double.parseDouble(ConfigHelper.getProperty("ELITISM_PERCENT"));
     private boolean isStable = false;
+    private int generationsWithUnderImprovementThreshold;
+    private int generationsWithoutImprovement;
+    // score rows of the last calculateFitness, in population order
+    private ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
+    private ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
+    private ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+    // ISLAND_COUNT > 1 evolves sub-populations with migration (IslandModel)
+    private int islandCount = Integer.parseInt(ConfigHelper.getProperty("ISLAND_COUNT"));
+    // STEADY_STATE=true replaces a few chromosomes per step instead of generations (SteadyStateModel)
+    private boolean steadyState = Boolean.parseBoolean(ConfigHelper.getProperty("STEADY_STATE"));
+    // ASYNC_PIPELINE=true runs SteadyStateModel with children evaluated on worker threads while the next ones are bred
+    private boolean asyncPipeline = Boolean.parseBoolean(ConfigHelper.getProperty("ASYNC_PIPELINE"));
+    // CHECKPOINT_INTERVAL > 0 writes the state of the generational run to CHECKPOINT_PATH every CHECKPOINT_INTERVAL generations
+    private int checkpointInterval = Integer.parseInt(ConfigHelper.getProperty("CHECKPOINT_INTERVAL"));
+    private CheckpointWriter checkpointWriter;
+    // MEMETIC_INTERVAL > 0 runs a local search on the best MEMETIC_ELITE_COUNT chromosomes every MEMETIC_INTERVAL generations,
+    // with at most MEMETIC_MOVE_BUDGET moves in the generation (LocalSearch)
+    private int memeticInterval = Integer.parseInt(ConfigHelper.getProperty("MEMETIC_INTERVAL"));
+    private int memeticEliteCount = Integer.parseInt(ConfigHelper.getProperty("MEMETIC_ELITE_COUNT"));
+    private int memeticMoveBudget = Integer.parseInt(ConfigHelper.getProperty("MEMETIC_MOVE_BUDGET"));
+    private LocalSearch localSearch;
+    // stream of this run, operators, islands and the data generator get streams split from it (RandomService)
+    private SplittableRandom random = RandomService.split();
+    // seed of the generations of the generational run, every generation starts its streams from it (reseed)
+    private long generationsSeed;
+    // streams of fitness sharing and local search of the current generation
+    private SplittableRandom sharingRandom;
+    private SplittableRandom localSearchRandom;
+    // TIME_BUDGET_SECONDS > 0 and TARGET_FITNESS_SCORE stop the run early, AnytimeSolver sets its own budget (and cancels it)
+    private SolverBudget budget = new SolverBudget(Long.parseLong(ConfigHelper.getProperty("TIME_BUDGET_SECONDS")) * 1000,
+            SolverBudget.targetScore(ConfigHelper.getProperty("TARGET_FITNESS_SCORE")));
+    // best chromosome found so far, a snapshot other threads can read while the run goes on
+    private BestSoFar bestSoFar = new BestSoFar();
 
 
     public void generateData() {
         HashMap<String, HashMap<String, ArrayList<Object>>> randomData = RandomDataGenerator.combineAllData();
-        this.courses = RandomDataGenerator.generateCourseInstances(randomData.get("courseData"));
+        SplittableRandom dataRandom = random.split();
+        this.courses = RandomDataGenerator.generateCourseInstances(randomData.get("courseData"), dataRandom);
         //this.courses = new ArrayList<>(courses.subList(0, Math.min(Integer.parseInt(ConfigHelper.getProperty("COURSE_COUNT")), courses.size())));
 
-        this.invigilators = RandomDataGenerator.generateInvigilatorInstances(randomData.get("invigilatorData"));
+        this.invigilators = RandomDataGenerator.generateInvigilatorInstances(randomData.get("invigilatorData"), dataRandom);
         this.invigilators = new ArrayList<>(invigilators.subList(0, Math.min(Integer.parseInt(ConfigHelper.getProperty("INVIGILATOR_COUNT")), invigilators.size())));
 
-        this.classrooms = RandomDataGenerator.generateClassroomInstances(randomData.get("classroomData"));
+        this.classrooms = RandomDataGenerator.generateClassroomInstances(randomData.get("classroomData"), dataRandom);
         //this.classrooms = new ArrayList<>(classrooms.subList(0, Math.min(Integer.parseInt(ConfigHelper.getProperty("CLASSROOM_COUNT")), classrooms.size())));
 
-        this.students = RandomDataGenerator.generateStudentInstances(randomData.get("studentData"));
+        this.students = RandomDataGenerator.generateStudentInstances(randomData.get("studentData"), dataRandom);
         this.students = new ArrayList<>(students.subList(0, Math.min(Integer.parseInt(ConfigHelper.getProperty("STUDENT_COUNT")), students.size())));
 
         this.startDate = LocalDate.parse(ConfigHelper.getProperty("START_DATE"));
@@ -78,14 +143,11 @@ public class GeneticAlgorithm {
         this.startTime = LocalTime.parse(ConfigHelper.getProperty("START_TIME"));
         this.endTime = LocalTime.parse(ConfigHelper.getProperty("END_TIME"));
         this.interval = Integer.parseInt(ConfigHelper.getProperty("TIME_SLOT_INTERVAL"));
-        this.schedule = RandomDataGenerator.generateSchedule(startDate, endDate, startTime, endTime, interval);
-        this.timeslots = schedule.calculateTimeSlots();
 
         logger.debug("Number of Students: " + students.size());
         logger.debug("Number of Classroom: " + classrooms.size());
         logger.debug("Number of invigilators: " + invigilators.size());
         logger.debug("Number of courses: " + courses.size());
-        logger.debug("Number of timeslots: " + schedule.calculateMaxTimeSlots());
 
         HashMap<String, ArrayList<?>> resultCoursesStudents = Initialization.heuristicMapCoursesWithStudents(this.courses, this.students);
         this.courses = DataStructureHelper.castArrayList(resultCoursesStudents.get("courses"), Course.class);
@@ -96,38 +158,52 @@ public class GeneticAlgorithm {
         if (!holidaysFile.exists()) {
             FileHelper.saveHolidaysToFile();
         }
+        // holidays are read once for the whole run
+        prepareData(FileHelper.loadHolidaysFromFile());
+    }
 
+    public void prepareData(Set<LocalDate> holidays) {
+        // timeslots, holidays and the problem instance of the data that is set, island workers receive the data from the coordinator
+        this.schedule = RandomDataGenerator.generateSchedule(startDate, endDate, startTime, endTime, interval);
+        this.timeslots = schedule.calculateTimeSlots();
+        logger.debug("Number of timeslots: " + schedule.calculateMaxTimeSlots());
+        this.holidayCalendar = new HolidayCalendar(startDate, endDate, holidays);
+
+        // enrolment, classrooms and invigilators do not change during the run
+        this.problemInstance = new ProblemInstance(courses, classrooms, invigilators, students, startDate, endDate, startTime, endTime, interval, holidayCalendar);
     }
 
     public ArrayList<Chromosome> initializationAndEncode() {
-        int populationSize = Integer.parseInt(ConfigHelper.getProperty("POPULATION_SIZE"));
-        for (int i = 0; i < populationSize; i++) {
+        return initializationAndEncode(populationSize);
+    }
+
+    private ArrayList<Chromosome> initializationAndEncode(int chromosomeCount) {
+        ArrayList<Timeslot> openTimeslots = Initialization.removeBlockedDays(timeslots, holidayCalendar);
+        for (int i = 0; i < chromosomeCount; i++) {
 
             logger.debug("Population " + i);
 
             HashMap<String, ArrayList<?>> resultExams = Initialization.createExamInstances(this.courses);
             this.exams = DataStructureHelper.castArrayList(resultExams.get("exams"), Exam.class);
             logger.debug("createExamInstances finished.");
-            Random rand = new Random();
-
-            Collections.shuffle(this.exams, new Random(rand.nextInt(10000)));
-            Collections.shuffle(this.invigilators, new Random(rand.nextInt(10000)));
-            Collections.shuffle(this.classrooms, new Random(rand.nextInt(10000)));
+            RandomService.shuffle(this.exams, random);
+            RandomService.shuffle(this.invigilators, random);
+            RandomService.shuffle(this.classrooms, random);
 
-            HashMap<String, ArrayList<?>> resultCoursesInvigilators = Initialization.heuristicMapExamsWithInvigilators(exams, invigilators);
-            //HashMap<String, ArrayList<?>> resultCoursesInvigilators = Initialization.randomMapExamsWithInvigilators(exams, invigilators);
+            HashMap<String, ArrayList<?>> resultCoursesInvigilators = Initialization.heuristicMapExamsWithInvigilators(exams, invigilators, random);
+            //HashMap<String, ArrayList<?>> resultCoursesInvigilators = Initialization.randomMapExamsWithInvigilators(exams, invigilators, random);
             this.exams = DataStructureHelper.castArrayList(resultCoursesInvigilators.get("exams"), Exam.class);
             logger.debug("heuristicMapExamsWithInvigilators finished.");
 
-            Collections.shuffle(exams, new Random(rand.nextInt(10000)));
-            HashMap<String, ArrayList<?>> resultCoursesClassrooms = Initialization.heuristicMapExamsWithClassrooms(exams, classrooms);
-            //HashMap<String, ArrayList<?>> resultCoursesClassrooms = Initialization.randomMapExamsWithClassrooms(exams, classrooms);
+            RandomService.shuffle(exams, random);
+            HashMap<String, ArrayList<?>> resultCoursesClassrooms = Initialization.heuristicMapExamsWithClassrooms(exams, classrooms, random);
+            //HashMap<String, ArrayList<?>> resultCoursesClassrooms = Initialization.randomMapExamsWithClassrooms(exams, classrooms, random);
             this.exams = DataStructureHelper.castArrayList(resultCoursesClassrooms.get("exams"), Exam.class);
             logger.debug("heuristicMapExamsWithClassrooms finished.");
 
-            Collections.shuffle(exams, new Random(rand.nextInt(10000)));
-            HashMap<String, ArrayList<?>> resultCoursesTimeslots = Initialization.heuristicMapExamsWithTimeslots(exams, timeslots);
-            //HashMap<String, ArrayList<?>> resultCoursesTimeslots = Initialization.randomMapExamsWithTimeslots(exams, timeslots);
+            RandomService.shuffle(exams, random);
+            HashMap<String, ArrayList<?>> resultCoursesTimeslots = Initialization.heuristicMapExamsWithTimeslots(exams, openTimeslots, random);
+            //HashMap<String, ArrayList<?>> resultCoursesTimeslots = Initialization.randomMapExamsWithTimeslots(exams, timeslots, random);
             this.exams = DataStructureHelper.castArrayList(resultCoursesTimeslots.get("exams"), Exam.class);
             logger.debug("heuristicMapExamsWithTimeslots finished.");
 
@@ -139,15 +215,29 @@ public class GeneticAlgorithm {
             this.populationForVisualization.add(new HashMap<>(chromosomeForVisualization));
             reset();
         }
+        // initialization shuffles classrooms and invigilators, mutation draws from them by index,
+        // they go back to the order of their ids in the problem instance, the order a resumed run reads them in
+        classrooms.sort(Comparator.comparingInt(classroom -> problemInstance.indexOfClassroom(classroom.getClassroomCode())));
+        invigilators.sort(Comparator.comparingInt(invigilator -> problemInstance.indexOfInvigilator(invigilator.getID())));
         VisualizationHelper.generateReports(courses, students, classrooms);
         return population;
     }
 
+    public Chromosome createSolution() {
+        // one chromosome of Initialization as an exam list, the start of the single solution solvers
+        Chromosome chromosome = initializationAndEncode(1).get(0);
+        return new Chromosome(chromosome.getChromosomeId(), new ArrayList<>(chromosome.getEncodedExams()), 0);
+    }
+
     public void encode() {
         Encode encode = new Encode();
+        encode.setRandom(random);
         this.encodedExams = encode.encode(this.exams, this.classrooms);
 
         chromosome = new Chromosome(chromosomeIdCounter, encodedExams, 0);
+        if (packedChromosome) {
+            chromosome.setPackedGenes(PackedChromosome.of(problemInstance, encodedExams));
+        }
         chromosomeIdCounter++;
         this.population.add(chromosome);
         logger.debug("Encode is finished.");
@@ -173,9 +263,8 @@ public class GeneticAlgorithm {
 
         // for random chromosomes
         Set<Integer> uniqueNumbers = new HashSet<>();
-        Random rand = new Random();
         while (uniqueNumbers.size() < wantedExamScheduleCount) {
-            uniqueNumbers.add(rand.nextInt(populationForVisualization.size()));
+            uniqueNumbers.add(random.nextInt(populationForVisualization.size()));
         }
 
 
@@ -187,40 +276,41 @@ public class GeneticAlgorithm {
             // this exam schedule is for invigilators not for students
             Chromosome bestChromosome = (Chromosome) bestChromosomes.toArray()[k];
             ArrayList<EncodedExam> bestExamScheduleForInvigilators = bestChromosome.getEncodedExams();
-            HTMLHelper.generateExamTable(startTime, endTime, startDate, endDate, interval, bestExamScheduleForInvigilators, bestPath + bestChromosome.getFitnessScore() + "_Best Exam Schedule-" + bestChromosome.getChromosomeId() + " for Invigilators.html");
+            HTMLHelper.generateExamTable(startTime, endTime, startDate, endDate, interval, bestExamScheduleForInvigilators, bestPath + bestChromosome.getRawFitnessScore() + "_Best Exam Schedule-" + bestChromosome.getChromosomeId() + " for Invigilators.html");
 
             ArrayList<EncodedExam> bestExamScheduleForStudents = new ArrayList<>();
             for (EncodedExam encodedExam : bestExamScheduleForInvigilators) {
-                Course course = Course.findByCourseCode(courses, encodedExam.getCourseCode());
-                if (course != null) {
-                    int beforeExam = course.getBeforeExamPrepTime();
-                    int afterExam = course.getAfterExamPrepTime();
+                int course = problemInstance.indexOfCourse(encodedExam.getCourseCode());
+                if (course != -1) {
+                    int beforeExam = problemInstance.getBeforeExamPrepTime(course);
+                    int afterExam = problemInstance.getAfterExamPrepTime(course);
                     Timeslot combinedTimeslot = encodedExam.getTimeSlot();
-                    Timeslot examTimeslot = new Timeslot(combinedTimeslot.getStart().plusHours(beforeExam), combinedTimeslot.getEnd().minusHours(afterExam));
+                    Timeslot examTimeslot = Timeslot.ofMinutes(combinedTimeslot.getStartMinute() + beforeExam * 60, combinedTimeslot.getEndMinute() - afterExam * 60);
                     bestExamScheduleForStudents.add(new EncodedExam(encodedExam.getCourseCode(),
                             encodedExam.getClassroomCode(),
                             examTimeslot,
                             encodedExam.getInvigilators()));
                 }
             }
-            HTMLHelper.generateExamTable(startTime, endTime, startDate, endDate, interval, bestExamScheduleForStudents, bestPath + bestChromosome.getFitnessScore() + "_Best Exam Schedule-" + bestChromosome.getChromosomeId() + " for Students.html");
-            HTMLHelper.generateExamTableDila(startDate, endDate, bestExamScheduleForStudents, bestPath + bestChromosome.getFitnessScore() + "_Best Exam ScheduleDila-" + bestChromosome.getChromosomeId() + " for Students.html");
+            HTMLHelper.generateExamTable(startTime, endTime, startDate, endDate, interval, bestExamScheduleForStudents, bestPath + bestChromosome.getRawFitnessScore() + "_Best Exam Schedule-" + bestChromosome.getChromosomeId() + " for Students.html");
+            HTMLHelper.generateExamTableDila(startDate, endDate, bestExamScheduleForStudents, bestPath + bestChromosome.getRawFitnessScore() + "_Best Exam ScheduleDila-" + bestChromosome.getChromosomeId() + " for Students.html");
 
 
             // Reports that are changing : invigilators, classrooms, exam schedules
             int n = (Integer) uniqueNumbers.toArray()[k];
             HashMap<String, ArrayList<?>> randomInfo = populationForVisualization.get(n);
             Encode encode = new Encode();
+            encode.setRandom(random);
             ArrayList<EncodedExam> randomExamScheduleForInvigilators = encode.encode(DataStructureHelper.castArrayList(randomInfo.get("exams"), Exam.class), this.classrooms);
 
             ArrayList<EncodedExam> randomExamScheduleForStudents = new ArrayList<>();
             for (EncodedExam encodedExam : randomExamScheduleForInvigilators) {
-                Course course = Course.findByCourseCode(courses, encodedExam.getCourseCode());
-                if (course != null) {
-                    int beforeExam = course.getBeforeExamPrepTime();
-                    int afterExam = course.getAfterExamPrepTime();
+                int course = problemInstance.indexOfCourse(encodedExam.getCourseCode());
+                if (course != -1) {
+                    int beforeExam = problemInstance.getBeforeExamPrepTime(course);
+                    int afterExam = problemInstance.getAfterExamPrepTime(course);
                     Timeslot combinedTimeslot = encodedExam.getTimeSlot();
-                    Timeslot examTimeslot = new Timeslot(combinedTimeslot.getStart().plusHours(beforeExam), combinedTimeslot.getEnd().minusHours(afterExam));
+                    Timeslot examTimeslot = Timeslot.ofMinutes(combinedTimeslot.getStartMinute() + beforeExam * 60, combinedTimeslot.getEndMinute() - afterExam * 60);
                     randomExamScheduleForStudents.add(new EncodedExam(encodedExam.getCourseCode(),
                             encodedExam.getClassroomCode(),
                             examTimeslot,
@@ -257,17 +347,21 @@ public class GeneticAlgorithm {
     public void calculateFitness(boolean saveToExcel, boolean experiment, int experimentId, int currentGeneration) {
         // make a hashmap with encoded exam as a key
         // and fitness score as a value
-        Fitness fitness = new Fitness(courses, students, classrooms, invigilators, startDate, endDate, startTime, endTime);
-        ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
-        ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
-        ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+        createEvaluator();
+        hardConstraintScoresList = new ArrayList<>();
+        softConstraintScoresList = new ArrayList<>();
+        fitnessScoresList = new ArrayList<>();
 
         hardConstraintFitnessScores.clear();
         softConstraintFitnessScores.clear();
         fitnessScores.clear();
 
-        for (Chromosome chromosome : population) {
-            double[][] calculatedScores = fitness.fitnessScore(chromosome);
+        // scores are calculated in parallel if it is enabled, and read back in population order
+        double[][][] calculatedScoresOfPopulation = evaluatePopulation(boundedFitness ? eliteThreshold : Double.NEGATIVE_INFINITY);
+        ArrayList<Double> exactFitnessScores = new ArrayList<>();
+        for (int i = 0; i < population.size(); i++) {
+            Chromosome chromosome = population.get(i);
+            double[][] calculatedScores = calculatedScoresOfPopulation[i];
 
             double[] hardConstraintScores = calculatedScores[0];
             double[] softConstraintScores = calculatedScores[1];
@@ -286,32 +380,20 @@ public class GeneticAlgorithm {
             double fitnessScore = scores[scores.length - 1];
             fitnessScores.put(chromosome, fitnessScore);
             chromosome.setFitnessScore(fitnessScore);
+            chromosome.setBoundedFitness(Fitness.isBounded(calculatedScores));
+            if (!chromosome.isBoundedFitness()) {
+                exactFitnessScores.add(fitnessScore);
+            }
 
         }
+        updateEliteThreshold(exactFitnessScores);
 
         // fitness sharing
 
         if (Boolean.parseBoolean(ConfigHelper.getProperty("FITNESS_SHARE"))) {
-            Fitness.fitnessShare(population);
-            // update fitnessScores and fitnessScoresList after fitness share
-            // ArrayList<double[]> fitnessScoresList : chromosom id , fitness score
-
-            for (Chromosome chromosom : population) {
-                double id = chromosom.getChromosomeId();
-                double fit = chromosom.getFitnessScore();
-
-                for (Chromosome chromosom1 : fitnessScores.keySet()) {
-                    if (chromosom1.getChromosomeId() == id) {
-                        fitnessScores.put(chromosom1, fit);
-                    }
-                }
-
-                for (double[] fScores : fitnessScoresList) {
-                    if (fScores[0] == id) {
-                        fScores[1] = fit;
-                    }
-                }
-            }
+            // only the scores selection uses are shared,
+            // fitnessScores and fitnessScoresList keep the raw scores for the reports
+            fitnessSharing.share(population);
         }
 
 
@@ -324,38 +406,129 @@ public class GeneticAlgorithm {
         }
 
         if (saveToExcel) {
-            String baseFileName;
-            if (experiment) {
-                baseFileName = "experiments/experiment_" + experimentId + "/FitnessScores/";
+            saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+        }
+
+    }
+
+    private void createEvaluator() {
+        // evaluator, sharing and incremental states of the run, created once by the first evaluation (or a resume)
+        if (populationEvaluator != null) {
+            return;
+        }
+        ConstraintPipeline constraintPipeline = ConstraintRegistry.getInstance().getPipeline();
+        populationEvaluator = new PopulationEvaluator(problemInstance);
+        // sharing runs on the threads of the evaluator
+        fitnessSharing = new FitnessSharing(populationEvaluator.getExecutor(), populationEvaluator.getParallelism(),
+                Integer.parseInt(ConfigHelper.getProperty("FITNESS_SHARE_SAMPLE_SIZE")), sharingRandom != null ? sharingRandom : random.split());
+        if (incrementalFitness && !constraintPipeline.isBuiltInOnly()) {
+            logger.warn("Incremental fitness is disabled, it only supports the built-in constraints.");
+            incrementalFitness = false;
+        }
+        if (incrementalFitness && packedChromosome) {
+            logger.warn("Incremental fitness is disabled, it works on exam lists and the chromosomes are packed.");
+            incrementalFitness = false;
+        }
+        if (incrementalFitness) {
+            incrementalFitnessStates = new IncrementalFitnessStates(problemInstance);
+        }
+    }
+
+    public static void saveFitnessScores(ArrayList<double[]> hardConstraintScoresList, ArrayList<double[]> softConstraintScoresList,
+                                         ArrayList<double[]> fitnessScoresList, boolean experiment, int experimentId) {
+        ConstraintPipeline constraintPipeline = ConstraintRegistry.getInstance().getPipeline();
+        String baseFileName;
+        if (experiment) {
+            baseFileName = "experiments/experiment_" + experimentId + "/FitnessScores/";
+        } else {
+            baseFileName = "graphs/FitnessScores/";
+        }
+        FileHelper.createDirectory(baseFileName);
+        FileHelper.writeConstraintScoresToFile(hardConstraintScoresList, baseFileName + "fitness_scores_HARD.csv", constraintPipeline.getHeader(true));
+        FileHelper.writeConstraintScoresToFile(softConstraintScoresList, baseFileName + "fitness_scores_SOFT.csv", constraintPipeline.getHeader(false));
+        FileHelper.writeFitnessScoresToFile(fitnessScoresList, baseFileName + "fitness_scores.csv");
+    }
+
+    public static void saveFitnessScores(ArrayList<double[][]> calculatedScores, boolean experiment, int experimentId) {
+        // score rows of Fitness.fitnessScore, one generation of the fitness score files
+        ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+        for (double[][] rows : calculatedScores) {
+            hardConstraintScoresList.add(rows[0]);
+            softConstraintScoresList.add(rows[1]);
+            fitnessScoresList.add(rows[2]);
+        }
+        saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+    }
+
+    private void updateEliteThreshold(ArrayList<Double> exactFitnessScores) {
+        // exact score of the last elite, next generation is evaluated bounded against it
+        // bounded scores are upper bounds, they are left out so the threshold is never too high
+        int eliteCount = Math.max(1, (int) (populationSize * elitismPercent));
+        if (exactFitnessScores.size() < eliteCount) {
+            eliteThreshold = Double.NEGATIVE_INFINITY;
+            return;
+        }
+        exactFitnessScores.sort(Collections.reverseOrder());
+        eliteThreshold = exactFitnessScores.get(eliteCount - 1);
+        logger.debug("Elite threshold: " + eliteThreshold);
+    }
+
+    private double[][][] evaluatePopulation(double cutoff) {
+        if (!incrementalFitness) {
+            return populationEvaluator.evaluate(population, cutoff);
+        }
+        // chromosomes that are only changed by mutation moves are scored from their incremental state,
+        // the others (new children, crossover parents etc.) are evaluated from scratch
+        incrementalFitnessStates.retainAll(population);
+        double[][][] results = new double[population.size()][][];
+        ArrayList<Chromosome> changedChromosomes = new ArrayList<>();
+        ArrayList<Integer> changedIndexes = new ArrayList<>();
+        for (int i = 0; i < population.size(); i++) {
+            Chromosome chromosome = population.get(i);
+            IncrementalFitness state = incrementalFitnessStates.getCurrent(chromosome);
+            if (state != null) {
+                results[i] = state.getConstraintScores();
             } else {
-                baseFileName = "graphs/FitnessScores/";
+                changedChromosomes.add(chromosome);
+                changedIndexes.add(i);
             }
-            FileHelper.createDirectory(baseFileName);
-            FileHelper.writeHardFitnessScoresToFile(hardConstraintScoresList, baseFileName + "fitness_scores_HARD.csv");
-            FileHelper.writeSoftFitnessScoresToFile(softConstraintScoresList, baseFileName + "fitness_scores_SOFT.csv");
-            FileHelper.writeFitnessScoresToFile(fitnessScoresList, baseFileName + "fitness_scores.csv");
         }
-
+        double[][][] changedResults = populationEvaluator.evaluate(changedChromosomes, cutoff);
+        for (int i = 0; i < changedResults.length; i++) {
+            results[changedIndexes.get(i)] = changedResults[i];
+        }
+        logger.debug("Incremental fitness: " + (population.size() - changedChromosomes.size()) + " chromosomes are scored from their state.");
+        return results;
     }
+
     public double findBestFitnessScore() {
-        population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
-        return population.get(0).getFitnessScore();
+        return findBestChromosome().getRawFitnessScore();
     }
 
     public void selectParents(int currentGeneration) {
         Selection selection = new Selection();
+        selection.setPopulationSize(populationSize);
+        selection.setRandom(random.split());
+        // bounded scores are upper bounds of chromosomes that could not reach the elite threshold, parents are
+        // selected from the exact ones, from the whole population only if there are not two of them
+        ArrayList<Chromosome> candidates = Chromosome.withExactFitness(population);
+        if (candidates.size() < 2) {
+            candidates = population;
+        }
         if (currentGeneration >= maxGeneration * 0.7) {
-            parents = selection.rankSelection(population);
+            parents = selection.rankSelection(candidates);
         } else if (isStable) {
-            parents = selection.rouletteWheelSelection(population);
+            parents = selection.rouletteWheelSelection(candidates);
         } else {
-            parents = selection.tournamentSelection(population);
+            parents = selection.tournamentSelection(candidates);
         }
 
     }
 
     public ArrayList<Chromosome> crossover() {
-        Crossover crossover = new Crossover();
+        Crossover crossover = createCrossover();
         ArrayList<Chromosome> childChromosomes;
 
         if (isStable) {
@@ -364,25 +537,44 @@ public class GeneticAlgorithm {
             childChromosomes = crossover.twoPointCrossover(parents, chromosomeIdCounter, crossoverRate);
         }
 
-        chromosomeIdCounter = childChromosomes.get(childChromosomes.size() - 1).getChromosomeId();
-        chromosomeIdCounter++;
+        // a small (island) population can have no pair that passes the crossover rate
+        if (!childChromosomes.isEmpty()) {
+            chromosomeIdCounter = childChromosomes.get(childChromosomes.size() - 1).getChromosomeId();
+            chromosomeIdCounter++;
+        }
 
         return childChromosomes;
     }
 
+    public Crossover createCrossover() {
+        if (chromosomePool == null && packedChromosome && chromosomePoolSize > 0) {
+            chromosomePool = new ChromosomePool(chromosomePoolSize);
+        }
+        Crossover crossover = new Crossover(chromosomePool);
+        crossover.setRandom(random.split());
+        return crossover;
+    }
+
     public void mutation() {
-        Mutation mutation = new Mutation();
+        Mutation mutation = incrementalFitness ? new Mutation(problemInstance, incrementalFitnessStates) : new Mutation(holidayCalendar);
+        mutation.setPopulationSize(populationSize);
+        mutation.setRandom(random.split());
         mutation.mutation(population, this.classrooms, lowMutationRate, highMutationRate, isStable, this.invigilators);
     }
 
     public void replacement(int currentGeneration, int childChromosomesSize) {
         Replacement replacement = new Replacement();
+        replacement.setPopulationSize(populationSize);
+        replacement.setRandom(random.split());
 
         if (currentGeneration < 100) {
             replacement.randomReplacement(population, childChromosomesSize);
         } else {
             replacement.ageBasedReplacement(population, childChromosomesSize);
         }
+        if (chromosomePool != null) {
+            chromosomePool.release(replacement.getChromosomesToBeRemoved());
+        }
     }
 
     public void updateAgesOfChromosomes() {
@@ -392,89 +584,306 @@ public class GeneticAlgorithm {
     }
 
     public double[] algorithm(boolean experiment, int experimentId) {
-        int wantedExamScheduleCount = 3;
+        budget.start();
+        bestSoFar.reset();
+        saveSeed(experiment, experimentId);
+        if (islandCount > 1) {
+            return new IslandModel(this, islandCount).algorithm(experiment, experimentId);
+        }
+        if (steadyState || asyncPipeline) {
+            return new SteadyStateModel(this).algorithm(experiment, experimentId);
+        }
         int currentGeneration = 0;
-        int generationsWithUnderImprovementThreshold = 0;
-        int generationsWithoutImprovement = 0;
-        int maxGenerations = Integer.parseInt(ConfigHelper.getProperty("MAX_GENERATIONS"));
-        int toleratedGenerationsWithoutImprovement = Integer.parseInt(ConfigHelper.getProperty("GENERATIONS_WITHOUT_IMPROVEMENT"));
-
-        ArrayList<Chromosome> populationTemp;
-        ArrayList<Chromosome> childChromosomes;
+        generationsWithUnderImprovementThreshold = 0;
+        generationsWithoutImprovement = 0;
 
         generateData();
-        populationTemp = initializationAndEncode();
+        initializationAndEncode();
         calculateFitness(false, experiment, experimentId, currentGeneration);
-        double initalBestFitness = 0;
-        while (currentGeneration < maxGenerations && generationsWithoutImprovement < toleratedGenerationsWithoutImprovement) {//değiştirilebilir
-            if (currentGeneration == 0) {
-                initalBestFitness = findBestFitnessScore();
-            }
+        double initalBestFitness = findBestFitnessScore();
+        publishBest(findBestChromosome(), currentGeneration);
+        generationsSeed = random.nextLong();
+        return evolve(currentGeneration, initalBestFitness, experiment, experimentId);
+    }
+
+    public double[] resume(Path checkpointPath, boolean experiment, int experimentId) {
+        // continues a generational run from a checkpoint, with the data, population, rates and counters of the checkpoint
+        if (islandCount > 1 || steadyState || asyncPipeline) {
+            logger.warn("Checkpoints are written by the generational GA, the run is resumed as a generational GA.");
+        }
+        budget.start();
+        bestSoFar.reset();
+        saveSeed(experiment, experimentId);
+        Checkpoint checkpoint;
+        try {
+            checkpoint = CheckpointFile.read(checkpointPath, packedChromosome, problemData -> {
+                courses = problemData.getCourses();
+                students = problemData.getStudents();
+                classrooms = problemData.getClassrooms();
+                invigilators = problemData.getInvigilators();
+                startDate = problemData.getStartDate();
+                endDate = problemData.getEndDate();
+                startTime = problemData.getStartTime();
+                endTime = problemData.getEndTime();
+                interval = problemData.getInterval();
+                prepareData(problemData.getHolidays());
+                return problemInstance;
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpoint " + checkpointPath + " can not be read", e);
+        }
+        populationSize = checkpoint.getPopulationSize();
+        chromosomeIdCounter = checkpoint.getChromosomeIdCounter();
+        lowMutationRate = checkpoint.getLowMutationRate();
+        highMutationRate = checkpoint.getHighMutationRate();
+        crossoverRate = checkpoint.getCrossoverRate();
+        isStable = checkpoint.isStable();
+        generationsWithoutImprovement = checkpoint.getGenerationsWithoutImprovement();
+        generationsWithUnderImprovementThreshold = checkpoint.getGenerationsWithUnderImprovementThreshold();
+        population = checkpoint.getPopulation();
+        generationsSeed = checkpoint.getRandomSeed();
+        logger.info("Resuming from " + checkpointPath + " at generation " + checkpoint.getGeneration() + ", population size: " + population.size());
+
+        // the chromosomes keep the scores and bounded flags they had in the checkpoint, they are not scored again:
+        // an exact score would replace a bounded one and the resumed run would select from other scores
+        eliteThreshold = checkpoint.getEliteThreshold();
+        createEvaluator();
+        publishBest(findBestChromosome(), checkpoint.getGeneration());
+        return evolve(checkpoint.getGeneration(), checkpoint.getInitialBestFitness(), experiment, experimentId);
+    }
+
+    private double[] evolve(int currentGeneration, double initalBestFitness, boolean experiment, int experimentId) {
+        while (canContinue(currentGeneration)) {//değiştirilebilir
             currentGeneration += 1;
-            updateAgesOfChromosomes();
-            //visualization(wantedExamScheduleCount, currentGeneration);
-            bestFitnessScore = findBestFitnessScore();
+            reseed(currentGeneration);
+            nextGeneration(currentGeneration, true, experiment, experimentId);
+            if (checkpointInterval > 0 && currentGeneration % checkpointInterval == 0) {
+                checkpoint(currentGeneration, initalBestFitness);
+            }
+        }
+        return finish(experiment, initalBestFitness, Math.max(1, currentGeneration));
+    }
 
-            selectParents(currentGeneration);
-            childChromosomes = crossover();
-            mutation();
-            replacement(currentGeneration, childChromosomes.size());
-            populationTemp.addAll(childChromosomes);
+    private void checkpoint(int currentGeneration, double initalBestFitness) {
+        if (checkpointWriter == null) {
+            checkpointWriter = new CheckpointWriter(Paths.get(ConfigHelper.getProperty("CHECKPOINT_PATH")), problemInstance, problemData());
+        }
+        // the state of a SplittableRandom can not be read, the checkpoint keeps the seed the generations start their streams from
+        checkpointWriter.submit(new Checkpoint(currentGeneration, initalBestFitness, populationSize, chromosomeIdCounter,
+                lowMutationRate, highMutationRate, crossoverRate, isStable, generationsWithoutImprovement,
+                generationsWithUnderImprovementThreshold, generationsSeed, eliteThreshold, population));
+    }
 
+    private void reseed(int currentGeneration) {
+        // the streams of a generation only depend on the seed of the generations and the generation, so a run resumed
+        // from a checkpoint splits the same streams as the run that wrote it, whatever the checkpoint interval is
+        random = new SplittableRandom(new SplittableRandom(generationsSeed ^ currentGeneration * 0x9E3779B97F4A7C15L).nextLong());
+        sharingRandom = random.split();
+        localSearchRandom = random.split();
+        if (fitnessSharing != null) {
+            fitnessSharing.setRandom(sharingRandom);
+        }
+        if (localSearch != null) {
+            localSearch.setRandom(localSearchRandom);
+        }
+    }
 
-            calculateFitness(true, experiment, experimentId, currentGeneration);
-            logger.debug("population size: " + populationTemp.size());
-            double lastBestFitnessScore = findBestFitnessScore();
+    public void saveSeed(boolean experiment, int experimentId) {
+        String baseFileName = experiment ? "experiments/experiment_" + experimentId + "/" : "graphs/";
+        FileHelper.createDirectory(baseFileName);
+        FileHelper.writeSeedToFile(RandomService.getSeed(), baseFileName + "seed.txt");
+    }
 
-            logger.info("Generation: " + currentGeneration);
-            logger.info("bestFitnessScore: " + bestFitnessScore);
-            logger.info("lastBestFitnessScore: " + lastBestFitnessScore);
+    private ProblemData problemData() {
+        // classrooms and invigilators are in the order of their ids in the problem instance (initializationAndEncode)
+        return new ProblemData(courses, students, classrooms, invigilators, startDate, endDate, startTime, endTime, interval,
+                new HashSet<>(holidayCalendar.getHolidays()));
+    }
 
+    public boolean canContinue(int currentGeneration) {
+        return currentGeneration < maxGeneration && generationsWithoutImprovement < toleratedGenerationsWithoutImprovement
+                && !budget.isExhausted(bestSoFar);
+    }
 
-            if (lastBestFitnessScore <= bestFitnessScore) {
-                generationsWithoutImprovement += 1;
-            } else {
-                generationsWithoutImprovement = 0;
-                isStable = false;
-            }
+    public void publishBest(Chromosome chromosome, int currentGeneration) {
+        if (bestSoFar.publish(chromosome, currentGeneration, budget.elapsedMillis())) {
+            logger.debug("Best so far: " + chromosome.getRawFitnessScore() + " at generation " + currentGeneration);
+        }
+    }
 
-            double improvement = lastBestFitnessScore - bestFitnessScore;
-            logger.info("improvement: " + improvement);
-            if (improvement < 0.0001) {
-                generationsWithUnderImprovementThreshold++;
-                logger.info("generationsWithUnderImprovementThreshold: " + generationsWithUnderImprovementThreshold);
-            } else {
-                generationsWithUnderImprovementThreshold = 0;
-                isStable = false;
-            }
+    public void nextGeneration(int currentGeneration, boolean saveToExcel, boolean experiment, int experimentId) {
+        int wantedExamScheduleCount = 3;
+        updateAgesOfChromosomes();
+        //visualization(wantedExamScheduleCount, currentGeneration);
+        bestFitnessScore = findBestFitnessScore();
+
+        selectParents(currentGeneration);
+        ArrayList<Chromosome> childChromosomes = crossover();
+        mutation();
+        replacement(currentGeneration, childChromosomes.size());
+        population.addAll(childChromosomes);
 
-            if (generationsWithUnderImprovementThreshold == 100) {
-                logger.info("parameters are changing..");
-                lowMutationRate += 0.001;
-                highMutationRate += 0.01;
-                crossoverRate += 0.02;
 
-            } else if (generationsWithUnderImprovementThreshold == 250) {
-                logger.info("stable");
-                isStable = true;
-                generationsWithUnderImprovementThreshold = 0;
+        calculateFitness(saveToExcel, experiment, experimentId, currentGeneration);
+        if (memeticInterval > 0 && currentGeneration % memeticInterval == 0) {
+            localSearch();
+        }
+        if (chromosomePool != null) {
+            chromosomePool.endGeneration(currentGeneration);
+        }
+        logger.debug("population size: " + population.size());
+        double lastBestFitnessScore = findBestFitnessScore();
+        publishBest(findBestChromosome(), currentGeneration);
+
+        logger.info("Generation: " + currentGeneration);
+        logger.info("bestFitnessScore: " + bestFitnessScore);
+        logger.info("lastBestFitnessScore: " + lastBestFitnessScore);
+        updateProgress(bestFitnessScore, lastBestFitnessScore);
+    }
+
+    private void localSearch() {
+        if (localSearch == null) {
+            if (!ConstraintRegistry.getInstance().getPipeline().isBuiltInOnly()) {
+                logger.warn("Local search is disabled, its moves are scored incrementally and that only supports the built-in constraints.");
+                memeticInterval = 0;
+                return;
             }
+            localSearch = new LocalSearch(problemInstance);
+            localSearch.setRandom(localSearchRandom != null ? localSearchRandom : random.split());
+        }
+        population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
+        double bestBefore = population.get(0).getFitnessScore();
+        int moves = 0;
+        for (int i = 0; i < Math.min(memeticEliteCount, population.size()) && moves < memeticMoveBudget; i++) {
+            // a bounded score is only an upper bound, the search needs the exact one
+            if (!population.get(i).isBoundedFitness()) {
+                moves += localSearch.improve(population.get(i), memeticMoveBudget - moves);
+            }
+        }
+        population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
+        logger.info("Local search: " + moves + " moves, best fitness score " + bestBefore + " -> " + population.get(0).getFitnessScore());
+    }
+
+    public void updateProgress(double bestFitnessScore, double lastBestFitnessScore) {
+        // improvement counters and adaptive rates, best scores before and after a generation
+        if (lastBestFitnessScore <= bestFitnessScore) {
+            generationsWithoutImprovement += 1;
+        } else {
+            generationsWithoutImprovement = 0;
+            isStable = false;
+        }
+
+        double improvement = lastBestFitnessScore - bestFitnessScore;
+        logger.info("improvement: " + improvement);
+        if (improvement < 0.0001) {
+            generationsWithUnderImprovementThreshold++;
+            logger.info("generationsWithUnderImprovementThreshold: " + generationsWithUnderImprovementThreshold);
+        } else {
+            generationsWithUnderImprovementThreshold = 0;
+            isStable = false;
+        }
 
+        if (generationsWithUnderImprovementThreshold == 100) {
+            logger.info("parameters are changing..");
+            lowMutationRate += 0.001;
+            highMutationRate += 0.01;
+            crossoverRate += 0.02;
+
+        } else if (generationsWithUnderImprovementThreshold == 250) {
+            logger.info("stable");
+            isStable = true;
+            generationsWithUnderImprovementThreshold = 0;
         }
-        Fitness fitness = new Fitness(courses, students, classrooms, invigilators, startDate, endDate, startTime, endTime);
+    }
+
+    public double[] finish(boolean experiment, double initalBestFitness, int currentGeneration) {
+        // reports of the best chromosome, then the run state is released
+        Fitness fitness = new Fitness(problemInstance);
         Chromosome bestChromosome = findBestChromosome();
+        fitness.fitnessScore(bestChromosome);
         HTMLHelper.visualizeBestChromosomeConstraintChecklist(fitness, bestChromosome);
         double convergenceRate = (findBestFitnessScore() - initalBestFitness) / currentGeneration;
+        String stopReason = budget.stopReason(bestSoFar);
+        if (stopReason != null) {
+            logger.info("Run is stopped at generation " + currentGeneration + " after " + budget.elapsedMillis() + " ms: " + stopReason);
+        }
 
         if (!experiment) {
             VisualizationHelper.generateFitnessPlots();
         }
+        fitness.getConstraintPipeline().logTimings();
+        shutdown();
 
         return new double[]{convergenceRate, findBestFitnessScore()};
     }
 
-    private Chromosome findBestChromosome() {
+    public void shutdown() {
+        if (checkpointWriter != null) {
+            checkpointWriter.close();
+        }
+        checkpointWriter = null;
+        if (populationEvaluator != null) {
+            populationEvaluator.shutdown();
+        }
+        populationEvaluator = null;
+        fitnessSharing = null;
+        chromosomePool = null;
+        localSearch = null;
+        sharingRandom = null;
+        localSearchRandom = null;
+        incrementalFitnessStates = null;
+        eliteThreshold = Double.NEGATIVE_INFINITY;
+    }
+
+    public ArrayList<Chromosome> getBestChromosomes(int count) {
+        // copies of the best chromosomes, they can be given to another population
         population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
-        return population.get(0);
+        ArrayList<Chromosome> best = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, population.size()); i++) {
+            best.add(copyChromosome(population.get(i)));
+        }
+        return best;
+    }
+
+    public void receiveMigrants(ArrayList<Chromosome> migrants) {
+        // copies of the migrants replace the worst chromosomes, genes are copied because mutation changes them in place
+        population.sort(Chromosome.sortChromosomesByFitnessScoreAscendingOrder);
+        int count = Math.min(migrants.size(), population.size());
+        List<Chromosome> removedChromosomes = population.subList(0, count);
+        if (chromosomePool != null) {
+            chromosomePool.release(removedChromosomes);
+        }
+        removedChromosomes.clear();
+        for (int i = 0; i < count; i++) {
+            population.add(copyChromosome(migrants.get(i)));
+        }
+    }
+
+    public Chromosome copyChromosome(Chromosome source) {
+        Chromosome copy = new Chromosome(chromosomeIdCounter, null, source.getAge());
+        chromosomeIdCounter++;
+        if (source.getPackedGenes() != null) {
+            copy.setPackedGenes(chromosomePool != null ? chromosomePool.copyOf(source.getPackedGenes()) : source.getPackedGenes().copy());
+        } else {
+            copy.setEncodedExams(new ArrayList<>(source.getEncodedExams()));
+        }
+        copy.setFitnessScore(source.getRawFitnessScore());
+        copy.setSharedFitnessScore(source.getFitnessScore());
+        copy.setBoundedFitness(source.isBoundedFitness());
+        return copy;
+    }
+
+    public Chromosome findBestChromosome() {
+        // chromosome with the best raw score, the population is sorted by the scores selection uses (shared with FITNESS_SHARE)
+        population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
+        Chromosome best = population.get(0);
+        for (Chromosome chromosome : population) {
+            // a bounded score is only an upper bound
+            if (!chromosome.isBoundedFitness()
+                    && (best.isBoundedFitness() || chromosome.getRawFitnessScore() > best.getRawFitnessScore())) {
+                best = chromosome;
+            }
+        }
+        return best;
     }
 }
@@ -0,0 +1,216 @@
+package org.example.geneticAlgorithm;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.Chromosome;
+import org.example.utils.ConfigHelper;
+import org.example.utils.RandomService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class IslandModel {
+    /*
+     * Island model: the population of the mainland GA is created and scored once,
+     * then split randomly into ISLAND_COUNT sub-populations. Every island is a GeneticAlgorithm
+     * with its own Selection / Crossover / Mutation / Replacement instances (and their random streams, split from the stream of the mainland),
+     * its own evaluator and adaptive rates, and the islands evolve concurrently.
+     *
+     * Every ISLAND_MIGRATION_INTERVAL generations all islands stop, and copies of the best
+     * ISLAND_MIGRATION_COUNT chromosomes of each island replace the worst chromosomes of:
+     * RING : the next island
+     * FULL : every other island, an island receives the best of all emigrants of the other islands
+     * Emigrants are copied before any island receives, so the order of the islands does not matter.
+     *
+     * Score rows of all islands are written to the fitness score files after every migration,
+     * at the end the best chromosome of all islands is reported by the mainland.
+     * Island chromosome ids start at (island index + 1) * ISLAND_ID_RANGE, so they stay unique after migration.
+     * */
+    private static final Logger logger = LogManager.getLogger(IslandModel.class);
+    public static final long ISLAND_ID_RANGE = 1L << 40;
+
+    private final GeneticAlgorithm mainland;
+    private final int islandCount;
+    private final int migrationCount = Integer.parseInt(ConfigHelper.getProperty("ISLAND_MIGRATION_COUNT"));
+    private final int migrationInterval = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("ISLAND_MIGRATION_INTERVAL")));
+    private final boolean fullTopology = "FULL".equalsIgnoreCase(ConfigHelper.getProperty("ISLAND_TOPOLOGY").trim());
+    private final SplittableRandom random;
+
+    public IslandModel(GeneticAlgorithm mainland, int islandCount) {
+        this.mainland = mainland;
+        this.islandCount = islandCount;
+        this.random = mainland.getRandom().split();
+    }
+
+    public double[] algorithm(boolean experiment, int experimentId) {
+        mainland.generateData();
+        ArrayList<Chromosome> population = mainland.initializationAndEncode();
+        mainland.calculateFitness(false, experiment, experimentId, 0);
+        double initalBestFitness = mainland.findBestFitnessScore();
+        mainland.publishBest(mainland.findBestChromosome(), 0);
+
+        GeneticAlgorithm[] islands = createIslands(population);
+        int[] generations = new int[islandCount];
+        int currentGeneration = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(islandCount, Runtime.getRuntime().availableProcessors()));
+        logger.info("Island model: " + islandCount + " islands, " + migrationCount + " migrants every " + migrationInterval
+                + " generations, " + (fullTopology ? "fully connected" : "ring") + " topology.");
+        try {
+            while (true) {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int i = 0; i < islandCount; i++) {
+                    int island = i;
+                    if (islands[island].canContinue(generations[island])) {
+                        tasks.add(() -> {
+                            evolve(islands[island], generations, island, experiment, experimentId);
+                            return null;
+                        });
+                    }
+                }
+                if (tasks.isEmpty()) {
+                    break;
+                }
+                runAll(executor, tasks);
+                for (int generation : generations) {
+                    currentGeneration = Math.max(currentGeneration, generation);
+                }
+
+                migrate(islands);
+                saveFitnessScores(islands, experiment, experimentId);
+                logger.info("Island model generation " + currentGeneration + ", best fitness scores of the islands: " + bestScores(islands));
+            }
+        } finally {
+            executor.shutdownNow();
+            for (GeneticAlgorithm island : islands) {
+                island.shutdown();
+            }
+        }
+
+        // the mainland reports the union of the islands
+        population.clear();
+        for (GeneticAlgorithm island : islands) {
+            population.addAll(island.getPopulation());
+        }
+        return mainland.finish(experiment, initalBestFitness, Math.max(1, currentGeneration));
+    }
+
+    private GeneticAlgorithm[] createIslands(ArrayList<Chromosome> population) {
+        ArrayList<Chromosome> shuffled = new ArrayList<>(population);
+        RandomService.shuffle(shuffled, random);
+
+        GeneticAlgorithm[] islands = new GeneticAlgorithm[islandCount];
+        int from = 0;
+        for (int i = 0; i < islandCount; i++) {
+            int size = islandSize(population.size(), islandCount, i);
+            GeneticAlgorithm island = new GeneticAlgorithm();
+            island.setCourses(mainland.getCourses());
+            island.setStudents(mainland.getStudents());
+            // classrooms and invigilators are shuffled by the operators, every island has its own lists
+            island.setClassrooms(new ArrayList<>(mainland.getClassrooms()));
+            island.setInvigilators(new ArrayList<>(mainland.getInvigilators()));
+            island.setTimeslots(mainland.getTimeslots());
+            island.setProblemInstance(mainland.getProblemInstance());
+            island.setHolidayCalendar(mainland.getHolidayCalendar());
+            island.setStartDate(mainland.getStartDate());
+            island.setEndDate(mainland.getEndDate());
+            island.setStartTime(mainland.getStartTime());
+            island.setEndTime(mainland.getEndTime());
+            island.setInterval(mainland.getInterval());
+            island.setPopulation(new ArrayList<>(shuffled.subList(from, from + size)));
+            island.setPopulationSize(size);
+            island.setChromosomeIdCounter((i + 1) * ISLAND_ID_RANGE);
+            island.setRandom(random.split());
+            // islands stop together on the budget of the mainland and publish to its best so far
+            island.setBudget(mainland.getBudget());
+            island.setBestSoFar(mainland.getBestSoFar());
+            islands[i] = island;
+            from += size;
+        }
+        return islands;
+    }
+
+    private void evolve(GeneticAlgorithm island, int[] generations, int index, boolean experiment, int experimentId) {
+        // scores are written by the island model, islands do not write the score files
+        for (int k = 0; k < migrationInterval && island.canContinue(generations[index]); k++) {
+            generations[index]++;
+            island.nextGeneration(generations[index], false, experiment, experimentId);
+        }
+    }
+
+    private void runAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island model is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An island failed", e.getCause());
+        }
+    }
+
+    private void migrate(GeneticAlgorithm[] islands) {
+        if (migrationCount <= 0) {
+            return;
+        }
+        ArrayList<ArrayList<Chromosome>> emigrants = new ArrayList<>();
+        for (GeneticAlgorithm island : islands) {
+            emigrants.add(island.getBestChromosomes(migrationCount));
+        }
+        for (int i = 0; i < islandCount; i++) {
+            islands[i].receiveMigrants(immigrantsOf(i, emigrants, migrationCount, fullTopology));
+        }
+    }
+
+    public static ArrayList<Chromosome> immigrantsOf(int island, List<ArrayList<Chromosome>> emigrants, int migrationCount, boolean fullTopology) {
+        // emigrants of every island, in island order
+        int islandCount = emigrants.size();
+        if (!fullTopology) {
+            return emigrants.get((island + islandCount - 1) % islandCount);
+        }
+        ArrayList<Chromosome> immigrants = new ArrayList<>();
+        for (int j = 0; j < islandCount; j++) {
+            if (j != island) {
+                immigrants.addAll(emigrants.get(j));
+            }
+        }
+        immigrants.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);
+        return new ArrayList<>(immigrants.subList(0, Math.min(migrationCount, immigrants.size())));
+    }
+
+    public static int islandSize(int populationSize, int islandCount, int island) {
+        // the first islands take the remainder
+        int islandSize = populationSize / islandCount;
+        if (islandSize < 4) {
+            throw new IllegalStateException("Population of " + populationSize + " chromosomes is too small for " + islandCount + " islands");
+        }
+        return islandSize + (island < populationSize % islandCount ? 1 : 0);
+    }
+
+    private void saveFitnessScores(GeneticAlgorithm[] islands, boolean experiment, int experimentId) {
+        ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+        for (GeneticAlgorithm island : islands) {
+            hardConstraintScoresList.addAll(island.getHardConstraintScoresList());
+            softConstraintScoresList.addAll(island.getSoftConstraintScoresList());
+            fitnessScoresList.addAll(island.getFitnessScoresList());
+        }
+        GeneticAlgorithm.saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+    }
+
+    private String bestScores(GeneticAlgorithm[] islands) {
+        StringBuilder scores = new StringBuilder();
+        for (GeneticAlgorithm island : islands) {
+            scores.append(scores.length() == 0 ? "" : ", ").append(island.findBestFitnessScore());
+        }
+        return scores.toString();
+    }
+}
@@ -0,0 +1,364 @@
+package org.example.geneticAlgorithm;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.evaluation.EvaluationPipeline;
+import org.example.geneticAlgorithm.evaluation.PopulationEvaluator;
+import org.example.geneticAlgorithm.evaluation.StageMetrics;
+import org.example.geneticAlgorithm.operators.ChromosomePool;
+import org.example.geneticAlgorithm.operators.Crossover;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.geneticAlgorithm.operators.Mutation;
+import org.example.geneticAlgorithm.operators.Selection;
+import org.example.models.Chromosome;
+import org.example.utils.ConfigHelper;
+import org.example.utils.IndexedHeap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class SteadyStateModel {
+    /*
+     * Steady state GA: instead of replacing the population every generation, every step
+     * 1. selects two parents with one tournament each (no sorting)
+     * 2. creates STEADY_STATE_OFFSPRING children by crossover, or copies of the parents if crossover is skipped,
+     *    and mutates them with the rates of Mutation (threshold is the running average fitness score)
+     * 3. evaluates only the children
+     * 4. puts every child into the slot of the worst chromosome if it is not worse than it (STEADY_STATE_REPLACEMENT=WORST),
+     *    or into the slot of the oldest chromosome (OLDEST), the best chromosome is never replaced
+     *
+     * Population slots are kept in indexed heaps ordered by fitness (worst and best on top) and by birth (oldest on top),
+     * so finding and replacing a chromosome is O(log P), the population list is changed in place.
+     * With BOUNDED_FITNESS and WORST, children are evaluated bounded against the worst score, a bounded child can not
+     * replace the worst and is dropped. Fitness sharing changes the scores of the whole population, it is not used here.
+     *
+     * P evaluations count as one generation: score rows of the population are written, improvement counters
+     * and adaptive rates of the GA are updated, and the evaluations per second are logged.
+     *
+     * ASYNC_PIPELINE=true overlaps the steps: the caller thread breeds children and submits them to an EvaluationPipeline
+     * of ASYNC_PIPELINE_THREADS workers (0 = all available processors), and merges every evaluated child into the
+     * population as soon as it is taken, with the replacement rules above. Up to ASYNC_PIPELINE_CAPACITY children are
+     * in flight, they are bred from a population that does not have the children in flight yet.
+     * Score rows are written by a writer thread, at most SCORE_WRITE_QUEUE generations wait for it.
+     * Queue depth and latency of the breed, evaluate, merge and write stages are logged every generation.
+     * The population, heaps and chromosome pool are used on the caller thread only.
+     * Children are merged in the order they are evaluated, so a run with ASYNC_PIPELINE is not repeated by RANDOM_SEED.
+     * */
+    private static final Logger logger = LogManager.getLogger(SteadyStateModel.class);
+    private static final int SCORE_WRITE_QUEUE = 2;
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final int offspringCount = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("STEADY_STATE_OFFSPRING")));
+    private final boolean replaceOldest = "OLDEST".equalsIgnoreCase(ConfigHelper.getProperty("STEADY_STATE_REPLACEMENT").trim());
+    private final Selection selection = new Selection();
+    private Mutation mutation;
+    private PopulationEvaluator populationEvaluator;
+    private EvaluationPipeline evaluationPipeline;
+    private final StageMetrics breedMetrics = new StageMetrics("breed");
+    private final StageMetrics writeMetrics = new StageMetrics("write");
+    private ExecutorService scoreWriter;
+    private Semaphore scoreWritePermits;
+    private volatile Throwable scoreWriteFailure;
+
+    private ArrayList<Chromosome> population;
+    private double[] fitnessScores;
+    private long[] births;
+    private double[][] hardConstraintScores;
+    private double[][] softConstraintScores;
+    private double[][] totalScores;
+    private double fitnessScoreSum;
+    private IndexedHeap worstHeap;
+    private IndexedHeap bestHeap;
+    private IndexedHeap oldestHeap;
+    private long evaluationCount;
+    private long replacementCount;
+
+    public SteadyStateModel(GeneticAlgorithm geneticAlgorithm) {
+        this.geneticAlgorithm = geneticAlgorithm;
+    }
+
+    public double[] algorithm(boolean experiment, int experimentId) {
+        geneticAlgorithm.setGenerationsWithUnderImprovementThreshold(0);
+        geneticAlgorithm.setGenerationsWithoutImprovement(0);
+        geneticAlgorithm.generateData();
+        population = geneticAlgorithm.initializationAndEncode();
+        int populationSize = population.size();
+        if (populationSize < 2) {
+            throw new IllegalStateException("Steady state GA needs at least 2 chromosomes, population size: " + populationSize);
+        }
+        if (Boolean.parseBoolean(ConfigHelper.getProperty("FITNESS_SHARE"))) {
+            logger.warn("Fitness sharing is not used in steady state mode.");
+        }
+        mutation = new Mutation(geneticAlgorithm.getHolidayCalendar());
+        mutation.setRandom(geneticAlgorithm.getRandom().split());
+        selection.setRandom(geneticAlgorithm.getRandom().split());
+        populationEvaluator = new PopulationEvaluator(geneticAlgorithm.getProblemInstance());
+
+        fitnessScores = new double[populationSize];
+        births = new long[populationSize];
+        hardConstraintScores = new double[populationSize][];
+        softConstraintScores = new double[populationSize][];
+        totalScores = new double[populationSize][];
+        worstHeap = new IndexedHeap(populationSize, (a, b) -> Double.compare(fitnessScores[a], fitnessScores[b]));
+        bestHeap = new IndexedHeap(populationSize, (a, b) -> Double.compare(fitnessScores[b], fitnessScores[a]));
+        oldestHeap = new IndexedHeap(populationSize, (a, b) -> Long.compare(births[a], births[b]));
+
+        int currentGeneration = 0;
+        double initalBestFitness;
+        try {
+            double[][][] scores = populationEvaluator.evaluate(population);
+            for (int slot = 0; slot < populationSize; slot++) {
+                setSlot(slot, population.get(slot), scores[slot]);
+                worstHeap.add(slot);
+                bestHeap.add(slot);
+                oldestHeap.add(slot);
+            }
+            initalBestFitness = bestFitnessScore();
+            geneticAlgorithm.publishBest(population.get(bestHeap.peek()), 0);
+            if (geneticAlgorithm.isAsyncPipeline()) {
+                startPipeline();
+            }
+
+            double generationBestFitness = initalBestFitness;
+            long startNanos = System.nanoTime();
+            long generationStartNanos = startNanos;
+            long generationStartEvaluations = 0;
+            while (geneticAlgorithm.canContinue(currentGeneration)) {
+                if (evaluationPipeline == null) {
+                    step();
+                } else {
+                    pipelineStep();
+                }
+                if (evaluationCount < (long) (currentGeneration + 1) * populationSize) {
+                    continue;
+                }
+                currentGeneration++;
+                long now = System.nanoTime();
+                double lastBestFitness = bestFitnessScore();
+                geneticAlgorithm.publishBest(population.get(bestHeap.peek()), currentGeneration);
+                logger.info("Steady state generation " + currentGeneration + ", best fitness score: " + lastBestFitness
+                        + ", " + evaluationsPerSecond(evaluationCount - generationStartEvaluations, now - generationStartNanos) + " evaluations/s");
+                saveFitnessScores(experiment, experimentId);
+                if (evaluationPipeline != null) {
+                    logStageMetrics(currentGeneration);
+                }
+                geneticAlgorithm.updateProgress(generationBestFitness, lastBestFitness);
+                if (geneticAlgorithm.getChromosomePool() != null) {
+                    geneticAlgorithm.getChromosomePool().endGeneration(currentGeneration);
+                }
+                generationBestFitness = lastBestFitness;
+                generationStartNanos = System.nanoTime();
+                generationStartEvaluations = evaluationCount;
+            }
+            logger.info("Steady state: " + evaluationCount + " evaluations, " + replacementCount + " replacements, "
+                    + evaluationsPerSecond(evaluationCount, System.nanoTime() - startNanos) + " evaluations/s");
+            stopPipeline();
+        } finally {
+            if (evaluationPipeline != null) {
+                evaluationPipeline.shutdown();
+            }
+            if (scoreWriter != null) {
+                scoreWriter.shutdownNow();
+            }
+            populationEvaluator.shutdown();
+        }
+        return geneticAlgorithm.finish(experiment, initalBestFitness, Math.max(1, currentGeneration));
+    }
+
+    private void step() {
+        ArrayList<Chromosome> offspring = breed();
+        double[][][] scores = populationEvaluator.evaluate(offspring, cutoff());
+        for (int i = 0; i < offspring.size(); i++) {
+            merge(offspring.get(i), scores[i]);
+        }
+    }
+
+    private void pipelineStep() {
+        // breed while the workers evaluate, until the pipeline is full
+        while (evaluationPipeline.getInFlightCount() + offspringCount <= evaluationPipeline.getCapacity()) {
+            long startNanos = System.nanoTime();
+            ArrayList<Chromosome> offspring = breed();
+            breedMetrics.record(0, System.nanoTime() - startNanos);
+            double cutoff = cutoff();
+            for (Chromosome child : offspring) {
+                evaluationPipeline.submit(child, cutoff);
+            }
+        }
+        // waits for one child, then merges the children that are already evaluated
+        EvaluationPipeline.Job job = evaluationPipeline.take();
+        while (job != null) {
+            merge(job.getChromosome(), job.getScores());
+            evaluationPipeline.merged(job);
+            job = evaluationPipeline.poll();
+        }
+    }
+
+    private ArrayList<Chromosome> breed() {
+        ArrayList<Chromosome> offspring = new ArrayList<>(offspringCount);
+        double threshHold = fitnessScoreSum / population.size();
+        while (offspring.size() < offspringCount) {
+            // Crossover collects its children, a new one for every pair
+            Crossover crossover = geneticAlgorithm.createCrossover();
+            ArrayList<Chromosome> parents = new ArrayList<>(2);
+            parents.add(selection.tournamentWinner(population));
+            parents.add(selection.tournamentWinner(population));
+            ArrayList<Chromosome> children = geneticAlgorithm.isStable()
+                    ? crossover.onePointCrossover(parents, geneticAlgorithm.getChromosomeIdCounter(), geneticAlgorithm.getCrossoverRate())
+                    : crossover.twoPointCrossover(parents, geneticAlgorithm.getChromosomeIdCounter(), geneticAlgorithm.getCrossoverRate());
+            if (children.isEmpty()) {
+                children.add(geneticAlgorithm.copyChromosome(parents.get(0)));
+                children.add(geneticAlgorithm.copyChromosome(parents.get(1)));
+            } else {
+                geneticAlgorithm.setChromosomeIdCounter(children.get(children.size() - 1).getChromosomeId() + 1);
+            }
+            for (Chromosome child : children) {
+                if (offspring.size() == offspringCount) {
+                    release(child);
+                    continue;
+                }
+                mutation.mutateOffspring(child, threshHold, geneticAlgorithm.getClassrooms(), geneticAlgorithm.getLowMutationRate(),
+                        geneticAlgorithm.getHighMutationRate(), geneticAlgorithm.isStable(), geneticAlgorithm.getInvigilators());
+                offspring.add(child);
+            }
+        }
+        return offspring;
+    }
+
+    private double cutoff() {
+        // a child that can not reach the worst chromosome is dropped, it is enough to bound it against the worst score
+        // the worst score never decreases with WORST, so a child bounded against an older worst score is dropped too
+        return geneticAlgorithm.isBoundedFitness() && !replaceOldest ? fitnessScores[worstHeap.peek()] : Double.NEGATIVE_INFINITY;
+    }
+
+    private void merge(Chromosome child, double[][] scores) {
+        evaluationCount++;
+        double fitnessScore = scores[2][scores[2].length - 1];
+        int slot;
+        if (replaceOldest) {
+            slot = oldestHeap.peek() == bestHeap.peek() ? worstHeap.peek() : oldestHeap.peek();
+        } else {
+            slot = worstHeap.peek();
+            if (Fitness.isBounded(scores) || fitnessScore < fitnessScores[slot]) {
+                release(child);
+                return;
+            }
+        }
+        release(population.get(slot));
+        setSlot(slot, child, scores);
+        worstHeap.update(slot);
+        bestHeap.update(slot);
+        oldestHeap.update(slot);
+        replacementCount++;
+    }
+
+    private void startPipeline() {
+        int capacity = Math.max(offspringCount, Integer.parseInt(ConfigHelper.getProperty("ASYNC_PIPELINE_CAPACITY")));
+        int threadCount = Integer.parseInt(ConfigHelper.getProperty("ASYNC_PIPELINE_THREADS"));
+        // the cache of the evaluator is only used by the caller thread from now on
+        evaluationPipeline = new EvaluationPipeline(geneticAlgorithm.getProblemInstance(), threadCount, capacity, populationEvaluator.getFitnessCache());
+        scoreWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scoreWritePermits = new Semaphore(SCORE_WRITE_QUEUE);
+    }
+
+    private void stopPipeline() {
+        if (evaluationPipeline == null) {
+            return;
+        }
+        // children in flight are not merged, they are released after the workers are done with them
+        while (evaluationPipeline.getInFlightCount() > 0) {
+            release(evaluationPipeline.take().getChromosome());
+        }
+        scoreWriter.shutdown();
+        try {
+            if (!scoreWriter.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Score rows are not written in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Score writer is interrupted", e);
+        }
+        checkScoreWriter();
+    }
+
+    private void logStageMetrics(int currentGeneration) {
+        logger.info("Pipeline generation " + currentGeneration + " - " + breedMetrics.summaryAndReset()
+                + "; " + evaluationPipeline.getEvaluationMetrics().summaryAndReset()
+                + "; " + evaluationPipeline.getMergeMetrics().summaryAndReset()
+                + "; " + writeMetrics.summaryAndReset());
+    }
+
+    private void checkScoreWriter() {
+        if (scoreWriteFailure != null) {
+            throw new IllegalStateException("Score rows can not be written", scoreWriteFailure);
+        }
+    }
+
+    private void setSlot(int slot, Chromosome chromosome, double[][] scores) {
+        double fitnessScore = scores[2][scores[2].length - 1];
+        chromosome.setFitnessScore(fitnessScore);
+        chromosome.setBoundedFitness(Fitness.isBounded(scores));
+        population.set(slot, chromosome);
+        fitnessScoreSum += fitnessScore - fitnessScores[slot];
+        fitnessScores[slot] = fitnessScore;
+        births[slot] = evaluationCount;
+        hardConstraintScores[slot] = scores[0];
+        softConstraintScores[slot] = scores[1];
+        totalScores[slot] = scores[2];
+    }
+
+    private void release(Chromosome chromosome) {
+        // packed genes of a replaced or dropped chromosome are reused by the next crossover
+        ChromosomePool chromosomePool = geneticAlgorithm.getChromosomePool();
+        if (chromosomePool != null) {
+            chromosomePool.release(Collections.singletonList(chromosome));
+        }
+    }
+
+    private double bestFitnessScore() {
+        return fitnessScores[bestHeap.peek()];
+    }
+
+    private void saveFitnessScores(boolean experiment, int experimentId) {
+        ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+        for (int slot = 0; slot < population.size(); slot++) {
+            hardConstraintScoresList.add(hardConstraintScores[slot]);
+            softConstraintScoresList.add(softConstraintScores[slot]);
+            fitnessScoresList.add(totalScores[slot]);
+        }
+        if (scoreWriter == null) {
+            GeneticAlgorithm.saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+            return;
+        }
+        // rows are not changed after they are scored, a slot gets new rows, so the lists are a snapshot of this generation
+        checkScoreWriter();
+        writeMetrics.sampleDepth(SCORE_WRITE_QUEUE - scoreWritePermits.availablePermits());
+        scoreWritePermits.acquireUninterruptibly();
+        long submittedNanos = System.nanoTime();
+        scoreWriter.execute(() -> {
+            long startNanos = System.nanoTime();
+            try {
+                GeneticAlgorithm.saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+            } catch (Throwable e) {
+                // also an Error, it is thrown on the caller thread by the next write or stopPipeline
+                scoreWriteFailure = e;
+            } finally {
+                writeMetrics.record(startNanos - submittedNanos, System.nanoTime() - startNanos);
+                scoreWritePermits.release();
+            }
+        });
+    }
+
+    private static long evaluationsPerSecond(long evaluations, long nanos) {
+        return nanos <= 0 ? 0 : Math.round(evaluations * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.geneticAlgorithm.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.models.Chromosome;
+
+import java.util.ArrayList;
+
+@Getter
+@AllArgsConstructor
+public class Checkpoint {
+    /*
+     * State of a generational run after a generation: everything GeneticAlgorithm.resume needs
+     * to continue with the next generation as if the run was not stopped.
+     * The data of the run does not change, it is kept apart (ProblemData).
+     * The fitness cache is not kept: with BOUNDED_FITNESS the resumed run can evaluate a genotype bounded
+     * where the stopped run had its exact score in the cache.
+     * */
+    private final int generation;
+    private final double initialBestFitness;
+    private final int populationSize;
+    private final long chromosomeIdCounter;
+    private final double lowMutationRate;
+    private final double highMutationRate;
+    private final double crossoverRate;
+    private final boolean stable;
+    private final int generationsWithoutImprovement;
+    private final int generationsWithUnderImprovementThreshold;
+    // seed the generations of the run start their random streams from
+    private final long randomSeed;
+    // exact score of the last elite, the cutoff of the bounded evaluation of the next generation
+    private final double eliteThreshold;
+    private final ArrayList<Chromosome> population;
+}
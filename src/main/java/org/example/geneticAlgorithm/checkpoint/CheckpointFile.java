@@ -0,0 +1,107 @@
+package org.example.geneticAlgorithm.checkpoint;
+
+import org.example.geneticAlgorithm.migration.ChromosomeSerializer;
+import org.example.geneticAlgorithm.migration.IslandProblemSerializer;
+import org.example.models.Chromosome;
+import org.example.models.ProblemInstance;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+public class CheckpointFile {
+    /*
+     * Binary format of a checkpoint:
+     * magic (int), version (int)
+     * problem data : length (int), ProblemData in the format of IslandProblemSerializer.writeProblemData
+     * generation (int), initial best fitness (double), population size (int), chromosome id counter (long),
+     * low mutation rate, high mutation rate, crossover rate (double), stable (boolean),
+     * generations without improvement, generations under improvement threshold (int), random seed (long),
+     * elite threshold (double)
+     * population   : chromosomes written by ChromosomeSerializer, with their scores and bounded flags
+     *
+     * The problem data does not change during a run, it is encoded once and its bytes are written to every checkpoint.
+     * Only plain values are read (no Java serialization), lengths and counts are checked before they are used.
+     * */
+    private static final int MAGIC = 0x45584743;
+    private static final int VERSION = 5;
+    // the problem data of a checkpoint can not be longer, only a broken file has more
+    static final int MAX_PROBLEM_DATA_LENGTH = 1 << 28;
+
+    public static byte[] serialize(ProblemData problemData) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        IslandProblemSerializer.writeProblemData(out, problemData);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static byte[] encode(byte[] problemDataBytes, Checkpoint checkpoint, ChromosomeSerializer serializer) throws IOException {
+        // the population is encoded on the caller thread, chromosomes are changed in place by the next generation
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(problemDataBytes.length);
+        out.write(problemDataBytes);
+        out.writeInt(checkpoint.getGeneration());
+        out.writeDouble(checkpoint.getInitialBestFitness());
+        out.writeInt(checkpoint.getPopulationSize());
+        out.writeLong(checkpoint.getChromosomeIdCounter());
+        out.writeDouble(checkpoint.getLowMutationRate());
+        out.writeDouble(checkpoint.getHighMutationRate());
+        out.writeDouble(checkpoint.getCrossoverRate());
+        out.writeBoolean(checkpoint.isStable());
+        out.writeInt(checkpoint.getGenerationsWithoutImprovement());
+        out.writeInt(checkpoint.getGenerationsWithUnderImprovementThreshold());
+        out.writeLong(checkpoint.getRandomSeed());
+        out.writeDouble(checkpoint.getEliteThreshold());
+        serializer.write(out, checkpoint.getPopulation());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static Checkpoint read(Path path, boolean packed, Function<ProblemData, ProblemInstance> prepareData) throws IOException {
+        // prepareData sets the data of the resumed run and returns its problem instance, chromosomes are read with it
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a checkpoint of this version");
+            }
+            int problemDataLength = in.readInt();
+            if (problemDataLength < 0 || problemDataLength > MAX_PROBLEM_DATA_LENGTH) {
+                throw new IOException("Invalid problem data length " + problemDataLength + " in " + path);
+            }
+            byte[] problemDataBytes = new byte[problemDataLength];
+            in.readFully(problemDataBytes);
+            ByteArrayInputStream problemDataIn = new ByteArrayInputStream(problemDataBytes);
+            ProblemData problemData = IslandProblemSerializer.readProblemData(new DataInputStream(problemDataIn));
+            if (problemDataIn.available() != 0) {
+                throw new IOException("Problem data of " + path + " is longer than its content");
+            }
+            int generation = in.readInt();
+            double initialBestFitness = in.readDouble();
+            int populationSize = in.readInt();
+            long chromosomeIdCounter = in.readLong();
+            double lowMutationRate = in.readDouble();
+            double highMutationRate = in.readDouble();
+            double crossoverRate = in.readDouble();
+            boolean stable = in.readBoolean();
+            int generationsWithoutImprovement = in.readInt();
+            int generationsWithUnderImprovementThreshold = in.readInt();
+            long randomSeed = in.readLong();
+            double eliteThreshold = in.readDouble();
+            ProblemInstance problemInstance = prepareData.apply(problemData);
+            ArrayList<Chromosome> population = new ChromosomeSerializer(problemInstance).read(in, packed);
+            return new Checkpoint(generation, initialBestFitness, populationSize, chromosomeIdCounter,
+                    lowMutationRate, highMutationRate, crossoverRate, stable, generationsWithoutImprovement,
+                    generationsWithUnderImprovementThreshold, randomSeed, eliteThreshold, population);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.geneticAlgorithm.checkpoint;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.migration.ChromosomeSerializer;
+import org.example.models.ProblemInstance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CheckpointWriter {
+    /*
+     * Writes checkpoints of a run to one file without stopping the generation loop.
+     *
+     * submit encodes the checkpoint into memory on the caller thread (a consistent snapshot of the population),
+     * a writer thread writes the bytes to a temporary file next to the checkpoint, forces them to the disk
+     * and renames the temporary file to the checkpoint, so the checkpoint file is always complete:
+     * a stop during a write leaves the previous checkpoint.
+     * If the previous checkpoint is still being written the new one is skipped, checkpoints do not queue up.
+     * */
+    private static final Logger logger = LogManager.getLogger(CheckpointWriter.class);
+
+    private final Path path;
+    private final Path temporaryPath;
+    private final ChromosomeSerializer serializer;
+    private final byte[] problemDataBytes;
+    private final ExecutorService writer;
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    public CheckpointWriter(Path path, ProblemInstance problemInstance, ProblemData problemData) {
+        this.path = path.toAbsolutePath();
+        this.temporaryPath = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        this.serializer = new ChromosomeSerializer(problemInstance);
+        try {
+            this.problemDataBytes = CheckpointFile.serialize(problemData);
+            Files.createDirectories(this.path.getParent());
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpoints can not be written to " + path, e);
+        }
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean submit(Checkpoint checkpoint) {
+        if (!writing.compareAndSet(false, true)) {
+            logger.warn("Checkpoint of generation " + checkpoint.getGeneration() + " is skipped, the previous one is still being written.");
+            return false;
+        }
+        byte[] bytes;
+        try {
+            bytes = CheckpointFile.encode(problemDataBytes, checkpoint, serializer);
+        } catch (IOException e) {
+            writing.set(false);
+            throw new IllegalStateException("Checkpoint of generation " + checkpoint.getGeneration() + " can not be encoded", e);
+        }
+        writer.execute(() -> {
+            try {
+                long startNanos = System.nanoTime();
+                write(bytes);
+                logger.info("Checkpoint of generation " + checkpoint.getGeneration() + " is written to " + path + " ("
+                        + bytes.length + " bytes, " + (System.nanoTime() - startNanos) / 1000000 + " ms)");
+            } catch (IOException e) {
+                logger.error("Checkpoint of generation " + checkpoint.getGeneration() + " can not be written: " + e.getMessage());
+            } finally {
+                writing.set(false);
+            }
+        });
+        return true;
+    }
+
+    public void close() {
+        // waits for the last checkpoint
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Last checkpoint is not written in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
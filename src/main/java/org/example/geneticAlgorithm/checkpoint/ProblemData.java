@@ -0,0 +1,34 @@
+package org.example.geneticAlgorithm.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.Invigilator;
+import org.example.models.Student;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+@Getter
+@AllArgsConstructor
+public class ProblemData {
+    /*
+     * Data of a checkpointed run (data is generated randomly, a resumed run can not generate it again).
+     * Classrooms and invigilators are in the order of their ids in the problem instance of the run,
+     * so the problem instance of the resumed run gives the genes of the checkpoint the same ids.
+     * It is written in the problem data format of IslandProblemSerializer.
+     * */
+    private final ArrayList<Course> courses;
+    private final ArrayList<Student> students;
+    private final ArrayList<Classroom> classrooms;
+    private final ArrayList<Invigilator> invigilators;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final int interval;
+    private final HashSet<LocalDate> holidays;
+}
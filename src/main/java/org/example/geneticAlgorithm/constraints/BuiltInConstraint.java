@@ -0,0 +1,137 @@
+package org.example.geneticAlgorithm.constraints;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class BuiltInConstraint implements Constraint {
+    /*
+     * Constraint given as a factory of its visitor, used for the constraints of BuiltInConstraints
+     * and for additional rules.
+     * perGene and perBucket build the visitor from the punishment of one gene or one bucket,
+     * the punishments of all visited genes / non-empty buckets are summed.
+     * */
+    private final String id;
+    private final boolean hard;
+    private final double weight;
+    private final Supplier<ConstraintVisitor> visitorFactory;
+
+    public BuiltInConstraint(String id, boolean hard, double weight, Supplier<ConstraintVisitor> visitorFactory) {
+        this.id = id;
+        this.hard = hard;
+        this.weight = weight;
+        this.visitorFactory = visitorFactory;
+    }
+
+    public static BuiltInConstraint perGene(String id, boolean hard, double weight, GenePunishment punishment) {
+        return new BuiltInConstraint(id, hard, weight, () -> new GeneSum(punishment));
+    }
+
+    public static BuiltInConstraint perBucket(String id, boolean hard, double weight, ConstraintVisitor.Traversal bucket,
+                                              BucketPunishment punishment) {
+        if (bucket == ConstraintVisitor.Traversal.GENES) {
+            throw new IllegalArgumentException("Constraint " + id + " is given genes as bucket, use perGene");
+        }
+        return new BuiltInConstraint(id, hard, weight, () -> new BucketSum(bucket, punishment));
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isHard() {
+        return hard;
+    }
+
+    @Override
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public ConstraintVisitor createVisitor() {
+        return visitorFactory.get();
+    }
+
+    public interface GenePunishment {
+        double punishment(ScheduleView view, int gene);
+    }
+
+    public interface BucketPunishment {
+        // key is the classroom, invigilator or course id of the bucket
+        double punishment(ScheduleView view, int key);
+    }
+
+    private static class GeneSum implements ConstraintVisitor {
+        private final GenePunishment punishment;
+        private double sum;
+
+        GeneSum(GenePunishment punishment) {
+            this.punishment = punishment;
+        }
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(Traversal.GENES);
+        }
+
+        @Override
+        public void start(ScheduleView view) {
+            sum = 0;
+        }
+
+        @Override
+        public void visitGene(ScheduleView view, int gene) {
+            sum += punishment.punishment(view, gene);
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            return sum;
+        }
+    }
+
+    private static class BucketSum implements ConstraintVisitor {
+        private final Traversal bucket;
+        private final BucketPunishment punishment;
+        private double sum;
+
+        BucketSum(Traversal bucket, BucketPunishment punishment) {
+            this.bucket = bucket;
+            this.punishment = punishment;
+        }
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(bucket);
+        }
+
+        @Override
+        public void start(ScheduleView view) {
+            sum = 0;
+        }
+
+        // only the callback of the asked bucket is called
+        @Override
+        public void visitClassroom(ScheduleView view, int classroom) {
+            sum += punishment.punishment(view, classroom);
+        }
+
+        @Override
+        public void visitInvigilator(ScheduleView view, int invigilator) {
+            sum += punishment.punishment(view, invigilator);
+        }
+
+        @Override
+        public void visitCourse(ScheduleView view, int course) {
+            sum += punishment.punishment(view, course);
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            return sum;
+        }
+    }
+}
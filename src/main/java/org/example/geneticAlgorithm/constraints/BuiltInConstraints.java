@@ -0,0 +1,604 @@
+package org.example.geneticAlgorithm.constraints;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.evaluation.OverlapCounter;
+import org.example.models.HolidayCalendar;
+import org.example.models.ProblemInstance;
+import org.example.models.Timeslot;
+import org.example.utils.ConfigHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public final class BuiltInConstraints {
+    /*
+     * The 12 hard and 7 soft constraints of Fitness as visitors over the ScheduleView,
+     * registered by ConstraintRegistry in this order. Fitness also evaluates them one by one
+     * for its constraint methods (e.g. the checks of the HTML report).
+     *
+     * Rules of one exam are per gene, overlaps and capacities of classrooms and invigilators
+     * are per bucket, students are evaluated per enrolment profile after the traversal.
+     * IncrementalFitness re-implements exactly these rules, a change here has to be made there too.
+     * */
+    private static final Logger logger = LogManager.getLogger(BuiltInConstraints.class);
+
+    // Hard Constraints
+    public static final Constraint ALL_EXAMS_HAVE_REQUIRED_TIME =
+            BuiltInConstraint.perGene("allExamsHaveRequiredTime", true, 1, BuiltInConstraints::requiredTimePunishment);
+    public static final Constraint ALL_EXAM_HAVE_REQUIRED_INVIGILATOR_COUNT =
+            BuiltInConstraint.perGene("allExamHaveRequiredInvigilatorCount", true, 1, BuiltInConstraints::invigilatorCountPunishment);
+    public static final Constraint CLASSROOM_OVERLAPPED =
+            new BuiltInConstraint("classroomOverlapped", true, 1, () -> new BucketOverlaps(ConstraintVisitor.Traversal.CLASSROOMS));
+    public static final Constraint ALL_EXAMS_HAVE_CLASSROOMS =
+            BuiltInConstraint.perGene("allExamsHaveClassrooms", true, 1, BuiltInConstraints::missingClassroomPunishment);
+    public static final Constraint CLASSROOMS_HAS_CAPACITY =
+            BuiltInConstraint.perGene("classroomsHasCapacity", true, 1, BuiltInConstraints::capacityPunishment);
+    public static final Constraint INVIGILATOR_OVERLAPPED =
+            new BuiltInConstraint("invigilatorOverlapped", true, 1, () -> new BucketOverlaps(ConstraintVisitor.Traversal.INVIGILATORS));
+    public static final Constraint STUDENT_OVERLAPPED = BuiltInConstraint.perBucket("studentOverlapped", true, 1,
+            ConstraintVisitor.Traversal.COURSES, BuiltInConstraints::studentOverlapPunishment);
+    public static final Constraint INVIGILATOR_AVAILABLE = BuiltInConstraint.perBucket("invigilatorAvailable", true, 1,
+            ConstraintVisitor.Traversal.INVIGILATORS, BuiltInConstraints::invigilatorAvailablePunishment);
+    public static final Constraint START_AND_END_TIME_DATE_VIOLATED =
+            BuiltInConstraint.perGene("startAndEndTimeDateViolated", true, 1, BuiltInConstraints::timeFramePunishment);
+    public static final Constraint ALL_EXAMS_HAVE_REQUIRED_EQUIPMENTS =
+            BuiltInConstraint.perGene("allExamsHaveRequiredEquipments", true, 1, BuiltInConstraints::equipmentPunishment);
+    public static final Constraint NO_EXAMS_HOLIDAYS =
+            BuiltInConstraint.perGene("noExamsHolidays", true, 1, BuiltInConstraints::holidayPunishment);
+    public static final Constraint EXAM_START_AND_END_DATE_SAME =
+            BuiltInConstraint.perGene("examStartAndEndDateSame", true, 1, BuiltInConstraints::sameDatePunishment);
+
+    // Soft Constraints
+    public static final Constraint STUDENT_MORE_THAN_TWO_EXAM_SAME_DAY =
+            new BuiltInConstraint("studentMoreThanTwoExamSameDay", false, 1, StudentDays::new);
+    public static final Constraint MINIMUM_GAP_BETWEEN_EXAMS_STUDENT =
+            new BuiltInConstraint("minimumGapBetweenExamsStudent", false, 1, StudentGaps::new);
+    public static final Constraint INVIGILATOR_MORE_THAN_THREE_EXAM_SAME_DAY =
+            new BuiltInConstraint("invigilatorMoreThanThreeExamSameDay", false, 1, InvigilatorDays::new);
+    public static final Constraint MINIMUM_GAP_BETWEEN_EXAMS_INVIGILATOR =
+            new BuiltInConstraint("minimumGapBetweenExamsInvigilator", false, 1, InvigilatorGaps::new);
+    public static final Constraint NO_EXAMS_AT_WEEKENDS =
+            BuiltInConstraint.perGene("noExamsAtWeekends", false, 1, BuiltInConstraints::weekendPunishment);
+    public static final Constraint EXAMS_NOT_IN_AFTERNOON =
+            new BuiltInConstraint("examsNotInAfternoon", false, 1, AfternoonExams::new);
+    public static final Constraint POPULAR_EXAMS_AT_BEGINNING =
+            BuiltInConstraint.perGene("popularExamsAtBeginning", false, 1, BuiltInConstraints::popularExamPunishment);
+
+    private static final List<Constraint> ALL = Collections.unmodifiableList(Arrays.asList(
+            ALL_EXAMS_HAVE_REQUIRED_TIME, ALL_EXAM_HAVE_REQUIRED_INVIGILATOR_COUNT, CLASSROOM_OVERLAPPED, ALL_EXAMS_HAVE_CLASSROOMS,
+            CLASSROOMS_HAS_CAPACITY, INVIGILATOR_OVERLAPPED, STUDENT_OVERLAPPED, INVIGILATOR_AVAILABLE, START_AND_END_TIME_DATE_VIOLATED,
+            ALL_EXAMS_HAVE_REQUIRED_EQUIPMENTS, NO_EXAMS_HOLIDAYS, EXAM_START_AND_END_DATE_SAME,
+            STUDENT_MORE_THAN_TWO_EXAM_SAME_DAY, MINIMUM_GAP_BETWEEN_EXAMS_STUDENT, INVIGILATOR_MORE_THAN_THREE_EXAM_SAME_DAY,
+            MINIMUM_GAP_BETWEEN_EXAMS_INVIGILATOR, NO_EXAMS_AT_WEEKENDS, EXAMS_NOT_IN_AFTERNOON, POPULAR_EXAMS_AT_BEGINNING));
+
+    private BuiltInConstraints() {
+    }
+
+    public static List<Constraint> all() {
+        return ALL;
+    }
+
+    private static double requiredTimePunishment(ScheduleView view, int gene) {
+        // all exams have the required timeslot for both invigilators and students
+        int course = view.getCourse(gene);
+        if (course == -1) {
+            return 0;
+        }
+        ProblemInstance problemInstance = view.getProblemInstance();
+        int beforeExamPrep = problemInstance.getBeforeExamPrepTime(course);
+        int afterExamPrep = problemInstance.getAfterExamPrepTime(course);
+        int examTimeslotCount = (view.getEndMinute(gene) - view.getStartMinute(gene)) / 60;
+        int timeslotCountForInvigilator = beforeExamPrep + problemInstance.getExamDuration(course) + afterExamPrep;
+        int timeslotCountForStudent = problemInstance.getExamDuration(course);
+
+        int punishment = 0;
+        if (examTimeslotCount != timeslotCountForInvigilator) {
+            logger.debug("This is not the required time for invigilator");
+            punishment++;
+        }
+        if (examTimeslotCount - (beforeExamPrep + afterExamPrep) != timeslotCountForStudent) {
+            logger.debug("This is not the required time for student");
+            punishment++;
+        }
+        return punishment;
+    }
+
+    private static double invigilatorCountPunishment(ScheduleView view, int gene) {
+        // all exams have the required number of invigilators to observe the exam
+        int course = view.getCourse(gene);
+        if (course == -1) {
+            return 0;
+        }
+        int requiredInvigilator = view.getProblemInstance().getRequiredInvigilatorCount(course);
+        if (requiredInvigilator != view.getInvigilatorCount(gene)) {
+            logger.debug("The invigilator count is missing :(");
+            logger.debug("Course: " + view.getCourseCode(gene));
+            logger.debug("Required invigilator count: " + requiredInvigilator);
+            logger.debug("Current invigilator count: " + view.getInvigilatorCount(gene));
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double missingClassroomPunishment(ScheduleView view, int gene) {
+        // All exams must have classrooms assigned to them
+        if (view.getClassroom(gene) == ScheduleView.NO_CLASSROOM) {
+            logger.debug("Exam " + view.getCourseCode(gene) + " has no classroom assigned!!!!!!!");
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double capacityPunishment(ScheduleView view, int gene) {
+        // classroom has the capacity to hold all the students
+        int classroom = view.getClassroom(gene);
+        int course = view.getCourse(gene);
+        if (classroom < 0 || course == -1) {
+            return 0;
+        }
+        ProblemInstance problemInstance = view.getProblemInstance();
+        if (problemInstance.getClassroomCapacity(classroom) < problemInstance.getRegisteredStudentCount(course)) {
+            logger.debug("Classroom " + problemInstance.getClassroomCode(classroom) + " does not have the required capacity!!!!!");
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double studentOverlapPunishment(ScheduleView view, int course) {
+        // No student can be assigned to more than one exam at the same moment.
+        // every overlapping exam pair is punished once for each student that takes both exams,
+        // shared student counts come from the course conflict graph
+        ProblemInstance problemInstance = view.getProblemInstance();
+        double punishment = 0;
+        int count = view.getCourseGeneCount(course);
+        // same course is placed more than once
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (studentOverlapped(view, view.getCourseGene(course, i), view.getCourseGene(course, j))) {
+                    punishment += problemInstance.getRegisteredStudentCount(course);
+                }
+            }
+        }
+        int conflictCount = problemInstance.getConflictCount(course);
+        for (int k = 0; k < conflictCount; k++) {
+            int otherCourse = problemInstance.getConflictCourse(course, k);
+            if (otherCourse < course) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < view.getCourseGeneCount(otherCourse); j++) {
+                    if (studentOverlapped(view, view.getCourseGene(course, i), view.getCourseGene(otherCourse, j))) {
+                        logger.debug("Exams of " + problemInstance.getCourseCode(course) + " and "
+                                + problemInstance.getCourseCode(otherCourse) + " overlap for "
+                                + problemInstance.getConflictWeight(course, k) + " students");
+                        punishment += problemInstance.getConflictWeight(course, k);
+                    }
+                }
+            }
+        }
+        return punishment;
+    }
+
+    private static boolean studentOverlapped(ScheduleView view, int gene1, int gene2) {
+        return OverlapCounter.overlapped(view.getStudentStart(gene1), view.getStudentEnd(gene1),
+                view.getStudentStart(gene2), view.getStudentEnd(gene2));
+    }
+
+    private static double invigilatorAvailablePunishment(ScheduleView view, int invigilator) {
+        // No invigilator can be assigned to more than her/his capacity.
+        ProblemInstance problemInstance = view.getProblemInstance();
+        int monitoredExamCount = view.getInvigilatorExamCount(invigilator);
+        int maxMonitoredExamCount = problemInstance.getMaxCoursesMonitoredCount(invigilator);
+        if (maxMonitoredExamCount < monitoredExamCount) {
+            logger.debug("Invigilator is over her/his capacity!!!!!!!!!!");
+            logger.debug("Invigilator Id: " + problemInstance.getInvigilatorId(invigilator));
+            logger.debug("Max Capacity:" + maxMonitoredExamCount);
+            logger.debug("Monitored Exam count:" + monitoredExamCount);
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double timeFramePunishment(ScheduleView view, int gene) {
+        // No exam can be held before or after the defined time frame
+        int start = view.getStartMinute(gene);
+        int end = view.getEndMinute(gene);
+        int periodStart = view.getPeriodStartMinute();
+        int periodEnd = view.getPeriodEndMinute();
+        if (start < periodStart || start > periodEnd || end < periodStart || end > periodEnd) {
+            logger.debug("Exam timeslot is not in the specified range!!");
+            logger.debug(Timeslot.ofMinutes(start, end));
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double equipmentPunishment(ScheduleView view, int gene) {
+        // The classroom has the required equipments(computer) if necessary like
+        int classroom = view.getClassroom(gene);
+        int course = view.getCourse(gene);
+        if (course == -1 || classroom < 0) {
+            return 0;
+        }
+        ProblemInstance problemInstance = view.getProblemInstance();
+        return problemInstance.isPcLab(classroom) != problemInstance.isPcExam(course) ? 1 : 0;
+    }
+
+    private static double holidayPunishment(ScheduleView view, int gene) {
+        // No exam at the weekend or holidays
+        int examDay = Timeslot.dayOf(view.getStartMinute(gene)) - view.getCalendarStartDay();
+        if (view.getProblemInstance().getHolidayCalendar().isHoliday(examDay)) {
+            logger.debug("Exam Date: " + Timeslot.toDateTime(view.getStartMinute(gene)).toLocalDate());
+            logger.debug("Exam can not be placed in the holidays");
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double sameDatePunishment(ScheduleView view, int gene) {
+        // Exam should start and end at the same day
+        return Timeslot.dayOf(view.getStartMinute(gene)) != Timeslot.dayOf(view.getEndMinute(gene)) ? 1 : 0;
+    }
+
+    private static double weekendPunishment(ScheduleView view, int gene) {
+        // No exam at the weekend
+        HolidayCalendar holidayCalendar = view.getProblemInstance().getHolidayCalendar();
+        int examDay = Timeslot.dayOf(view.getStartMinute(gene)) - view.getCalendarStartDay();
+        if (holidayCalendar.isWeekend(examDay)) {
+            logger.debug("Exam Date: " + Timeslot.toDateTime(view.getStartMinute(gene)).toLocalDate());
+            logger.debug("Exam can not be placed in the weekends");
+            return 1;
+        }
+        return 0;
+    }
+
+    private static double popularExamPunishment(ScheduleView view, int gene) {
+        // The lessons that most students have chosen should take place at the beginning of the
+        // exam timetable. This gives the teacher enough time to assess the exams.
+        // popular courses only depend on the enrolment, they are found once by the problem instance
+        int course = view.getCourse(gene);
+        if (course == -1 || !view.isPopularCourse(course)) {
+            return 0;
+        }
+        // first 4 days
+        long examPeriodThreshold = view.getProblemInstance().getStartDate().toEpochDay() + 4;
+        if (Timeslot.dayOf(view.getStartMinute(gene)) > examPeriodThreshold) {
+            logger.debug("Popular Exam that is not in the first 4 days: " + view.getCourseCode(gene));
+            logger.debug("Timeslot : " + Timeslot.ofMinutes(view.getStartMinute(gene), view.getEndMinute(gene)));
+            return 1;
+        }
+        return 0;
+    }
+
+    private static class BucketOverlaps implements ConstraintVisitor {
+        // No classroom / invigilator can be assigned to more than one exam at the same moment.
+        // intervals of one bucket in minutes are given to the overlap counter,
+        // OVERLAP_CROSS_CHECK=true also keeps the timeslots and compares the result with the pairwise check
+        private final Traversal bucket;
+        private final OverlapCounter overlapCounter = new OverlapCounter();
+        private final boolean overlapCrossCheck = Boolean.parseBoolean(ConfigHelper.getProperty("OVERLAP_CROSS_CHECK"));
+        private final ArrayList<Timeslot> intervalTimeslots = new ArrayList<>();
+        private long[] intervalStarts = new long[16];
+        private long[] intervalEnds = new long[16];
+        private int intervalCount;
+        private double punishment;
+
+        BucketOverlaps(Traversal bucket) {
+            this.bucket = bucket;
+        }
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(bucket);
+        }
+
+        @Override
+        public void start(ScheduleView view) {
+            punishment = 0;
+        }
+
+        @Override
+        public void visitClassroom(ScheduleView view, int classroom) {
+            clearIntervals();
+            for (int i = 0; i < view.getClassroomExamCount(classroom); i++) {
+                int gene = view.getClassroomExam(classroom, i);
+                addInterval(view.getStartMinute(gene), view.getEndMinute(gene));
+            }
+            punishment += getOverlappedPunishment();
+        }
+
+        @Override
+        public void visitInvigilator(ScheduleView view, int invigilator) {
+            clearIntervals();
+            for (int i = 0; i < view.getInvigilatorExamCount(invigilator); i++) {
+                int gene = view.getInvigilatorExam(invigilator, i);
+                addInterval(view.getStartMinute(gene), view.getEndMinute(gene));
+            }
+            punishment += getOverlappedPunishment();
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            return punishment;
+        }
+
+        private void clearIntervals() {
+            intervalCount = 0;
+            intervalTimeslots.clear();
+        }
+
+        private void addInterval(int start, int end) {
+            if (intervalCount == intervalStarts.length) {
+                intervalStarts = Arrays.copyOf(intervalStarts, intervalCount * 2);
+                intervalEnds = Arrays.copyOf(intervalEnds, intervalCount * 2);
+            }
+            intervalStarts[intervalCount] = start;
+            intervalEnds[intervalCount] = end;
+            intervalCount++;
+            if (overlapCrossCheck) {
+                intervalTimeslots.add(Timeslot.ofMinutes(start, end));
+            }
+        }
+
+        private double getOverlappedPunishment() {
+            // number of overlapping interval pairs, sort and sweep instead of comparing every pair
+            int overlappedPunishment = overlapCounter.countOverlaps(intervalStarts, intervalEnds, intervalCount);
+            if (overlapCrossCheck) {
+                double pairwisePunishment = getOverlappedPunishment(intervalTimeslots);
+                if (pairwisePunishment != overlappedPunishment) {
+                    logger.error("Overlap counts are different, sweep: " + overlappedPunishment + " pairwise: " + pairwisePunishment);
+                    logger.error(intervalTimeslots);
+                    return pairwisePunishment;
+                }
+            }
+            return overlappedPunishment;
+        }
+
+        private static double getOverlappedPunishment(ArrayList<Timeslot> timeslots) {
+            // pairwise check, used by OVERLAP_CROSS_CHECK
+            double overlappedPunishment = 0;
+            int length = timeslots.size();
+            for (int i = 0; i < length; i++) {
+                for (int j = i + 1; j < length; j++) {
+                    long minutes = timeslots.get(i).getOverlapMinutes(timeslots.get(j));
+                    if (minutes != 0) {
+                        logger.debug("Timeslots overlap !!!!!!!!!!");
+                        logger.debug(timeslots.get(i));
+                        logger.debug(timeslots.get(j));
+                        logger.debug("Overlapped minutes: " + minutes);
+                        overlappedPunishment += 1;
+                    }
+                }
+            }
+            return overlappedPunishment;
+        }
+    }
+
+    private abstract static class PersonVisitor implements ConstraintVisitor {
+        // exams of one person (enrolment profile or invigilator): their days in personDays,
+        // counted per day in dayExamCounts (cleared after the person), their end times in personEnds
+        private int[] dayExamCounts = new int[16];
+        int[] personDays = new int[16];
+        int[] personEnds = new int[16];
+        double punishment;
+
+        @Override
+        public void start(ScheduleView view) {
+            punishment = 0;
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            return punishment;
+        }
+
+        void ensurePersonBuffers(int size) {
+            if (personDays.length < size) {
+                personDays = Arrays.copyOf(personDays, size * 2);
+                personEnds = Arrays.copyOf(personEnds, size * 2);
+            }
+        }
+
+        int daysOverLimit(int dayCount, int dayLimit) {
+            // days with more than dayLimit exams in personDays[0, dayCount)
+            int daysOverLimit = 0;
+            for (int i = 0; i < dayCount; i++) {
+                if (personDays[i] >= dayExamCounts.length) {
+                    dayExamCounts = Arrays.copyOf(dayExamCounts, personDays[i] * 2);
+                }
+                if (++dayExamCounts[personDays[i]] == dayLimit + 1) {
+                    daysOverLimit++;
+                }
+            }
+            for (int i = 0; i < dayCount; i++) {
+                dayExamCounts[personDays[i]] = 0;
+            }
+            return daysOverLimit;
+        }
+
+        int gapsUnderLimit(int endCount, int gapLimit) {
+            // consecutive exam ends in personEnds[0, endCount) closer than gapLimit minutes
+            Arrays.sort(personEnds, 0, endCount);
+            int gapsUnderLimit = 0;
+            for (int i = 1; i < endCount; i++) {
+                if (personEnds[i] - personEnds[i - 1] < gapLimit) {
+                    gapsUnderLimit++;
+                }
+            }
+            return gapsUnderLimit;
+        }
+    }
+
+    private static class StudentDays extends PersonVisitor {
+        // No student should enter more than two exam in one day
+        // students with the same registered courses are evaluated once, after the traversal
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.noneOf(Traversal.class);
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            ProblemInstance problemInstance = view.getProblemInstance();
+            punishment = 0;
+            for (int profile = 0; profile < problemInstance.getProfileCount(); profile++) {
+                int count = 0;
+                for (int k = 0; k < problemInstance.getProfileCourseCount(profile); k++) {
+                    int course = problemInstance.getProfileCourse(profile, k);
+                    ensurePersonBuffers(count + view.getCourseGeneCount(course));
+                    for (int i = 0; i < view.getCourseGeneCount(course); i++) {
+                        personDays[count++] = view.getDay(view.getCourseGene(course, i));
+                    }
+                }
+                int daysOverLimit = daysOverLimit(count, 2);
+                if (daysOverLimit > 0) {
+                    logger.debug("Enrolment profile:" + profile + " Students:" + problemInstance.getProfileStudentCount(profile)
+                            + " Days with more than two exams:" + daysOverLimit);
+                }
+                punishment += daysOverLimit * problemInstance.getProfileStudentCount(profile);
+            }
+            return punishment;
+        }
+    }
+
+    private static class StudentGaps extends PersonVisitor {
+        // If student has more than one exam in the same day , they should have at least 1 hour between
+        // students with the same registered courses are evaluated once, after the traversal
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.noneOf(Traversal.class);
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            ProblemInstance problemInstance = view.getProblemInstance();
+            punishment = 0;
+            for (int profile = 0; profile < problemInstance.getProfileCount(); profile++) {
+                int count = 0;
+                for (int k = 0; k < problemInstance.getProfileCourseCount(profile); k++) {
+                    int course = problemInstance.getProfileCourse(profile, k);
+                    ensurePersonBuffers(count + view.getCourseGeneCount(course));
+                    for (int i = 0; i < view.getCourseGeneCount(course); i++) {
+                        // timeslot for student, after exam time is removed
+                        personEnds[count++] = (int) (view.getStudentEnd(view.getCourseGene(course, i)) - view.getOriginMinutes());
+                    }
+                }
+                int gapsUnderLimit = gapsUnderLimit(count, 60);
+                if (gapsUnderLimit > 0) {
+                    logger.debug("Enrolment profile:" + profile + " Students:" + problemInstance.getProfileStudentCount(profile)
+                            + " Gaps under 60 minutes:" + gapsUnderLimit);
+                }
+                punishment += gapsUnderLimit * problemInstance.getProfileStudentCount(profile);
+            }
+            return punishment;
+        }
+    }
+
+    private static class InvigilatorDays extends PersonVisitor {
+        // No invigilator should monitor more than three exam in one day
+        // exams of unknown courses are not counted per day
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(Traversal.INVIGILATORS);
+        }
+
+        @Override
+        public void visitInvigilator(ScheduleView view, int invigilator) {
+            int count = view.getInvigilatorExamCount(invigilator);
+            ensurePersonBuffers(count);
+            int dayCount = 0;
+            for (int i = 0; i < count; i++) {
+                int gene = view.getInvigilatorExam(invigilator, i);
+                if (view.getCourse(gene) != -1) {
+                    personDays[dayCount++] = view.getDay(gene);
+                }
+            }
+            int daysOverLimit = daysOverLimit(dayCount, 3);
+            if (daysOverLimit > 0) {
+                logger.debug("Invigilator:" + view.getProblemInstance().getInvigilatorId(invigilator)
+                        + " Days with more than three exams:" + daysOverLimit);
+            }
+            punishment += daysOverLimit;
+        }
+    }
+
+    private static class InvigilatorGaps extends PersonVisitor {
+        // If invigilator has more than one exam in the same day , they should have at least 30 minutes between
+        // exams of unknown courses are also checked
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(Traversal.INVIGILATORS);
+        }
+
+        @Override
+        public void visitInvigilator(ScheduleView view, int invigilator) {
+            int count = view.getInvigilatorExamCount(invigilator);
+            ensurePersonBuffers(count);
+            for (int i = 0; i < count; i++) {
+                personEnds[i] = view.getEndMinute(view.getInvigilatorExam(invigilator, i)) - view.getOriginMinutes();
+            }
+            int gapsUnderLimit = gapsUnderLimit(count, 30);
+            if (gapsUnderLimit > 0) {
+                logger.debug("Invigilator:" + view.getProblemInstance().getInvigilatorId(invigilator)
+                        + " Gaps under 30 minutes:" + gapsUnderLimit);
+            }
+            punishment += gapsUnderLimit;
+        }
+    }
+
+    private static class AfternoonExams implements ConstraintVisitor {
+        // Most examinations should take place in the afternoon, when students' perceptions are normally most open.
+        // every registered student of an exam counts once
+        private static final int AFTERNOON_START = 12 * 60;
+        private static final int AFTERNOON_END = 18 * 60;
+        private static final double DESIRED_AFTERNOON_PROPORTION = 0.7;
+        private int totalExams;
+        private int afternoonExams;
+
+        @Override
+        public Set<Traversal> getTraversals() {
+            return EnumSet.of(Traversal.GENES);
+        }
+
+        @Override
+        public void start(ScheduleView view) {
+            totalExams = 0;
+            afternoonExams = 0;
+        }
+
+        @Override
+        public void visitGene(ScheduleView view, int gene) {
+            int course = view.getCourse(gene);
+            if (course == -1) {
+                return;
+            }
+            ProblemInstance problemInstance = view.getProblemInstance();
+            int registeredStudentCount = problemInstance.getRegisteredStudentCount(course);
+            // minute of the day
+            int examStartTime = Timeslot.minuteOfDay(view.getStartMinute(gene) + problemInstance.getBeforeExamPrepTime(course) * 60);
+            totalExams += registeredStudentCount;
+            if (examStartTime >= AFTERNOON_START && examStartTime <= AFTERNOON_END) {
+                afternoonExams += registeredStudentCount;
+            }
+        }
+
+        @Override
+        public double punishment(ScheduleView view) {
+            double afternoonProportion = (double) afternoonExams / totalExams;
+            if (afternoonProportion < DESIRED_AFTERNOON_PROPORTION) {
+                logger.debug("Proportion is not enough: " + afternoonProportion);
+                return Math.abs(DESIRED_AFTERNOON_PROPORTION - afternoonProportion) * 10;
+            }
+            return 0;
+        }
+    }
+}
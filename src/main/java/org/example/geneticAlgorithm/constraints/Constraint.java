@@ -0,0 +1,28 @@
+package org.example.geneticAlgorithm.constraints;
+
+public interface Constraint {
+    /*
+     * One hard or soft rule of the schedule.
+     *
+     * A constraint does not scan the chromosome itself, it creates a ConstraintVisitor that
+     * the pipeline calls for the genes and buckets of the read-only ScheduleView, so all
+     * active constraints share one traversal per chromosome.
+     * The visitor returns the punishment, score of the constraint is 1 / (1 + punishment).
+     * */
+
+    // unique name, also used as the column name in the fitness score files
+    String getId();
+
+    boolean isHard();
+
+    // weight of the constraint in the harmonic average of its group
+    double getWeight();
+
+    // called once for every evaluating thread, the visitor is reused for every chromosome
+    ConstraintVisitor createVisitor();
+
+    default double evaluate(ScheduleView view) {
+        // this constraint alone, with a new visitor and its own traversal
+        return ConstraintEvaluation.evaluate(createVisitor(), view);
+    }
+}
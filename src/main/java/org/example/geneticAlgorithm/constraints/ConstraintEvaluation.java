@@ -0,0 +1,126 @@
+package org.example.geneticAlgorithm.constraints;
+
+import org.example.models.ProblemInstance;
+
+import java.util.ArrayList;
+
+public class ConstraintEvaluation {
+    /*
+     * Visitors of the active constraints of a pipeline for one evaluating thread, each Fitness has one.
+     *
+     * traverse(view) walks the genes and the non-empty classroom, invigilator and course buckets
+     * of the view once and calls every visitor that asked for that part,
+     * hardScores / softScores then take the punishments and build the score rows (see ConstraintPipeline).
+     * */
+    private final ConstraintPipeline pipeline;
+    // hard constraints first, then soft constraints, same order as the pipeline
+    private final ConstraintVisitor[] visitors;
+    // visitors of each ConstraintVisitor.Traversal, by ordinal
+    private final ConstraintVisitor[][] visitorsByTraversal;
+    private ScheduleView view;
+
+    ConstraintEvaluation(ConstraintPipeline pipeline, ConstraintVisitor[] visitors) {
+        this.pipeline = pipeline;
+        this.visitors = visitors;
+        this.visitorsByTraversal = byTraversal(visitors);
+    }
+
+    public ConstraintPipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void traverse(ScheduleView view) {
+        long start = System.nanoTime();
+        traverse(view, visitors, visitorsByTraversal);
+        this.view = view;
+        pipeline.recordTraversal(System.nanoTime() - start);
+    }
+
+    public double[] hardScores(long chromosomeId) {
+        return pipeline.hardScores(visitors, traversedView(), chromosomeId);
+    }
+
+    public double[] softScores(long chromosomeId, double minimumScore) {
+        return pipeline.softScores(visitors, traversedView(), chromosomeId, minimumScore);
+    }
+
+    private ScheduleView traversedView() {
+        if (view == null) {
+            throw new IllegalStateException("Scores are asked before the view is traversed");
+        }
+        return view;
+    }
+
+    static double evaluate(ConstraintVisitor visitor, ScheduleView view) {
+        ConstraintVisitor[] visitors = {visitor};
+        traverse(view, visitors, byTraversal(visitors));
+        return visitor.punishment(view);
+    }
+
+    private static void traverse(ScheduleView view, ConstraintVisitor[] visitors, ConstraintVisitor[][] visitorsByTraversal) {
+        for (ConstraintVisitor visitor : visitors) {
+            visitor.start(view);
+        }
+        ProblemInstance problemInstance = view.getProblemInstance();
+
+        ConstraintVisitor[] geneVisitors = visitorsByTraversal[ConstraintVisitor.Traversal.GENES.ordinal()];
+        if (geneVisitors.length > 0) {
+            for (int gene = 0; gene < view.getGeneCount(); gene++) {
+                for (ConstraintVisitor visitor : geneVisitors) {
+                    visitor.visitGene(view, gene);
+                }
+            }
+        }
+
+        ConstraintVisitor[] classroomVisitors = visitorsByTraversal[ConstraintVisitor.Traversal.CLASSROOMS.ordinal()];
+        if (classroomVisitors.length > 0) {
+            for (int classroom = 0; classroom < problemInstance.getClassroomCount(); classroom++) {
+                if (view.getClassroomExamCount(classroom) == 0) {
+                    continue;
+                }
+                for (ConstraintVisitor visitor : classroomVisitors) {
+                    visitor.visitClassroom(view, classroom);
+                }
+            }
+        }
+
+        ConstraintVisitor[] invigilatorVisitors = visitorsByTraversal[ConstraintVisitor.Traversal.INVIGILATORS.ordinal()];
+        if (invigilatorVisitors.length > 0) {
+            for (int invigilator = 0; invigilator < problemInstance.getInvigilatorCount(); invigilator++) {
+                if (view.getInvigilatorExamCount(invigilator) == 0) {
+                    continue;
+                }
+                for (ConstraintVisitor visitor : invigilatorVisitors) {
+                    visitor.visitInvigilator(view, invigilator);
+                }
+            }
+        }
+
+        ConstraintVisitor[] courseVisitors = visitorsByTraversal[ConstraintVisitor.Traversal.COURSES.ordinal()];
+        if (courseVisitors.length > 0) {
+            for (int course = 0; course < problemInstance.getCourseCount(); course++) {
+                if (view.getCourseGeneCount(course) == 0) {
+                    continue;
+                }
+                for (ConstraintVisitor visitor : courseVisitors) {
+                    visitor.visitCourse(view, course);
+                }
+            }
+        }
+    }
+
+    private static ConstraintVisitor[][] byTraversal(ConstraintVisitor[] visitors) {
+        ConstraintVisitor.Traversal[] traversals = ConstraintVisitor.Traversal.values();
+        ConstraintVisitor[][] visitorsByTraversal = new ConstraintVisitor[traversals.length][];
+        for (ConstraintVisitor.Traversal traversal : traversals) {
+            ArrayList<ConstraintVisitor> selected = new ArrayList<>();
+            for (ConstraintVisitor visitor : visitors) {
+                if (visitor.getTraversals().contains(traversal)) {
+                    selected.add(visitor);
+                }
+            }
+            visitorsByTraversal[traversal.ordinal()] = selected.toArray(new ConstraintVisitor[0]);
+        }
+        return visitorsByTraversal;
+    }
+}
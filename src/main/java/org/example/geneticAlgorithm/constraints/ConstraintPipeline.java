@@ -0,0 +1,214 @@
+package org.example.geneticAlgorithm.constraints;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.operators.Fitness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConstraintPipeline {
+    /*
+     * Active constraints of a ConstraintRegistry, split into hard and soft arrays.
+     *
+     * Fitness prepares the indexed view of a chromosome once, its ConstraintEvaluation
+     * (see newEvaluation) walks that view once for the visitors of all active constraints,
+     * then the pipeline takes their punishments and builds the score rows:
+     * [chromosome id, constraint scores in registration order..., weighted harmonic average]
+     * A group without active constraints has the score 1.
+     *
+     * Soft scores can also be evaluated bounded: the caller gives the lowest group score
+     * that is still useful, and the evaluation stops as soon as the group score can not
+     * reach it even if all remaining constraints score 1. Skipped constraints are NaN
+     * and the last column holds that upper bound instead of the exact score.
+     *
+     * Time of the shared traversals and, for each constraint, the time and call count of its
+     * punishment step are recorded. The same pipeline is shared by the fitness instances of
+     * all threads, so the counters are atomic.
+     * */
+    private static final Logger logger = LogManager.getLogger(ConstraintPipeline.class);
+    private final Constraint[] hardConstraints;
+    private final Constraint[] softConstraints;
+    private final double[] hardWeights;
+    private final double[] softWeights;
+    // sum of the weights from index i to the end, used for the upper bound of a bounded evaluation
+    private final double[] hardRemainingWeights;
+    private final double[] softRemainingWeights;
+    private final boolean builtInOnly;
+    // hard constraints first, then soft constraints
+    private final AtomicLongArray evaluationNanos;
+    private final AtomicLongArray evaluationCounts;
+    private final AtomicLong traversalNanos = new AtomicLong();
+    private final AtomicLong traversalCount = new AtomicLong();
+
+    ConstraintPipeline(ArrayList<Constraint> constraints, boolean builtInOnly) {
+        ArrayList<Constraint> hard = new ArrayList<>();
+        ArrayList<Constraint> soft = new ArrayList<>();
+        for (Constraint constraint : constraints) {
+            if (constraint.isHard()) {
+                hard.add(constraint);
+            } else {
+                soft.add(constraint);
+            }
+        }
+        this.hardConstraints = hard.toArray(new Constraint[0]);
+        this.softConstraints = soft.toArray(new Constraint[0]);
+        this.hardWeights = weightsOf(hardConstraints);
+        this.softWeights = weightsOf(softConstraints);
+        this.hardRemainingWeights = remainingWeightsOf(hardWeights);
+        this.softRemainingWeights = remainingWeightsOf(softWeights);
+        this.builtInOnly = builtInOnly;
+        this.evaluationNanos = new AtomicLongArray(constraints.size());
+        this.evaluationCounts = new AtomicLongArray(constraints.size());
+    }
+
+    public ConstraintEvaluation newEvaluation() {
+        // visitors for one evaluating thread
+        ConstraintVisitor[] visitors = new ConstraintVisitor[hardConstraints.length + softConstraints.length];
+        for (int i = 0; i < hardConstraints.length; i++) {
+            visitors[i] = hardConstraints[i].createVisitor();
+        }
+        for (int i = 0; i < softConstraints.length; i++) {
+            visitors[hardConstraints.length + i] = softConstraints[i].createVisitor();
+        }
+        return new ConstraintEvaluation(this, visitors);
+    }
+
+    double[] hardScores(ConstraintVisitor[] visitors, ScheduleView view, long chromosomeId) {
+        return scores(hardConstraints, hardWeights, hardRemainingWeights, 0, visitors, view, chromosomeId, Double.NEGATIVE_INFINITY);
+    }
+
+    double[] softScores(ConstraintVisitor[] visitors, ScheduleView view, long chromosomeId, double minimumScore) {
+        return scores(softConstraints, softWeights, softRemainingWeights, hardConstraints.length, visitors, view, chromosomeId, minimumScore);
+    }
+
+    void recordTraversal(long nanos) {
+        traversalNanos.addAndGet(nanos);
+        traversalCount.incrementAndGet();
+    }
+
+    public static boolean isBounded(double[] row) {
+        // true if some constraints of the row are skipped by a bounded evaluation
+        for (int i = 1; i < row.length - 1; i++) {
+            if (Double.isNaN(row[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double[] scores(Constraint[] constraints, double[] weights, double[] remainingWeights, int offset,
+                            ConstraintVisitor[] visitors, ScheduleView view, long chromosomeId, double minimumScore) {
+        double[] row = new double[constraints.length + 2];
+        row[0] = chromosomeId;
+        double weightSum = constraints.length == 0 ? 0 : remainingWeights[0];
+        double inverseSum = 0;
+        for (int i = 0; i < constraints.length; i++) {
+            // weighted harmonic average if the remaining constraints all score 1
+            double upperBound = weightSum / (inverseSum + remainingWeights[i]);
+            if (upperBound < minimumScore) {
+                Arrays.fill(row, i + 1, row.length - 1, Double.NaN);
+                row[row.length - 1] = upperBound;
+                return row;
+            }
+            long start = System.nanoTime();
+            row[i + 1] = Fitness.constraintScore(visitors[offset + i].punishment(view));
+            inverseSum += weights[i] / row[i + 1];
+            evaluationNanos.addAndGet(offset + i, System.nanoTime() - start);
+            evaluationCounts.incrementAndGet(offset + i);
+        }
+        row[row.length - 1] = constraints.length == 0 ? 1 : Fitness.harmonicAverage(row, 1, constraints.length, weights);
+        return row;
+    }
+
+    public String[] getHeader(boolean hard) {
+        // column names of the score rows, same format as the fitness score files
+        Constraint[] constraints = hard ? hardConstraints : softConstraints;
+        String[] header = new String[constraints.length + 2];
+        header[0] = "Chromosome id";
+        for (int i = 0; i < constraints.length; i++) {
+            header[i + 1] = constraints[i].getId();
+        }
+        header[header.length - 1] = "fitnessScore";
+        return header;
+    }
+
+    public int getHardConstraintCount() {
+        return hardConstraints.length;
+    }
+
+    public int getSoftConstraintCount() {
+        return softConstraints.length;
+    }
+
+    public boolean isBuiltInOnly() {
+        // true if exactly the constraints of Fitness are active with weight 1
+        return builtInOnly;
+    }
+
+    public long getTraversalNanos() {
+        return traversalNanos.get();
+    }
+
+    public long getTraversalCount() {
+        return traversalCount.get();
+    }
+
+    public long getEvaluationNanos(String id) {
+        // time of the punishment step, the shared traversal is counted in getTraversalNanos
+        int index = indexOf(id);
+        return index == -1 ? 0 : evaluationNanos.get(index);
+    }
+
+    public long getEvaluationCount(String id) {
+        int index = indexOf(id);
+        return index == -1 ? 0 : evaluationCounts.get(index);
+    }
+
+    public void logTimings() {
+        long traversals = traversalCount.get();
+        logger.info("Constraint traversal: " + traversals + " traversals, total " + traversalNanos.get() / 1_000_000 + " ms, average "
+                + (traversals == 0 ? 0 : traversalNanos.get() / traversals / 1000.0) + " us");
+        for (int i = 0; i < hardConstraints.length + softConstraints.length; i++) {
+            Constraint constraint = i < hardConstraints.length ? hardConstraints[i] : softConstraints[i - hardConstraints.length];
+            long count = evaluationCounts.get(i);
+            long nanos = evaluationNanos.get(i);
+            logger.info("Constraint " + constraint.getId() + ": " + count + " evaluations, total " + nanos / 1_000_000 + " ms, average "
+                    + (count == 0 ? 0 : nanos / count / 1000.0) + " us");
+        }
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < hardConstraints.length; i++) {
+            if (hardConstraints[i].getId().equals(id)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < softConstraints.length; i++) {
+            if (softConstraints[i].getId().equals(id)) {
+                return hardConstraints.length + i;
+            }
+        }
+        return -1;
+    }
+
+    private static double[] remainingWeightsOf(double[] weights) {
+        double[] remainingWeights = new double[weights.length];
+        double sum = 0;
+        for (int i = weights.length - 1; i >= 0; i--) {
+            sum += weights[i];
+            remainingWeights[i] = sum;
+        }
+        return remainingWeights;
+    }
+
+    private static double[] weightsOf(Constraint[] constraints) {
+        double[] weights = new double[constraints.length];
+        for (int i = 0; i < constraints.length; i++) {
+            weights[i] = constraints[i].getWeight();
+        }
+        return weights;
+    }
+}
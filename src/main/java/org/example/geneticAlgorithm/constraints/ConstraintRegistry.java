@@ -0,0 +1,98 @@
+package org.example.geneticAlgorithm.constraints;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.ConfigHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+public class ConstraintRegistry {
+    /*
+     * All known constraints in registration order.
+     * The 12 hard and 7 soft constraints of Fitness (BuiltInConstraints) are registered by default,
+     * additional (faculty specific) rules are added with register() before the run starts.
+     *
+     * getPipeline() compiles the active constraints once, constraints listed in
+     * DISABLED_CONSTRAINTS (comma separated ids) are left out.
+     * Registering a constraint drops the compiled pipeline, the next call compiles it again.
+     * */
+    private static final Logger logger = LogManager.getLogger(ConstraintRegistry.class);
+    private static final ConstraintRegistry instance = createDefaultRegistry();
+
+    private final LinkedHashMap<String, Constraint> constraints = new LinkedHashMap<>();
+    private final List<String> builtInIds = new ArrayList<>();
+    private ConstraintPipeline pipeline;
+
+    public static ConstraintRegistry getInstance() {
+        return instance;
+    }
+
+    public static ConstraintRegistry createDefaultRegistry() {
+        ConstraintRegistry registry = new ConstraintRegistry();
+        for (Constraint constraint : BuiltInConstraints.all()) {
+            registry.registerBuiltIn(constraint);
+        }
+        return registry;
+    }
+
+    private void registerBuiltIn(Constraint constraint) {
+        register(constraint);
+        builtInIds.add(constraint.getId());
+    }
+
+    public synchronized void register(Constraint constraint) {
+        if (constraints.containsKey(constraint.getId())) {
+            throw new IllegalArgumentException("A constraint with id " + constraint.getId() + " is already registered");
+        }
+        constraints.put(constraint.getId(), constraint);
+        pipeline = null;
+        logger.debug("Constraint registered: " + constraint.getId() + (constraint.isHard() ? " (hard)" : " (soft)"));
+    }
+
+    public synchronized Constraint getConstraint(String id) {
+        return constraints.get(id);
+    }
+
+    public synchronized ArrayList<Constraint> getConstraints() {
+        return new ArrayList<>(constraints.values());
+    }
+
+    public synchronized ConstraintPipeline getPipeline() {
+        if (pipeline == null) {
+            pipeline = compile(disabledConstraints());
+        }
+        return pipeline;
+    }
+
+    public synchronized ConstraintPipeline compile(Set<String> disabledIds) {
+        ArrayList<Constraint> active = new ArrayList<>();
+        for (Constraint constraint : constraints.values()) {
+            if (!disabledIds.contains(constraint.getId())) {
+                active.add(constraint);
+            }
+        }
+        // incremental fitness re-implements exactly the built-in constraints with equal weights
+        boolean builtInOnly = active.size() == builtInIds.size();
+        for (int i = 0; builtInOnly && i < active.size(); i++) {
+            builtInOnly = active.get(i).getId().equals(builtInIds.get(i)) && active.get(i).getWeight() == 1;
+        }
+        logger.debug("Constraint pipeline is compiled with " + active.size() + " of " + constraints.size() + " constraints.");
+        return new ConstraintPipeline(active, builtInOnly);
+    }
+
+    private static Set<String> disabledConstraints() {
+        Set<String> disabledIds = new HashSet<>();
+        String property = ConfigHelper.getProperty("DISABLED_CONSTRAINTS");
+        if (property != null && !property.trim().isEmpty()) {
+            for (String id : Arrays.asList(property.split(","))) {
+                disabledIds.add(id.trim());
+            }
+        }
+        return disabledIds;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.geneticAlgorithm.constraints;
+
+import java.util.Set;
+
+public interface ConstraintVisitor {
+    /*
+     * Evaluation of one constraint as callbacks of the pipeline traversal.
+     *
+     * For every chromosome the pipeline calls start, then walks the genes and the non-empty
+     * classroom, invigilator and course buckets of the view once for all active constraints,
+     * calling each visitor only for the parts it asked for in getTraversals.
+     * punishment is called after the traversal, work that does not follow a gene or a bucket
+     * (e.g. enrolment profiles) is done there, so a bounded evaluation that stops before
+     * the constraint skips it.
+     *
+     * A visitor belongs to one evaluating thread, it keeps its tallies from start to punishment.
+     * */
+    enum Traversal {
+        GENES,
+        CLASSROOMS,
+        INVIGILATORS,
+        COURSES
+    }
+
+    // empty if the visitor only works in punishment
+    Set<Traversal> getTraversals();
+
+    default void start(ScheduleView view) {
+    }
+
+    default void visitGene(ScheduleView view, int gene) {
+    }
+
+    default void visitClassroom(ScheduleView view, int classroom) {
+    }
+
+    default void visitInvigilator(ScheduleView view, int invigilator) {
+    }
+
+    default void visitCourse(ScheduleView view, int course) {
+    }
+
+    double punishment(ScheduleView view);
+}
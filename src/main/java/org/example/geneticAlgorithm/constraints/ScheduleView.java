@@ -0,0 +1,66 @@
+package org.example.geneticAlgorithm.constraints;
+
+import org.example.models.ProblemInstance;
+
+public interface ScheduleView {
+    /*
+     * Read-only indexed view of the chromosome under evaluation, Fitness prepares it once per chromosome
+     * and constraints only read it.
+     *
+     * Genes are the indices [0, getGeneCount()), courses, classrooms and invigilators are the dense ids
+     * of the problem instance. A gene of an unknown course has course -1, a gene without a classroom has
+     * classroom NO_CLASSROOM and an unknown classroom code is -1.
+     * Buckets list the genes of one classroom, invigilator or course, times are minutes (see Timeslot).
+     * */
+    int NO_CLASSROOM = -2;
+
+    ProblemInstance getProblemInstance();
+
+    int getGeneCount();
+
+    int getCourse(int gene);
+
+    // course code of the gene, also for unknown courses
+    String getCourseCode(int gene);
+
+    int getClassroom(int gene);
+
+    int getStartMinute(int gene);
+
+    int getEndMinute(int gene);
+
+    // timeslot for students, before and after exam times are removed
+    long getStudentStart(int gene);
+
+    long getStudentEnd(int gene);
+
+    int getInvigilatorCount(int gene);
+
+    // exam day as index from the first exam day of the chromosome
+    int getDay(int gene);
+
+    int getClassroomExamCount(int classroom);
+
+    int getClassroomExam(int classroom, int i);
+
+    int getInvigilatorExamCount(int invigilator);
+
+    int getInvigilatorExam(int invigilator, int i);
+
+    int getCourseGeneCount(int course);
+
+    int getCourseGene(int course, int i);
+
+    // start of the exam period at 00:00, gaps are measured from it
+    int getOriginMinutes();
+
+    // exam period in minutes and the first day of the holiday calendar as epoch day
+    int getPeriodStartMinute();
+
+    int getPeriodEndMinute();
+
+    int getCalendarStartDay();
+
+    // course is one of the POPULAR_EXAM_COUNT courses with the most registered students
+    boolean isPopularCourse(int course);
+}
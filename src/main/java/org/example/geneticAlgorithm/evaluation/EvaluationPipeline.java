@@ -0,0 +1,206 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+import org.example.models.ProblemInstance;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EvaluationPipeline {
+    /*
+     * Evaluation stage of an asynchronous GA.
+     *
+     * The caller thread submits chromosomes into a bounded pending queue and takes evaluated chromosomes
+     * from a bounded evaluated queue in the order they complete. Worker threads take from the pending queue,
+     * score with their own Fitness instance (thread confined context, see PopulationEvaluator) and put into
+     * the evaluated queue, so the caller can breed while the workers evaluate.
+     *
+     * At most capacity chromosomes are in flight (submitted and not taken), both queues can hold all of them,
+     * so a worker never waits for the caller and submit never waits for a worker.
+     * The fitness cache is not thread safe, it is read on submit and written on take, on the caller thread only.
+     * Submitted chromosomes must not be changed until they are taken.
+     * A failed evaluation (also an Error) is thrown by the take of its job, the workers are stopped then and the jobs
+     * still pending fail the same way, so a take never waits for a worker that is gone.
+     * */
+    private static final Logger logger = LogManager.getLogger(EvaluationPipeline.class);
+
+    @Getter
+    private final int capacity;
+    private final ArrayBlockingQueue<Job> pendingQueue;
+    private final ArrayBlockingQueue<Job> evaluatedQueue;
+    private final ExecutorService workers;
+    private final FitnessCache fitnessCache;
+    @Getter
+    private final StageMetrics evaluationMetrics = new StageMetrics("evaluate");
+    @Getter
+    private final StageMetrics mergeMetrics = new StageMetrics("merge");
+    @Getter
+    private int inFlightCount;
+    private volatile Throwable failure;
+
+    public EvaluationPipeline(ProblemInstance problemInstance, int threadCount, int capacity, FitnessCache fitnessCache) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Evaluation pipeline capacity must be positive: " + capacity);
+        }
+        int workerCount = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+        this.capacity = capacity;
+        this.pendingQueue = new ArrayBlockingQueue<>(capacity);
+        this.evaluatedQueue = new ArrayBlockingQueue<>(capacity);
+        this.fitnessCache = fitnessCache;
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "evaluation-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(() -> evaluate(new Fitness(problemInstance)));
+        }
+        logger.info("Evaluation pipeline with " + workerCount + " threads, capacity: " + capacity);
+    }
+
+    public void submit(Chromosome chromosome, double cutoff) {
+        if (inFlightCount == capacity) {
+            throw new IllegalStateException("Evaluation pipeline is full, capacity: " + capacity);
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Evaluation pipeline failed", failure);
+        }
+        Job job = new Job(chromosome, cutoff);
+        inFlightCount++;
+        if (fitnessCache != null) {
+            job.key = fitnessCache.keyOf(chromosome);
+            job.scores = fitnessCache.get(job.key, chromosome.getChromosomeId());
+            if (job.scores != null) {
+                // a cache hit skips the workers
+                job.cached = true;
+                job.evaluatedNanos = job.submittedNanos;
+                evaluatedQueue.add(job);
+                return;
+            }
+        }
+        evaluationMetrics.sampleDepth(pendingQueue.size());
+        pendingQueue.add(job);
+        if (failure != null) {
+            // a worker failed while the job was added
+            failPending(failure);
+        }
+    }
+
+    public Job take() {
+        // waits for the next evaluated chromosome
+        if (inFlightCount == 0) {
+            throw new IllegalStateException("No chromosome is being evaluated");
+        }
+        try {
+            mergeMetrics.sampleDepth(evaluatedQueue.size());
+            return taken(evaluatedQueue.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluation pipeline is interrupted", e);
+        }
+    }
+
+    public Job poll() {
+        // next evaluated chromosome, null if none is ready
+        Job job = evaluatedQueue.poll();
+        if (job == null) {
+            return null;
+        }
+        mergeMetrics.sampleDepth(evaluatedQueue.size() + 1);
+        return taken(job);
+    }
+
+    public void merged(Job job) {
+        // the caller has used the scores of the job
+        mergeMetrics.record(job.takenNanos - job.evaluatedNanos, System.nanoTime() - job.takenNanos);
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (fitnessCache != null) {
+            fitnessCache.logStatistics();
+        }
+    }
+
+    private Job taken(Job job) {
+        inFlightCount--;
+        job.takenNanos = System.nanoTime();
+        if (job.failure != null) {
+            workers.shutdownNow();
+            failPending(job.failure);
+            throw new IllegalStateException("Fitness evaluation failed", job.failure);
+        }
+        if (fitnessCache != null && !job.cached && !Fitness.isBounded(job.scores)) {
+            fitnessCache.put(job.key, job.scores);
+        }
+        return job;
+    }
+
+    private void evaluate(Fitness fitness) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Job job;
+            try {
+                job = pendingQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long startNanos = System.nanoTime();
+            try {
+                job.scores = fitness.fitnessScore(job.chromosome, job.cutoff);
+            } catch (Throwable e) {
+                // the caller throws it when it takes the job
+                job.failure = e;
+            }
+            job.evaluatedNanos = System.nanoTime();
+            evaluationMetrics.record(startNanos - job.submittedNanos, job.evaluatedNanos - startNanos);
+            evaluatedQueue.add(job);
+            if (job.failure instanceof Error) {
+                // the worker can not go on, nobody would evaluate the pending jobs
+                failPending(job.failure);
+                return;
+            }
+        }
+    }
+
+    private void failPending(Throwable cause) {
+        // pending jobs go to the evaluated queue with the failure, their takes throw it
+        failure = cause;
+        Job job;
+        while ((job = pendingQueue.poll()) != null) {
+            job.failure = cause;
+            job.evaluatedNanos = System.nanoTime();
+            evaluatedQueue.add(job);
+        }
+    }
+
+    public static final class Job {
+        @Getter
+        private final Chromosome chromosome;
+        private final double cutoff;
+        private final long submittedNanos = System.nanoTime();
+        // written by a worker before the job is put into the evaluated queue, the queue publishes them to the caller
+        @Getter
+        private double[][] scores;
+        private Throwable failure;
+        private long evaluatedNanos;
+        private long takenNanos;
+        private FitnessCache.GenotypeKey key;
+        private boolean cached;
+
+        private Job(Chromosome chromosome, double cutoff) {
+            this.chromosome = chromosome;
+            this.cutoff = cutoff;
+        }
+    }
+}
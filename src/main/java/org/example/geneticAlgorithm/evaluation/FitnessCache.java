@@ -0,0 +1,180 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.PackedChromosome;
+import org.example.models.ProblemInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FitnessCache {
+    /*
+     * Bounded LRU cache of fitness scores, keyed by the genes of a chromosome.
+     *
+     * Elites, unchanged survivors and children that are equal to a parent have the same
+     * genes as a chromosome that is already scored, so their scores are copied from the cache.
+     * The key contains course, timeslot, classroom and invigilators of every gene as dense ids
+     * of the problem instance, sorted by course, so gene order does not matter
+     * (Crossover sorts the genes of the parents in place).
+     * Unknown classrooms / invigilators are all encoded as -1, fitness treats them the same way.
+     * Packed chromosomes give the same key without sorting, their genes are already in course order.
+     *
+     * Score rows start with the chromosome id, rows are copied with the id of the
+     * requesting chromosome. Not thread safe, it is used by the thread that calls PopulationEvaluator.
+     * */
+    private static final Logger logger = LogManager.getLogger(FitnessCache.class);
+    private static final long NO_CLASSROOM = -2;
+
+    private final ProblemInstance problemInstance;
+    private final int capacity;
+    private final LinkedHashMap<GenotypeKey, double[][]> scores;
+    private long hitCount;
+    private long missCount;
+
+    public FitnessCache(ProblemInstance problemInstance, int capacity) {
+        this.problemInstance = problemInstance;
+        this.capacity = capacity;
+        // access order, the least recently used entry is removed when the cache is full
+        this.scores = new LinkedHashMap<GenotypeKey, double[][]>(Math.min(capacity, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GenotypeKey, double[][]> eldest) {
+                return size() > FitnessCache.this.capacity;
+            }
+        };
+    }
+
+    public GenotypeKey keyOf(Chromosome chromosome) {
+        if (chromosome.getPackedGenes() != null) {
+            return keyOf(chromosome.getPackedGenes());
+        }
+        ArrayList<EncodedExam> encodedExams = chromosome.getEncodedExams();
+        long[][] genes = new long[encodedExams.size()][];
+        int length = 0;
+        for (int i = 0; i < encodedExams.size(); i++) {
+            EncodedExam exam = encodedExams.get(i);
+            ArrayList<String> invigilators = exam.getInvigilators();
+            long[] gene = new long[5 + invigilators.size()];
+            gene[0] = problemInstance.indexOfCourse(exam.getCourseCode());
+            gene[1] = exam.getTimeSlot().getStartMinute();
+            gene[2] = exam.getTimeSlot().getEndMinute();
+            gene[3] = exam.getClassroomCode() == null ? NO_CLASSROOM : problemInstance.indexOfClassroom(exam.getClassroomCode());
+            gene[4] = invigilators.size();
+            for (int k = 0; k < invigilators.size(); k++) {
+                gene[5 + k] = problemInstance.indexOfInvigilator(invigilators.get(k));
+            }
+            genes[i] = gene;
+            length += gene.length;
+        }
+        Arrays.sort(genes, FitnessCache::compareGenes);
+
+        long[] values = new long[length];
+        int position = 0;
+        for (long[] gene : genes) {
+            System.arraycopy(gene, 0, values, position, gene.length);
+            position += gene.length;
+        }
+        return new GenotypeKey(values);
+    }
+
+    private GenotypeKey keyOf(PackedChromosome packedGenes) {
+        int length = 0;
+        for (int gene = 0; gene < packedGenes.size(); gene++) {
+            length += 5 + packedGenes.getInvigilatorCount(gene);
+        }
+        long[] values = new long[length];
+        int position = 0;
+        for (int gene = 0; gene < packedGenes.size(); gene++) {
+            int invigilatorCount = packedGenes.getInvigilatorCount(gene);
+            values[position++] = packedGenes.getCourse(gene);
+            values[position++] = packedGenes.getStart(gene);
+            values[position++] = packedGenes.getEnd(gene);
+            values[position++] = packedGenes.getClassroom(gene) == PackedChromosome.NO_CLASSROOM ? NO_CLASSROOM : packedGenes.getClassroom(gene);
+            values[position++] = invigilatorCount;
+            for (int k = 0; k < invigilatorCount; k++) {
+                values[position++] = packedGenes.getInvigilator(gene, k);
+            }
+        }
+        return new GenotypeKey(values);
+    }
+
+    public double[][] get(GenotypeKey key, long chromosomeId) {
+        double[][] cachedScores = scores.get(key);
+        if (cachedScores == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return copyScores(cachedScores, chromosomeId);
+    }
+
+    public void put(GenotypeKey key, double[][] calculatedScores) {
+        // callers may change the rows later (fitness sharing), so the cache keeps its own copy
+        scores.put(key, copyScores(calculatedScores, 0));
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    public void logStatistics() {
+        long lookups = hitCount + missCount;
+        double hitRate = lookups == 0 ? 0 : (double) hitCount / lookups;
+        logger.info("Fitness cache hits: " + hitCount + ", misses: " + missCount + ", hit rate: " + hitRate
+                + ", entries: " + scores.size() + "/" + capacity);
+    }
+
+    static double[][] copyScores(double[][] calculatedScores, long chromosomeId) {
+        double[][] copy = new double[calculatedScores.length][];
+        for (int i = 0; i < calculatedScores.length; i++) {
+            copy[i] = calculatedScores[i].clone();
+            copy[i][0] = chromosomeId;
+        }
+        return copy;
+    }
+
+    private static int compareGenes(long[] gene1, long[] gene2) {
+        int length = Math.min(gene1.length, gene2.length);
+        for (int i = 0; i < length; i++) {
+            if (gene1[i] != gene2[i]) {
+                return Long.compare(gene1[i], gene2[i]);
+            }
+        }
+        return Integer.compare(gene1.length, gene2.length);
+    }
+
+    public static final class GenotypeKey {
+        private final long[] values;
+        private final int hash;
+
+        private GenotypeKey(long[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GenotypeKey)) return false;
+            GenotypeKey key = (GenotypeKey) o;
+            return hash == key.hash && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
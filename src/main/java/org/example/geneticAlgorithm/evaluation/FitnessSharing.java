@@ -0,0 +1,336 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.PackedChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class FitnessSharing {
+    /*
+     * Fitness sharing with the distance of Fitness.hammingDistance:
+     * number of gene pairs with the same course and classroom, different start and end,
+     * and invigilator lists where neither contains the other.
+     *
+     * Genes of every chromosome are packed once into arrays sorted by course
+     * (codes and names are replaced by ids), so a distance is a merge of two sorted arrays, O(N),
+     * instead of scanning the other chromosome for every gene, O(N^2).
+     * A gene without a classroom never matches (Fitness.hammingDistance fails on it).
+     * If every chromosome is packed (PackedChromosome), the dense ids of the problem instance are used
+     * and nothing is decoded.
+     *
+     * sampleSize = 0 : the distance to every other chromosome is averaged
+     * sampleSize > 0 : the distance to sampleSize randomly chosen chromosomes is averaged,
+     *                  the cost is bounded by population size * sampleSize distances
+     *
+     * The shared score is 0.9 * raw score + 0.1 * mean distance per gene, so a chromosome far from the others
+     * scores higher than one in a crowded niche. Only the score selection uses is shared,
+     * the raw score of the chromosome is kept for the reports (Chromosome.rawFitnessScore).
+     *
+     * With an executor, the population is split into chunks of chromosomes and every chunk
+     * updates only its own chromosomes, distances are summed in the same order as sequentially.
+     * */
+    private static final Logger logger = LogManager.getLogger(FitnessSharing.class);
+    private static final int NO_CLASSROOM = -1;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int sampleSize;
+    private SplittableRandom random;
+
+    public FitnessSharing() {
+        this(null, 1, 0, new SplittableRandom());
+    }
+
+    public FitnessSharing(ExecutorService executor, int parallelism, int sampleSize, SplittableRandom random) {
+        // executor is owned by the caller, null evaluates on the caller thread
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.sampleSize = Math.max(0, sampleSize);
+        this.random = random;
+    }
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public ArrayList<Chromosome> share(ArrayList<Chromosome> population) {
+        int populationSize = population.size();
+        if (populationSize < 2) {
+            return population;
+        }
+        PackedGenes[] packedGenes = pack(population);
+        boolean sampled = sampleSize > 0 && sampleSize < populationSize - 1;
+        long seed = random.nextLong();
+
+        if (executor == null) {
+            shareRange(population, packedGenes, 0, populationSize, sampled, seed);
+            return population;
+        }
+
+        int chunkCount = Math.min(populationSize, parallelism * 4);
+        int chunkSize = (populationSize + chunkCount - 1) / chunkCount;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < populationSize; from += chunkSize) {
+            int start = from;
+            int end = Math.min(populationSize, from + chunkSize);
+            tasks.add(() -> {
+                shareRange(population, packedGenes, start, end, sampled, seed);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fitness sharing is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fitness sharing failed", e.getCause());
+        }
+        return population;
+    }
+
+    private void shareRange(ArrayList<Chromosome> population, PackedGenes[] packedGenes, int from, int to, boolean sampled, long seed) {
+        int populationSize = population.size();
+        int[] sampleIndexes = sampled ? new int[populationSize - 1] : null;
+
+        for (int i = from; i < to; i++) {
+            Chromosome chromosome = population.get(i);
+            double actualFitness = chromosome.getRawFitnessScore();
+            double geneCount = chromosome.getGeneCount();
+            double distanceSum = 0;
+            int comparedCount;
+
+            if (sampled) {
+                // partial Fisher-Yates shuffle of the other indexes, every chromosome has its own stream
+                SplittableRandom sampleRandom = new SplittableRandom(seed + i);
+                for (int j = 0, k = 0; j < populationSize; j++) {
+                    if (j != i) {
+                        sampleIndexes[k++] = j;
+                    }
+                }
+                for (int k = 0; k < sampleSize; k++) {
+                    int swap = k + sampleRandom.nextInt(sampleIndexes.length - k);
+                    int j = sampleIndexes[swap];
+                    sampleIndexes[swap] = sampleIndexes[k];
+                    sampleIndexes[k] = j;
+                    distanceSum += distance(packedGenes[i], packedGenes[j]) / geneCount;
+                }
+                comparedCount = sampleSize;
+            } else {
+                for (int j = 0; j < populationSize; j++) {
+                    if (i == j) {
+                        continue;
+                    }
+                    distanceSum += distance(packedGenes[i], packedGenes[j]) / geneCount;
+                }
+                comparedCount = populationSize - 1;
+            }
+
+            // update fitness
+            if (distanceSum != 0) {
+                chromosome.setSharedFitnessScore(sharedScore(actualFitness, distanceSum / comparedCount));
+            }
+        }
+    }
+
+    static double sharedScore(double fitnessScore, double meanDistance) {
+        return 0.9 * fitnessScore + 0.1 * meanDistance;
+    }
+
+    private PackedGenes[] pack(ArrayList<Chromosome> population) {
+        // ids are given in order of appearance, only equality of the ids is used
+        HashMap<String, Integer> courseIds = new HashMap<>();
+        HashMap<String, Integer> classroomIds = new HashMap<>();
+        HashMap<String, Integer> invigilatorIds = new HashMap<>();
+        boolean allPacked = true;
+        for (Chromosome chromosome : population) {
+            allPacked &= chromosome.getPackedGenes() != null;
+        }
+        PackedGenes[] packedGenes = new PackedGenes[population.size()];
+        for (int i = 0; i < population.size(); i++) {
+            packedGenes[i] = allPacked ? new PackedGenes(population.get(i).getPackedGenes())
+                    : new PackedGenes(population.get(i).getEncodedExams(), courseIds, classroomIds, invigilatorIds);
+        }
+        logger.debug("Fitness sharing: " + population.size() + " chromosomes are packed, "
+                + (sampleSize > 0 ? sampleSize + " samples per chromosome." : "all pairs."));
+        return packedGenes;
+    }
+
+    static int distance(PackedGenes genes1, PackedGenes genes2) {
+        // merge of the course sorted genes, a course that is placed more than once compares every pair
+        int distance = 0;
+        int i = 0;
+        int j = 0;
+        while (i < genes1.size && j < genes2.size) {
+            int course1 = genes1.courses[i];
+            int course2 = genes2.courses[j];
+            if (course1 < course2) {
+                i++;
+            } else if (course1 > course2) {
+                j++;
+            } else {
+                int end1 = i;
+                while (end1 < genes1.size && genes1.courses[end1] == course1) {
+                    end1++;
+                }
+                int end2 = j;
+                while (end2 < genes2.size && genes2.courses[end2] == course2) {
+                    end2++;
+                }
+                for (int a = i; a < end1; a++) {
+                    for (int b = j; b < end2; b++) {
+                        if (isDistant(genes1, a, genes2, b)) {
+                            distance++;
+                        }
+                    }
+                }
+                i = end1;
+                j = end2;
+            }
+        }
+        return distance;
+    }
+
+    private static boolean isDistant(PackedGenes genes1, int gene1, PackedGenes genes2, int gene2) {
+        return genes1.classrooms[gene1] != NO_CLASSROOM
+                && genes1.classrooms[gene1] == genes2.classrooms[gene2]
+                && genes1.starts[gene1] != genes2.starts[gene2]
+                && genes1.ends[gene1] != genes2.ends[gene2]
+                && !containsAll(genes1, gene1, genes2, gene2)
+                && !containsAll(genes2, gene2, genes1, gene1);
+    }
+
+    private static boolean containsAll(PackedGenes genes1, int gene1, PackedGenes genes2, int gene2) {
+        // invigilators of gene2 are a subset of the invigilators of gene1, both are sorted without duplicates
+        int i = genes1.invigilatorStarts[gene1];
+        int end1 = genes1.invigilatorStarts[gene1 + 1];
+        int end2 = genes2.invigilatorStarts[gene2 + 1];
+        for (int j = genes2.invigilatorStarts[gene2]; j < end2; j++) {
+            int invigilator = genes2.invigilators[j];
+            while (i < end1 && genes1.invigilators[i] < invigilator) {
+                i++;
+            }
+            if (i == end1 || genes1.invigilators[i] != invigilator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static final class PackedGenes {
+        // genes sorted by course id, invigilators of gene g are invigilators[invigilatorStarts[g], invigilatorStarts[g + 1])
+        private final int size;
+        private final int[] courses;
+        private final int[] classrooms;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] invigilatorStarts;
+        private final int[] invigilators;
+
+        PackedGenes(ArrayList<EncodedExam> encodedExams, HashMap<String, Integer> courseIds,
+                    HashMap<String, Integer> classroomIds, HashMap<String, Integer> invigilatorIds) {
+            size = encodedExams.size();
+            long[] order = new long[size];
+            int[] geneCourses = new int[size];
+            for (int g = 0; g < size; g++) {
+                geneCourses[g] = idOf(courseIds, encodedExams.get(g).getCourseCode());
+                // course id in the high bits, gene index in the low bits
+                order[g] = ((long) geneCourses[g] << 32) | g;
+            }
+            Arrays.sort(order);
+
+            courses = new int[size];
+            classrooms = new int[size];
+            starts = new int[size];
+            ends = new int[size];
+            invigilatorStarts = new int[size + 1];
+            int invigilatorCount = 0;
+            for (EncodedExam exam : encodedExams) {
+                invigilatorCount += exam.getInvigilators().size();
+            }
+            int[] packedInvigilators = new int[invigilatorCount];
+            int position = 0;
+            for (int k = 0; k < size; k++) {
+                int g = (int) order[k];
+                EncodedExam exam = encodedExams.get(g);
+                courses[k] = geneCourses[g];
+                classrooms[k] = exam.getClassroomCode() == null ? NO_CLASSROOM : idOf(classroomIds, exam.getClassroomCode());
+                starts[k] = exam.getTimeSlot().getStartMinute();
+                ends[k] = exam.getTimeSlot().getEndMinute();
+                invigilatorStarts[k] = position;
+                int from = position;
+                for (String invigilator : exam.getInvigilators()) {
+                    packedInvigilators[position++] = idOf(invigilatorIds, invigilator);
+                }
+                position = sortUnique(packedInvigilators, from, position);
+            }
+            invigilatorStarts[size] = position;
+            invigilators = Arrays.copyOf(packedInvigilators, position);
+        }
+
+        PackedGenes(PackedChromosome chromosome) {
+            // already sorted by course, only the invigilators of each gene are sorted
+            size = chromosome.size();
+            courses = new int[size];
+            classrooms = new int[size];
+            starts = new int[size];
+            ends = new int[size];
+            invigilatorStarts = new int[size + 1];
+            int invigilatorCount = 0;
+            for (int g = 0; g < size; g++) {
+                invigilatorCount += chromosome.getInvigilatorCount(g);
+            }
+            int[] packedInvigilators = new int[invigilatorCount];
+            int position = 0;
+            for (int g = 0; g < size; g++) {
+                courses[g] = chromosome.getCourse(g);
+                classrooms[g] = chromosome.getClassroom(g) == PackedChromosome.NO_CLASSROOM ? NO_CLASSROOM : chromosome.getClassroom(g);
+                starts[g] = chromosome.getStart(g);
+                ends[g] = chromosome.getEnd(g);
+                invigilatorStarts[g] = position;
+                int from = position;
+                for (int k = 0; k < chromosome.getInvigilatorCount(g); k++) {
+                    packedInvigilators[position++] = chromosome.getInvigilator(g, k);
+                }
+                position = sortUnique(packedInvigilators, from, position);
+            }
+            invigilatorStarts[size] = position;
+            invigilators = Arrays.copyOf(packedInvigilators, position);
+        }
+
+        private static int sortUnique(int[] values, int from, int to) {
+            // containsAll ignores duplicates, returns the new end of the range
+            Arrays.sort(values, from, to);
+            int unique = from;
+            for (int p = from; p < to; p++) {
+                if (p == from || values[p] != values[unique - 1]) {
+                    values[unique++] = values[p];
+                }
+            }
+            return unique;
+        }
+
+        private static int idOf(HashMap<String, Integer> ids, String code) {
+            Integer id = ids.get(code);
+            if (id == null) {
+                id = ids.size();
+                ids.put(code, id);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.ProblemInstance;
+import org.example.models.Timeslot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class IncrementalFitness {
+    /*
+     * Delta evaluation of one chromosome.
+     *
+     * load(chromosome) evaluates the chromosome once and keeps the constraint tallies
+     * (exams per classroom, exams per invigilator, exam days and gaps per enrolment profile and
+     * invigilator, per exam violations). applyMove(...) changes one gene and updates only
+     * the tallies of the classroom, invigilators and enrolment profiles touched by that gene,
+     * then returns the new fitness score.
+     *
+     * The scores are the same as Fitness.fitnessScore, constraint by constraint.
+     * Only the built-in constraints of Fitness are supported.
+     * Every course must appear at most once in the chromosome and all changes to the
+     * chromosome must go through applyMove, otherwise load has to be called again.
+     * Times are kept as minutes from the start date at 00:00.
+     * */
+    private static final Logger logger = LogManager.getLogger(IncrementalFitness.class);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int POPULAR_EXAM_DAYS = 4;
+
+    private final ProblemInstance problemInstance;
+    private final Fitness fitness;
+    private final int origin;
+    private final int windowStart;
+    private final int windowEnd;
+    private final HolidayCalendar holidayCalendar;
+
+    private Chromosome chromosome;
+
+    // current assignment, indexed by course id
+    private final EncodedExam[] exams;
+    private final boolean[] present;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] rooms;
+    private final boolean[] roomMissing;
+    private final int[] invigilatorListSizes;
+    private final int[][] examInvigilators;
+    private final boolean[] popular;
+
+    // classroom id / invigilator id - assigned course ids
+    private final int[][] roomCourses;
+    private final int[] roomCourseCounts;
+    private final int[][] invigilatorCourses;
+    private final int[] invigilatorCourseCounts;
+
+    // violations of each enrolment profile (students with the same courses) and invigilator
+    private final int[] studentSameDay;
+    private final int[] studentGap;
+    private final int[] invigilatorAvailable;
+    private final int[] invigilatorSameDay;
+    private final int[] invigilatorGap;
+
+    // hard constraint tallies
+    private long requiredTimePunishment;
+    private long invigilatorCountPunishment;
+    private long classroomOverlapPunishment;
+    private long missingClassroomPunishment;
+    private long capacityPunishment;
+    private long invigilatorOverlapPunishment;
+    private long studentOverlapPunishment;
+    private long invigilatorAvailablePunishment;
+    private long timeWindowPunishment;
+    private long equipmentPunishment;
+    private long holidayPunishment;
+    private long sameDatePunishment;
+
+    // soft constraint tallies
+    private long studentSameDayPunishment;
+    private long studentGapPunishment;
+    private long invigilatorSameDayPunishment;
+    private long invigilatorGapPunishment;
+    private long weekendPunishment;
+    private long popularPunishment;
+    private long afternoonExams;
+    private long totalExams;
+
+    private int[] dayBuffer = new int[16];
+    private int[] endBuffer = new int[16];
+    private int[] touchedInvigilators = new int[16];
+    private int touchedInvigilatorCount;
+
+    public IncrementalFitness(ProblemInstance problemInstance) {
+        this.problemInstance = problemInstance;
+        this.fitness = new Fitness(problemInstance);
+        if (!fitness.getConstraintPipeline().isBuiltInOnly()) {
+            throw new IllegalStateException("Incremental fitness only supports the built-in constraints with equal weights");
+        }
+        this.origin = Timeslot.toMinute(problemInstance.getStartDate().atStartOfDay());
+        this.windowStart = toMinutes(LocalDateTime.of(problemInstance.getStartDate(), problemInstance.getStartTime()));
+        this.windowEnd = toMinutes(LocalDateTime.of(problemInstance.getEndDate(), problemInstance.getEndTime()));
+        this.holidayCalendar = problemInstance.getHolidayCalendar();
+
+        int courseCount = problemInstance.getCourseCount();
+        this.exams = new EncodedExam[courseCount];
+        this.present = new boolean[courseCount];
+        this.starts = new int[courseCount];
+        this.ends = new int[courseCount];
+        this.rooms = new int[courseCount];
+        this.roomMissing = new boolean[courseCount];
+        this.invigilatorListSizes = new int[courseCount];
+        this.examInvigilators = new int[courseCount][];
+        // same popular courses as Fitness
+        this.popular = fitness.getPopularCourses();
+
+        this.roomCourses = new int[problemInstance.getClassroomCount()][];
+        this.roomCourseCounts = new int[problemInstance.getClassroomCount()];
+        this.invigilatorCourses = new int[problemInstance.getInvigilatorCount()][];
+        this.invigilatorCourseCounts = new int[problemInstance.getInvigilatorCount()];
+
+        this.studentSameDay = new int[problemInstance.getProfileCount()];
+        this.studentGap = new int[problemInstance.getProfileCount()];
+        this.invigilatorAvailable = new int[problemInstance.getInvigilatorCount()];
+        this.invigilatorSameDay = new int[problemInstance.getInvigilatorCount()];
+        this.invigilatorGap = new int[problemInstance.getInvigilatorCount()];
+    }
+
+    public double load(Chromosome chromosome) {
+        reset();
+        this.chromosome = chromosome;
+
+        for (EncodedExam exam : chromosome.getEncodedExams()) {
+            int course = problemInstance.indexOfCourse(exam.getCourseCode());
+            if (course == -1) {
+                throw new IllegalArgumentException("Unknown course in chromosome " + chromosome.getChromosomeId() + ": " + exam.getCourseCode());
+            }
+            if (exams[course] != null) {
+                throw new IllegalArgumentException("Course " + exam.getCourseCode() + " appears more than once in chromosome " + chromosome.getChromosomeId());
+            }
+            setAssignment(course, exam);
+        }
+
+        for (int course = 0; course < exams.length; course++) {
+            if (exams[course] != null) {
+                addCourse(course);
+            }
+        }
+        for (int profile = 0; profile < studentSameDay.length; profile++) {
+            refreshProfile(profile);
+        }
+        for (int invigilator = 0; invigilator < invigilatorAvailable.length; invigilator++) {
+            refreshInvigilator(invigilator);
+        }
+        return getScore();
+    }
+
+    public double applyMove(Chromosome chromosome, int geneIndex, Timeslot newTimeslot, String newRoom, ArrayList<String> newInvigilators) {
+        if (this.chromosome != chromosome) {
+            load(chromosome);
+        }
+        EncodedExam original = chromosome.getEncodedExams().get(geneIndex);
+        return applyMove(chromosome, geneIndex, new EncodedExam(original.getCourseCode(), newRoom, newTimeslot, newInvigilators));
+    }
+
+    public double applyMove(Chromosome chromosome, int geneIndex, EncodedExam moved) {
+        // moved replaces the gene as it is, a move is undone by applying the original gene again
+        if (this.chromosome != chromosome) {
+            load(chromosome);
+        }
+        int course = problemInstance.indexOfCourse(moved.getCourseCode());
+        chromosome.getEncodedExams().set(geneIndex, moved);
+
+        touchedInvigilatorCount = 0;
+        removeCourse(course);
+        setAssignment(course, moved);
+        addCourse(course);
+
+        int profileCount = problemInstance.getCourseProfileCount(course);
+        for (int k = 0; k < profileCount; k++) {
+            refreshProfile(problemInstance.getCourseProfile(course, k));
+        }
+        for (int i = 0; i < touchedInvigilatorCount; i++) {
+            refreshInvigilator(touchedInvigilators[i]);
+        }
+        return getScore();
+    }
+
+    public boolean isViolated(int geneIndex) {
+        // true if the exam of the gene takes part in a hard constraint violation of the loaded chromosome
+        int course = problemInstance.indexOfCourse(chromosome.getEncodedExams().get(geneIndex).getCourseCode());
+        int start = starts[course];
+        int end = ends[course];
+        if ((end - start) / 60 != problemInstance.getBeforeExamPrepTime(course) + problemInstance.getExamDuration(course)
+                + problemInstance.getAfterExamPrepTime(course)
+                || problemInstance.getRequiredInvigilatorCount(course) != invigilatorListSizes[course] || roomMissing[course]
+                || start < windowStart || start > windowEnd || end < windowStart || end > windowEnd
+                || holidayCalendar.isHoliday(Math.floorDiv(start, MINUTES_PER_DAY))
+                || Math.floorDiv(start, MINUTES_PER_DAY) != Math.floorDiv(end, MINUTES_PER_DAY)) {
+            return true;
+        }
+        int room = rooms[course];
+        if (room != -1) {
+            if (problemInstance.getClassroomCapacity(room) < problemInstance.getRegisteredStudentCount(course)
+                    || problemInstance.isPcLab(room) != problemInstance.isPcExam(course)) {
+                return true;
+            }
+            for (int i = 0; i < roomCourseCounts[room]; i++) {
+                int other = roomCourses[room][i];
+                if (other != course && OverlapCounter.overlapped(start, end, starts[other], ends[other])) {
+                    return true;
+                }
+            }
+        }
+        for (int invigilator : examInvigilators[course]) {
+            if (invigilatorAvailable[invigilator] > 0) {
+                return true;
+            }
+            for (int i = 0; i < invigilatorCourseCounts[invigilator]; i++) {
+                int other = invigilatorCourses[invigilator][i];
+                if (other != course && OverlapCounter.overlapped(start, end, starts[other], ends[other])) {
+                    return true;
+                }
+            }
+        }
+        return studentOverlaps(course) > 0;
+    }
+
+    public boolean isCurrent(Chromosome chromosome) {
+        // true if the chromosome has not been changed outside of applyMove since it is loaded
+        if (this.chromosome != chromosome) {
+            return false;
+        }
+        int count = 0;
+        for (EncodedExam exam : chromosome.getEncodedExams()) {
+            int course = problemInstance.indexOfCourse(exam.getCourseCode());
+            if (course == -1 || exams[course] != exam) {
+                return false;
+            }
+            count++;
+        }
+        for (boolean isPresent : present) {
+            if (isPresent) {
+                count--;
+            }
+        }
+        return count == 0;
+    }
+
+    public double getScore() {
+        double[][] scores = getConstraintScores();
+        return scores[2][1];
+    }
+
+    public double[][] getConstraintScores() {
+        // same layout as Fitness.fitnessScore : hard scores, soft scores, {chromosome id, fitness score}
+        double id = chromosome.getChromosomeId();
+        double[] hard = new double[]{id,
+                Fitness.constraintScore(requiredTimePunishment),
+                Fitness.constraintScore(invigilatorCountPunishment),
+                Fitness.constraintScore(classroomOverlapPunishment),
+                Fitness.constraintScore(missingClassroomPunishment),
+                Fitness.constraintScore(capacityPunishment),
+                Fitness.constraintScore(invigilatorOverlapPunishment),
+                Fitness.constraintScore(studentOverlapPunishment),
+                Fitness.constraintScore(invigilatorAvailablePunishment),
+                Fitness.constraintScore(timeWindowPunishment),
+                Fitness.constraintScore(equipmentPunishment),
+                Fitness.constraintScore(holidayPunishment),
+                Fitness.constraintScore(sameDatePunishment),
+                0};
+        hard[hard.length - 1] = Fitness.harmonicAverage(Arrays.copyOfRange(hard, 1, hard.length - 1));
+
+        double[] soft = new double[]{id,
+                Fitness.constraintScore(studentSameDayPunishment),
+                Fitness.constraintScore(studentGapPunishment),
+                Fitness.constraintScore(invigilatorSameDayPunishment),
+                Fitness.constraintScore(invigilatorGapPunishment),
+                Fitness.constraintScore(weekendPunishment),
+                Fitness.constraintScore(afternoonPunishment()),
+                Fitness.constraintScore(popularPunishment),
+                0};
+        soft[soft.length - 1] = Fitness.harmonicAverage(Arrays.copyOfRange(soft, 1, soft.length - 1));
+
+        return new double[][]{hard, soft, new double[]{id, fitness.combineScores(hard[hard.length - 1], soft[soft.length - 1])}};
+    }
+
+    private double afternoonPunishment() {
+        // same calculation as Fitness.examsNotInAfternoon
+        double afternoonProportion = (double) afternoonExams / totalExams;
+        double desiredAfternoonProportion = 0.7;
+        if (afternoonProportion < desiredAfternoonProportion) {
+            return Math.abs(desiredAfternoonProportion - afternoonProportion) * 10;
+        }
+        return 0;
+    }
+
+    private void reset() {
+        Arrays.fill(exams, null);
+        Arrays.fill(present, false);
+        Arrays.fill(roomCourseCounts, 0);
+        Arrays.fill(invigilatorCourseCounts, 0);
+        Arrays.fill(studentSameDay, 0);
+        Arrays.fill(studentGap, 0);
+        Arrays.fill(invigilatorAvailable, 0);
+        Arrays.fill(invigilatorSameDay, 0);
+        Arrays.fill(invigilatorGap, 0);
+        requiredTimePunishment = 0;
+        invigilatorCountPunishment = 0;
+        classroomOverlapPunishment = 0;
+        missingClassroomPunishment = 0;
+        capacityPunishment = 0;
+        invigilatorOverlapPunishment = 0;
+        studentOverlapPunishment = 0;
+        invigilatorAvailablePunishment = 0;
+        timeWindowPunishment = 0;
+        equipmentPunishment = 0;
+        holidayPunishment = 0;
+        sameDatePunishment = 0;
+        studentSameDayPunishment = 0;
+        studentGapPunishment = 0;
+        invigilatorSameDayPunishment = 0;
+        invigilatorGapPunishment = 0;
+        weekendPunishment = 0;
+        popularPunishment = 0;
+        afternoonExams = 0;
+        totalExams = 0;
+    }
+
+    private void setAssignment(int course, EncodedExam exam) {
+        exams[course] = exam;
+        starts[course] = exam.getTimeSlot().getStartMinute() - origin;
+        ends[course] = exam.getTimeSlot().getEndMinute() - origin;
+        roomMissing[course] = exam.getClassroomCode() == null;
+        rooms[course] = roomMissing[course] ? -1 : problemInstance.indexOfClassroom(exam.getClassroomCode());
+
+        ArrayList<String> invigilatorIds = exam.getInvigilators();
+        invigilatorListSizes[course] = invigilatorIds.size();
+        int[] known = new int[invigilatorIds.size()];
+        int knownCount = 0;
+        for (String invigilatorId : invigilatorIds) {
+            int invigilator = problemInstance.indexOfInvigilator(invigilatorId);
+            if (invigilator != -1) {
+                known[knownCount++] = invigilator;
+            }
+        }
+        examInvigilators[course] = knownCount == known.length ? known : Arrays.copyOf(known, knownCount);
+    }
+
+    private void addCourse(int course) {
+        geneTerms(course, 1);
+
+        int room = rooms[course];
+        if (room != -1) {
+            for (int i = 0; i < roomCourseCounts[room]; i++) {
+                int other = roomCourses[room][i];
+                if (OverlapCounter.overlapped(starts[course], ends[course], starts[other], ends[other])) {
+                    classroomOverlapPunishment++;
+                }
+            }
+            roomCourses[room] = add(roomCourses[room], roomCourseCounts[room]++, course);
+        }
+
+        for (int invigilator : examInvigilators[course]) {
+            for (int i = 0; i < invigilatorCourseCounts[invigilator]; i++) {
+                int other = invigilatorCourses[invigilator][i];
+                if (OverlapCounter.overlapped(starts[course], ends[course], starts[other], ends[other])) {
+                    invigilatorOverlapPunishment++;
+                }
+            }
+            invigilatorCourses[invigilator] = add(invigilatorCourses[invigilator], invigilatorCourseCounts[invigilator]++, course);
+            touchInvigilator(invigilator);
+        }
+
+        studentOverlapPunishment += studentOverlaps(course);
+        present[course] = true;
+    }
+
+    private void removeCourse(int course) {
+        present[course] = false;
+        studentOverlapPunishment -= studentOverlaps(course);
+
+        for (int invigilator : examInvigilators[course]) {
+            remove(invigilatorCourses[invigilator], invigilatorCourseCounts[invigilator]--, course);
+            for (int i = 0; i < invigilatorCourseCounts[invigilator]; i++) {
+                int other = invigilatorCourses[invigilator][i];
+                if (OverlapCounter.overlapped(starts[course], ends[course], starts[other], ends[other])) {
+                    invigilatorOverlapPunishment--;
+                }
+            }
+            touchInvigilator(invigilator);
+        }
+
+        int room = rooms[course];
+        if (room != -1) {
+            remove(roomCourses[room], roomCourseCounts[room]--, course);
+            for (int i = 0; i < roomCourseCounts[room]; i++) {
+                int other = roomCourses[room][i];
+                if (OverlapCounter.overlapped(starts[course], ends[course], starts[other], ends[other])) {
+                    classroomOverlapPunishment--;
+                }
+            }
+        }
+
+        geneTerms(course, -1);
+    }
+
+    private int studentOverlaps(int course) {
+        // overlaps of the course with the present courses in the conflict graph, once for each shared student
+        // timeslots are adjusted for student, before and after exam time is removed
+        int overlaps = 0;
+        int start = starts[course] + problemInstance.getBeforeExamPrepTime(course) * 60;
+        int end = ends[course] - problemInstance.getAfterExamPrepTime(course) * 60;
+        int conflictCount = problemInstance.getConflictCount(course);
+        for (int k = 0; k < conflictCount; k++) {
+            int other = problemInstance.getConflictCourse(course, k);
+            if (present[other]) {
+                int otherStart = starts[other] + problemInstance.getBeforeExamPrepTime(other) * 60;
+                int otherEnd = ends[other] - problemInstance.getAfterExamPrepTime(other) * 60;
+                if (OverlapCounter.overlapped(start, end, otherStart, otherEnd)) {
+                    overlaps += problemInstance.getConflictWeight(course, k);
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private void geneTerms(int course, int sign) {
+        // violations that only depend on the exam itself
+        int start = starts[course];
+        int end = ends[course];
+        int beforeExamPrep = problemInstance.getBeforeExamPrepTime(course);
+        int afterExamPrep = problemInstance.getAfterExamPrepTime(course);
+        int examDuration = problemInstance.getExamDuration(course);
+
+        int examTimeslotCount = (end - start) / 60;
+        if (examTimeslotCount != beforeExamPrep + examDuration + afterExamPrep) {
+            requiredTimePunishment += sign;
+        }
+        if ((examTimeslotCount - (beforeExamPrep + afterExamPrep)) != examDuration) {
+            requiredTimePunishment += sign;
+        }
+        if (problemInstance.getRequiredInvigilatorCount(course) != invigilatorListSizes[course]) {
+            invigilatorCountPunishment += sign;
+        }
+        if (roomMissing[course]) {
+            missingClassroomPunishment += sign;
+        }
+        int room = rooms[course];
+        if (room != -1) {
+            if (problemInstance.getClassroomCapacity(room) < problemInstance.getRegisteredStudentCount(course)) {
+                capacityPunishment += sign;
+            }
+            if (problemInstance.isPcLab(room) != problemInstance.isPcExam(course)) {
+                equipmentPunishment += sign;
+            }
+        }
+        if (start < windowStart || start > windowEnd || end < windowStart || end > windowEnd) {
+            timeWindowPunishment += sign;
+        }
+        int startDay = Math.floorDiv(start, MINUTES_PER_DAY);
+        if (holidayCalendar.isHoliday(startDay)) {
+            holidayPunishment += sign;
+        }
+        if (startDay != Math.floorDiv(end, MINUTES_PER_DAY)) {
+            sameDatePunishment += sign;
+        }
+        if (holidayCalendar.isWeekend(startDay)) {
+            weekendPunishment += sign;
+        }
+        if (popular[course] && startDay > POPULAR_EXAM_DAYS) {
+            popularPunishment += sign;
+        }
+
+        int registeredStudentCount = problemInstance.getRegisteredStudentCount(course);
+        totalExams += (long) sign * registeredStudentCount;
+        int studentStartTime = Math.floorMod(start + beforeExamPrep * 60, MINUTES_PER_DAY);
+        if (studentStartTime >= 12 * 60 && studentStartTime <= 18 * 60) {
+            afternoonExams += (long) sign * registeredStudentCount;
+        }
+    }
+
+    private void refreshProfile(int profile) {
+        studentSameDayPunishment -= studentSameDay[profile];
+        studentGapPunishment -= studentGap[profile];
+
+        int count = 0;
+        int courseCount = problemInstance.getProfileCourseCount(profile);
+        ensureBuffers(courseCount);
+        for (int j = 0; j < courseCount; j++) {
+            int course = problemInstance.getProfileCourse(profile, j);
+            if (present[course]) {
+                dayBuffer[count] = Math.floorDiv(starts[course], MINUTES_PER_DAY);
+                endBuffer[count] = ends[course] - problemInstance.getAfterExamPrepTime(course) * 60;
+                count++;
+            }
+        }
+        int studentCount = problemInstance.getProfileStudentCount(profile);
+        studentSameDay[profile] = daysOverLimit(count, 2) * studentCount;
+        studentGap[profile] = gapsUnderLimit(count, 60) * studentCount;
+
+        studentSameDayPunishment += studentSameDay[profile];
+        studentGapPunishment += studentGap[profile];
+    }
+
+    private void refreshInvigilator(int invigilator) {
+        invigilatorAvailablePunishment -= invigilatorAvailable[invigilator];
+        invigilatorSameDayPunishment -= invigilatorSameDay[invigilator];
+        invigilatorGapPunishment -= invigilatorGap[invigilator];
+
+        int count = invigilatorCourseCounts[invigilator];
+        ensureBuffers(count);
+        for (int i = 0; i < count; i++) {
+            int course = invigilatorCourses[invigilator][i];
+            dayBuffer[i] = Math.floorDiv(starts[course], MINUTES_PER_DAY);
+            endBuffer[i] = ends[course];
+        }
+        invigilatorAvailable[invigilator] = count > 0 && problemInstance.getMaxCoursesMonitoredCount(invigilator) < count ? 1 : 0;
+        invigilatorSameDay[invigilator] = daysOverLimit(count, 3);
+        invigilatorGap[invigilator] = gapsUnderLimit(count, 30);
+
+        invigilatorAvailablePunishment += invigilatorAvailable[invigilator];
+        invigilatorSameDayPunishment += invigilatorSameDay[invigilator];
+        invigilatorGapPunishment += invigilatorGap[invigilator];
+    }
+
+    private int daysOverLimit(int count, int limit) {
+        // number of days that have more than limit exams
+        Arrays.sort(dayBuffer, 0, count);
+        int days = 0;
+        int run = 0;
+        for (int i = 0; i < count; i++) {
+            run = i > 0 && dayBuffer[i] == dayBuffer[i - 1] ? run + 1 : 1;
+            if (run == limit + 1) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private int gapsUnderLimit(int count, int limit) {
+        // number of consecutive exam ends that are closer than limit minutes
+        Arrays.sort(endBuffer, 0, count);
+        int gaps = 0;
+        for (int i = 1; i < count; i++) {
+            if (endBuffer[i] - endBuffer[i - 1] < limit) {
+                gaps++;
+            }
+        }
+        return gaps;
+    }
+
+    private void ensureBuffers(int size) {
+        if (dayBuffer.length < size) {
+            dayBuffer = new int[size * 2];
+            endBuffer = new int[size * 2];
+        }
+    }
+
+    private void touchInvigilator(int invigilator) {
+        touchedInvigilators = add(touchedInvigilators, touchedInvigilatorCount++, invigilator);
+    }
+
+    private int toMinutes(LocalDateTime dateTime) {
+        return Timeslot.toMinute(dateTime) - origin;
+    }
+
+    private static int[] add(int[] values, int count, int value) {
+        if (values == null) {
+            values = new int[4];
+        } else if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count] = value;
+        return values;
+    }
+
+    private static void remove(int[] values, int count, int value) {
+        // removes one occurrence, order of the values is not important
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                values[i] = values[count - 1];
+                return;
+            }
+        }
+        logger.error("Value " + value + " could not be found in the tallies.");
+    }
+}
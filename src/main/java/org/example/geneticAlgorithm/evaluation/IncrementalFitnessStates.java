@@ -0,0 +1,94 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.Chromosome;
+import org.example.models.ProblemInstance;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+public class IncrementalFitnessStates {
+    /*
+     * IncrementalFitness states of the chromosomes of a population, shared by Mutation and the evaluation of the GA.
+     *
+     * A chromosome gets a state when a gene of it is first changed by mutation, the state is loaded from the chromosome.
+     * A state (its Fitness and tally arrays) is not thrown away: when its chromosome leaves the population or is changed
+     * outside of the state, it goes back to a pool and is loaded again for the next chromosome.
+     * So at most one state per chromosome of the population is allocated for the whole run.
+     * Not thread safe, it is used by the thread of the GA.
+     * */
+    private static final Logger logger = LogManager.getLogger(IncrementalFitnessStates.class);
+
+    private final ProblemInstance problemInstance;
+    private final HashMap<Chromosome, IncrementalFitness> states = new HashMap<>();
+    private final ArrayDeque<IncrementalFitness> pool = new ArrayDeque<>();
+    private int createdCount;
+
+    public IncrementalFitnessStates(ProblemInstance problemInstance) {
+        this.problemInstance = problemInstance;
+    }
+
+    public IncrementalFitness acquire(Chromosome chromosome) {
+        // state of the chromosome, loaded again if the chromosome has been changed outside of it
+        IncrementalFitness state = states.get(chromosome);
+        if (state != null && state.isCurrent(chromosome)) {
+            return state;
+        }
+        if (state == null) {
+            state = pool.poll();
+            if (state == null) {
+                state = new IncrementalFitness(problemInstance);
+                createdCount++;
+            }
+            states.put(chromosome, state);
+        }
+        state.load(chromosome);
+        return state;
+    }
+
+    public IncrementalFitness getCurrent(Chromosome chromosome) {
+        // state of the chromosome if it is still current, otherwise the state goes back to the pool and null is returned
+        IncrementalFitness state = states.get(chromosome);
+        if (state == null || state.isCurrent(chromosome)) {
+            return state;
+        }
+        release(chromosome);
+        return null;
+    }
+
+    public void release(Chromosome chromosome) {
+        IncrementalFitness state = states.remove(chromosome);
+        if (state != null) {
+            pool.push(state);
+        }
+    }
+
+    public void retainAll(Collection<Chromosome> population) {
+        // states of the chromosomes that are not in the population go back to the pool
+        HashSet<Chromosome> retained = new HashSet<>(population);
+        Iterator<Map.Entry<Chromosome, IncrementalFitness>> iterator = states.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Chromosome, IncrementalFitness> entry = iterator.next();
+            if (!retained.contains(entry.getKey())) {
+                pool.push(entry.getValue());
+                iterator.remove();
+            }
+        }
+        logger.debug("Incremental fitness states: " + states.size() + " in use, " + pool.size() + " pooled, " + createdCount + " created.");
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public void clear() {
+        states.clear();
+        pool.clear();
+        createdCount = 0;
+    }
+}
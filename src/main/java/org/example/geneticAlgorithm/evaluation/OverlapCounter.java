@@ -0,0 +1,95 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import java.util.Arrays;
+
+public class OverlapCounter {
+    /*
+     * Counts the overlapping pairs of a list of intervals with sort and sweep, O(k log k)
+     * instead of comparing every pair.
+     *
+     * Two intervals are counted with the same rule as Timeslot.getOverlapMinutes(other) != 0.
+     * For proper intervals (start < end) that means they share at least one minute,
+     * touching intervals (end of one == start of the other) are not counted.
+     * Empty intervals (start == end) never count with the rule above.
+     * Inverted intervals (start > end) are compared one by one with the pairwise rule,
+     * they do not happen in a valid schedule.
+     *
+     * Times are minutes, the buffers are reused so an instance must not be shared between threads.
+     * */
+    private long[] sortedStarts = new long[16];
+    private long[] sortedEnds = new long[16];
+    private int[] invertedIndexes = new int[4];
+
+    public int countOverlaps(long[] starts, long[] ends, int count) {
+        if (count < 2) {
+            return 0;
+        }
+        if (sortedStarts.length < count) {
+            sortedStarts = new long[count * 2];
+            sortedEnds = new long[count * 2];
+        }
+
+        int properCount = 0;
+        int invertedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (starts[i] < ends[i]) {
+                sortedStarts[properCount] = starts[i];
+                sortedEnds[properCount] = ends[i];
+                properCount++;
+            } else if (starts[i] > ends[i]) {
+                if (invertedCount == invertedIndexes.length) {
+                    invertedIndexes = Arrays.copyOf(invertedIndexes, invertedCount * 2);
+                }
+                invertedIndexes[invertedCount++] = i;
+            }
+        }
+
+        // an interval overlaps with the intervals that started before it and have not ended until its start
+        Arrays.sort(sortedStarts, 0, properCount);
+        Arrays.sort(sortedEnds, 0, properCount);
+        int overlaps = 0;
+        int ended = 0;
+        for (int i = 0; i < properCount; i++) {
+            long start = sortedStarts[i];
+            while (ended < properCount && sortedEnds[ended] <= start) {
+                ended++;
+            }
+            overlaps += i - ended;
+        }
+
+        // pairs with an inverted interval, each pair is counted once
+        for (int k = 0; k < invertedCount; k++) {
+            int inverted = invertedIndexes[k];
+            for (int j = 0; j < count; j++) {
+                if (j == inverted || (starts[j] > ends[j] && j < inverted)) {
+                    continue;
+                }
+                if (overlapped(starts[inverted], ends[inverted], starts[j], ends[j])) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    public static int countOverlapsPairwise(long[] starts, long[] ends, int count) {
+        // reference implementation, compares every pair
+        int overlaps = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (overlapped(starts[i], ends[i], starts[j], ends[j])) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    public static boolean overlapped(long start1, long end1, long start2, long end2) {
+        // same result as Timeslot.getOverlapMinutes(other) != 0
+        if (end1 < start2 || start1 > end2) {
+            return false;
+        }
+        return Math.min(end1, end2) - Math.max(start1, start2) != 0;
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+import org.example.models.ProblemInstance;
+import org.example.utils.ConfigHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class PopulationEvaluator {
+    /*
+     * Scores a whole population with Fitness.fitnessScore.
+     *
+     * Fitness keeps the data of the chromosome under evaluation in instance fields,
+     * so every worker thread gets its own Fitness instance (thread confined context).
+     * Results are written into an array in population order, the caller reads them back
+     * in that order, so CSV output and selection do not depend on the thread scheduling.
+     *
+     * PARALLEL_FITNESS=false : chromosomes are evaluated one after another on the caller thread
+     * PARALLEL_FITNESS=true  : chromosomes are split into chunks and evaluated on
+     *                          FITNESS_THREADS threads (0 = all available processors)
+     *
+     * FITNESS_CACHE_SIZE > 0 : chromosomes with the same genes as an already scored chromosome
+     *                          get their scores from a FitnessCache of this size, 0 disables it
+     *
+     * evaluate(population, cutoff) evaluates bounded, see Fitness.fitnessScore(chromosome, cutoff).
+     * Bounded scores are not exact, so they are not put into the cache.
+     * */
+    private static final Logger logger = LogManager.getLogger(PopulationEvaluator.class);
+    private final Fitness fitness;
+    private final ThreadLocal<Fitness> fitnessContexts;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int parallelism;
+    private FitnessCache fitnessCache;
+
+    public PopulationEvaluator(ProblemInstance problemInstance) {
+        this(problemInstance, Boolean.parseBoolean(ConfigHelper.getProperty("PARALLEL_FITNESS")),
+                Integer.parseInt(ConfigHelper.getProperty("FITNESS_THREADS")));
+        int cacheSize = Integer.parseInt(ConfigHelper.getProperty("FITNESS_CACHE_SIZE"));
+        if (cacheSize > 0) {
+            this.fitnessCache = new FitnessCache(problemInstance, cacheSize);
+        }
+    }
+
+    public PopulationEvaluator(ProblemInstance problemInstance, boolean parallel, int threadCount) {
+        this.fitness = new Fitness(problemInstance);
+        this.fitnessContexts = ThreadLocal.withInitial(() -> new Fitness(problemInstance));
+        if (parallel) {
+            this.parallelism = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+            this.executor = new ForkJoinPool(parallelism);
+            this.ownsExecutor = true;
+            logger.info("Parallel fitness evaluation with " + parallelism + " threads.");
+        } else {
+            this.parallelism = 1;
+            this.executor = null;
+            this.ownsExecutor = false;
+        }
+    }
+
+    public PopulationEvaluator(ProblemInstance problemInstance, ExecutorService executor, int parallelism) {
+        // executor is owned by the caller and is not shut down by this class
+        this.fitness = new Fitness(problemInstance);
+        this.fitnessContexts = ThreadLocal.withInitial(() -> new Fitness(problemInstance));
+        this.executor = executor;
+        this.ownsExecutor = false;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    public ExecutorService getExecutor() {
+        // null if chromosomes are evaluated on the caller thread
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public double[][][] evaluate(ArrayList<Chromosome> population) {
+        return evaluate(population, Double.NEGATIVE_INFINITY);
+    }
+
+    public double[][][] evaluate(ArrayList<Chromosome> population, double cutoff) {
+        // [chromosome index in population][hard, soft, total][scores]
+        if (fitnessCache == null) {
+            return evaluateAll(population, cutoff);
+        }
+
+        double[][][] results = new double[population.size()][][];
+        FitnessCache.GenotypeKey[] keys = new FitnessCache.GenotypeKey[population.size()];
+        // same genes inside one population are evaluated once
+        HashMap<FitnessCache.GenotypeKey, Integer> missingIndexes = new HashMap<>();
+        ArrayList<Chromosome> missingChromosomes = new ArrayList<>();
+        for (int i = 0; i < population.size(); i++) {
+            Chromosome chromosome = population.get(i);
+            keys[i] = fitnessCache.keyOf(chromosome);
+            results[i] = fitnessCache.get(keys[i], chromosome.getChromosomeId());
+            if (results[i] == null && !missingIndexes.containsKey(keys[i])) {
+                missingIndexes.put(keys[i], missingChromosomes.size());
+                missingChromosomes.add(chromosome);
+            }
+        }
+
+        double[][][] missingResults = evaluateAll(missingChromosomes, cutoff);
+        for (int i = 0; i < population.size(); i++) {
+            if (results[i] == null) {
+                int missingIndex = missingIndexes.get(keys[i]);
+                if (missingChromosomes.get(missingIndex) == population.get(i)) {
+                    results[i] = missingResults[missingIndex];
+                    if (!Fitness.isBounded(results[i])) {
+                        fitnessCache.put(keys[i], results[i]);
+                    }
+                } else {
+                    results[i] = FitnessCache.copyScores(missingResults[missingIndex], population.get(i).getChromosomeId());
+                }
+            }
+        }
+        logger.debug("Fitness cache: " + (population.size() - missingChromosomes.size()) + " of " + population.size() + " chromosomes are not evaluated.");
+        return results;
+    }
+
+    private double[][][] evaluateAll(ArrayList<Chromosome> population, double cutoff) {
+        double[][][] results = new double[population.size()][][];
+
+        if (executor == null || population.size() < 2) {
+            for (int i = 0; i < population.size(); i++) {
+                results[i] = fitness.fitnessScore(population.get(i), cutoff);
+            }
+            return results;
+        }
+
+        // a few chunks per thread keeps the threads busy when chromosomes take different time
+        int chunkCount = Math.min(population.size(), parallelism * 4);
+        int chunkSize = (population.size() + chunkCount - 1) / chunkCount;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < population.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(population.size(), from + chunkSize);
+            tasks.add(() -> {
+                Fitness context = fitnessContexts.get();
+                for (int i = start; i < end; i++) {
+                    results[i] = context.fitnessScore(population.get(i), cutoff);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fitness evaluation is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fitness evaluation failed", e.getCause());
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        if (fitnessCache != null) {
+            fitnessCache.logStatistics();
+        }
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+}
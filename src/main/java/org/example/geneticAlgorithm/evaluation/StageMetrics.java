@@ -0,0 +1,63 @@
+package org.example.geneticAlgorithm.evaluation;
+
+public class StageMetrics {
+    /*
+     * Counters of one pipeline stage since the last reset:
+     * wait    : time an item waited in the input queue of the stage
+     * service : time the stage worked on an item
+     * depth   : input queue size, sampled when an item is put into or taken from the queue
+     * Stages are used by several threads, methods are synchronized.
+     * */
+    private final String name;
+    private long count;
+    private long waitNanos;
+    private long maxWaitNanos;
+    private long serviceNanos;
+    private long maxServiceNanos;
+    private long depthSamples;
+    private long depthSum;
+    private int maxDepth;
+
+    public StageMetrics(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long waitNanos, long serviceNanos) {
+        count++;
+        this.waitNanos += waitNanos;
+        this.maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        this.serviceNanos += serviceNanos;
+        this.maxServiceNanos = Math.max(maxServiceNanos, serviceNanos);
+    }
+
+    public synchronized void sampleDepth(int depth) {
+        depthSamples++;
+        depthSum += depth;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized String summaryAndReset() {
+        // a stage without an input queue has no depth samples
+        String depth = depthSamples == 0 ? "" : ", queue depth avg " + format((double) depthSum / depthSamples) + " max " + maxDepth;
+        String summary = name + ": " + count + " items" + depth
+                + ", wait avg " + format(count == 0 ? 0 : waitNanos / 1e6 / count) + " ms max " + format(maxWaitNanos / 1e6) + " ms"
+                + ", service avg " + format(count == 0 ? 0 : serviceNanos / 1e6 / count) + " ms max " + format(maxServiceNanos / 1e6) + " ms";
+        count = 0;
+        waitNanos = 0;
+        maxWaitNanos = 0;
+        serviceNanos = 0;
+        maxServiceNanos = 0;
+        depthSamples = 0;
+        depthSum = 0;
+        maxDepth = 0;
+        return summary;
+    }
+
+    private static String format(double value) {
+        return String.format("%.3f", value);
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.geneticAlgorithm.migration;
+
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.PackedChromosome;
+import org.example.models.ProblemInstance;
+import org.example.models.Timeslot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+public class ChromosomeSerializer {
+    /*
+     * Binary encoding of chromosomes for migration between processes.
+     * Courses, classrooms and invigilators are written with their ids in the problem instance,
+     * so both sides must have the same problem instance (workers receive the data of the coordinator).
+     *
+     * chromosomes : count (int), chromosome...
+     * chromosome  : id (long), age (int), fitness score (double), raw fitness score (double), bounded fitness (boolean),
+     *               gene count (int), gene...
+     * gene        : course (int), start minute (int), end minute (int), classroom (int, NO_CLASSROOM if none),
+     *               invigilator count (int), invigilator (int)...
+     *
+     * Packed chromosomes are written from their arrays, other chromosomes from their exam lists.
+     * Read chromosomes are packed if packed is true, otherwise they have exam lists.
+     * */
+    private static final int NO_CLASSROOM = -1;
+    // an invigilator list can have duplicates, only a broken stream has more
+    private static final int MAX_INVIGILATOR_COUNT = 1 << 16;
+    // a population, a migration or a result, only a broken stream has more
+    private static final int MAX_CHROMOSOME_COUNT = 1 << 20;
+
+    private final ProblemInstance problemInstance;
+
+    public ChromosomeSerializer(ProblemInstance problemInstance) {
+        this.problemInstance = problemInstance;
+    }
+
+    public void write(DataOutputStream out, ArrayList<Chromosome> chromosomes) throws IOException {
+        out.writeInt(chromosomes.size());
+        for (Chromosome chromosome : chromosomes) {
+            write(out, chromosome);
+        }
+    }
+
+    public void write(DataOutputStream out, Chromosome chromosome) throws IOException {
+        out.writeLong(chromosome.getChromosomeId());
+        out.writeInt(chromosome.getAge());
+        out.writeDouble(chromosome.getFitnessScore());
+        out.writeDouble(chromosome.getRawFitnessScore());
+        out.writeBoolean(chromosome.isBoundedFitness());
+        out.writeInt(chromosome.getGeneCount());
+        PackedChromosome packedGenes = chromosome.getPackedGenes();
+        if (packedGenes != null) {
+            for (int gene = 0; gene < packedGenes.size(); gene++) {
+                out.writeInt(packedGenes.getCourse(gene));
+                out.writeInt(packedGenes.getStart(gene));
+                out.writeInt(packedGenes.getEnd(gene));
+                out.writeInt(packedGenes.getClassroom(gene) == PackedChromosome.NO_CLASSROOM ? NO_CLASSROOM : packedGenes.getClassroom(gene));
+                out.writeInt(packedGenes.getInvigilatorCount(gene));
+                for (int k = 0; k < packedGenes.getInvigilatorCount(gene); k++) {
+                    out.writeInt(packedGenes.getInvigilator(gene, k));
+                }
+            }
+            return;
+        }
+        for (EncodedExam exam : chromosome.getEncodedExams()) {
+            out.writeInt(idOf(problemInstance.indexOfCourse(exam.getCourseCode()), "course", exam.getCourseCode()));
+            out.writeInt(exam.getTimeSlot().getStartMinute());
+            out.writeInt(exam.getTimeSlot().getEndMinute());
+            out.writeInt(exam.getClassroomCode() == null ? NO_CLASSROOM
+                    : idOf(problemInstance.indexOfClassroom(exam.getClassroomCode()), "classroom", exam.getClassroomCode()));
+            out.writeInt(exam.getInvigilators().size());
+            for (String invigilator : exam.getInvigilators()) {
+                out.writeInt(idOf(problemInstance.indexOfInvigilator(invigilator), "invigilator", invigilator));
+            }
+        }
+    }
+
+    public ArrayList<Chromosome> read(DataInputStream in, boolean packed) throws IOException {
+        int count = checkedId(in.readInt(), MAX_CHROMOSOME_COUNT + 1, "chromosome count");
+        ArrayList<Chromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            chromosomes.add(readChromosome(in, packed));
+        }
+        return chromosomes;
+    }
+
+    private Chromosome readChromosome(DataInputStream in, boolean packed) throws IOException {
+        long chromosomeId = in.readLong();
+        int age = in.readInt();
+        double fitnessScore = in.readDouble();
+        double rawFitnessScore = in.readDouble();
+        boolean boundedFitness = in.readBoolean();
+        int geneCount = checkedId(in.readInt(), problemInstance.getCourseCount() + 1, "gene count");
+        ArrayList<EncodedExam> encodedExams = new ArrayList<>(geneCount);
+        for (int gene = 0; gene < geneCount; gene++) {
+            int course = checkedId(in.readInt(), problemInstance.getCourseCount(), "course");
+            int start = in.readInt();
+            int end = in.readInt();
+            int classroom = in.readInt();
+            String classroomCode = classroom == NO_CLASSROOM ? null
+                    : problemInstance.getClassroomCode(checkedId(classroom, problemInstance.getClassroomCount(), "classroom"));
+            int invigilatorCount = checkedId(in.readInt(), MAX_INVIGILATOR_COUNT, "invigilator count");
+            ArrayList<String> invigilators = new ArrayList<>(invigilatorCount);
+            for (int k = 0; k < invigilatorCount; k++) {
+                invigilators.add(problemInstance.getInvigilatorId(checkedId(in.readInt(), problemInstance.getInvigilatorCount(), "invigilator")));
+            }
+            encodedExams.add(new EncodedExam(problemInstance.getCourseCode(course), classroomCode, Timeslot.ofMinutes(start, end), invigilators));
+        }
+
+        Chromosome chromosome = new Chromosome(chromosomeId, encodedExams, age);
+        if (packed) {
+            chromosome.setPackedGenes(PackedChromosome.of(problemInstance, encodedExams));
+        }
+        chromosome.setFitnessScore(rawFitnessScore);
+        chromosome.setSharedFitnessScore(fitnessScore);
+        chromosome.setBoundedFitness(boundedFitness);
+        return chromosome;
+    }
+
+    private static int idOf(int id, String kind, String code) {
+        if (id == -1) {
+            throw new IllegalArgumentException("Unknown " + kind + ": " + code);
+        }
+        return id;
+    }
+
+    private static int checkedId(int id, int limit, String kind) throws IOException {
+        // a different problem instance or a broken stream
+        if (id < 0 || id >= limit) {
+            throw new IOException("Invalid " + kind + " " + id + " in the chromosome stream");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.geneticAlgorithm.migration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.geneticAlgorithm.IslandModel;
+import org.example.models.Chromosome;
+import org.example.utils.ConfigHelper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+public class IslandCoordinator {
+    /*
+     * Island model over TCP: every island runs in its own process (IslandWorker), on this host or others.
+     *
+     * The coordinator generates the data, waits for ISLAND_COUNT workers on ISLAND_PORT and sends every
+     * worker the data and its island settings (population size and id range as in IslandModel).
+     * Then, for every migration epoch, it reads the reports of all islands, sends every island its immigrants
+     * (same RING / FULL routing as IslandModel) and writes the merged score rows to the fitness score files.
+     * When no island can continue, or the budget of the run (SolverBudget) is used up, it sends a stop,
+     * collects the best chromosome of every island and reports the best of them like GeneticAlgorithm.algorithm.
+     *
+     * Migrants travel through the coordinator, workers only know the coordinator.
+     * The coordinator listens on ISLAND_BIND_ADDRESS, loopback by default. Workers on other hosts need an address they can reach,
+     * there is no authentication, so it should only be one of a trusted network.
+     * A worker that disconnects stops the run, the other workers end when their connection is closed.
+     * */
+    private static final Logger logger = LogManager.getLogger(IslandCoordinator.class);
+
+    private final GeneticAlgorithm mainland = new GeneticAlgorithm();
+    private final String bindAddress = ConfigHelper.getProperty("ISLAND_BIND_ADDRESS").trim();
+    private final int port;
+    private final int islandCount;
+    private final int migrationCount = Integer.parseInt(ConfigHelper.getProperty("ISLAND_MIGRATION_COUNT"));
+    private final int migrationInterval = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("ISLAND_MIGRATION_INTERVAL")));
+    private final boolean fullTopology = "FULL".equalsIgnoreCase(ConfigHelper.getProperty("ISLAND_TOPOLOGY").trim());
+
+    public IslandCoordinator(int port, int islandCount) {
+        this.port = port;
+        this.islandCount = islandCount;
+    }
+
+    public double[] algorithm(boolean experiment, int experimentId) {
+        mainland.getBudget().start();
+        mainland.saveSeed(experiment, experimentId);
+        mainland.generateData();
+        boolean packed = mainland.isPackedChromosome();
+        ArrayList<MigrationChannel> channels = new ArrayList<>();
+        double initalBestFitness;
+        int currentGeneration = 0;
+        try (ServerSocket server = new ServerSocket()) {
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+            logger.info("Island coordinator is waiting for " + islandCount + " workers on " + bindAddress + ":" + server.getLocalPort() + ".");
+            for (int i = 0; i < islandCount; i++) {
+                MigrationChannel channel = new MigrationChannel(server.accept());
+                channels.add(channel);
+                channel.readHello();
+                channel.setProblemInstance(mainland.getProblemInstance());
+                channel.writeProblem(problemOf(i));
+                logger.info("Island " + i + " worker is connected.");
+            }
+
+            ArrayList<MigrationChannel.Report> reports = readReports(channels, packed);
+            initalBestFitness = bestOf(reports);
+            while (true) {
+                boolean stop = true;
+                ArrayList<ArrayList<Chromosome>> emigrants = new ArrayList<>();
+                for (MigrationChannel.Report report : reports) {
+                    stop &= !report.isCanContinue();
+                    emigrants.add(report.getEmigrants());
+                    if (!report.getEmigrants().isEmpty()) {
+                        mainland.publishBest(report.getEmigrants().get(0), report.getGeneration());
+                    }
+                }
+                // the budget of the run is kept by the coordinator, workers only see their own generations
+                stop |= mainland.getBudget().isExhausted(mainland.getBestSoFar());
+                for (int i = 0; i < islandCount; i++) {
+                    channels.get(i).writeReply(stop, stop ? new ArrayList<>() : IslandModel.immigrantsOf(i, emigrants, migrationCount, fullTopology));
+                }
+                if (stop) {
+                    break;
+                }
+
+                reports = readReports(channels, packed);
+                for (MigrationChannel.Report report : reports) {
+                    currentGeneration = Math.max(currentGeneration, report.getGeneration());
+                }
+                saveFitnessScores(reports, experiment, experimentId);
+                logger.info("Island coordinator generation " + currentGeneration + ", best fitness scores of the islands: " + bestScores(reports));
+            }
+
+            ArrayList<Chromosome> population = new ArrayList<>();
+            for (MigrationChannel channel : channels) {
+                population.addAll(channel.readResult(packed));
+            }
+            mainland.setPopulation(population);
+        } catch (IOException e) {
+            throw new IllegalStateException("Island coordinator on " + bindAddress + ":" + port + " failed", e);
+        } finally {
+            for (MigrationChannel channel : channels) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.warn("Island connection could not be closed: " + e.getMessage());
+                }
+            }
+        }
+        return mainland.finish(experiment, initalBestFitness, Math.max(1, currentGeneration));
+    }
+
+    private IslandProblem problemOf(int island) {
+        return new IslandProblem(island, islandCount, IslandModel.islandSize(mainland.getPopulationSize(), islandCount, island),
+                migrationInterval, migrationCount, (island + 1) * IslandModel.ISLAND_ID_RANGE, mainland.getRandom().nextLong(),
+                mainland.getCourses(), mainland.getStudents(), mainland.getClassrooms(), mainland.getInvigilators(),
+                mainland.getStartDate(), mainland.getEndDate(), mainland.getStartTime(), mainland.getEndTime(), mainland.getInterval(),
+                new HashSet<>(mainland.getHolidayCalendar().getHolidays()));
+    }
+
+    private ArrayList<MigrationChannel.Report> readReports(ArrayList<MigrationChannel> channels, boolean packed) throws IOException {
+        // islands run concurrently in their processes, the reports are read in island order
+        ArrayList<MigrationChannel.Report> reports = new ArrayList<>();
+        for (MigrationChannel channel : channels) {
+            reports.add(channel.readReport(packed));
+        }
+        return reports;
+    }
+
+    private void saveFitnessScores(ArrayList<MigrationChannel.Report> reports, boolean experiment, int experimentId) {
+        ArrayList<double[]> hardConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> softConstraintScoresList = new ArrayList<>();
+        ArrayList<double[]> fitnessScoresList = new ArrayList<>();
+        for (MigrationChannel.Report report : reports) {
+            hardConstraintScoresList.addAll(report.getHardConstraintScoresList());
+            softConstraintScoresList.addAll(report.getSoftConstraintScoresList());
+            fitnessScoresList.addAll(report.getFitnessScoresList());
+        }
+        GeneticAlgorithm.saveFitnessScores(hardConstraintScoresList, softConstraintScoresList, fitnessScoresList, experiment, experimentId);
+    }
+
+    private double bestOf(ArrayList<MigrationChannel.Report> reports) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (MigrationChannel.Report report : reports) {
+            best = Math.max(best, report.getBestFitnessScore());
+        }
+        return best;
+    }
+
+    private String bestScores(ArrayList<MigrationChannel.Report> reports) {
+        StringBuilder scores = new StringBuilder();
+        for (MigrationChannel.Report report : reports) {
+            scores.append(scores.length() == 0 ? "" : ", ").append(report.getBestFitnessScore());
+        }
+        return scores.toString();
+    }
+}
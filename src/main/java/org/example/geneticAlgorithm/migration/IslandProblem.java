@@ -0,0 +1,43 @@
+package org.example.geneticAlgorithm.migration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.Invigilator;
+import org.example.models.Student;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+@Getter
+@AllArgsConstructor
+public class IslandProblem {
+    /*
+     * Everything a worker needs to run an island, sent once by the coordinator:
+     * the island settings and the data of the coordinator (data is generated randomly,
+     * so the workers can not generate it themselves). Lists are in the order of the coordinator,
+     * so the ids of the problem instances are the same on both sides.
+     * It is sent in the binary format of IslandProblemSerializer.
+     * */
+    private final int islandIndex;
+    private final int islandCount;
+    private final int populationSize;
+    private final int migrationInterval;
+    private final int migrationCount;
+    private final long chromosomeIdCounter;
+    // seed of the random stream of the island, split from the stream of the coordinator
+    private final long randomSeed;
+    private final ArrayList<Course> courses;
+    private final ArrayList<Student> students;
+    private final ArrayList<Classroom> classrooms;
+    private final ArrayList<Invigilator> invigilators;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final int interval;
+    private final HashSet<LocalDate> holidays;
+}
@@ -0,0 +1,200 @@
+package org.example.geneticAlgorithm.migration;
+
+import org.example.geneticAlgorithm.checkpoint.ProblemData;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.Invigilator;
+import org.example.models.Student;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+public class IslandProblemSerializer {
+    /*
+     * Binary encoding of an IslandProblem, the coordinator sends it to every worker.
+     * Only plain values are read from the socket (no Java serialization), every count is checked before it is used.
+     *
+     * problem     : island index, island count, population size, migration interval, migration count (int),
+     *               chromosome id counter, random seed (long), problem data
+     * problem data: courses, students, classrooms, invigilators (count (int), item...),
+     *               start date, end date (epoch day, long), start time, end time (second of day, int), interval (int),
+     *               holidays (count (int), epoch day (long)...)
+     * course      : code, name (string), pc exam (boolean), before exam prep time, exam duration, after exam prep time (int),
+     *               registered students (count (int), string...)
+     * student     : id, name, surname, department (string), year, max courses taken count (int),
+     *               registered courses (count (int), string...)
+     * classroom   : code, name (string), capacity (int), pc lab (boolean), properties (string)
+     * invigilator : id, name, surname (string), max courses monitored count (int)
+     * string      : present (boolean), UTF (if present)
+     *
+     * State of a run (placed and monitored exams) is not sent, the data of the coordinator has no run yet.
+     * Checkpoints keep the data of their run in the same problem data format (writeProblemData / readProblemData).
+     * */
+    // a list can not be longer, only a broken or hostile stream has more
+    static final int MAX_COUNT = 1 << 20;
+
+    private IslandProblemSerializer() {
+    }
+
+    public static void write(DataOutputStream out, IslandProblem problem) throws IOException {
+        out.writeInt(problem.getIslandIndex());
+        out.writeInt(problem.getIslandCount());
+        out.writeInt(problem.getPopulationSize());
+        out.writeInt(problem.getMigrationInterval());
+        out.writeInt(problem.getMigrationCount());
+        out.writeLong(problem.getChromosomeIdCounter());
+        out.writeLong(problem.getRandomSeed());
+        writeProblemData(out, new ProblemData(problem.getCourses(), problem.getStudents(), problem.getClassrooms(),
+                problem.getInvigilators(), problem.getStartDate(), problem.getEndDate(), problem.getStartTime(), problem.getEndTime(),
+                problem.getInterval(), problem.getHolidays()));
+    }
+
+    public static void writeProblemData(DataOutputStream out, ProblemData data) throws IOException {
+        out.writeInt(data.getCourses().size());
+        for (Course course : data.getCourses()) {
+            writeString(out, course.getCourseCode());
+            writeString(out, course.getCourseName());
+            out.writeBoolean(course.isPcExam());
+            out.writeInt(course.getBeforeExamPrepTime());
+            out.writeInt(course.getExamDuration());
+            out.writeInt(course.getAfterExamPrepTime());
+            writeStrings(out, course.getRegisteredStudents());
+        }
+        out.writeInt(data.getStudents().size());
+        for (Student student : data.getStudents()) {
+            writeString(out, student.getID());
+            writeString(out, student.getName());
+            writeString(out, student.getSurname());
+            writeString(out, student.getDepartment());
+            out.writeInt(student.getYear());
+            out.writeInt(student.getMaxCoursesTakenCount());
+            writeStrings(out, student.getRegisteredCourses());
+        }
+        out.writeInt(data.getClassrooms().size());
+        for (Classroom classroom : data.getClassrooms()) {
+            writeString(out, classroom.getClassroomCode());
+            writeString(out, classroom.getClassroomName());
+            out.writeInt(classroom.getCapacity());
+            out.writeBoolean(classroom.isPcLab());
+            writeString(out, classroom.getClassroomProperties());
+        }
+        out.writeInt(data.getInvigilators().size());
+        for (Invigilator invigilator : data.getInvigilators()) {
+            writeString(out, invigilator.getID());
+            writeString(out, invigilator.getName());
+            writeString(out, invigilator.getSurname());
+            out.writeInt(invigilator.getMaxCoursesMonitoredCount());
+        }
+        out.writeLong(data.getStartDate().toEpochDay());
+        out.writeLong(data.getEndDate().toEpochDay());
+        out.writeInt(data.getStartTime().toSecondOfDay());
+        out.writeInt(data.getEndTime().toSecondOfDay());
+        out.writeInt(data.getInterval());
+        out.writeInt(data.getHolidays().size());
+        for (LocalDate holiday : data.getHolidays()) {
+            out.writeLong(holiday.toEpochDay());
+        }
+    }
+
+    public static IslandProblem read(DataInputStream in) throws IOException {
+        int islandIndex = in.readInt();
+        int islandCount = in.readInt();
+        int populationSize = in.readInt();
+        int migrationInterval = in.readInt();
+        int migrationCount = in.readInt();
+        long chromosomeIdCounter = in.readLong();
+        long randomSeed = in.readLong();
+        ProblemData data = readProblemData(in);
+        return new IslandProblem(islandIndex, islandCount, populationSize, migrationInterval, migrationCount, chromosomeIdCounter,
+                randomSeed, data.getCourses(), data.getStudents(), data.getClassrooms(), data.getInvigilators(), data.getStartDate(),
+                data.getEndDate(), data.getStartTime(), data.getEndTime(), data.getInterval(), data.getHolidays());
+    }
+
+    public static ProblemData readProblemData(DataInputStream in) throws IOException {
+        // arguments are evaluated from left to right, values are read in the order they are written
+        int courseCount = readCount(in, "course count");
+        ArrayList<Course> courses = new ArrayList<>();
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course(readString(in), readString(in), in.readBoolean(), in.readInt(), in.readInt(), in.readInt());
+            course.setRegisteredStudents(readStrings(in, "registered student count"));
+            courses.add(course);
+        }
+        int studentCount = readCount(in, "student count");
+        ArrayList<Student> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student(readString(in), readString(in), readString(in), 0);
+            student.setDepartment(readString(in));
+            student.setYear(in.readInt());
+            student.setMaxCoursesTakenCount(in.readInt());
+            student.setRegisteredCourses(readStrings(in, "registered course count"));
+            students.add(student);
+        }
+        int classroomCount = readCount(in, "classroom count");
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for (int i = 0; i < classroomCount; i++) {
+            classrooms.add(new Classroom(readString(in), readString(in), in.readInt(), in.readBoolean(), readString(in)));
+        }
+        int invigilatorCount = readCount(in, "invigilator count");
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for (int i = 0; i < invigilatorCount; i++) {
+            invigilators.add(new Invigilator(readString(in), readString(in), readString(in), in.readInt()));
+        }
+        try {
+            LocalDate startDate = LocalDate.ofEpochDay(in.readLong());
+            LocalDate endDate = LocalDate.ofEpochDay(in.readLong());
+            LocalTime startTime = LocalTime.ofSecondOfDay(in.readInt());
+            LocalTime endTime = LocalTime.ofSecondOfDay(in.readInt());
+            int interval = in.readInt();
+            int holidayCount = readCount(in, "holiday count");
+            HashSet<LocalDate> holidays = new HashSet<>();
+            for (int i = 0; i < holidayCount; i++) {
+                holidays.add(LocalDate.ofEpochDay(in.readLong()));
+            }
+            return new ProblemData(courses, students, classrooms, invigilators, startDate, endDate, startTime, endTime, interval, holidays);
+        } catch (DateTimeException e) {
+            throw new IOException("Invalid date or time in the problem data stream", e);
+        }
+    }
+
+    static int readCount(DataInputStream in, String kind) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IOException("Invalid " + kind + " " + count + " in the stream");
+        }
+        return count;
+    }
+
+    private static void writeStrings(DataOutputStream out, ArrayList<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static ArrayList<String> readStrings(DataInputStream in, String kind) throws IOException {
+        int count = readCount(in, kind);
+        ArrayList<String> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        // readUTF reads at most 65535 bytes
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
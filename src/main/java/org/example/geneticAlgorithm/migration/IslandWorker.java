@@ -0,0 +1,117 @@
+package org.example.geneticAlgorithm.migration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.models.Chromosome;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+public class IslandWorker {
+    /*
+     * One island of the multi-process island model (see IslandCoordinator).
+     *
+     * The worker connects to the coordinator, receives the data and the island settings,
+     * creates its sub-population and runs GeneticAlgorithm.nextGeneration like an island of IslandModel.
+     * After initialization and after every migration interval it reports its best score, emigrants
+     * and score rows, then waits for the immigrants; after a stop it sends its best chromosome and ends.
+     * Score files and reports are written by the coordinator.
+     * */
+    private static final Logger logger = LogManager.getLogger(IslandWorker.class);
+    // the coordinator listens after it has generated the data, a worker that is started earlier waits for it
+    private static final int CONNECT_ATTEMPTS = 120;
+    private static final long CONNECT_RETRY_MILLIS = 1000;
+
+    private final String host;
+    private final int port;
+
+    public IslandWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public double run() {
+        try (MigrationChannel channel = new MigrationChannel(connect())) {
+            channel.writeHello();
+            IslandProblem problem = channel.readProblem();
+            GeneticAlgorithm island = createIsland(problem);
+            channel.setProblemInstance(island.getProblemInstance());
+            boolean packed = island.isPackedChromosome();
+            logger.info("Island " + problem.getIslandIndex() + " of " + problem.getIslandCount() + " is connected to " + host + ":" + port
+                    + ", population size: " + problem.getPopulationSize());
+            try {
+                island.initializationAndEncode();
+                island.calculateFitness(false, false, 0, 0);
+                int currentGeneration = 0;
+                channel.writeReport(report(island, currentGeneration, new ArrayList<>()));
+                while (true) {
+                    MigrationChannel.Reply reply = channel.readReply(packed);
+                    island.receiveMigrants(reply.getImmigrants());
+                    if (reply.isStop()) {
+                        break;
+                    }
+                    for (int k = 0; k < problem.getMigrationInterval() && island.canContinue(currentGeneration); k++) {
+                        currentGeneration++;
+                        island.nextGeneration(currentGeneration, false, false, 0);
+                    }
+                    channel.writeReport(report(island, currentGeneration, island.getBestChromosomes(problem.getMigrationCount())));
+                }
+                double bestFitnessScore = island.findBestFitnessScore();
+                channel.writeResult(island.getBestChromosomes(1));
+                logger.info("Island " + problem.getIslandIndex() + " is stopped at generation " + currentGeneration
+                        + ", best fitness score: " + bestFitnessScore);
+                return bestFitnessScore;
+            } finally {
+                island.shutdown();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Island worker lost the coordinator at " + host + ":" + port, e);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (attempt == CONNECT_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Coordinator at " + host + ":" + port + " is not listening yet, attempt " + attempt);
+            }
+            try {
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Island worker is interrupted", e);
+            }
+        }
+    }
+
+    private GeneticAlgorithm createIsland(IslandProblem problem) {
+        GeneticAlgorithm island = new GeneticAlgorithm();
+        island.setCourses(problem.getCourses());
+        island.setStudents(problem.getStudents());
+        island.setClassrooms(problem.getClassrooms());
+        island.setInvigilators(problem.getInvigilators());
+        island.setStartDate(problem.getStartDate());
+        island.setEndDate(problem.getEndDate());
+        island.setStartTime(problem.getStartTime());
+        island.setEndTime(problem.getEndTime());
+        island.setInterval(problem.getInterval());
+        island.prepareData(problem.getHolidays());
+        island.setPopulationSize(problem.getPopulationSize());
+        island.setChromosomeIdCounter(problem.getChromosomeIdCounter());
+        island.setRandom(new SplittableRandom(problem.getRandomSeed()));
+        return island;
+    }
+
+    private MigrationChannel.Report report(GeneticAlgorithm island, int currentGeneration, ArrayList<Chromosome> emigrants) {
+        return new MigrationChannel.Report(currentGeneration, island.findBestFitnessScore(), island.canContinue(currentGeneration), emigrants,
+                island.getHardConstraintScoresList(), island.getSoftConstraintScoresList(), island.getFitnessScoresList());
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.geneticAlgorithm.migration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.models.Chromosome;
+import org.example.models.ProblemInstance;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+
+public class MigrationChannel implements Closeable {
+    /*
+     * Connection between the coordinator and one island worker.
+     *
+     * Every message starts with its type (byte):
+     * HELLO   worker -> coordinator : magic (int), version (int)
+     * PROBLEM coordinator -> worker : IslandProblem written by IslandProblemSerializer
+     * REPORT  worker -> coordinator : generation (int), best fitness score (double), can continue (boolean),
+     *                                 emigrants, hard / soft / fitness score rows of the last generation
+     * REPLY   coordinator -> worker : stop (boolean), immigrants
+     * RESULT  worker -> coordinator : best chromosomes of the island, sent after a stop
+     * Chromosomes are written by ChromosomeSerializer, score rows as count (int), then length (int) and values (double) of every row.
+     * Nothing is deserialized as a Java object and every count is checked before anything is allocated for it.
+     *
+     * The worker sends a REPORT after initialization and after every migration interval and waits
+     * for the REPLY, so the coordinator is the barrier between the migration epochs.
+     * */
+    private static final int MAGIC = 0x45584731;
+    private static final int VERSION = 4;
+    private static final byte HELLO = 1;
+    private static final byte PROBLEM = 2;
+    private static final byte REPORT = 3;
+    private static final byte REPLY = 4;
+    private static final byte RESULT = 5;
+    // a row has a value per constraint, a report has a row per chromosome of the island
+    private static final int MAX_ROW_LENGTH = 1 << 12;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private ChromosomeSerializer serializer;
+
+    public MigrationChannel(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public void setProblemInstance(ProblemInstance problemInstance) {
+        // chromosomes can be sent after both sides have the problem instance
+        this.serializer = new ChromosomeSerializer(problemInstance);
+    }
+
+    public void writeHello() throws IOException {
+        out.writeByte(HELLO);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    public void readHello() throws IOException {
+        expect(HELLO);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Connection from " + socket.getRemoteSocketAddress() + " is not an island worker of this version");
+        }
+    }
+
+    public void writeProblem(IslandProblem problem) throws IOException {
+        out.writeByte(PROBLEM);
+        IslandProblemSerializer.write(out, problem);
+        out.flush();
+    }
+
+    public IslandProblem readProblem() throws IOException {
+        expect(PROBLEM);
+        return IslandProblemSerializer.read(in);
+    }
+
+    public void writeReport(Report report) throws IOException {
+        out.writeByte(REPORT);
+        out.writeInt(report.getGeneration());
+        out.writeDouble(report.getBestFitnessScore());
+        out.writeBoolean(report.isCanContinue());
+        serializer.write(out, report.getEmigrants());
+        writeRows(report.getHardConstraintScoresList());
+        writeRows(report.getSoftConstraintScoresList());
+        writeRows(report.getFitnessScoresList());
+        out.flush();
+    }
+
+    public Report readReport(boolean packed) throws IOException {
+        expect(REPORT);
+        int generation = in.readInt();
+        double bestFitnessScore = in.readDouble();
+        boolean canContinue = in.readBoolean();
+        ArrayList<Chromosome> emigrants = serializer.read(in, packed);
+        return new Report(generation, bestFitnessScore, canContinue, emigrants, readRows(), readRows(), readRows());
+    }
+
+    public void writeReply(boolean stop, ArrayList<Chromosome> immigrants) throws IOException {
+        out.writeByte(REPLY);
+        out.writeBoolean(stop);
+        serializer.write(out, immigrants);
+        out.flush();
+    }
+
+    public Reply readReply(boolean packed) throws IOException {
+        expect(REPLY);
+        boolean stop = in.readBoolean();
+        return new Reply(stop, serializer.read(in, packed));
+    }
+
+    public void writeResult(ArrayList<Chromosome> bestChromosomes) throws IOException {
+        out.writeByte(RESULT);
+        serializer.write(out, bestChromosomes);
+        out.flush();
+    }
+
+    public ArrayList<Chromosome> readResult(boolean packed) throws IOException {
+        expect(RESULT);
+        return serializer.read(in, packed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void expect(byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("Expected message " + type + " but received " + actual + " from " + socket.getRemoteSocketAddress());
+        }
+    }
+
+    private void writeRows(ArrayList<double[]> rows) throws IOException {
+        out.writeInt(rows.size());
+        for (double[] row : rows) {
+            out.writeInt(row.length);
+            for (double value : row) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    private ArrayList<double[]> readRows() throws IOException {
+        int count = IslandProblemSerializer.readCount(in, "score row count");
+        ArrayList<double[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_ROW_LENGTH) {
+                throw new IOException("Invalid score row length " + length + " from " + socket.getRemoteSocketAddress());
+            }
+            double[] row = new double[length];
+            for (int k = 0; k < row.length; k++) {
+                row[k] = in.readDouble();
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Report {
+        private final int generation;
+        private final double bestFitnessScore;
+        private final boolean canContinue;
+        private final ArrayList<Chromosome> emigrants;
+        private final ArrayList<double[]> hardConstraintScoresList;
+        private final ArrayList<double[]> softConstraintScoresList;
+        private final ArrayList<double[]> fitnessScoresList;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Reply {
+        private final boolean stop;
+        private final ArrayList<Chromosome> immigrants;
+    }
+}
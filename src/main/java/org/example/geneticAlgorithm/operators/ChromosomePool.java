@@ -0,0 +1,104 @@
+package org.example.geneticAlgorithm.operators;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.Chromosome;
+import org.example.models.PackedChromosome;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Collection;
+
+public class ChromosomePool {
+    /*
+     * Gene storage of the chromosomes that are removed by Replacement is kept here
+     * and reused for the children of the next generation's Crossover,
+     * so a generation only allocates new arrays for the children that the pool can not cover.
+     *
+     * Only packed genes (PACKED_CHROMOSOME=true) are recycled, exam lists share their
+     * EncodedExam objects with other chromosomes. A released chromosome loses its genes,
+     * it must not be used again. At most capacity gene arrays are kept.
+     *
+     * Counters are per generation: arrays allocated because the pool was empty, arrays reused,
+     * arrays released, and the bytes allocated by the GA thread if the JVM can measure them.
+     * Not thread safe, it is used by the thread that runs the generations.
+     * */
+    private static final Logger logger = LogManager.getLogger(ChromosomePool.class);
+
+    private final int capacity;
+    private final ArrayDeque<PackedChromosome> freeGenes = new ArrayDeque<>();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private long allocatedCount;
+    private long reusedCount;
+    private long releasedCount;
+    private long generationStartBytes;
+
+    public ChromosomePool(int capacity) {
+        this.capacity = capacity;
+        this.generationStartBytes = allocatedBytes();
+    }
+
+    public PackedChromosome copyOf(PackedChromosome source) {
+        PackedChromosome genes = freeGenes.poll();
+        if (genes == null || !genes.hasSameCourses(source)) {
+            allocatedCount++;
+            return source.copy();
+        }
+        reusedCount++;
+        genes.copyRange(source, 0, source.size());
+        return genes;
+    }
+
+    public void release(Collection<Chromosome> removedChromosomes) {
+        for (Chromosome chromosome : removedChromosomes) {
+            PackedChromosome genes = chromosome.getPackedGenes();
+            if (genes == null) {
+                continue;
+            }
+            chromosome.setPackedGenes(null);
+            if (freeGenes.size() < capacity) {
+                freeGenes.add(genes);
+                releasedCount++;
+            }
+        }
+    }
+
+    public void endGeneration(int generation) {
+        long bytes = allocatedBytes();
+        logger.info("Generation " + generation + " chromosome pool: " + allocatedCount + " allocated, " + reusedCount + " reused, "
+                + releasedCount + " released, " + freeGenes.size() + " free"
+                + (bytes < 0 ? "" : ", GA thread allocated " + (bytes - generationStartBytes) / 1024 + " KB"));
+        allocatedCount = 0;
+        reusedCount = 0;
+        releasedCount = 0;
+        generationStartBytes = bytes;
+    }
+
+    public int getFreeCount() {
+        return freeGenes.size();
+    }
+
+    public long getAllocatedCount() {
+        return allocatedCount;
+    }
+
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    public long getReleasedCount() {
+        return releasedCount;
+    }
+
+    private long allocatedBytes() {
+        // HotSpot only, -1 if the JVM does not measure allocations per thread
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (hotSpotBean.isThreadAllocatedMemorySupported() && hotSpotBean.isThreadAllocatedMemoryEnabled()) {
+                return hotSpotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
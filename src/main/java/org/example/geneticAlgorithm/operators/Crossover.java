@@ -3,14 +3,15 @@ package org.example.geneticAlgorithm.operators;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.example.models.Chromosome;
 import org.example.models.EncodedExam;
+import org.example.models.PackedChromosome;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Crossover {
 
-    private final Random random = new Random();
+    private SplittableRandom random = new SplittableRandom();
     private final Comparator<EncodedExam> comparator = EncodedExam.sortExamsByCourseCode();
     private final ArrayList<Chromosome> childChromosomes = new ArrayList<>();
     private Chromosome firstChildChromosome;
@@ -20,11 +21,22 @@ public class Crossover {
     private int crossoverPoint;
     private int firstCrossoverPoint;
     private  int secondCrossoverPoint;
+    // when it is set, packed genes of the children are taken from the pool
+    private ChromosomePool chromosomePool;
+
+    public Crossover() {
+    }
+
+    public Crossover(ChromosomePool chromosomePool) {
+        this.chromosomePool = chromosomePool;
+    }
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
 
     public ArrayList<Chromosome> onePointCrossover(ArrayList<Chromosome> parents, long chromosomeIdCounter, double crossoverRate) {
-        for (Chromosome parent : parents) {
-            parent.getEncodedExams().sort(comparator);
-        }
+        sortGenes(parents);
 
         int i = 0;
         while (i < parents.size() / 2) {
@@ -39,7 +51,7 @@ public class Crossover {
                 Chromosome firstParent = randomParents.left;
                 Chromosome secondParent = randomParents.right;
 
-                crossoverPoint = random.nextInt(firstParent.getEncodedExams().size() -1) + 1;
+                crossoverPoint = random.nextInt(firstParent.getGeneCount() -1) + 1;
 
                 createOffspring(firstChildList, firstParent, secondParent, firstChildChromosome, chromosomeIdCounter, true);
                 chromosomeIdCounter++;
@@ -56,9 +68,7 @@ public class Crossover {
     }
 
     public ArrayList<Chromosome> twoPointCrossover(ArrayList<Chromosome> parents, long chromosomeIdCounter, double crossoverRate) {
-        for (Chromosome parent : parents) {
-            parent.getEncodedExams().sort(comparator);
-        }
+        sortGenes(parents);
 
         int i = 0;
         while (i < parents.size() / 2) {
@@ -74,9 +84,9 @@ public class Crossover {
                 Chromosome secondParent = randomParents.right;
 
 
-                firstCrossoverPoint = random.nextInt(firstParent.getEncodedExams().size() - 2);
+                firstCrossoverPoint = random.nextInt(firstParent.getGeneCount() - 2);
                 secondCrossoverPoint = random.nextInt(
-                        (firstParent.getEncodedExams().size() - 1) - (firstCrossoverPoint + 1)) + (firstCrossoverPoint + 1);
+                        (firstParent.getGeneCount() - 1) - (firstCrossoverPoint + 1)) + (firstCrossoverPoint + 1);
 
 
                 createOffspring(firstChildList, firstParent, secondParent, firstChildChromosome, chromosomeIdCounter, false);
@@ -92,6 +102,15 @@ public class Crossover {
         return childChromosomes;
     }
 
+    private void sortGenes(ArrayList<Chromosome> parents) {
+        // packed genes are always in course order
+        for (Chromosome parent : parents) {
+            if (parent.getPackedGenes() == null) {
+                parent.getEncodedExams().sort(comparator);
+            }
+        }
+    }
+
     private ImmutablePair<Chromosome, Chromosome> getRandomParents(ArrayList<Chromosome> parents) {
         int randomParent1 = random.nextInt(parents.size());
         int randomParent2;
@@ -108,7 +127,17 @@ public class Crossover {
     private void createOffspring(ArrayList<EncodedExam> childList, Chromosome parent1, Chromosome parent2,
                                  Chromosome childChromosome, long chromosomeIdCounter, boolean isOnePointCrossover) {
 
-        if (isOnePointCrossover) {
+        if (parent1.getPackedGenes() != null && parent2.getPackedGenes() != null) {
+            // same segments as below, copied array range by array range
+            PackedChromosome childGenes = chromosomePool != null ? chromosomePool.copyOf(parent1.getPackedGenes())
+                    : parent1.getPackedGenes().copy();
+            if (isOnePointCrossover) {
+                childGenes.copyRange(parent2.getPackedGenes(), crossoverPoint, childGenes.size());
+            } else {
+                childGenes.copyRange(parent2.getPackedGenes(), firstCrossoverPoint, secondCrossoverPoint);
+            }
+            childChromosome.setPackedGenes(childGenes);
+        } else if (isOnePointCrossover) {
             childList.addAll(parent1.getEncodedExams().subList(0, crossoverPoint));
             childList.addAll(parent2.getEncodedExams().subList(crossoverPoint, parent1.getEncodedExams().size()));
         } else {
@@ -117,8 +146,9 @@ public class Crossover {
             childList.addAll(parent1.getEncodedExams().subList(secondCrossoverPoint, parent1.getEncodedExams().size()));
         }
 
-
-        childChromosome.setEncodedExams(childList);
+        if (childChromosome.getPackedGenes() == null) {
+            childChromosome.setEncodedExams(childList);
+        }
         childChromosome.setAge(1);
         childChromosome.setChromosomeId(chromosomeIdCounter);
     }
@@ -6,10 +6,14 @@ import org.example.models.Exam;
 import org.example.models.Timeslot;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Encode {
-    private final Random random = new Random();
+    private SplittableRandom random = new SplittableRandom();
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
 
     public ArrayList<EncodedExam> encode(ArrayList<Exam> exams, ArrayList<Classroom> classrooms) {
 
@@ -0,0 +1,99 @@
+package org.example.geneticAlgorithm.operators;
+
+import org.example.models.EncodedExam;
+import org.example.models.ProblemInstance;
+import org.example.models.Timeslot;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+public class ExamMoves {
+    /*
+     * Random moves of one exam, used by the local search operators and the single solution solvers.
+     * A move returns a new EncodedExam, the exam it is made from is not changed:
+     * TIMESLOT     : a timeslot of the required length on an open day, at a full hour of the exam window (days as in Mutation)
+     * CLASSROOM    : a classroom with enough capacity and the right equipment (a random one if the samples do not find one)
+     * INVIGILATORS : the required number of different random invigilators
+     * swap exchanges the timeslots, classrooms and invigilators of two exams like Mutation.swapMutation.
+     * */
+    public static final int TIMESLOT = 0;
+    public static final int CLASSROOM = 1;
+    public static final int INVIGILATORS = 2;
+    public static final int MOVE_TYPE_COUNT = 3;
+    private static final int CLASSROOM_TRIES = 8;
+
+    private final ProblemInstance problemInstance;
+    private final int dayCount;
+    private final int openDayCount;
+    private final int startMinuteOfDay;
+    private final int windowHours;
+    private SplittableRandom random = new SplittableRandom();
+
+    public ExamMoves(ProblemInstance problemInstance) {
+        this.problemInstance = problemInstance;
+        this.dayCount = Math.max(1, (int) ChronoUnit.DAYS.between(problemInstance.getStartDate(), problemInstance.getEndDate()));
+        this.openDayCount = problemInstance.getHolidayCalendar().getOpenDayCount(dayCount);
+        this.startMinuteOfDay = problemInstance.getStartTime().toSecondOfDay() / 60;
+        this.windowHours = Math.abs(problemInstance.getEndTime().getHour() - problemInstance.getStartTime().getHour());
+    }
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public EncodedExam move(EncodedExam exam, int moveType) {
+        int course = problemInstance.indexOfCourse(exam.getCourseCode());
+        switch (moveType) {
+            case TIMESLOT:
+                return new EncodedExam(exam.getCourseCode(), exam.getClassroomCode(), randomTimeslot(course), exam.getInvigilators());
+            case CLASSROOM:
+                return new EncodedExam(exam.getCourseCode(), randomClassroom(course), exam.getTimeSlot(), exam.getInvigilators());
+            case INVIGILATORS:
+                return new EncodedExam(exam.getCourseCode(), exam.getClassroomCode(), exam.getTimeSlot(), randomInvigilators(course));
+            default:
+                throw new IllegalArgumentException("Unknown move type: " + moveType);
+        }
+    }
+
+    public EncodedExam[] swap(EncodedExam exam1, EncodedExam exam2) {
+        return new EncodedExam[]{
+                new EncodedExam(exam1.getCourseCode(), exam2.getClassroomCode(), exam2.getTimeSlot(), exam2.getInvigilators()),
+                new EncodedExam(exam2.getCourseCode(), exam1.getClassroomCode(), exam1.getTimeSlot(), exam1.getInvigilators())};
+    }
+
+    public Timeslot randomTimeslot(int course) {
+        int examHours = problemInstance.getBeforeExamPrepTime(course) + problemInstance.getExamDuration(course)
+                + problemInstance.getAfterExamPrepTime(course);
+        LocalDate day = openDayCount > 0 ? problemInstance.getHolidayCalendar().getOpenDay(random.nextInt(openDayCount))
+                : problemInstance.getStartDate().plusDays(random.nextInt(dayCount));
+        int startMinute = startMinuteOfDay + random.nextInt(Math.max(1, windowHours - examHours + 1)) * 60;
+        int dayStart = (int) day.toEpochDay() * Timeslot.MINUTES_PER_DAY;
+        return Timeslot.ofMinutes(dayStart + startMinute, dayStart + startMinute + examHours * 60);
+    }
+
+    public String randomClassroom(int course) {
+        int classroom = random.nextInt(problemInstance.getClassroomCount());
+        for (int i = 0; i < CLASSROOM_TRIES; i++) {
+            if (problemInstance.getClassroomCapacity(classroom) >= problemInstance.getRegisteredStudentCount(course)
+                    && problemInstance.isPcLab(classroom) == problemInstance.isPcExam(course)) {
+                break;
+            }
+            classroom = random.nextInt(problemInstance.getClassroomCount());
+        }
+        return problemInstance.getClassroomCode(classroom);
+    }
+
+    public ArrayList<String> randomInvigilators(int course) {
+        int count = Math.min(problemInstance.getRequiredInvigilatorCount(course), problemInstance.getInvigilatorCount());
+        ArrayList<String> invigilators = new ArrayList<>(count);
+        while (invigilators.size() < count) {
+            String invigilator = problemInstance.getInvigilatorId(random.nextInt(problemInstance.getInvigilatorCount()));
+            if (!invigilators.contains(invigilator)) {
+                invigilators.add(invigilator);
+            }
+        }
+        return invigilators;
+    }
+}
@@ -3,15 +3,19 @@ package org.example.geneticAlgorithm.operators;
 import lombok.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.constraints.BuiltInConstraints;
+import org.example.geneticAlgorithm.constraints.ConstraintEvaluation;
+import org.example.geneticAlgorithm.constraints.ConstraintPipeline;
+import org.example.geneticAlgorithm.constraints.ConstraintRegistry;
+import org.example.geneticAlgorithm.constraints.ScheduleView;
+import org.example.geneticAlgorithm.evaluation.FitnessSharing;
 import org.example.models.*;
 import org.example.utils.ConfigHelper;
 import org.example.utils.FileHelper;
 
 import java.time.*;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Set;
+import java.util.Arrays;
 
 
 @Getter
@@ -21,7 +25,7 @@ import java.util.Set;
 @EqualsAndHashCode
 @Data
 @ToString
-public class Fitness {
+public class Fitness implements ScheduleView {
     /*
      * Overall Check of Schedule
      * More than 10 schedules must be generated to test this operator
@@ -59,40 +63,111 @@ public class Fitness {
      * */
 
     private static final Logger logger = LogManager.getLogger(Fitness.class);
-    private ArrayList<Course> courses;
-    private ArrayList<Student> students;
-    private ArrayList<Classroom> classrooms;
-    private ArrayList<Invigilator> invigilators;
-    private HashMap<String, ArrayList<EncodedExam>> classroomExams = new HashMap<>();
-    private HashMap<String, ArrayList<EncodedExam>> invigilatorExams = new HashMap<>();
-    private HashMap<String, ArrayList<EncodedExam>> studentExams = new HashMap<>();
+    private ProblemInstance problemInstance;
+    // active constraints, their visitors walk the data prepared by prepareDataForFitness
+    private ConstraintPipeline constraintPipeline;
+    private ConstraintEvaluation constraintEvaluation;
+
+    // data of the chromosome under evaluation, prepared by prepareDataForFitness
+    // exams are kept as gene indices and grouped by the dense ids of the problem instance,
+    // constraints only read these arrays through the ScheduleView methods,
+    // so exam lists and packed chromosomes are evaluated the same way
+    private ArrayList<EncodedExam> genes = new ArrayList<>();
+    private PackedChromosome packedGenes;
+    private int geneCount;
+    private int[] geneCourses = new int[0];
+    private int[] geneClassrooms = new int[0];
+    private int[] geneStartMinutes = new int[0];
+    private int[] geneEndMinutes = new int[0];
+    private int[] geneInvigilatorCounts = new int[0];
+    private int[][] classroomExams = new int[0][];
+    private int[] classroomExamCounts = new int[0];
+    private int[][] invigilatorExams = new int[0][];
+    private int[] invigilatorExamCounts = new int[0];
+    // students are not expanded one by one, their exams are found with course id - genes
+    // and the course conflict graph / enrolment profiles of the problem instance
+    private int[][] courseGenes = new int[0][];
+    private int[] courseGeneCounts = new int[0];
+    private long[] geneStudentStarts = new long[0];
+    private long[] geneStudentEnds = new long[0];
+    // exam day of a gene as index from the first exam day of the chromosome
+    private int[] geneDays = new int[0];
+    // start of the exam period at 00:00, gaps are measured from it
+    private int originMinutes;
+    // exam period in minutes (see Timeslot) and the first day of the holiday calendar as epoch day
+    private int periodStartMinute;
+    private int periodEndMinute;
+    private int calendarStartDay;
+    // course id - course is one of the POPULAR_EXAM_COUNT courses with the most registered students
+    private boolean[] popularCourses = new boolean[0];
+
     private LocalDate startDate;
     private LocalDate endDate;
     private LocalTime startTime;
     private LocalTime endTime;
+
     private final double hardWeight = Double.parseDouble(ConfigHelper.getProperty("HARD_CONSTRAINT_WEIGHT"));
     private final double softWeight = Double.parseDouble(ConfigHelper.getProperty("SOFT_CONSTRAINT_WEIGHT"));
 
     public Fitness(ArrayList<Course> courses, ArrayList<Student> students, ArrayList<Classroom> classrooms, ArrayList<Invigilator> invigilators, LocalDate startDate, LocalDate endDate, LocalTime startTime, LocalTime endTime) {
-        this.courses = courses;
-        this.students = students;
-        this.classrooms = classrooms;
-        this.invigilators = invigilators;
-        this.startDate = startDate;
-        this.endDate = endDate;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this(new ProblemInstance(courses, classrooms, invigilators, students, startDate, endDate, startTime, endTime,
+                Integer.parseInt(ConfigHelper.getProperty("TIME_SLOT_INTERVAL")),
+                new HolidayCalendar(startDate, endDate, FileHelper.loadHolidaysFromFile())));
+    }
+
+    public Fitness(ProblemInstance problemInstance) {
+        this(problemInstance, ConstraintRegistry.getInstance().getPipeline());
+    }
+
+    public Fitness(ProblemInstance problemInstance, ConstraintPipeline constraintPipeline) {
+        this.problemInstance = problemInstance;
+        this.constraintPipeline = constraintPipeline;
+        this.constraintEvaluation = constraintPipeline.newEvaluation();
+        this.startDate = problemInstance.getStartDate();
+        this.endDate = problemInstance.getEndDate();
+        this.startTime = problemInstance.getStartTime();
+        this.endTime = problemInstance.getEndTime();
+        this.classroomExams = new int[problemInstance.getClassroomCount()][];
+        this.classroomExamCounts = new int[problemInstance.getClassroomCount()];
+        this.invigilatorExams = new int[problemInstance.getInvigilatorCount()][];
+        this.invigilatorExamCounts = new int[problemInstance.getInvigilatorCount()];
+        this.courseGenes = new int[problemInstance.getCourseCount()][];
+        this.courseGeneCounts = new int[problemInstance.getCourseCount()];
+        this.originMinutes = Timeslot.toMinute(problemInstance.getStartDate().atStartOfDay());
+        this.periodStartMinute = Timeslot.toMinute(LocalDateTime.of(startDate, startTime));
+        this.periodEndMinute = Timeslot.toMinute(LocalDateTime.of(endDate, endTime));
+        this.calendarStartDay = (int) problemInstance.getHolidayCalendar().getStartDate().toEpochDay();
+        this.popularCourses = problemInstance.getPopularCourses(Integer.parseInt(ConfigHelper.getProperty("POPULAR_EXAM_COUNT")));
+    }
+
+    public void setConstraintPipeline(ConstraintPipeline constraintPipeline) {
+        this.constraintPipeline = constraintPipeline;
+        this.constraintEvaluation = constraintPipeline.newEvaluation();
     }
 
     public double[][] fitnessScore(Chromosome chromosome) {
+        return fitnessScore(chromosome, Double.NEGATIVE_INFINITY);
+    }
+
+    public double[][] fitnessScore(Chromosome chromosome, double cutoff) {
+        // soft constraints are skipped as soon as the fitness score can not reach the cutoff anymore,
+        // the result is then bounded: total score is an upper bound, skipped soft scores are NaN
 
-        ArrayList<EncodedExam> encodedExams = chromosome.getEncodedExams();
-        prepareDataForFitness(encodedExams);
+        if (chromosome.getPackedGenes() != null) {
+            prepareDataForFitness(chromosome.getPackedGenes());
+        } else {
+            prepareDataForFitness(chromosome.getEncodedExams());
+        }
+        // one traversal for the visitors of all active constraints
+        constraintEvaluation.traverse(this);
 
-        double[] hardConstraintScores = hardConstraintScores(chromosome);
-        double[] softConstraintScores = softConstraintScores(chromosome);
-        double fitnessScore = hardWeight * hardConstraintScores[hardConstraintScores.length - 1] +
-                softWeight * softConstraintScores[softConstraintScores.length - 1];
+        double[] hardConstraintScores = constraintEvaluation.hardScores(chromosome.getChromosomeId());
+        // lowest soft score that still reaches the cutoff with this hard score
+        double minimumSoftScore = (cutoff - hardWeight * hardConstraintScores[hardConstraintScores.length - 1]) / softWeight;
+        double[] softConstraintScores = constraintEvaluation.softScores(chromosome.getChromosomeId(), minimumSoftScore);
+        logger.debug(" soft fitness score: " + softConstraintScores[softConstraintScores.length - 1]);
+        double fitnessScore = combineScores(hardConstraintScores[hardConstraintScores.length - 1],
+                softConstraintScores[softConstraintScores.length - 1]);
 
         return new double[][]{hardConstraintScores, softConstraintScores, new double[]{chromosome.getChromosomeId(), fitnessScore}};
     }
@@ -104,65 +179,56 @@ public class Fitness {
         // or increase fintess score when diversity is high
         // hamming distance : range [0,1]
         // new fitness values = weight1*actual fitness + weight2*diversity
-        double sharingThreshold = (double) population.get(0).getEncodedExams().size() / 2; // how far apart chromosomes should be
-        double shapeParameter = 1;
+        // same distance as hammingDistance, computed on packed genes (see FitnessSharing)
+        return new FitnessSharing().share(population);
+    }
 
-        for (int i = 0; i < population.size(); i++) {
-            Chromosome chromosome = population.get(i);
-            double actualFitness = chromosome.getFitnessScore();
-            double distanceSum = 0; // we want this to be max for diversity
+    public double[] softConstraintScores(Chromosome chromosome) {
+        return softConstraintScores(chromosome, Double.NEGATIVE_INFINITY);
+    }
 
-            for (int j = 0; j < population.size(); j++) {
-                if (i == j) {
-                    continue;
-                }
-                Chromosome anotherChromosome = population.get(j);
-                double hammingDistance = hammingDistance(chromosome, anotherChromosome);
-                // hamming - max : encodedExam.size, min : 0
+    public double[] softConstraintScores(Chromosome chromosome, double minimumSoftScore) {
+        // scores of the prepared chromosome
+        constraintEvaluation.traverse(this);
+        double[] softConstraintScores = constraintEvaluation.softScores(chromosome.getChromosomeId(), minimumSoftScore);
+        logger.debug(" soft fitness score: " + softConstraintScores[softConstraintScores.length - 1]);
 
-                double distance = Math.pow(hammingDistance / chromosome.getEncodedExams().size(), shapeParameter);
-                distanceSum += distance;
+        return softConstraintScores;
+    }
 
+    public static boolean isBounded(double[][] calculatedScores) {
+        // scores of fitnessScore(chromosome, cutoff) that stopped before all soft constraints
+        return ConstraintPipeline.isBounded(calculatedScores[1]);
+    }
 
-            }
+    public static double constraintScore(double punishment) {
+        // score can be at most 1 if everything is perfect
+        return (double) 1 / (1 + punishment);
+    }
 
-            // update fitness
-            if (distanceSum != 0) {
-                chromosome.setFitnessScore(0.9 * actualFitness + 0.1 * (distanceSum / (population.size() - 1)));
-            }
+    public static double harmonicAverage(double[] constraintScores) {
+        // use f1 score to calculate average, harmonic average
+        // we can also use weight/priority based average calculation
+        double sum = 0;
+        for (double constraintScore : constraintScores) {
+            sum += 1 / constraintScore;
         }
-
-
-        return population;
+        return constraintScores.length / sum;
     }
 
-    public double[] softConstraintScores(Chromosome chromosome) {
+    public static double harmonicAverage(double[] values, int from, int count, double[] weights) {
+        // weighted harmonic average of values[from, from + count), equal weights give the same result as above
+        double sum = 0;
+        double weightSum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += weights[i] / values[from + i];
+            weightSum += weights[i];
+        }
+        return weightSum / sum;
+    }
 
-        ArrayList<EncodedExam> encodedExams = chromosome.getEncodedExams();
-        double studentMoreThanTwoExamSameDay = (double) 1 / (1 + studentMoreThanTwoExamSameDay());
-        double minimumGapBetweenExamsStudent = (double) 1 / (1 + minimumGapBetweenExamsStudent());
-        double invigilatorMoreThanThreeExamSameDay = (double) 1 / (1 + invigilatorMoreThanThreeExamSameDay());
-        double minimumGapBetweenExamsInvigilator = (double) 1 / (1 + minimumGapBetweenExamsInvigilator());
-        double noExamsAtWeekends = (double) 1 / (1 + noExamsAtWeekends(encodedExams));
-        double examsNotInAfternoon = (double) 1 / (1 + examsNotInAfternoon());
-        double popularExamsAtBeginning = (double) 1 / (1 + popularExamsAtBeginning(encodedExams));
-
-        int n = 7;
-        double fitnessScore = n / (
-                        1 / studentMoreThanTwoExamSameDay +
-                        1 / minimumGapBetweenExamsStudent +
-                        1 / invigilatorMoreThanThreeExamSameDay +
-                        1 / minimumGapBetweenExamsInvigilator +
-                        1 / noExamsAtWeekends +
-                        1 / examsNotInAfternoon +
-                        1 / popularExamsAtBeginning
-
-        );
-        logger.debug(" soft fitness score: " + fitnessScore);
-
-        return new double[]{chromosome.getChromosomeId(), studentMoreThanTwoExamSameDay, minimumGapBetweenExamsStudent, invigilatorMoreThanThreeExamSameDay,
-                minimumGapBetweenExamsInvigilator, noExamsAtWeekends, examsNotInAfternoon, popularExamsAtBeginning,
-                fitnessScore};
+    public double combineScores(double hardFitnessScore, double softFitnessScore) {
+        return hardWeight * hardFitnessScore + softWeight * softFitnessScore;
     }
 
     public static double hammingDistance(Chromosome chromosome1, Chromosome chromosome2) {
@@ -179,8 +245,8 @@ public class Fitness {
             for (EncodedExam exam2 : encodedExams2) {
                 if (exam2.getCourseCode().equals(course)) {
                     if (classrooom.equals(exam2.getClassroomCode()) &&
-                            !timeslot.getStart().isEqual(exam2.getTimeSlot().getStart()) &&
-                            !timeslot.getEnd().isEqual(exam2.getTimeSlot().getEnd()) &&
+                            timeslot.getStartMinute() != exam2.getTimeSlot().getStartMinute() &&
+                            timeslot.getEndMinute() != exam2.getTimeSlot().getEndMinute() &&
                             !invigilators.containsAll(exam2.getInvigilators()) &&
                             !exam2.getInvigilators().containsAll(invigilators)) {
 
@@ -193,533 +259,326 @@ public class Fitness {
     }
 
     public double[] hardConstraintScores(Chromosome chromosome) {
+        // scores of the prepared chromosome
+        constraintEvaluation.traverse(this);
+        return constraintEvaluation.hardScores(chromosome.getChromosomeId());
+    }
 
-        ArrayList<EncodedExam> encodedExams = chromosome.getEncodedExams();
-        double allExamsHaveRequiredTime = (double) 1 / (1 + allExamsHaveRequiredTime(encodedExams));
-        double allExamHaveRequiredInvigilatorCount = (double) 1 / (1 + allExamHaveRequiredInvigilatorCount(encodedExams));
-        double classroomOverlapped = (double) 1 / (1 + classroomOverlapped());
-        double allExamsHaveClassrooms = (double) 1 / (1 + allExamsHaveClassrooms(encodedExams));
-        double classroomsHasCapacity = (double) 1 / (1 + classroomsHasCapacity(encodedExams));
-        double invigilatorOverlapped = (double) 1 / (1 + invigilatorOverlapped());
-        double studentOverlapped = (double) 1 / (1 + studentOverlapped());
-        double invigilatorAvailable = (double) 1 / (1 + invigilatorAvailable());
-        double startAndEndTimeDateViolated = (double) 1 / (1 + startAndEndTimeDateViolated(encodedExams));
-        double allExamsHaveRequiredEquipments = (double) 1 / (1 + allExamsHaveRequiredEquipments(encodedExams));
-        double noExamsHolidays = (double) 1 / (1 + noExamsInHolidays(encodedExams));
-        double examStartAndEndDateSame = (double) 1 / (1 + examStartAndEndDateSame(encodedExams));
+    public ArrayList<EncodedExam> getGenes() {
+        // exam list of the prepared chromosome, packed genes are decoded only when it is asked for
+        return packedGenes != null ? packedGenes.getEncodedExams() : genes;
+    }
 
-        // use f1 score to calculate average, harmonic average
-        // we can also use weight/priority based average calculation
-        // n = fitness function count
-        int n = 12;
-        double fitnessScore = n / (
-                        1 / allExamsHaveRequiredTime +
-                        1 / allExamHaveRequiredInvigilatorCount +
-                        1 / classroomOverlapped +
-                        1 / allExamsHaveClassrooms +
-                        1 / classroomsHasCapacity +
-                        1 / invigilatorOverlapped +
-                        1 / studentOverlapped +
-                        1 / invigilatorAvailable +
-                        1 / startAndEndTimeDateViolated +
-                                1 / allExamsHaveRequiredEquipments +
-                        1 / noExamsHolidays +
-                        1 / examStartAndEndDateSame
-        );
-        return new double[]{chromosome.getChromosomeId(), allExamsHaveRequiredTime, allExamHaveRequiredInvigilatorCount, classroomOverlapped,
-                allExamsHaveClassrooms, classroomsHasCapacity, invigilatorOverlapped,
-                studentOverlapped, invigilatorAvailable, startAndEndTimeDateViolated, allExamsHaveRequiredEquipments,
-                noExamsHolidays, examStartAndEndDateSame,
-                fitnessScore};
+    private void prepareIfChanged(ArrayList<EncodedExam> chromosome) {
+        // constraint methods that are given an exam list prepare it unless it is the prepared one
+        if (chromosome != getGenes()) {
+            prepareDataForFitness(chromosome);
+        }
     }
 
     private void prepareDataForFitness(ArrayList<EncodedExam> chromosome) {
+        int size = chromosome.size();
+        startPreparation(size);
+        for (int gene = 0; gene < size; gene++) {
+            EncodedExam encodedExam = chromosome.get(gene);
+            int classroom = encodedExam.getClassroomCode() == null ? NO_CLASSROOM : problemInstance.indexOfClassroom(encodedExam.getClassroomCode());
+            int course = problemInstance.indexOfCourse(encodedExam.getCourseCode());
+            Timeslot timeslot = encodedExam.getTimeSlot();
+            ArrayList<String> invigilatorIds = encodedExam.getInvigilators();
+            addGene(gene, course, classroom, timeslot.getStartMinute(), timeslot.getEndMinute(), invigilatorIds.size());
 
-        // hashmap : classroom code - assigned exams
-        HashMap<String, ArrayList<EncodedExam>> classroomExams = new HashMap<>();
+            for (String invigilatorId : invigilatorIds) {
+                int invigilator = problemInstance.indexOfInvigilator(invigilatorId);
+                if (invigilator != -1) {
+                    addToBucket(invigilatorExams, invigilatorExamCounts, invigilator, gene);
+                }
+            }
+        }
+        finishPreparation();
+        this.genes = chromosome;
+        this.packedGenes = null;
+    }
 
-        // hashmap : invigilator id - assigned exams
-        HashMap<String, ArrayList<EncodedExam>> invigilatorExams = new HashMap<>();
+    private void prepareDataForFitness(PackedChromosome chromosome) {
+        // ids are already resolved, nothing is looked up by code
+        int size = chromosome.size();
+        startPreparation(size);
+        for (int gene = 0; gene < size; gene++) {
+            int classroom = chromosome.getClassroom(gene) == PackedChromosome.NO_CLASSROOM ? NO_CLASSROOM : chromosome.getClassroom(gene);
+            int invigilatorCount = chromosome.getInvigilatorCount(gene);
+            addGene(gene, chromosome.getCourse(gene), classroom, chromosome.getStart(gene), chromosome.getEnd(gene), invigilatorCount);
 
-        // hashmap : student id - assigned exams
-        HashMap<String, ArrayList<EncodedExam>> studentExams = new HashMap<>();
+            for (int k = 0; k < invigilatorCount; k++) {
+                addToBucket(invigilatorExams, invigilatorExamCounts, chromosome.getInvigilator(gene, k), gene);
+            }
+        }
+        finishPreparation();
+        this.genes = null;
+        this.packedGenes = chromosome;
+    }
 
-        for (EncodedExam encodedExam : chromosome) {
-            String classroomCode = encodedExam.getClassroomCode();
-            generateHashmap(classroomExams, encodedExam, classroomCode);
+    private void startPreparation(int size) {
 
-            String courseCode = encodedExam.getCourseCode();
-            Course course = Course.findByCourseCode(courses, courseCode);
-            if (course != null) {
-                ArrayList<String> studentIds = course.getRegisteredStudents();
-                for (String studentId : studentIds) {
-                    generateHashmap(studentExams, encodedExam, studentId);
-                }
-            }
+        // buckets : classroom id - assigned exams
+        Arrays.fill(classroomExamCounts, 0);
 
-            ArrayList<String> invigilatorIds = encodedExam.getInvigilators();
-            for (String invigilatorId : invigilatorIds) {
-                generateHashmap(invigilatorExams, encodedExam, invigilatorId);
-            }
+        // buckets : invigilator id - assigned exams
+        Arrays.fill(invigilatorExamCounts, 0);
+
+        // buckets : course id - genes
+        Arrays.fill(courseGeneCounts, 0);
+
+        if (geneCourses.length < size) {
+            geneCourses = new int[size];
+            geneClassrooms = new int[size];
+            geneStartMinutes = new int[size];
+            geneEndMinutes = new int[size];
+            geneInvigilatorCounts = new int[size];
+            geneStudentStarts = new long[size];
+            geneStudentEnds = new long[size];
+            geneDays = new int[size];
         }
-        this.invigilatorExams = invigilatorExams;
-        this.classroomExams = classroomExams;
-        this.studentExams = studentExams;
+        geneCount = size;
     }
 
-    private void generateHashmap(HashMap<String, ArrayList<EncodedExam>> mappedExams, EncodedExam encodedExam, String code) {
-        if (mappedExams.containsKey(code)) {
-            ArrayList<EncodedExam> exams = mappedExams.get(code);
-            exams.add(encodedExam);
-            mappedExams.put(code, exams);
-        } else {
-            ArrayList<EncodedExam> initialExams = new ArrayList<>();
-            initialExams.add(encodedExam);
-            mappedExams.put(code, initialExams);
+    private void addGene(int gene, int course, int classroom, int start, int end, int invigilatorCount) {
+        geneClassrooms[gene] = classroom;
+        if (classroom >= 0) {
+            addToBucket(classroomExams, classroomExamCounts, classroom, gene);
         }
+
+        geneCourses[gene] = course;
+        if (course != -1) {
+            addToBucket(courseGenes, courseGeneCounts, course, gene);
+            // timeslot for student, before and after exam time is removed
+            geneStudentStarts[gene] = start + problemInstance.getBeforeExamPrepTime(course) * 60L;
+            geneStudentEnds[gene] = end - problemInstance.getAfterExamPrepTime(course) * 60L;
+        }
+        geneStartMinutes[gene] = start;
+        geneEndMinutes[gene] = end;
+        geneInvigilatorCounts[gene] = invigilatorCount;
     }
 
-    // Hard Constraints
-    public double allExamsHaveRequiredTime(ArrayList<EncodedExam> chromosome) {
-        // all exams have the required timeslot for both invigilators and students
-        int requiredTimeslotPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            String courseCode = exam.getCourseCode();
-            Course course = Course.findByCourseCode(courses, courseCode);
-            if (course != null) {
-                Timeslot timeslots = exam.getTimeSlot();
-                int examTimeslotCount = (int) Duration.between(timeslots.getStart(), timeslots.getEnd()).toHours();
-                int timeslotCountForInvigilator = course.getBeforeExamPrepTime() + course.getExamDuration() + course.getAfterExamPrepTime();
-                int timeslotCountForStudent = course.getExamDuration();
-
-                // all courses have the required timeslot for both invigilators and students
-                int differenceInvigilator = Math.abs(examTimeslotCount - timeslotCountForInvigilator);
-                int differenceStudent = Math.abs((examTimeslotCount - (course.getBeforeExamPrepTime() + course.getAfterExamPrepTime())) - timeslotCountForStudent);
-                //requiredTimeslotPunishment += differenceInvigilator;
-                //requiredTimeslotPunishment += differenceStudent;
-                if (differenceInvigilator != 0) {
-                    logger.debug("This is not the required time for invigilator");
-                    requiredTimeslotPunishment += 1;
-                }
-                if (differenceStudent != 0) {
-                    logger.debug("This is not the required time for student");
-                    requiredTimeslotPunishment += 1;
-                }
-            }
+    private void finishPreparation() {
+        int firstDay = Integer.MAX_VALUE;
+        for (int gene = 0; gene < geneCount; gene++) {
+            int day = Timeslot.dayOf(geneStartMinutes[gene]);
+            geneDays[gene] = day;
+            firstDay = Math.min(firstDay, day);
+        }
+        for (int gene = 0; gene < geneCount; gene++) {
+            geneDays[gene] -= firstDay;
         }
-        logger.debug("requiredTimeslotPunishment" + requiredTimeslotPunishment);
-        return requiredTimeslotPunishment;
     }
 
-    public double allExamHaveRequiredInvigilatorCount(ArrayList<EncodedExam> chromosome) {
-        // all exams have the required number of invigilators to observe the exam
-        int invigilatorCountPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            String courseCode = exam.getCourseCode();
-            Course course = Course.findByCourseCode(courses, courseCode);
-            if (course != null) {
-                int invigilatorCount = exam.getInvigilators().size();
-
-                // all courses have the required number of invigilators to observe the exam
-                // if there are more invigilator than it is supposed to be is that okay ?
-                int capacity = course.getRegisteredStudents().size();
-                int requiredInvigilator = capacity < 20 ? 1 : capacity < 75 ? 2 : (capacity < 150 ? 3 : 4);
-                int difference = Math.abs(requiredInvigilator - invigilatorCount);
-                //invigilatorCountPunishment += difference;
-                if (difference != 0) {
-                    logger.debug("The invigilator count is missing :(");
-                    logger.debug("Course: " + course);
-                    logger.debug("Required invigilator count: " + requiredInvigilator);
-                    logger.debug("Current invigilator count: " + invigilatorCount);
-                    invigilatorCountPunishment += 1;
-                }
-            }
+    private void addToBucket(int[][] buckets, int[] counts, int key, int gene) {
+        int[] exams = buckets[key];
+        if (exams == null) {
+            exams = new int[4];
+            buckets[key] = exams;
+        } else if (counts[key] == exams.length) {
+            exams = Arrays.copyOf(exams, exams.length * 2);
+            buckets[key] = exams;
         }
-        logger.debug("invigilatorCountPunishment" + invigilatorCountPunishment);
-        return invigilatorCountPunishment;
+        exams[counts[key]++] = gene;
     }
 
-    public double classroomOverlapped() {
-        // No classroom can be assigned to more than one exam at the same moment.
-        double classroomPunishment = 0;
-        for (String classroom : classroomExams.keySet()) {
-            ArrayList<Timeslot> timeslots = new ArrayList<>();
-            ArrayList<EncodedExam> assignedExams = classroomExams.get(classroom);
-            // save timeslots of each exam and compare them
-            for (EncodedExam exam : assignedExams) {
-                Timeslot timeslot = exam.getTimeSlot();
-                timeslots.add(timeslot);
-            }
+    // ScheduleView, read by the constraint visitors
+    @Override
+    public int getCourse(int gene) {
+        return geneCourses[gene];
+    }
 
-            classroomPunishment += getOverlappedPunishment(classroomPunishment, timeslots);
-        }
-        logger.debug("classroomPunishment" + classroomPunishment);
-        return classroomPunishment;
+    @Override
+    public String getCourseCode(int gene) {
+        return geneCourses[gene] != -1 ? problemInstance.getCourseCode(geneCourses[gene]) : genes.get(gene).getCourseCode();
     }
 
-    public double studentOverlapped() {
-        // No student can be assigned to more than one exam at the same moment.
-        double studentOverlappedPunishment = 0;
-
-        // timeslots must be adjusted for student
-        // before and after exam time must be removed
-        for (String studentId : studentExams.keySet()) {
-            ArrayList<EncodedExam> assignedExams = studentExams.get(studentId);
-            ArrayList<Timeslot> timeslots = new ArrayList<>();
-            for (EncodedExam exam : assignedExams) {
-                Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-                if (course != null) {
-                    int beforeExamPrep = course.getBeforeExamPrepTime();
-                    int afterExamPrep = course.getAfterExamPrepTime();
-                    Timeslot timeslot = exam.getTimeSlot();
-                    timeslots.add(new Timeslot(timeslot.getStart().plusHours(beforeExamPrep), timeslot.getEnd().minusHours(afterExamPrep)));
-                }
-            }
-            studentOverlappedPunishment += getOverlappedPunishment(studentOverlappedPunishment, timeslots);
-        }
-        logger.debug("studentOverlappedPunishment" + studentOverlappedPunishment);
-        return studentOverlappedPunishment;
-    }
-
-    private double getOverlappedPunishment(double overlappedPunishment, ArrayList<Timeslot> timeslots) {
-        int length = timeslots.size();
-        for (int i = 0; i < length; i++) {
-            for (int j = i + 1; j < length; j++) {
-                long minutes = timeslots.get(i).getOverlapMinutes(timeslots.get(j));
-                if (minutes != 0) {
-                    logger.debug("Timeslots overlap !!!!!!!!!!");
-                    logger.debug(timeslots.get(i));
-                    logger.debug(timeslots.get(j));
-                    logger.debug("Overlapped minutes: " + minutes);
-                    //overlappedPunishment += (double) minutes / 60;
-                    overlappedPunishment += 1;
-                }
-            }
-        }
-        return overlappedPunishment;
+    @Override
+    public int getClassroom(int gene) {
+        return geneClassrooms[gene];
     }
 
-    public double invigilatorOverlapped() {
-        // No invigilator can be assigned to more than one exam at the same moment.
-        double invigilatorOverlappedPunishment = 0;
-
-        for (String invigilatorId : invigilatorExams.keySet()) {
-            ArrayList<EncodedExam> assignedExams = invigilatorExams.get(invigilatorId);
-            ArrayList<Timeslot> timeslots = new ArrayList<>();
-            for (EncodedExam exam : assignedExams) {
-                Timeslot timeslot = exam.getTimeSlot();
-                timeslots.add(timeslot);
-            }
+    @Override
+    public int getStartMinute(int gene) {
+        return geneStartMinutes[gene];
+    }
 
-            invigilatorOverlappedPunishment += getOverlappedPunishment(invigilatorOverlappedPunishment, timeslots);
+    @Override
+    public int getEndMinute(int gene) {
+        return geneEndMinutes[gene];
+    }
 
-        }
-        logger.debug("invigilatorOverlappedPunishment" + invigilatorOverlappedPunishment);
-        return invigilatorOverlappedPunishment;
+    @Override
+    public long getStudentStart(int gene) {
+        return geneStudentStarts[gene];
     }
 
-    public double invigilatorAvailable() {
-        // No invigilator can be assigned to more than her/his capacity.
-        int invigilatorAvailablePunishment = 0;
-
-        for (String invigilatorId : invigilatorExams.keySet()) {
-            Invigilator invigilator = Invigilator.findByInvigilatorId(invigilators, invigilatorId);
-            if (invigilator != null) {
-                int maxMonitoredExamCount = invigilator.getMaxCoursesMonitoredCount();
-                ArrayList<EncodedExam> monitoredExams = invigilatorExams.get(invigilatorId);
-                int monitoredExamCount = monitoredExams.size();
-                if (maxMonitoredExamCount < monitoredExamCount) {
-                    logger.debug("Invigilator is over her/his capacity!!!!!!!!!!");
-                    logger.debug("Invigilator Id: " + invigilatorId);
-                    logger.debug("Max Capacity:" + maxMonitoredExamCount);
-                    logger.debug("Monitored Exam count:" + monitoredExamCount);
-                    logger.debug("Exams: " + monitoredExams);
-                    invigilatorAvailablePunishment++;
-                }
-            }
-        }
-        logger.debug("invigilatorAvailablePunishment" + invigilatorAvailablePunishment);
-        return invigilatorAvailablePunishment;
+    @Override
+    public long getStudentEnd(int gene) {
+        return geneStudentEnds[gene];
     }
 
+    @Override
+    public int getInvigilatorCount(int gene) {
+        return geneInvigilatorCounts[gene];
+    }
 
-    public double allExamsHaveClassrooms(ArrayList<EncodedExam> chromosome) {
-        // All exams must have classrooms assigned to them
-        int allExamsHaveClassroomsPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            if (exam.getClassroomCode() == null) {
-                logger.debug("Exam " + exam.getCourseCode() + " has no classroom assigned!!!!!!!");
-                allExamsHaveClassroomsPunishment++;
-            }
-        }
-        logger.debug("allExamsHaveClassroomsPunishment" + allExamsHaveClassroomsPunishment);
-        return allExamsHaveClassroomsPunishment;
+    @Override
+    public int getDay(int gene) {
+        return geneDays[gene];
     }
 
-    public double classroomsHasCapacity(ArrayList<EncodedExam> chromosome) {
-        // classroom has the capacity to hold all the students
-        int classroomsHasCapacityPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            Classroom classroom = Classroom.findByClassroomCode(classrooms, exam.getClassroomCode());
-            Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-
-            if (classroom == null) {
-                logger.error("Classroom with code " + exam.getClassroomCode() + " not found.");
-                continue;
-            }
+    @Override
+    public int getClassroomExamCount(int classroom) {
+        return classroomExamCounts[classroom];
+    }
 
-            if (course == null) {
-                logger.error("Course with code " + exam.getCourseCode() + " not found.");
-                continue;
-            }
+    @Override
+    public int getClassroomExam(int classroom, int i) {
+        return classroomExams[classroom][i];
+    }
 
-            if (classroom.getCapacity() < course.getRegisteredStudents().size()) {
-                logger.debug("Classroom " + classroom.getClassroomCode() + " does not have the required capacity!!!!!");
-                classroomsHasCapacityPunishment++;
-            }
-        }
-        logger.debug("classroomsHasCapacityPunishment" + classroomsHasCapacityPunishment);
-        return classroomsHasCapacityPunishment;
+    @Override
+    public int getInvigilatorExamCount(int invigilator) {
+        return invigilatorExamCounts[invigilator];
     }
 
-    public double startAndEndTimeDateViolated(ArrayList<EncodedExam> chromosome) {
-        // No exam can be held before or after the defined time frame
-        int startAndEndTimeDatePunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            Timeslot timeslot = exam.getTimeSlot();
-            LocalDateTime start = timeslot.getStart();
-            LocalDateTime end = timeslot.getEnd();
-            LocalDateTime startDateTime = LocalDateTime.of(startDate, startTime);
-            LocalDateTime endDateTime = LocalDateTime.of(endDate, endTime);
-            if (start.isBefore(startDateTime) || start.isAfter(endDateTime) ||
-                    end.isBefore(startDateTime) || end.isAfter(endDateTime)) {
-                logger.debug("Exam timeslot is not in the specified range!!");
-                logger.debug("Start: " + start);
-                logger.debug("End: " + end);
-                startAndEndTimeDatePunishment++;
-            }
-        }
-        logger.debug("startAndEndTimeDatePunishment" + startAndEndTimeDatePunishment);
-        return startAndEndTimeDatePunishment;
+    @Override
+    public int getInvigilatorExam(int invigilator, int i) {
+        return invigilatorExams[invigilator][i];
     }
 
+    @Override
+    public int getCourseGeneCount(int course) {
+        return courseGeneCounts[course];
+    }
 
-    public double allExamsHaveRequiredEquipments(ArrayList<EncodedExam> chromosome) {
-        // The classroom has the required equipments(computer) if necessary like
-        int allExamsHaveRequiredEquipmentsPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            Classroom classroom = Classroom.findByClassroomCode(classrooms, exam.getClassroomCode());
-            Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-            if (course != null && classroom != null) {
-                boolean pcLab = classroom.isPcLab();
-                boolean pcRequired = course.isPcExam();
-                if (pcLab != pcRequired) {
-                    allExamsHaveRequiredEquipmentsPunishment++;
-                }
-            }
-        }
-        logger.debug("allExamsHaveRequiredEquipmentsPunishment" + allExamsHaveRequiredEquipmentsPunishment);
-        return allExamsHaveRequiredEquipmentsPunishment;
+    @Override
+    public int getCourseGene(int course, int i) {
+        return courseGenes[course][i];
     }
 
-    public double noExamsInHolidays(ArrayList<EncodedExam> chromosome) {
-        // No exam at the weekend or holidays
-        int noExamsHolidaysPunishment = 0;
-        Set<LocalDate> holidays = FileHelper.loadHolidaysFromFile();
-
-        for (EncodedExam exam : chromosome) {
-            LocalDateTime startDateTime = exam.getTimeSlot().getStart();
-            LocalDate examDate = startDateTime.toLocalDate();
-
-            if (holidays.contains(examDate)) {
-                logger.debug("Exam Date: " + examDate);
-                logger.debug("Exam can not be placed in the holidays");
-                noExamsHolidaysPunishment++;
-            }
-        }
-        logger.debug("noExamsHolidaysPunishment" + noExamsHolidaysPunishment);
-        return noExamsHolidaysPunishment;
+    @Override
+    public boolean isPopularCourse(int course) {
+        return popularCourses[course];
     }
 
-    public double examStartAndEndDateSame(ArrayList<EncodedExam> chromosome) {
-        // Exam should start and end at the same day
-        int examStartAndEndDateSamePunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            if (!exam.getTimeSlot().getStart().toLocalDate().isEqual(exam.getTimeSlot().getEnd().toLocalDate())) {
-                examStartAndEndDateSamePunishment++;
-            }
-        }
-        logger.debug("examStartAndEndDateSamePunishment" + examStartAndEndDateSamePunishment);
-        return examStartAndEndDateSamePunishment;
+    // Hard Constraints
+    // each method evaluates its built-in constraint alone (see BuiltInConstraints),
+    // methods with an exam list evaluate that list, the others evaluate the prepared chromosome
+    public double allExamsHaveRequiredTime(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return allExamsHaveRequiredTime();
     }
 
+    public double allExamsHaveRequiredTime() {
+        return BuiltInConstraints.ALL_EXAMS_HAVE_REQUIRED_TIME.evaluate(this);
+    }
 
-    // Soft Constraints
-    public double studentMoreThanTwoExamSameDay() {
-        // No student should enter more than two exam in one day
-        int studentMoreThanTwoExamSameDayPunishment = 0;
-
-        for (String studentId : studentExams.keySet()) {
-            // new hashmap : date - exam count
-            HashMap<LocalDate, Integer> examCountPerDay = new HashMap<>();
-            ArrayList<EncodedExam> assignedExams = studentExams.get(studentId);
-
-            for (EncodedExam exam : assignedExams) {
-                Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-                if (course != null) {
-                    Timeslot timeslot = exam.getTimeSlot();
-                    LocalDate examDay = timeslot.getStart().toLocalDate();
-
-                    if (examCountPerDay.containsKey(examDay)) {
-                        examCountPerDay.put(examDay, examCountPerDay.get(examDay) + 1);
-                    } else {
-                        examCountPerDay.put(examDay, 1);
-                    }
+    public double allExamHaveRequiredInvigilatorCount(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return allExamHaveRequiredInvigilatorCount();
+    }
 
-                }
-            }
-            for (int count : examCountPerDay.values()) {
-                if (count > 2) {
-                    //studentMoreThanTwoExamSameDayPunishment += count - 2;
-                    studentMoreThanTwoExamSameDayPunishment++;
-                    logger.debug("Student:" + studentId + " Count:" + count);
-                }
-            }
+    public double allExamHaveRequiredInvigilatorCount() {
+        return BuiltInConstraints.ALL_EXAM_HAVE_REQUIRED_INVIGILATOR_COUNT.evaluate(this);
+    }
 
-        }
-        logger.debug("studentMoreThanTwoExamSameDayPunishment" + studentMoreThanTwoExamSameDayPunishment);
+    public double classroomOverlapped() {
+        return BuiltInConstraints.CLASSROOM_OVERLAPPED.evaluate(this);
+    }
 
-        return studentMoreThanTwoExamSameDayPunishment;
+    public double studentOverlapped() {
+        return BuiltInConstraints.STUDENT_OVERLAPPED.evaluate(this);
     }
 
-    public double minimumGapBetweenExamsStudent() {
-        // If student has more than one exam in the same day , they should have at least 1 hour between
-        int minimumGapBetweenExamsStudentPunishment = 0;
-        for (String studentId : studentExams.keySet()) {
-            ArrayList<EncodedExam> assignedExams = studentExams.get(studentId);
-            ArrayList<LocalDateTime> examEndTimes = new ArrayList<>();
-
-            for (EncodedExam exam : assignedExams) {
-                Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-                if (course != null) {
-                    int afterExamPrep = course.getAfterExamPrepTime();
-                    Timeslot timeslot = exam.getTimeSlot();
-                    examEndTimes.add(timeslot.getEnd().minusHours(afterExamPrep));
-                }
-            }
+    public double invigilatorOverlapped() {
+        return BuiltInConstraints.INVIGILATOR_OVERLAPPED.evaluate(this);
+    }
 
-            Collections.sort(examEndTimes);
+    public double invigilatorAvailable() {
+        return BuiltInConstraints.INVIGILATOR_AVAILABLE.evaluate(this);
+    }
 
-            for (int i = 1; i < examEndTimes.size(); i++) {
-                LocalDateTime previousExamEnd = examEndTimes.get(i - 1);
-                LocalDateTime currentExamStart = examEndTimes.get(i);
+    public double allExamsHaveClassrooms(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return allExamsHaveClassrooms();
+    }
 
-                long gapInMinutes = Duration.between(previousExamEnd, currentExamStart).toMinutes();
+    public double allExamsHaveClassrooms() {
+        return BuiltInConstraints.ALL_EXAMS_HAVE_CLASSROOMS.evaluate(this);
+    }
 
-                if (gapInMinutes < 60) {
-                    logger.debug(previousExamEnd);
-                    logger.debug(currentExamStart);
-                    logger.debug("The gap for student between consecutive exams is less than 60 minutes, it is: " + gapInMinutes);
-                    minimumGapBetweenExamsStudentPunishment++;
-                }
-            }
-        }
-        logger.debug("minimumGapBetweenExamsStudentPunishment" + minimumGapBetweenExamsStudentPunishment);
+    public double classroomsHasCapacity(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return classroomsHasCapacity();
+    }
 
-        return minimumGapBetweenExamsStudentPunishment;
+    public double classroomsHasCapacity() {
+        return BuiltInConstraints.CLASSROOMS_HAS_CAPACITY.evaluate(this);
     }
 
-    public double invigilatorMoreThanThreeExamSameDay() {
-        // No invigilator should monitor more than three exam in one day
-        int invigilatorMoreThanThreeExamSameDayPunishment = 0;
-
-        for (String invigilatorId : invigilatorExams.keySet()) {
-            // new hashmap : date - exam count
-            HashMap<LocalDate, Integer> examCountPerDay = new HashMap<>();
-            ArrayList<EncodedExam> assignedExams = invigilatorExams.get(invigilatorId);
-
-            for (EncodedExam exam : assignedExams) {
-                Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-                if (course != null) {
-                    Timeslot timeslot = exam.getTimeSlot();
-                    LocalDate examDay = timeslot.getStart().toLocalDate();
-
-                    if (examCountPerDay.containsKey(examDay)) {
-                        examCountPerDay.put(examDay, examCountPerDay.get(examDay) + 1);
-                    } else {
-                        examCountPerDay.put(examDay, 1);
-                    }
+    public double startAndEndTimeDateViolated(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return startAndEndTimeDateViolated();
+    }
 
-                }
-            }
-            logger.debug(examCountPerDay);
-            for (int count : examCountPerDay.values()) {
-                if (count > 3) {
-                    //invigilatorMoreThanThreeExamSameDayPunishment += count - 3;
-                    invigilatorMoreThanThreeExamSameDayPunishment++;
-                    logger.debug("Invigilator:" + invigilatorId + " Count:" + count);
-                }
-            }
+    public double startAndEndTimeDateViolated() {
+        return BuiltInConstraints.START_AND_END_TIME_DATE_VIOLATED.evaluate(this);
+    }
 
-        }
-        logger.debug("invigilatorMoreThanThreeExamSameDayPunishment" + invigilatorMoreThanThreeExamSameDayPunishment);
+    public double allExamsHaveRequiredEquipments(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return allExamsHaveRequiredEquipments();
+    }
 
-        return invigilatorMoreThanThreeExamSameDayPunishment;
+    public double allExamsHaveRequiredEquipments() {
+        return BuiltInConstraints.ALL_EXAMS_HAVE_REQUIRED_EQUIPMENTS.evaluate(this);
     }
 
-    public double minimumGapBetweenExamsInvigilator() {
-        // If invigilator has more than one exam in the same day , they should have at least 1 hour between
-        int minimumGapBetweenExamsInvigilatorPunishment = 0;
+    public double noExamsInHolidays(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return noExamsInHolidays();
+    }
 
-        for (String invigilatorId : invigilatorExams.keySet()) {
-            ArrayList<EncodedExam> assignedExams = invigilatorExams.get(invigilatorId);
-            ArrayList<LocalDateTime> examEndTimes = new ArrayList<>();
+    public double noExamsInHolidays() {
+        return BuiltInConstraints.NO_EXAMS_HOLIDAYS.evaluate(this);
+    }
 
-            for (EncodedExam exam : assignedExams) {
-                Timeslot timeslot = exam.getTimeSlot();
-                examEndTimes.add(timeslot.getEnd());
+    public double examStartAndEndDateSame(ArrayList<EncodedExam> chromosome) {
+        prepareIfChanged(chromosome);
+        return examStartAndEndDateSame();
+    }
 
-            }
+    public double examStartAndEndDateSame() {
+        return BuiltInConstraints.EXAM_START_AND_END_DATE_SAME.evaluate(this);
+    }
 
-            Collections.sort(examEndTimes);
-            for (int i = 1; i < examEndTimes.size(); i++) {
-                LocalDateTime previousExamEnd = examEndTimes.get(i - 1);
-                LocalDateTime currentExamStart = examEndTimes.get(i);
+    // Soft Constraints
+    public double studentMoreThanTwoExamSameDay() {
+        return BuiltInConstraints.STUDENT_MORE_THAN_TWO_EXAM_SAME_DAY.evaluate(this);
+    }
 
-                long gapInMinutes = Duration.between(previousExamEnd, currentExamStart).toMinutes();
+    public double minimumGapBetweenExamsStudent() {
+        return BuiltInConstraints.MINIMUM_GAP_BETWEEN_EXAMS_STUDENT.evaluate(this);
+    }
 
-                if (gapInMinutes < 30) {
-                    logger.debug(previousExamEnd);
-                    logger.debug(currentExamStart);
-                    logger.debug("The gap for invigilator between consecutive exams is less than 30 minutes, it is: " + gapInMinutes);
-                    minimumGapBetweenExamsInvigilatorPunishment++;
-                }
-            }
-        }
-        logger.debug("minimumGapBetweenExamsInvigilatorPunishment" + minimumGapBetweenExamsInvigilatorPunishment);
+    public double invigilatorMoreThanThreeExamSameDay() {
+        return BuiltInConstraints.INVIGILATOR_MORE_THAN_THREE_EXAM_SAME_DAY.evaluate(this);
+    }
 
-        return minimumGapBetweenExamsInvigilatorPunishment;
+    public double minimumGapBetweenExamsInvigilator() {
+        return BuiltInConstraints.MINIMUM_GAP_BETWEEN_EXAMS_INVIGILATOR.evaluate(this);
     }
 
     public double noExamsAtWeekends(ArrayList<EncodedExam> chromosome) {
-        // No exam at the weekend
-        int noExamsWeekendPunishment = 0;
-
-        for (EncodedExam exam : chromosome) {
-            LocalDateTime startDateTime = exam.getTimeSlot().getStart();
-            LocalDate examDate = startDateTime.toLocalDate();
-            DayOfWeek dayOfWeek = examDate.getDayOfWeek();
-
-            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-                logger.debug("Exam Date: " + examDate);
-                logger.debug("Exam can not be placed in the weekends");
-                noExamsWeekendPunishment++;
-            }
-
-        }
-        logger.debug("noExamsWeekendPunishment" + noExamsWeekendPunishment);
+        prepareIfChanged(chromosome);
+        return noExamsAtWeekends();
+    }
 
-        return noExamsWeekendPunishment;
+    public double noExamsAtWeekends() {
+        return BuiltInConstraints.NO_EXAMS_AT_WEEKENDS.evaluate(this);
     }
 
     // Remaining Soft Constraints
@@ -734,89 +593,15 @@ public class Fitness {
     // study for difficult exams.
 
     public double examsNotInAfternoon() {
-        // Most examinations should take place in the afternoon, when students' perceptions are normally most open.
-
-        double afternoonPunishment = 0;
-
-        LocalTime afternoonStart = LocalTime.of(12, 0);
-        LocalTime afternoonEnd = LocalTime.of(18, 0);
-
-        int totalExams = 0;
-        int afternoonExams = 0;
-
-        for (String studentId : studentExams.keySet()) {
-
-            ArrayList<EncodedExam> assignedExams = studentExams.get(studentId);
-
-            for (EncodedExam exam : assignedExams) {
-                Course course = Course.findByCourseCode(courses, exam.getCourseCode());
-                if (course != null) {
-                    int beforeExamPrep = course.getBeforeExamPrepTime();
-                    Timeslot timeslot = exam.getTimeSlot();
-                    LocalTime examStartTime = timeslot.getStart().plusHours(beforeExamPrep).toLocalTime();
-                    totalExams++;
-
-                    if (!examStartTime.isBefore(afternoonStart) && !examStartTime.isAfter(afternoonEnd)) {
-                        afternoonExams++;
-                    }
-                }
-
-            }
-        }
-
-        double afternoonProportion = (double) afternoonExams / totalExams;
-        double desiredAfternoonProportion = 0.7;
-
-        if (afternoonProportion < desiredAfternoonProportion) {
-            logger.debug("Proportion is not enough: " + afternoonProportion);
-            double difference = Math.abs(desiredAfternoonProportion - afternoonProportion);
-            afternoonPunishment += difference * 10;
-        }
-        logger.debug("afternoonPunishment" + afternoonPunishment);
-
-        return afternoonPunishment;
+        return BuiltInConstraints.EXAMS_NOT_IN_AFTERNOON.evaluate(this);
     }
 
     public double popularExamsAtBeginning(ArrayList<EncodedExam> chromosome) {
-        // The lessons that most students have chosen should take place at the beginning of the
-        // exam timetable. This gives the teacher enough time to assess the exams.
-        // this function can be executed when there is more than 30 students for an exam?
-        LocalDate examPeriodStart = startDate;
-        LocalDate examPeriodThreshold = examPeriodStart.plusDays(4); // first 4 days
-
-        HashMap<String, Integer> examPopularity = new HashMap<>();
-        for (String studentId : studentExams.keySet()) {
-            ArrayList<EncodedExam> assignedExams = studentExams.get(studentId);
-            for (EncodedExam exam : assignedExams) {
-                String courseCode = exam.getCourseCode();
-                examPopularity.put(courseCode, examPopularity.getOrDefault(courseCode, 0) + 1);
-            }
-        }
-
-        ArrayList<HashMap.Entry<String, Integer>> sortedExams = new ArrayList<>(examPopularity.entrySet());
-        sortedExams.sort((entry1, entry2) -> entry2.getValue().compareTo(entry1.getValue())); // Descending order
-        logger.debug(sortedExams);
-        int numberOfPopularExams = 5; //  top 5 popular exams
-        ArrayList<String> popularExams = new ArrayList<>();
-        for (int i = 0; i < Math.min(numberOfPopularExams, sortedExams.size()); i++) {
-            popularExams.add(sortedExams.get(i).getKey());
-        }
-
-        // Calculate the penalty for popular exams not being at the beginning
-        int popularExamsNotAtBeginningPunishment = 0;
-        for (EncodedExam exam : chromosome) {
-            if (popularExams.contains(exam.getCourseCode())) {
-                Timeslot timeslot = exam.getTimeSlot();
-                if (timeslot.getStart().toLocalDate().isAfter(examPeriodThreshold)) {
-                    popularExamsNotAtBeginningPunishment++;
-                    logger.debug("Popular Exam that is not in the first 4 days: " + exam.getCourseCode());
-                    logger.debug("Timeslot : " + timeslot);
-
-                }
-            }
-        }
-        logger.debug("popularExamsNotAtBeginningPunishment" + popularExamsNotAtBeginningPunishment);
+        prepareIfChanged(chromosome);
+        return popularExamsAtBeginning();
+    }
 
-        return popularExamsNotAtBeginningPunishment;
+    public double popularExamsAtBeginning() {
+        return BuiltInConstraints.POPULAR_EXAMS_AT_BEGINNING.evaluate(this);
     }
 }
@@ -4,8 +4,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.models.*;
 import org.example.utils.DataStructureHelper;
+import org.example.utils.RandomService;
 
-import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -77,7 +77,7 @@ public class Initialization {
     }
 
 
-    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithInvigilators(ArrayList<Exam> exams, ArrayList<Invigilator> invigilators) {
+    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithInvigilators(ArrayList<Exam> exams, ArrayList<Invigilator> invigilators, SplittableRandom random) {
         // Step 3
 
         // if studentCapacity :
@@ -88,8 +88,7 @@ public class Initialization {
 
         // set course attribute "availableInvigilators"
         // set invigilator attribute "monitoredCourses"
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
+        RandomService.shuffle(exams, random);
         for (Exam exam : exams) {
             Course course = exam.getCourse();
             int capacity = course.getRegisteredStudents().size();
@@ -101,7 +100,7 @@ public class Initialization {
                         .collect(Collectors.toCollection(ArrayList::new));
                 logger.debug("Invigilators available: " + course.getCourseName() + ": " + filteredInvigilators.size());
                 if (!filteredInvigilators.isEmpty()) {
-                    int invigilatorIndex = DataStructureHelper.getRandomElement(filteredInvigilators);
+                    int invigilatorIndex = DataStructureHelper.getRandomElement(filteredInvigilators, random);
                     Invigilator invigilator = filteredInvigilators.get(invigilatorIndex);
                     availableInvigilators.add(invigilator.getID());
 
@@ -127,7 +126,7 @@ public class Initialization {
         return result;
     }
 
-    public static HashMap<String, ArrayList<?>> randomMapExamsWithInvigilators(ArrayList<Exam> exams, ArrayList<Invigilator> invigilators) {
+    public static HashMap<String, ArrayList<?>> randomMapExamsWithInvigilators(ArrayList<Exam> exams, ArrayList<Invigilator> invigilators, SplittableRandom random) {
         // Step 3
 
         // if studentCapacity :
@@ -138,16 +137,15 @@ public class Initialization {
 
         // set course attribute "availableInvigilators"
         // set invigilator attribute "monitoredCourses"
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
+        RandomService.shuffle(exams, random);
         for (Exam exam : exams) {
             Course course = exam.getCourse();
             ArrayList<String> availableInvigilators = exam.getExamInvigilators();
-            int invigilatorCount = rand.nextInt(5);
+            int invigilatorCount = random.nextInt(5);
             // Determine the number of invigilators, randomly select 1-4
             while (availableInvigilators.size() < invigilatorCount) {
 
-                int invigilatorIndex = DataStructureHelper.getRandomElement(invigilators);
+                int invigilatorIndex = DataStructureHelper.getRandomElement(invigilators, random);
                 Invigilator invigilator = invigilators.get(invigilatorIndex);
                 availableInvigilators.add(invigilator.getID());
 
@@ -170,10 +168,9 @@ public class Initialization {
         return result;
     }
 
-    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithClassrooms(ArrayList<Exam> exams, ArrayList<Classroom> classrooms) {
+    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithClassrooms(ArrayList<Exam> exams, ArrayList<Classroom> classrooms, SplittableRandom random) {
 
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
+        RandomService.shuffle(exams, random);
 
         int assignedCourses = 0;
 
@@ -187,7 +184,7 @@ public class Initialization {
                     .collect(Collectors.toCollection(ArrayList::new));
 
             if (!filteredClassrooms.isEmpty()) {
-                int classroomIndex = DataStructureHelper.getRandomElement(filteredClassrooms);
+                int classroomIndex = DataStructureHelper.getRandomElement(filteredClassrooms, random);
                 Classroom classroom = filteredClassrooms.get(classroomIndex);
 
                 // update classroom
@@ -213,16 +210,15 @@ public class Initialization {
         return result;
     }
 
-    public static HashMap<String, ArrayList<?>> randomMapExamsWithClassrooms(ArrayList<Exam> exams, ArrayList<Classroom> classrooms) {
+    public static HashMap<String, ArrayList<?>> randomMapExamsWithClassrooms(ArrayList<Exam> exams, ArrayList<Classroom> classrooms, SplittableRandom random) {
 
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
+        RandomService.shuffle(exams, random);
 
         int assignedCourses = 0;
 
         for (Exam exam : exams) {
 
-            int classroomIndex = DataStructureHelper.getRandomElement(classrooms);
+            int classroomIndex = DataStructureHelper.getRandomElement(classrooms, random);
             Classroom classroom = classrooms.get(classroomIndex);
 
             // update classroom
@@ -244,11 +240,28 @@ public class Initialization {
         return result;
     }
 
-    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithTimeslots(ArrayList<Exam> exams, ArrayList<Timeslot> timeslots) {
+    public static ArrayList<Timeslot> removeBlockedDays(ArrayList<Timeslot> timeslots, HolidayCalendar holidayCalendar) {
+        // timeslots on holidays and weekends are not given to the exams
+        // if every day is blocked, all timeslots are kept
+        ArrayList<Timeslot> openTimeslots = new ArrayList<>();
+        int calendarStartDay = (int) holidayCalendar.getStartDate().toEpochDay();
+        for (Timeslot timeslot : timeslots) {
+            if (!holidayCalendar.isBlocked(timeslot.getStartDay() - calendarStartDay)) {
+                openTimeslots.add(timeslot);
+            }
+        }
+        if (openTimeslots.isEmpty()) {
+            logger.error("All days of the exam period are holidays or weekends.");
+            return timeslots;
+        }
+        logger.debug("Open timeslots: " + openTimeslots.size() + " of " + timeslots.size());
+        return openTimeslots;
+    }
+
+    public static HashMap<String, ArrayList<?>> heuristicMapExamsWithTimeslots(ArrayList<Exam> exams, ArrayList<Timeslot> timeslots, SplittableRandom random) {
         // Step 5
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
-        int interval = (int) Duration.between(timeslots.get(0).getStart(), timeslots.get(0).getEnd()).toMinutes();
+        RandomService.shuffle(exams, random);
+        int interval = timeslots.get(0).getDurationMinutes();
         for (Exam exam : exams) {
             boolean found = false;
             ArrayList<Timeslot> assignedTimeslots = new ArrayList<>();
@@ -256,7 +269,7 @@ public class Initialization {
             int requiredTimeslotCount = (course.getBeforeExamPrepTime() + course.getExamDuration() + course.getAfterExamPrepTime()) * 60 / interval;
             int timeslotStartIndex = 0;
             while (!found) {
-                timeslotStartIndex = DataStructureHelper.getRandomElement(timeslots);
+                timeslotStartIndex = DataStructureHelper.getRandomElement(timeslots, random);
                 if (timeslotStartIndex - requiredTimeslotCount >= 0) {
                     timeslotStartIndex = timeslotStartIndex - requiredTimeslotCount;
                 }
@@ -272,27 +285,26 @@ public class Initialization {
                 assignedTimeslots.add(timeslots.get(timeslotStartIndex + k));
             }
             exam.setTimeslots(assignedTimeslots);
-            exam.setCombinedTimeslot(new Timeslot(assignedTimeslots.get(0).getStart(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEnd()));
-            exam.setExamTimeslot(new Timeslot(assignedTimeslots.get(course.getBeforeExamPrepTime() * 60 / interval).getStart(), assignedTimeslots.get(assignedTimeslots.size() - 1 - course.getAfterExamPrepTime() * 60 / interval).getEnd()));
+            exam.setCombinedTimeslot(Timeslot.ofMinutes(assignedTimeslots.get(0).getStartMinute(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEndMinute()));
+            exam.setExamTimeslot(Timeslot.ofMinutes(assignedTimeslots.get(course.getBeforeExamPrepTime() * 60 / interval).getStartMinute(), assignedTimeslots.get(assignedTimeslots.size() - 1 - course.getAfterExamPrepTime() * 60 / interval).getEndMinute()));
         }
 
-        exams.sort(Comparator.comparing(exam -> exam.getExamTimeslot().getStart()));
+        exams.sort(Comparator.comparingInt(exam -> exam.getExamTimeslot().getStartMinute()));
         HashMap<String, ArrayList<?>> result = new HashMap<>();
         result.put("exams", exams);
         return result;
     }
 
-    public static HashMap<String, ArrayList<?>> randomMapExamsWithTimeslots(ArrayList<Exam> exams, ArrayList<Timeslot> timeslots) {
+    public static HashMap<String, ArrayList<?>> randomMapExamsWithTimeslots(ArrayList<Exam> exams, ArrayList<Timeslot> timeslots, SplittableRandom random) {
         // Step 5
-        Random rand = new Random();
-        Collections.shuffle(exams, new Random(rand.nextInt(10000)));
+        RandomService.shuffle(exams, random);
         for (Exam exam : exams) {
             boolean found = false;
             ArrayList<Timeslot> assignedTimeslots = new ArrayList<>();
-            int requiredTimeslotCount = rand.nextInt(8) + 1;
+            int requiredTimeslotCount = random.nextInt(8) + 1;
             int timeslotStartIndex = 0;
             while (!found) {
-                timeslotStartIndex = DataStructureHelper.getRandomElement(timeslots);
+                timeslotStartIndex = DataStructureHelper.getRandomElement(timeslots, random);
                 if (timeslotStartIndex - requiredTimeslotCount >= 0) {
                     timeslotStartIndex = timeslotStartIndex - requiredTimeslotCount;
                 }
@@ -308,11 +320,11 @@ public class Initialization {
                 assignedTimeslots.add(timeslots.get(timeslotStartIndex + k));
             }
             exam.setTimeslots(assignedTimeslots);
-            exam.setCombinedTimeslot(new Timeslot(assignedTimeslots.get(0).getStart(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEnd()));
-            exam.setExamTimeslot(new Timeslot(assignedTimeslots.get(0).getStart(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEnd()));
+            exam.setCombinedTimeslot(Timeslot.ofMinutes(assignedTimeslots.get(0).getStartMinute(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEndMinute()));
+            exam.setExamTimeslot(Timeslot.ofMinutes(assignedTimeslots.get(0).getStartMinute(), assignedTimeslots.get(assignedTimeslots.size() - 1).getEndMinute()));
         }
 
-        exams.sort(Comparator.comparing(exam -> exam.getExamTimeslot().getStart()));
+        exams.sort(Comparator.comparingInt(exam -> exam.getExamTimeslot().getStartMinute()));
         HashMap<String, ArrayList<?>> result = new HashMap<>();
         result.put("exams", exams);
         return result;
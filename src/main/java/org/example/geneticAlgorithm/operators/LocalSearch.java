@@ -0,0 +1,130 @@
+package org.example.geneticAlgorithm.operators;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitness;
+import org.example.models.*;
+import org.example.utils.ConfigHelper;
+import org.example.utils.RandomService;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+public class LocalSearch {
+    /*
+     * Memetic step of the GA: a bounded local search that improves one chromosome in place.
+     *
+     * Only the exams that take part in a hard constraint violation are moved (IncrementalFitness.isViolated),
+     * in a random order. For an exam MEMETIC_MOVES_PER_EXAM moves are sampled, timeslot, classroom and invigilator
+     * moves in turn (ExamMoves). Every move is scored by delta updates of IncrementalFitness,
+     * a rejected move is undone the same way.
+     * FIRST    : the first move that improves the score is kept
+     * STEEPEST : the best sampled move is kept if it improves the score
+     * Passes over the violated exams are repeated until a pass does not improve the chromosome or the move budget is used up.
+     * */
+    private static final Logger logger = LogManager.getLogger(LocalSearch.class);
+
+    private final ProblemInstance problemInstance;
+    private final IncrementalFitness incrementalFitness;
+    private final boolean steepest = "STEEPEST".equalsIgnoreCase(ConfigHelper.getProperty("MEMETIC_STRATEGY").trim());
+    private final int movesPerExam = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("MEMETIC_MOVES_PER_EXAM")));
+    private final ExamMoves examMoves;
+    private SplittableRandom random = new SplittableRandom();
+
+    public LocalSearch(ProblemInstance problemInstance) {
+        this.problemInstance = problemInstance;
+        this.incrementalFitness = new IncrementalFitness(problemInstance);
+        this.examMoves = new ExamMoves(problemInstance);
+    }
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+        examMoves.setRandom(random);
+    }
+
+    public int improve(Chromosome chromosome, int moveBudget) {
+        // returns the number of moves tried, the chromosome and its fitness score are changed only if it is improved
+        ArrayList<EncodedExam> originalGenes = new ArrayList<>(chromosome.getEncodedExams());
+        Chromosome working = new Chromosome(chromosome.getChromosomeId(), new ArrayList<>(originalGenes), chromosome.getAge());
+        double startScore = incrementalFitness.load(working);
+        double score = startScore;
+        int moves = 0;
+        boolean improved = true;
+        while (improved && moves < moveBudget) {
+            improved = false;
+            ArrayList<Integer> violatedGenes = new ArrayList<>();
+            for (int gene = 0; gene < working.getGeneCount(); gene++) {
+                if (incrementalFitness.isViolated(gene)) {
+                    violatedGenes.add(gene);
+                }
+            }
+            RandomService.shuffle(violatedGenes, random);
+            for (int gene : violatedGenes) {
+                if (moves >= moveBudget) {
+                    break;
+                }
+                // an earlier move of this pass can already have fixed it
+                if (!incrementalFitness.isViolated(gene)) {
+                    continue;
+                }
+                EncodedExam original = working.getEncodedExams().get(gene);
+                EncodedExam best = null;
+                double bestScore = score;
+                for (int k = 0; k < movesPerExam && moves < moveBudget; k++) {
+                    EncodedExam candidate = examMoves.move(original, k % ExamMoves.MOVE_TYPE_COUNT);
+                    double candidateScore = incrementalFitness.applyMove(working, gene, candidate);
+                    moves++;
+                    if (candidateScore > bestScore) {
+                        best = candidate;
+                        bestScore = candidateScore;
+                        if (!steepest) {
+                            break;
+                        }
+                    }
+                    incrementalFitness.applyMove(working, gene, original);
+                }
+                if (best != null) {
+                    if (steepest) {
+                        incrementalFitness.applyMove(working, gene, best);
+                    }
+                    score = bestScore;
+                    improved = true;
+                }
+            }
+        }
+
+        if (score > startScore) {
+            setGenes(chromosome, originalGenes, working.getEncodedExams());
+            // the change of the score is added to the raw and to the shared score (FITNESS_SHARE)
+            double sharedFitnessScore = chromosome.getFitnessScore() + score - startScore;
+            chromosome.setFitnessScore(chromosome.getRawFitnessScore() + score - startScore);
+            chromosome.setSharedFitnessScore(sharedFitnessScore);
+            logger.debug("Local search improved chromosome " + chromosome.getChromosomeId() + " from " + startScore + " to " + score
+                    + " in " + moves + " moves.");
+        }
+        return moves;
+    }
+
+    private void setGenes(Chromosome chromosome, ArrayList<EncodedExam> originalGenes, ArrayList<EncodedExam> improvedGenes) {
+        // only the moved genes are written back, packed genes through their setters
+        PackedChromosome packedGenes = chromosome.getPackedGenes();
+        for (int gene = 0; gene < improvedGenes.size(); gene++) {
+            EncodedExam exam = improvedGenes.get(gene);
+            if (exam == originalGenes.get(gene)) {
+                continue;
+            }
+            if (packedGenes == null) {
+                chromosome.getEncodedExams().set(gene, exam);
+                continue;
+            }
+            packedGenes.setTimeslot(gene, exam.getTimeSlot().getStartMinute(), exam.getTimeSlot().getEndMinute());
+            packedGenes.setClassroom(gene, exam.getClassroomCode() == null ? PackedChromosome.NO_CLASSROOM
+                    : problemInstance.indexOfClassroom(exam.getClassroomCode()));
+            int[] invigilators = new int[exam.getInvigilators().size()];
+            for (int k = 0; k < invigilators.length; k++) {
+                invigilators[k] = problemInstance.indexOfInvigilator(exam.getInvigilators().get(k));
+            }
+            packedGenes.setInvigilators(gene, invigilators, invigilators.length);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.example.geneticAlgorithm.operators;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitness;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitnessStates;
 import org.example.models.*;
 import org.example.utils.ConfigHelper;
 
@@ -21,14 +23,41 @@ public class Mutation {
      */
     private static final Logger logger = LogManager.getLogger(Mutation.class);
     private final Map<Chromosome, Double> mutationRates = new ConcurrentHashMap<>();
-    private final Random random = new Random();
-    private final int populationSize = Integer.parseInt(ConfigHelper.getProperty("POPULATION_SIZE"));
+    private SplittableRandom random = new SplittableRandom();
+    private int populationSize = Integer.parseInt(ConfigHelper.getProperty("POPULATION_SIZE"));
     private final LocalDate startDate = LocalDate.parse(ConfigHelper.getProperty("START_DATE"));
     private final LocalDate endDate = LocalDate.parse(ConfigHelper.getProperty("END_DATE"));
     private final LocalTime startTime = LocalTime.parse(ConfigHelper.getProperty("START_TIME"));
     private final LocalTime endTime = LocalTime.parse(ConfigHelper.getProperty("END_TIME"));
     private final ArrayList<Chromosome> eliteChromosomes = new ArrayList<>();
     private final double elitismPercent = Double.parseDouble(ConfigHelper.getProperty("ELITISM_PERCENT"));
+    // when it is set, changed genes are applied through the incremental fitness state of the chromosome
+    private ProblemInstance problemInstance;
+    private IncrementalFitnessStates incrementalFitnessStates;
+    // when it is set, random days are only picked from the days that are not holidays or weekends
+    private HolidayCalendar holidayCalendar;
+
+    public Mutation() {
+    }
+
+    public Mutation(HolidayCalendar holidayCalendar) {
+        this.holidayCalendar = holidayCalendar;
+    }
+
+    public Mutation(ProblemInstance problemInstance, IncrementalFitnessStates incrementalFitnessStates) {
+        this.problemInstance = problemInstance;
+        this.incrementalFitnessStates = incrementalFitnessStates;
+        this.holidayCalendar = problemInstance.getHolidayCalendar();
+    }
+
+    public void setPopulationSize(int populationSize) {
+        // elite count is a percent of it, an island is smaller than POPULATION_SIZE
+        this.populationSize = populationSize;
+    }
+
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
 
     public void mutation(ArrayList<Chromosome> population, ArrayList<Classroom> classrooms, double lowMutationRate, double highMutationRate, boolean isStable, ArrayList<Invigilator> invigilators) {
 
@@ -45,23 +74,39 @@ public class Mutation {
             double randomProbability = random.nextDouble() * 0.1;
 
             if (randomProbability < value && !eliteChromosomes.contains(key)) {
-                int examNumberToBeChanged = key.getFitnessScore() < threshHold ? 4 : 2;
-
-                if (isStable) {
-                    swapMutation(key, examNumberToBeChanged);
-                } else {
-                    randomResetMutation(key, classrooms, examNumberToBeChanged, invigilators);
-                }
+                mutateGenes(key, threshHold, classrooms, isStable, invigilators);
             }
         });
     }
 
+    public void mutateOffspring(Chromosome chromosome, double threshHold, ArrayList<Classroom> classrooms, double lowMutationRate, double highMutationRate, boolean isStable, ArrayList<Invigilator> invigilators) {
+        // one chromosome with the rates of mutation(), threshHold is the average fitness score of the population
+        double mutationRate = isBelow(chromosome, threshHold) ? highMutationRate : lowMutationRate;
+        if (random.nextDouble() * 0.1 < mutationRate) {
+            mutateGenes(chromosome, threshHold, classrooms, isStable, invigilators);
+        }
+    }
+
+    private void mutateGenes(Chromosome chromosome, double threshHold, ArrayList<Classroom> classrooms, boolean isStable, ArrayList<Invigilator> invigilators) {
+        int examNumberToBeChanged = isBelow(chromosome, threshHold) ? 4 : 2;
+
+        if (isStable) {
+            swapMutation(chromosome, examNumberToBeChanged);
+        } else {
+            randomResetMutation(chromosome, classrooms, examNumberToBeChanged, invigilators);
+        }
+    }
+
     private void elitism(ArrayList<Chromosome> population) {
         population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);//azalan
 
         for (Chromosome chromosome : population) {
+            // a bounded score is only an upper bound, such a chromosome is not protected as an elite
+            if (chromosome.isBoundedFitness()) {
+                continue;
+            }
             eliteChromosomes.add(chromosome);
-            if (eliteChromosomes.size() == populationSize * elitismPercent) {
+            if (eliteChromosomes.size() >= populationSize * elitismPercent) {
                 break;
             }
         }
@@ -70,15 +115,20 @@ public class Mutation {
     public void swapMutation(Chromosome chromosome, double examNumberToBeChanged) {
         Set<ImmutablePair<Integer, Integer>> uniqueRandomExamIndexPairs = new HashSet<>();
         while (uniqueRandomExamIndexPairs.size() < examNumberToBeChanged / 2) {
-            int randomExamIndex = random.nextInt(chromosome.getEncodedExams().size());
+            int randomExamIndex = random.nextInt(chromosome.getGeneCount());
             int randomExamIndex2;
             do {
-                randomExamIndex2 = random.nextInt(chromosome.getEncodedExams().size());
+                randomExamIndex2 = random.nextInt(chromosome.getGeneCount());
             } while (randomExamIndex == randomExamIndex2);
             uniqueRandomExamIndexPairs.add(new ImmutablePair<>(randomExamIndex, randomExamIndex2));
         }
 
+        PackedChromosome packedGenes = chromosome.getPackedGenes();
         for (ImmutablePair<Integer, Integer> indexPair : uniqueRandomExamIndexPairs) {
+            if (packedGenes != null) {
+                packedGenes.swap(indexPair.left, indexPair.right);
+                continue;
+            }
             EncodedExam firstOriginalExam = chromosome.getEncodedExams().get(indexPair.left);
             EncodedExam secondOriginalExam = chromosome.getEncodedExams().get(indexPair.right);
 
@@ -98,18 +148,22 @@ public class Mutation {
             ArrayList<String> tempInvigilators = firstCopyExam.getInvigilators();
             firstCopyExam.setInvigilators(secondCopyExam.getInvigilators());
             secondCopyExam.setInvigilators(tempInvigilators);
-            EncodedExam.updateEncodedExam(chromosome.getEncodedExams(), firstCopyExam);
-            EncodedExam.updateEncodedExam(chromosome.getEncodedExams(), secondCopyExam);
+            replaceExam(chromosome, indexPair.left, firstCopyExam);
+            replaceExam(chromosome, indexPair.right, secondCopyExam);
         }
     }
 
     public void randomResetMutation(Chromosome chromosome, ArrayList<Classroom> classrooms, double examNumberToBeChanged, ArrayList<Invigilator> invigilators) {
         Set<Integer> uniqueRandomExamIndexes = new HashSet<>();
         while (uniqueRandomExamIndexes.size() < examNumberToBeChanged) {
-            int randomExamIndex = random.nextInt(chromosome.getEncodedExams().size());
+            int randomExamIndex = random.nextInt(chromosome.getGeneCount());
             uniqueRandomExamIndexes.add(randomExamIndex);
         }
 
+        if (chromosome.getPackedGenes() != null) {
+            randomResetMutation(chromosome.getPackedGenes(), uniqueRandomExamIndexes, classrooms, invigilators);
+            return;
+        }
         for (int index : uniqueRandomExamIndexes) {
             EncodedExam originalExam = chromosome.getEncodedExams().get(index);
             EncodedExam copyExam = new EncodedExam(originalExam.getCourseCode(), originalExam.getClassroomCode(),
@@ -127,35 +181,79 @@ public class Mutation {
             }
             copyExam.setInvigilators(randomInvigilators);
 
-            EncodedExam.updateEncodedExam(chromosome.getEncodedExams(), copyExam);
+            replaceExam(chromosome, index, copyExam);
         }
         //HTMLHelper.generateExamTableDila(startDate, endDate, chromosome.getEncodedExams(), chromosome.getChromosomeId() + " After Random Reset Mutation.html");
 
     }
 
+    private void randomResetMutation(PackedChromosome packedGenes, Set<Integer> indexes, ArrayList<Classroom> classrooms, ArrayList<Invigilator> invigilators) {
+        // same random choices as for the exam lists, written into the arrays as ids
+        ProblemInstance instance = packedGenes.getProblemInstance();
+        int[] randomInvigilators = new int[4];
+        for (int index : indexes) {
+            int duration = packedGenes.getEnd(index) - packedGenes.getStart(index);
+            Timeslot timeslot = getRandomTimeslot(duration, getRandomDay());
+            packedGenes.setTimeslot(index, timeslot.getStartMinute(), timeslot.getEndMinute());
+
+            int randomClassroomIndex = random.nextInt(classrooms.size());
+            packedGenes.setClassroom(index, instance.indexOfClassroom(classrooms.get(randomClassroomIndex).getClassroomCode()));
+
+            int randomInvigilatorNumber = random.nextInt(4) + 1;
+            for (int i = 0; i < randomInvigilatorNumber; i++) {
+                int randomInvigilatorIndex = random.nextInt(invigilators.size());
+                randomInvigilators[i] = instance.indexOfInvigilator(invigilators.get(randomInvigilatorIndex).getID());
+            }
+            packedGenes.setInvigilators(index, randomInvigilators, randomInvigilatorNumber);
+        }
+    }
+
+    private void replaceExam(Chromosome chromosome, int index, EncodedExam exam) {
+        if (incrementalFitnessStates == null) {
+            EncodedExam.updateEncodedExam(chromosome.getEncodedExams(), exam);
+            return;
+        }
+        // only the changed gene is re-evaluated, fitness score of the chromosome is updated by calculateFitness
+        // the state comes from the pool of the GA, it is loaded from the chromosome if it is not current
+        IncrementalFitness incrementalFitness = incrementalFitnessStates.acquire(chromosome);
+        double fitnessScore = incrementalFitness.applyMove(chromosome, index, exam.getTimeSlot(), exam.getClassroomCode(), exam.getInvigilators());
+        logger.debug("Chromosome " + chromosome.getChromosomeId() + " fitness score after mutation: " + fitnessScore);
+    }
+
     private LocalDate getRandomDay() {
         int dayDiff = Math.abs(endDate.getDayOfYear() - startDate.getDayOfYear());
+        if (holidayCalendar != null) {
+            int openDayCount = holidayCalendar.getOpenDayCount(dayDiff);
+            if (openDayCount > 0) {
+                return holidayCalendar.getOpenDay(random.nextInt(openDayCount));
+            }
+        }
         int randomDayIndex = random.nextInt(dayDiff);
 
         return startDate.plus(Period.ofDays(randomDayIndex));
     }
 
     private Timeslot getRandomTimeslot(EncodedExam exam, LocalDate randomDay1) {
-        long examDuration = Duration.between(exam.getTimeSlot().getStart(), exam.getTimeSlot().getEnd()).toHours();
+        return getRandomTimeslot(exam.getTimeSlot().getDurationMinutes(), randomDay1);
+    }
+
+    private Timeslot getRandomTimeslot(int durationMinutes, LocalDate randomDay1) {
+        int examDuration = durationMinutes / 60;
         int hourDiff = Math.abs(endTime.getHour() - startTime.getHour());
-        int maxTimeBound = hourDiff - (int) examDuration;
+        int maxTimeBound = hourDiff - examDuration;
         int randomTimeSlotIndex = random.nextInt(maxTimeBound) * 2;
-        LocalTime randomStartTime = startTime.plusMinutes(randomTimeSlotIndex * 30L);
-        LocalDateTime randomTimeSlotStart = LocalDateTime.of(randomDay1, randomStartTime);
-        LocalDateTime randomTimeSlotEnd = LocalDateTime.of(randomDay1, randomStartTime.plusHours(examDuration));
+        // minutes of the day, they wrap around midnight like LocalTime
+        int randomStartTime = Timeslot.minuteOfDay(startTime.toSecondOfDay() / 60 + randomTimeSlotIndex * 30);
+        int randomEndTime = Timeslot.minuteOfDay(randomStartTime + examDuration * 60);
+        int dayStart = (int) randomDay1.toEpochDay() * Timeslot.MINUTES_PER_DAY;
 
-        return new Timeslot(randomTimeSlotStart, randomTimeSlotEnd);
+        return Timeslot.ofMinutes(dayStart + randomStartTime, dayStart + randomEndTime);
     }
 
     private void setMutationRates(ArrayList<Chromosome> population, double threshHold, double lowMutationRate, double highMutationRate) {
 
         for (Chromosome chromosome : population) {
-            if (chromosome.getFitnessScore() < threshHold) {
+            if (isBelow(chromosome, threshHold)) {
                 mutationRates.put(chromosome, highMutationRate);
             } else {
                 mutationRates.put(chromosome, lowMutationRate);
@@ -164,11 +262,21 @@ public class Mutation {
     }
 
     private double calculateAvgFitnessScore(ArrayList<Chromosome> population) {
+        // bounded scores are upper bounds, the average is taken over the exact ones (all if none is exact)
+        ArrayList<Chromosome> exactChromosomes = Chromosome.withExactFitness(population);
+        if (exactChromosomes.isEmpty()) {
+            exactChromosomes = population;
+        }
         double totalFitnessScore = 0;
 
-        for (Chromosome chromosome : population) {
+        for (Chromosome chromosome : exactChromosomes) {
             totalFitnessScore += chromosome.getFitnessScore();
         }
-        return totalFitnessScore / population.size();
+        return totalFitnessScore / exactChromosomes.size();
+    }
+
+    private static boolean isBelow(Chromosome chromosome, double threshHold) {
+        // a bounded chromosome could not reach the elite threshold, it is mutated like a chromosome below the average
+        return chromosome.isBoundedFitness() || chromosome.getFitnessScore() < threshHold;
     }
 }
@@ -6,10 +6,11 @@ import org.apache.logging.log4j.Logger;
 import org.example.geneticAlgorithm.GeneticAlgorithm;
 import org.example.models.Chromosome;
 import org.example.utils.ConfigHelper;
+import org.example.utils.RandomService;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.HashSet;
+import java.util.SplittableRandom;
 
 @Getter
 @Setter
@@ -24,14 +25,19 @@ public class Replacement {
     private ArrayList<Chromosome> eliteChromosomes = new ArrayList<>();
     private double elitismPercent = Double.parseDouble(ConfigHelper.getProperty("ELITISM_PERCENT"));
     private ArrayList<Chromosome> chromosomesToBeRemoved = new ArrayList<>();
-    private Random random = new Random();
+    // set by the GA from its stream (RandomService)
+    private SplittableRandom random = new SplittableRandom();
 
     private void elitism(ArrayList<Chromosome> population) {
         population.sort(Chromosome.sortChromosomesByFitnessScoreDescendingOrder);//azalan
 
         for (Chromosome chromosome : population) {
+            // a bounded score is only an upper bound, such a chromosome is not kept as an elite
+            if (chromosome.isBoundedFitness()) {
+                continue;
+            }
             eliteChromosomes.add(chromosome);
-            if (eliteChromosomes.size() == populationSize * elitismPercent) {
+            if (eliteChromosomes.size() >= populationSize * elitismPercent) {
                 break;
             }
         }
@@ -39,7 +45,7 @@ public class Replacement {
 
     public void ageBasedReplacement(ArrayList<Chromosome> population, int childChromosomesSize) {
         elitism(population);
-        Collections.shuffle(population);
+        RandomService.shuffle(population, random);
         population.sort(Chromosome.sortChromosomesByAge);//descending
 
         for (Chromosome chromosome : population) {
@@ -51,13 +57,13 @@ public class Replacement {
             }
         }
 
-        population.removeAll(chromosomesToBeRemoved);
+        population.removeAll(new HashSet<>(chromosomesToBeRemoved));
 
     }
 
     public void randomReplacement(ArrayList<Chromosome> population, int childChromosomesSize) {
         elitism(population);
-        Collections.shuffle(population);
+        RandomService.shuffle(population, random);
 
         for (Chromosome chromosome : population) {
             if (!eliteChromosomes.contains(chromosome)) {
@@ -68,6 +74,6 @@ public class Replacement {
             }
         }
 
-        population.removeAll(chromosomesToBeRemoved);
+        population.removeAll(new HashSet<>(chromosomesToBeRemoved));
     }
 }
@@ -29,12 +29,22 @@ public class Selection {
     * use one of these selection methods and additionally use rank selection when algo get closer to end
     */
 
-    private final int populationSize = Integer.parseInt(ConfigHelper.getProperty("POPULATION_SIZE"));
+    private int populationSize = Integer.parseInt(ConfigHelper.getProperty("POPULATION_SIZE"));
     private final int numberOfChromosomesToBeSelected = Integer.parseInt(ConfigHelper.getProperty("TOURNAMENT_SELECTION_NUMBER_OF_CHROMOSOMES"));
     private static final Logger logger = LogManager.getLogger(Selection.class);
-    private final Random random = new Random();
+    private SplittableRandom random = new SplittableRandom();
     private final ArrayList<Chromosome> parents = new ArrayList<>();
 
+    public void setPopulationSize(int populationSize) {
+        // size of the population that is given to the selection methods, an island is smaller than POPULATION_SIZE
+        this.populationSize = populationSize;
+    }
+
+    public void setRandom(SplittableRandom random) {
+        // stream of the GA that uses this operator (RandomService), an unseeded one if it is not set
+        this.random = random;
+    }
+
     public ArrayList<Chromosome> rouletteWheelSelection(ArrayList<Chromosome> population) {
         int i = 0;
 
@@ -66,7 +76,7 @@ public class Selection {
         while (i < populationSize) {
             ArrayList<Chromosome> tournamentChromosomes = new ArrayList<>();
             for (int j = 0; j <= numberOfChromosomesToBeSelected; j++) {
-                int randomChromosomeIndex = random.nextInt(populationSize);
+                int randomChromosomeIndex = random.nextInt(population.size());
                 tournamentChromosomes.add(population.get(randomChromosomeIndex));
             }
 
@@ -77,6 +87,18 @@ public class Selection {
         return parents;
     }
 
+    public Chromosome tournamentWinner(List<Chromosome> population) {
+        // one tournament of tournamentSelection, the best is found without sorting
+        Chromosome winner = null;
+        for (int j = 0; j <= numberOfChromosomesToBeSelected; j++) {
+            Chromosome chromosome = population.get(random.nextInt(population.size()));
+            if (winner == null || chromosome.getFitnessScore() > winner.getFitnessScore()) {
+                winner = chromosome;
+            }
+        }
+        return winner;
+    }
+
     public ArrayList<Chromosome> rankSelection(ArrayList<Chromosome> population) {
         population.sort(Chromosome.sortChromosomesByFitnessScoreAscendingOrder);
         HashMap<Chromosome, Double> probabilityMap = new HashMap<>();
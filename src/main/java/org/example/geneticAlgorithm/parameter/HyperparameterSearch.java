@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.example.geneticAlgorithm.GeneticAlgorithm;
 import org.example.utils.ConfigHelper;
 import org.example.utils.FileHelper;
+import org.example.utils.RandomService;
 import org.example.utils.VisualizationHelper;
 
 import java.io.FileWriter;
@@ -14,7 +15,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class HyperparameterSearch {
     private static final Logger logger = LogManager.getLogger(HyperparameterSearch.class);
@@ -192,7 +193,7 @@ public class HyperparameterSearch {
         ArrayList<Double> elitismPercents = new ArrayList<>();
 
         for (int i = 0; i < iterations; i++) {
-            Random random = new Random();
+            SplittableRandom random = RandomService.split();
             int populationSize = random.nextInt(parameters.getPopulationSizeMax() - parameters.getPopulationSizeMin() + 1) + parameters.getPopulationSizeMin();
             int generationCount = random.nextInt(parameters.getGenerationNumberMax() - parameters.getGenerationNumberMin() + 1) + parameters.getGenerationNumberMin();
             //generationCount = 10; // to check random search functionality, later this line will be deleted
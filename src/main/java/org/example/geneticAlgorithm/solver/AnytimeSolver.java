@@ -0,0 +1,65 @@
+package org.example.geneticAlgorithm.solver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class AnytimeSolver {
+    /*
+     * GeneticAlgorithm with a deadline: the run stops when its wall-clock budget is used up, when the best score
+     * reaches the target score, when cancel is called, or on the usual MAX_GENERATIONS / GENERATIONS_WITHOUT_IMPROVEMENT.
+     * Whichever stops it, the run ends normally (best chromosome reports, fitness score files and plots).
+     *
+     * getBest can be called from any thread at any time, it returns the best chromosome found so far (null before
+     * the first population is scored). All run modes publish to it: generational, steady state and islands.
+     * */
+    private static final Logger logger = LogManager.getLogger(AnytimeSolver.class);
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final SolverBudget budget;
+
+    public AnytimeSolver(GeneticAlgorithm geneticAlgorithm, long budgetMillis, double targetScore) {
+        this.geneticAlgorithm = geneticAlgorithm;
+        this.budget = new SolverBudget(budgetMillis, targetScore);
+        geneticAlgorithm.setBudget(budget);
+    }
+
+    public double[] solve(boolean experiment, int experimentId) {
+        // runs on the caller thread, the budget starts now
+        double[] result = geneticAlgorithm.algorithm(experiment, experimentId);
+        BestSolution best = getBest();
+        logger.info("Anytime solver finished in " + budget.elapsedMillis() + " ms, best fitness score: "
+                + (best != null ? best.getFitnessScore() + " (generation " + best.getGeneration() + ")" : "none"));
+        return result;
+    }
+
+    public Future<double[]> start(boolean experiment, int experimentId) {
+        // runs solve on its own thread, the future completes when the run has ended
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "anytime-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return executor.submit(() -> solve(experiment, experimentId));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void cancel() {
+        budget.cancel();
+    }
+
+    public BestSolution getBest() {
+        return geneticAlgorithm.getBestSoFar().get();
+    }
+
+    public long getRemainingMillis() {
+        return budget.remainingMillis();
+    }
+}
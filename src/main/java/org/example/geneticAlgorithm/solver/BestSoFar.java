@@ -0,0 +1,41 @@
+package org.example.geneticAlgorithm.solver;
+
+import org.example.models.Chromosome;
+
+import java.util.ArrayList;
+
+public class BestSoFar {
+    /*
+     * Best solution of a run, published by the run (islands of a run publish to the same instance) and read by any thread.
+     * Reads are a volatile read of the last snapshot, publishing is synchronized and only copies a chromosome that improves the best.
+     * */
+    private volatile BestSolution best;
+
+    public BestSolution get() {
+        return best;
+    }
+
+    public double getFitnessScore() {
+        BestSolution solution = best;
+        return solution != null ? solution.getFitnessScore() : Double.NEGATIVE_INFINITY;
+    }
+
+    public boolean improves(double fitnessScore) {
+        return fitnessScore > getFitnessScore();
+    }
+
+    public synchronized boolean publish(Chromosome chromosome, int generation, long elapsedMillis) {
+        // the raw score, a shared score (FITNESS_SHARE) depends on the rest of the population
+        if (!improves(chromosome.getRawFitnessScore())) {
+            return false;
+        }
+        Chromosome copy = new Chromosome(chromosome.getChromosomeId(), new ArrayList<>(chromosome.getEncodedExams()), chromosome.getAge());
+        copy.setFitnessScore(chromosome.getRawFitnessScore());
+        best = new BestSolution(copy, chromosome.getRawFitnessScore(), generation, elapsedMillis);
+        return true;
+    }
+
+    public synchronized void reset() {
+        best = null;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.geneticAlgorithm.solver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.models.Chromosome;
+
+@Getter
+@AllArgsConstructor
+public class BestSolution {
+    /*
+     * Snapshot of the best chromosome of a run, it does not change after it is published:
+     * the chromosome is a copy with its own gene list (genes are copied before they are changed, see Mutation),
+     * so it can be read by another thread while the run goes on.
+     * */
+    private final Chromosome chromosome;
+    private final double fitnessScore;
+    private final int generation;
+    private final long elapsedMillis;
+}
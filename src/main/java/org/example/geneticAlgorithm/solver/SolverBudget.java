@@ -0,0 +1,69 @@
+package org.example.geneticAlgorithm.solver;
+
+public class SolverBudget {
+    /*
+     * When an anytime run has to stop, checked by GeneticAlgorithm.canContinue between generations:
+     * the wall-clock budget is used up, the best-so-far score reaches the target score, or the run is cancelled.
+     *
+     * A check is a volatile read and at most one System.nanoTime call, it is cheap enough for every step of SteadyStateModel.
+     * cancel can be called from any thread, the run stops at its next check (cooperative, a generation is not interrupted).
+     * */
+    private final long budgetNanos;
+    private final double targetScore;
+    private volatile long startNanos = System.nanoTime();
+    private volatile boolean cancelled;
+
+    public SolverBudget(long budgetMillis, double targetScore) {
+        // budgetMillis <= 0 : no time limit, targetScore NaN : no target
+        this.budgetNanos = budgetMillis > 0 ? budgetMillis * 1000000 : Long.MAX_VALUE;
+        this.targetScore = targetScore;
+    }
+
+    public static SolverBudget unlimited() {
+        return new SolverBudget(0, Double.NaN);
+    }
+
+    public static double targetScore(String targetScore) {
+        // TARGET_FITNESS_SCORE, empty : no target
+        return targetScore == null || targetScore.trim().isEmpty() ? Double.NaN : Double.parseDouble(targetScore.trim());
+    }
+
+    public void start() {
+        // a cancel before the start is kept, the run then stops before its first generation
+        startNanos = System.nanoTime();
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExhausted(BestSoFar bestSoFar) {
+        return stopReason(bestSoFar) != null;
+    }
+
+    public String stopReason(BestSoFar bestSoFar) {
+        // null while the run can continue
+        if (cancelled) {
+            return "cancelled";
+        }
+        if (bestSoFar.getFitnessScore() >= targetScore) {
+            return "target score " + targetScore + " is reached";
+        }
+        if (budgetNanos != Long.MAX_VALUE && System.nanoTime() - startNanos >= budgetNanos) {
+            return "time budget of " + budgetNanos / 1000000 + " ms is used up";
+        }
+        return null;
+    }
+
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1000000;
+    }
+
+    public long remainingMillis() {
+        return budgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, (budgetNanos - (System.nanoTime() - startNanos)) / 1000000);
+    }
+}
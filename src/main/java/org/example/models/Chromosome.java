@@ -17,7 +17,14 @@ public class Chromosome {
     private long chromosomeId;
     private ArrayList<EncodedExam> encodedExams;
     private int age;
+    // with FITNESS_SHARE the shared score, the one selection uses
     private double fitnessScore;
+    // score before fitness sharing, the best scores and the score files report it
+    private double rawFitnessScore;
+    // fitness score is only an upper bound, soft constraints were skipped below the elite threshold
+    private boolean boundedFitness;
+    // PACKED_CHROMOSOME=true keeps the genes in arrays, encodedExams is then only the decoded view for the reports
+    private PackedChromosome packedGenes;
 
     public Chromosome(long chromosomeId, ArrayList<EncodedExam> encodedExams, int age) {
         this.chromosomeId = chromosomeId;
@@ -25,6 +32,47 @@ public class Chromosome {
         this.age = age;
     }
 
+    public ArrayList<EncodedExam> getEncodedExams() {
+        return packedGenes != null ? packedGenes.getEncodedExams() : encodedExams;
+    }
+
+    public void setEncodedExams(ArrayList<EncodedExam> encodedExams) {
+        this.encodedExams = encodedExams;
+        this.packedGenes = null;
+    }
+
+    public void setPackedGenes(PackedChromosome packedGenes) {
+        this.packedGenes = packedGenes;
+        this.encodedExams = null;
+    }
+
+    public void setFitnessScore(double fitnessScore) {
+        // a new score is not shared yet
+        this.fitnessScore = fitnessScore;
+        this.rawFitnessScore = fitnessScore;
+    }
+
+    public void setSharedFitnessScore(double sharedFitnessScore) {
+        this.fitnessScore = sharedFitnessScore;
+    }
+
+    public int getGeneCount() {
+        return packedGenes != null ? packedGenes.size() : encodedExams.size();
+    }
+
+    public static ArrayList<Chromosome> withExactFitness(ArrayList<Chromosome> chromosomes) {
+        // chromosomes whose fitness score is exact, the list itself if none is bounded
+        ArrayList<Chromosome> exactChromosomes = null;
+        for (int i = 0; i < chromosomes.size(); i++) {
+            if (chromosomes.get(i).boundedFitness && exactChromosomes == null) {
+                exactChromosomes = new ArrayList<>(chromosomes.subList(0, i));
+            } else if (!chromosomes.get(i).boundedFitness && exactChromosomes != null) {
+                exactChromosomes.add(chromosomes.get(i));
+            }
+        }
+        return exactChromosomes != null ? exactChromosomes : chromosomes;
+    }
+
     public static Comparator<Chromosome> sortChromosomesByAge = new Comparator<Chromosome>() {
 
         @Override
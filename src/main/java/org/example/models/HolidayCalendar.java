@@ -0,0 +1,112 @@
+package org.example.models;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+public class HolidayCalendar {
+    /*
+     * Holidays and weekends of the exam period, built once from data/holidays.json.
+     *
+     * Days are indexed from the start date (day 0 = start date) and flagged in bitsets,
+     * so fitness can check a day without parsing the holidays again and
+     * mutation / initialization can skip blocked days when they pick a day.
+     * Dates outside of the exam period are looked up in the holiday set.
+     * */
+    @Getter
+    private final LocalDate startDate;
+    @Getter
+    private final LocalDate endDate;
+    private final int dayCount;
+    @Getter
+    private final Set<LocalDate> holidays;
+    private final BitSet holidayDays = new BitSet();
+    private final BitSet weekendDays = new BitSet();
+    private final BitSet blockedDays = new BitSet();
+    private final int[] openDays;
+
+    public HolidayCalendar(LocalDate startDate, LocalDate endDate, Set<LocalDate> holidays) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.holidays = new HashSet<>(holidays);
+        this.dayCount = Math.max(0, (int) ChronoUnit.DAYS.between(startDate, endDate) + 1);
+
+        int openDayCount = 0;
+        int[] open = new int[dayCount];
+        for (int day = 0; day < dayCount; day++) {
+            LocalDate date = startDate.plusDays(day);
+            if (this.holidays.contains(date)) {
+                holidayDays.set(day);
+            }
+            if (isWeekend(date)) {
+                weekendDays.set(day);
+            }
+            if (holidayDays.get(day) || weekendDays.get(day)) {
+                blockedDays.set(day);
+            } else {
+                open[openDayCount++] = day;
+            }
+        }
+        this.openDays = Arrays.copyOf(open, openDayCount);
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public int dayIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        int day = dayIndex(date);
+        if (day >= 0 && day < dayCount) {
+            return holidayDays.get(day);
+        }
+        return holidays.contains(date);
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    public boolean isBlocked(LocalDate date) {
+        int day = dayIndex(date);
+        if (day >= 0 && day < dayCount) {
+            return blockedDays.get(day);
+        }
+        return holidays.contains(date) || isWeekend(date);
+    }
+
+    public boolean isHoliday(int day) {
+        return day >= 0 && day < dayCount ? holidayDays.get(day) : holidays.contains(startDate.plusDays(day));
+    }
+
+    public boolean isWeekend(int day) {
+        return day >= 0 && day < dayCount ? weekendDays.get(day) : isWeekend(startDate.plusDays(day));
+    }
+
+    public boolean isBlocked(int day) {
+        return day >= 0 && day < dayCount ? blockedDays.get(day) : isBlocked(startDate.plusDays(day));
+    }
+
+    public int getOpenDayCount(int dayLimit) {
+        // open days with index < dayLimit
+        int count = 0;
+        while (count < openDays.length && openDays[count] < dayLimit) {
+            count++;
+        }
+        return count;
+    }
+
+    public LocalDate getOpenDay(int k) {
+        return startDate.plusDays(openDays[k]);
+    }
+}
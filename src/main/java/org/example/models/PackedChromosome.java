@@ -0,0 +1,225 @@
+package org.example.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class PackedChromosome {
+    /*
+     * Struct of arrays encoding of the genes of a chromosome.
+     *
+     * Genes are ordered by the course ids of the problem instance (same order as
+     * EncodedExam.sortExamsByCourseCode), gene g is the exam of course courses[g]:
+     * starts[g], ends[g] : timeslot in minutes (see Timeslot)
+     * classrooms[g]      : classroom id, NO_CLASSROOM if no classroom is assigned
+     * invigilators       : fixed width rows, invigilators of gene g are
+     *                      invigilators[g * invigilatorWidth, g * invigilatorWidth + invigilatorCounts[g]),
+     *                      list order and duplicates are kept (they are counted by the invigilator count constraint)
+     *
+     * Crossover, mutation and fitness work on the arrays, getEncodedExams() decodes the genes
+     * for the reports. The decoded list is kept until the next change, changes made to it
+     * are not written back to the arrays.
+     * Courses array is shared by the copies, it is never changed.
+     * */
+    public static final int NO_CLASSROOM = -1;
+
+    private final ProblemInstance problemInstance;
+    private final int[] courses;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] classrooms;
+    private final int[] invigilatorCounts;
+    private int invigilatorWidth;
+    private int[] invigilators;
+    private ArrayList<EncodedExam> encodedExams;
+
+    private PackedChromosome(ProblemInstance problemInstance, int[] courses, int invigilatorWidth) {
+        this.problemInstance = problemInstance;
+        this.courses = courses;
+        this.starts = new int[courses.length];
+        this.ends = new int[courses.length];
+        this.classrooms = new int[courses.length];
+        this.invigilatorCounts = new int[courses.length];
+        this.invigilatorWidth = invigilatorWidth;
+        this.invigilators = new int[courses.length * invigilatorWidth];
+    }
+
+    public static PackedChromosome of(ProblemInstance problemInstance, ArrayList<EncodedExam> encodedExams) {
+        int size = encodedExams.size();
+        // course id in the high bits, gene index in the low bits
+        long[] order = new long[size];
+        int invigilatorWidth = 1;
+        for (int gene = 0; gene < size; gene++) {
+            EncodedExam exam = encodedExams.get(gene);
+            int course = problemInstance.indexOfCourse(exam.getCourseCode());
+            if (course == -1) {
+                throw new IllegalArgumentException("Unknown course: " + exam.getCourseCode());
+            }
+            order[gene] = ((long) course << 32) | gene;
+            invigilatorWidth = Math.max(invigilatorWidth, exam.getInvigilators().size());
+        }
+        Arrays.sort(order);
+
+        int[] courses = new int[size];
+        for (int k = 0; k < size; k++) {
+            courses[k] = (int) (order[k] >>> 32);
+            if (k > 0 && courses[k] == courses[k - 1]) {
+                throw new IllegalArgumentException("Course " + encodedExams.get((int) order[k]).getCourseCode() + " appears more than once");
+            }
+        }
+
+        PackedChromosome packed = new PackedChromosome(problemInstance, courses, invigilatorWidth);
+        for (int k = 0; k < size; k++) {
+            EncodedExam exam = encodedExams.get((int) order[k]);
+            packed.starts[k] = exam.getTimeSlot().getStartMinute();
+            packed.ends[k] = exam.getTimeSlot().getEndMinute();
+            if (exam.getClassroomCode() == null) {
+                packed.classrooms[k] = NO_CLASSROOM;
+            } else {
+                packed.classrooms[k] = problemInstance.indexOfClassroom(exam.getClassroomCode());
+                if (packed.classrooms[k] == -1) {
+                    throw new IllegalArgumentException("Unknown classroom: " + exam.getClassroomCode());
+                }
+            }
+            ArrayList<String> invigilatorIds = exam.getInvigilators();
+            for (int i = 0; i < invigilatorIds.size(); i++) {
+                int invigilator = problemInstance.indexOfInvigilator(invigilatorIds.get(i));
+                if (invigilator == -1) {
+                    throw new IllegalArgumentException("Unknown invigilator: " + invigilatorIds.get(i));
+                }
+                packed.invigilators[k * invigilatorWidth + i] = invigilator;
+            }
+            packed.invigilatorCounts[k] = invigilatorIds.size();
+        }
+        return packed;
+    }
+
+    public PackedChromosome copy() {
+        PackedChromosome copy = new PackedChromosome(problemInstance, courses, invigilatorWidth);
+        copy.copyRange(this, 0, courses.length);
+        return copy;
+    }
+
+    public boolean hasSameCourses(PackedChromosome other) {
+        return other.courses == courses || Arrays.equals(other.courses, courses);
+    }
+
+    public void copyRange(PackedChromosome source, int from, int to) {
+        // genes [from, to) of the source, both chromosomes must have the same courses
+        if (!hasSameCourses(source)) {
+            throw new IllegalArgumentException("Chromosomes with different courses can not be combined");
+        }
+        System.arraycopy(source.starts, from, starts, from, to - from);
+        System.arraycopy(source.ends, from, ends, from, to - from);
+        System.arraycopy(source.classrooms, from, classrooms, from, to - from);
+        System.arraycopy(source.invigilatorCounts, from, invigilatorCounts, from, to - from);
+        ensureInvigilatorWidth(source.invigilatorWidth);
+        for (int gene = from; gene < to; gene++) {
+            System.arraycopy(source.invigilators, gene * source.invigilatorWidth, invigilators, gene * invigilatorWidth,
+                    source.invigilatorCounts[gene]);
+        }
+        encodedExams = null;
+    }
+
+    public int size() {
+        return courses.length;
+    }
+
+    public ProblemInstance getProblemInstance() {
+        return problemInstance;
+    }
+
+    public int getCourse(int gene) {
+        return courses[gene];
+    }
+
+    public int getStart(int gene) {
+        return starts[gene];
+    }
+
+    public int getEnd(int gene) {
+        return ends[gene];
+    }
+
+    public int getClassroom(int gene) {
+        return classrooms[gene];
+    }
+
+    public int getInvigilatorCount(int gene) {
+        return invigilatorCounts[gene];
+    }
+
+    public int getInvigilator(int gene, int k) {
+        return invigilators[gene * invigilatorWidth + k];
+    }
+
+    public void setTimeslot(int gene, int start, int end) {
+        starts[gene] = start;
+        ends[gene] = end;
+        encodedExams = null;
+    }
+
+    public void setClassroom(int gene, int classroom) {
+        classrooms[gene] = classroom;
+        encodedExams = null;
+    }
+
+    public void setInvigilators(int gene, int[] invigilatorIds, int count) {
+        ensureInvigilatorWidth(count);
+        System.arraycopy(invigilatorIds, 0, invigilators, gene * invigilatorWidth, count);
+        invigilatorCounts[gene] = count;
+        encodedExams = null;
+    }
+
+    public void swap(int gene1, int gene2) {
+        // timeslot, classroom and invigilators of two genes, courses stay in place
+        swap(starts, gene1, gene2);
+        swap(ends, gene1, gene2);
+        swap(classrooms, gene1, gene2);
+        for (int k = 0; k < invigilatorWidth; k++) {
+            swap(invigilators, gene1 * invigilatorWidth + k, gene2 * invigilatorWidth + k);
+        }
+        swap(invigilatorCounts, gene1, gene2);
+        encodedExams = null;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    private void ensureInvigilatorWidth(int width) {
+        if (width <= invigilatorWidth) {
+            return;
+        }
+        int[] widened = new int[courses.length * width];
+        for (int gene = 0; gene < courses.length; gene++) {
+            System.arraycopy(invigilators, gene * invigilatorWidth, widened, gene * width, invigilatorCounts[gene]);
+        }
+        invigilators = widened;
+        invigilatorWidth = width;
+    }
+
+    public ArrayList<EncodedExam> getEncodedExams() {
+        // decoded genes for the reports, in gene (course) order
+        if (encodedExams == null) {
+            ArrayList<EncodedExam> decoded = new ArrayList<>(courses.length);
+            for (int gene = 0; gene < courses.length; gene++) {
+                ArrayList<String> invigilatorIds = new ArrayList<>(invigilatorCounts[gene]);
+                for (int k = 0; k < invigilatorCounts[gene]; k++) {
+                    invigilatorIds.add(problemInstance.getInvigilatorId(getInvigilator(gene, k)));
+                }
+                String classroomCode = classrooms[gene] == NO_CLASSROOM ? null : problemInstance.getClassroomCode(classrooms[gene]);
+                decoded.add(new EncodedExam(problemInstance.getCourseCode(courses[gene]), classroomCode,
+                        Timeslot.ofMinutes(starts[gene], ends[gene]), invigilatorIds));
+            }
+            encodedExams = decoded;
+        }
+        return encodedExams;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedChromosome(genes=" + courses.length + ", invigilatorWidth=" + invigilatorWidth + ")";
+    }
+}
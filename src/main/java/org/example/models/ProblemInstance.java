@@ -0,0 +1,428 @@
+package org.example.models;
+
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+public class ProblemInstance {
+    /*
+     * Frozen, index based view of the problem data.
+     * It is built once after GeneticAlgorithm.generateData() and never changes during a run.
+     *
+     * Every course, classroom, invigilator and student is mapped to a dense int id
+     * and their attributes are kept in arrays indexed by that id, so fitness
+     * calculation can resolve everything by index instead of scanning the lists
+     * with findByCourseCode / findByClassroomCode / findByInvigilatorId.
+     *
+     * Course ids follow the course code order, which is also the gene order
+     * used by Crossover (EncodedExam.sortExamsByCourseCode).
+     * */
+    private static final Logger logger = LogManager.getLogger(ProblemInstance.class);
+
+    private final HashMap<String, Integer> courseIds = new HashMap<>();
+    private final HashMap<String, Integer> classroomIds = new HashMap<>();
+    private final HashMap<String, Integer> invigilatorIds = new HashMap<>();
+    private final HashMap<String, Integer> studentIds = new HashMap<>();
+
+    // course attributes
+    private final String[] courseCodes;
+    private final int[] beforeExamPrepTimes;
+    private final int[] examDurations;
+    private final int[] afterExamPrepTimes;
+    private final boolean[] pcExams;
+    private final int[] requiredInvigilatorCounts;
+    private final int[][] courseStudents;
+    // position of a course when courses are sorted by registered student count (descending, ties by course id),
+    // courses without registered students are never popular
+    private final int[] popularityRanks;
+
+    // conflict graph : course id - courses that share students with it and the shared student counts
+    private final int[][] conflictCourses;
+    private final int[][] conflictWeights;
+
+    // classroom attributes
+    private final String[] classroomCodes;
+    private final int[] classroomCapacities;
+    private final boolean[] pcLabs;
+
+    // invigilator attributes
+    private final String[] invigilatorIdList;
+    private final int[] maxCoursesMonitoredCounts;
+
+    // student attributes
+    private final String[] studentIdList;
+    private final int[][] studentCourses;
+
+    // students with the same registered courses have the same penalties, they are evaluated once per profile
+    private final int[] studentProfiles;
+    private final int[][] profileCourses;
+    private final int[] profileStudentCounts;
+    private final int[][] courseProfiles;
+
+    @Getter
+    private final LocalDate startDate;
+    @Getter
+    private final LocalDate endDate;
+    @Getter
+    private final LocalTime startTime;
+    @Getter
+    private final LocalTime endTime;
+    @Getter
+    private final int interval;
+    @Getter
+    private final HolidayCalendar holidayCalendar;
+
+    public ProblemInstance(ArrayList<Course> courses, ArrayList<Classroom> classrooms, ArrayList<Invigilator> invigilators,
+                           ArrayList<Student> students, LocalDate startDate, LocalDate endDate,
+                           LocalTime startTime, LocalTime endTime, int interval, HolidayCalendar holidayCalendar) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.interval = interval;
+        this.holidayCalendar = holidayCalendar;
+
+        // students first, registered student ids that are not in the student list are appended
+        ArrayList<String> studentIdValues = new ArrayList<>();
+        for (Student student : students) {
+            addId(studentIds, studentIdValues, student.getID());
+        }
+        for (Course course : courses) {
+            for (String studentId : course.getRegisteredStudents()) {
+                addId(studentIds, studentIdValues, studentId);
+            }
+        }
+        this.studentIdList = studentIdValues.toArray(new String[0]);
+
+        ArrayList<Course> sortedCourses = new ArrayList<>(courses);
+        sortedCourses.sort(Comparator.comparing(Course::getCourseCode));
+        int courseCount = sortedCourses.size();
+        this.courseCodes = new String[courseCount];
+        this.beforeExamPrepTimes = new int[courseCount];
+        this.examDurations = new int[courseCount];
+        this.afterExamPrepTimes = new int[courseCount];
+        this.pcExams = new boolean[courseCount];
+        this.requiredInvigilatorCounts = new int[courseCount];
+        this.courseStudents = new int[courseCount][];
+        for (int i = 0; i < courseCount; i++) {
+            Course course = sortedCourses.get(i);
+            courseCodes[i] = course.getCourseCode();
+            courseIds.put(course.getCourseCode(), i);
+            beforeExamPrepTimes[i] = course.getBeforeExamPrepTime();
+            examDurations[i] = course.getExamDuration();
+            afterExamPrepTimes[i] = course.getAfterExamPrepTime();
+            pcExams[i] = course.isPcExam();
+
+            ArrayList<String> registeredStudents = course.getRegisteredStudents();
+            int capacity = registeredStudents.size();
+            requiredInvigilatorCounts[i] = capacity < 20 ? 1 : capacity < 75 ? 2 : (capacity < 150 ? 3 : 4);
+            courseStudents[i] = new int[capacity];
+            for (int k = 0; k < capacity; k++) {
+                courseStudents[i][k] = studentIds.get(registeredStudents.get(k));
+            }
+        }
+
+        // popularity only depends on the enrolment, so it is ranked once
+        Integer[] coursesByPopularity = new Integer[courseCount];
+        for (int course = 0; course < courseCount; course++) {
+            coursesByPopularity[course] = course;
+        }
+        Arrays.sort(coursesByPopularity, (course1, course2) -> Integer.compare(courseStudents[course2].length, courseStudents[course1].length));
+        this.popularityRanks = new int[courseCount];
+        for (int rank = 0; rank < courseCount; rank++) {
+            int course = coursesByPopularity[rank];
+            popularityRanks[course] = courseStudents[course].length > 0 ? rank : Integer.MAX_VALUE;
+        }
+
+        // reverse of courseStudents : student id - registered course ids
+        int[] studentCourseCounts = new int[studentIdList.length];
+        for (int[] registered : courseStudents) {
+            for (int student : registered) {
+                studentCourseCounts[student]++;
+            }
+        }
+        this.studentCourses = new int[studentIdList.length][];
+        for (int student = 0; student < studentIdList.length; student++) {
+            studentCourses[student] = new int[studentCourseCounts[student]];
+            studentCourseCounts[student] = 0;
+        }
+        for (int course = 0; course < courseCount; course++) {
+            for (int student : courseStudents[course]) {
+                studentCourses[student][studentCourseCounts[student]++] = course;
+            }
+        }
+
+        // conflict graph, built from the registered courses of each student
+        this.conflictCourses = new int[courseCount][];
+        this.conflictWeights = new int[courseCount][];
+        int[] sharedStudents = new int[courseCount];
+        int[] neighbours = new int[courseCount];
+        for (int course = 0; course < courseCount; course++) {
+            int neighbourCount = 0;
+            for (int student : courseStudents[course]) {
+                for (int other : studentCourses[student]) {
+                    if (other != course && sharedStudents[other]++ == 0) {
+                        neighbours[neighbourCount++] = other;
+                    }
+                }
+            }
+            Arrays.sort(neighbours, 0, neighbourCount);
+            conflictCourses[course] = Arrays.copyOf(neighbours, neighbourCount);
+            conflictWeights[course] = new int[neighbourCount];
+            for (int k = 0; k < neighbourCount; k++) {
+                conflictWeights[course][k] = sharedStudents[neighbours[k]];
+                sharedStudents[neighbours[k]] = 0;
+            }
+        }
+
+        // enrolment profiles : distinct sets of registered courses
+        HashMap<String, Integer> profileIds = new HashMap<>();
+        ArrayList<int[]> profileCourseValues = new ArrayList<>();
+        ArrayList<Integer> profileStudentCountValues = new ArrayList<>();
+        this.studentProfiles = new int[studentIdList.length];
+        for (int student = 0; student < studentIdList.length; student++) {
+            if (studentCourses[student].length == 0) {
+                studentProfiles[student] = -1;
+                continue;
+            }
+            String key = Arrays.toString(studentCourses[student]);
+            Integer profile = profileIds.get(key);
+            if (profile == null) {
+                profile = profileCourseValues.size();
+                profileIds.put(key, profile);
+                profileCourseValues.add(studentCourses[student]);
+                profileStudentCountValues.add(0);
+            }
+            profileStudentCountValues.set(profile, profileStudentCountValues.get(profile) + 1);
+            studentProfiles[student] = profile;
+        }
+        this.profileCourses = profileCourseValues.toArray(new int[0][]);
+        this.profileStudentCounts = new int[profileCourses.length];
+        int[] courseProfileCounts = new int[courseCount];
+        for (int profile = 0; profile < profileCourses.length; profile++) {
+            profileStudentCounts[profile] = profileStudentCountValues.get(profile);
+            for (int course : profileCourses[profile]) {
+                courseProfileCounts[course]++;
+            }
+        }
+        this.courseProfiles = new int[courseCount][];
+        for (int course = 0; course < courseCount; course++) {
+            courseProfiles[course] = new int[courseProfileCounts[course]];
+            courseProfileCounts[course] = 0;
+        }
+        for (int profile = 0; profile < profileCourses.length; profile++) {
+            for (int course : profileCourses[profile]) {
+                if (courseProfileCounts[course] == 0 || courseProfiles[course][courseProfileCounts[course] - 1] != profile) {
+                    courseProfiles[course][courseProfileCounts[course]++] = profile;
+                }
+            }
+        }
+        for (int course = 0; course < courseCount; course++) {
+            if (courseProfileCounts[course] != courseProfiles[course].length) {
+                courseProfiles[course] = Arrays.copyOf(courseProfiles[course], courseProfileCounts[course]);
+            }
+        }
+
+        int classroomCount = classrooms.size();
+        this.classroomCodes = new String[classroomCount];
+        this.classroomCapacities = new int[classroomCount];
+        this.pcLabs = new boolean[classroomCount];
+        for (int i = 0; i < classroomCount; i++) {
+            Classroom classroom = classrooms.get(i);
+            classroomCodes[i] = classroom.getClassroomCode();
+            classroomIds.put(classroom.getClassroomCode(), i);
+            classroomCapacities[i] = classroom.getCapacity();
+            pcLabs[i] = classroom.isPcLab();
+        }
+
+        int invigilatorCount = invigilators.size();
+        this.invigilatorIdList = new String[invigilatorCount];
+        this.maxCoursesMonitoredCounts = new int[invigilatorCount];
+        for (int i = 0; i < invigilatorCount; i++) {
+            Invigilator invigilator = invigilators.get(i);
+            invigilatorIdList[i] = invigilator.getID();
+            invigilatorIds.put(invigilator.getID(), i);
+            maxCoursesMonitoredCounts[i] = invigilator.getMaxCoursesMonitoredCount();
+        }
+
+        logger.debug("Problem instance is built with " + courseCount + " courses, " + classroomCount + " classrooms, "
+                + invigilatorCount + " invigilators and " + studentIdList.length + " students ("
+                + profileCourses.length + " enrolment profiles).");
+    }
+
+    private static void addId(HashMap<String, Integer> ids, ArrayList<String> values, String id) {
+        if (!ids.containsKey(id)) {
+            ids.put(id, values.size());
+            values.add(id);
+        }
+    }
+
+    // Courses
+    public int getCourseCount() {
+        return courseCodes.length;
+    }
+
+    public int indexOfCourse(String courseCode) {
+        Integer index = courseIds.get(courseCode);
+        if (index == null) {
+            logger.error("Could not find a course with course code: " + courseCode);
+            return -1;
+        }
+        return index;
+    }
+
+    public String getCourseCode(int course) {
+        return courseCodes[course];
+    }
+
+    public int getBeforeExamPrepTime(int course) {
+        return beforeExamPrepTimes[course];
+    }
+
+    public int getExamDuration(int course) {
+        return examDurations[course];
+    }
+
+    public int getAfterExamPrepTime(int course) {
+        return afterExamPrepTimes[course];
+    }
+
+    public boolean isPcExam(int course) {
+        return pcExams[course];
+    }
+
+    public int getRequiredInvigilatorCount(int course) {
+        return requiredInvigilatorCounts[course];
+    }
+
+    public int getRegisteredStudentCount(int course) {
+        return courseStudents[course].length;
+    }
+
+    public int getRegisteredStudent(int course, int k) {
+        return courseStudents[course][k];
+    }
+
+    public boolean[] getPopularCourses(int count) {
+        // course id - course is one of the count most popular courses
+        boolean[] popularCourses = new boolean[popularityRanks.length];
+        for (int course = 0; course < popularityRanks.length; course++) {
+            popularCourses[course] = popularityRanks[course] < count;
+        }
+        return popularCourses;
+    }
+
+    public int getConflictCount(int course) {
+        return conflictCourses[course].length;
+    }
+
+    public int getConflictCourse(int course, int k) {
+        return conflictCourses[course][k];
+    }
+
+    public int getConflictWeight(int course, int k) {
+        // number of students registered to both courses
+        return conflictWeights[course][k];
+    }
+
+    public int getCourseProfileCount(int course) {
+        return courseProfiles[course].length;
+    }
+
+    public int getCourseProfile(int course, int k) {
+        return courseProfiles[course][k];
+    }
+
+    // Classrooms
+    public int getClassroomCount() {
+        return classroomCodes.length;
+    }
+
+    public int indexOfClassroom(String classroomCode) {
+        Integer index = classroomCode == null ? null : classroomIds.get(classroomCode);
+        if (index == null) {
+            logger.error("Could not find a classroom with classroom code: " + classroomCode);
+            return -1;
+        }
+        return index;
+    }
+
+    public String getClassroomCode(int classroom) {
+        return classroomCodes[classroom];
+    }
+
+    public int getClassroomCapacity(int classroom) {
+        return classroomCapacities[classroom];
+    }
+
+    public boolean isPcLab(int classroom) {
+        return pcLabs[classroom];
+    }
+
+    // Invigilators
+    public int getInvigilatorCount() {
+        return invigilatorIdList.length;
+    }
+
+    public int indexOfInvigilator(String invigilatorId) {
+        Integer index = invigilatorIds.get(invigilatorId);
+        if (index == null) {
+            logger.error("Could not find a invigilator with invigilator id: " + invigilatorId);
+            return -1;
+        }
+        return index;
+    }
+
+    public String getInvigilatorId(int invigilator) {
+        return invigilatorIdList[invigilator];
+    }
+
+    public int getMaxCoursesMonitoredCount(int invigilator) {
+        return maxCoursesMonitoredCounts[invigilator];
+    }
+
+    // Students
+    public int getStudentCount() {
+        return studentIdList.length;
+    }
+
+    public String getStudentId(int student) {
+        return studentIdList[student];
+    }
+
+    public int getStudentCourseCount(int student) {
+        return studentCourses[student].length;
+    }
+
+    public int getStudentCourse(int student, int k) {
+        return studentCourses[student][k];
+    }
+
+    public int getStudentProfile(int student) {
+        return studentProfiles[student];
+    }
+
+    // Enrolment profiles
+    public int getProfileCount() {
+        return profileCourses.length;
+    }
+
+    public int getProfileStudentCount(int profile) {
+        return profileStudentCounts[profile];
+    }
+
+    public int getProfileCourseCount(int profile) {
+        return profileCourses[profile].length;
+    }
+
+    public int getProfileCourse(int profile, int k) {
+        return profileCourses[profile][k];
+    }
+}
@@ -1,34 +1,110 @@
 package org.example.models;
 
-import lombok.*;
-
-import java.time.Duration;
-import java.time.LocalDate;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@EqualsAndHashCode
-@Data
-@ToString
 public class Timeslot {
     /*
-    * start : Daytime object
-    * end : Daytime object
+    * start : minutes from 1970-01-01T00:00 (int is enough until the year 6053)
+    * end : minutes from 1970-01-01T00:00
+    *
+    * Overlap, day, weekday and time of day are integer arithmetic on the minutes,
+    * LocalDateTime objects are only created by getStart() / getEnd()
+    * for the reports (HTML, CSV, logs). Seconds are not kept, timeslots are whole minutes.
     * */
-    private LocalDateTime start;
-    private LocalDateTime end;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private int startMinute;
+    private int endMinute;
+
+    public Timeslot() {
+    }
+
+    public Timeslot(LocalDateTime start, LocalDateTime end) {
+        this.startMinute = toMinute(start);
+        this.endMinute = toMinute(end);
+    }
+
+    public static Timeslot ofMinutes(int startMinute, int endMinute) {
+        Timeslot timeslot = new Timeslot();
+        timeslot.startMinute = startMinute;
+        timeslot.endMinute = endMinute;
+        return timeslot;
+    }
+
+    public static int toMinute(LocalDateTime dateTime) {
+        return (int) Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public static LocalDateTime toDateTime(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    public static int dayOf(int minute) {
+        // epoch day
+        return Math.floorDiv(minute, MINUTES_PER_DAY);
+    }
+
+    public static int minuteOfDay(int minute) {
+        return Math.floorMod(minute, MINUTES_PER_DAY);
+    }
+
+    public static DayOfWeek dayOfWeek(int minute) {
+        // 1970-01-01 is a Thursday
+        return DayOfWeek.of(Math.floorMod(dayOf(minute) + 3, 7) + 1);
+    }
+
+    public LocalDateTime getStart() {
+        return toDateTime(startMinute);
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.startMinute = toMinute(start);
+    }
+
+    public LocalDateTime getEnd() {
+        return toDateTime(endMinute);
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.endMinute = toMinute(end);
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public void setStartMinute(int startMinute) {
+        this.startMinute = startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public void setEndMinute(int endMinute) {
+        this.endMinute = endMinute;
+    }
+
+    public int getStartDay() {
+        return dayOf(startMinute);
+    }
+
+    public int getEndDay() {
+        return dayOf(endMinute);
+    }
+
+    public int getDurationMinutes() {
+        return endMinute - startMinute;
+    }
 
     public static boolean checkSameDay(Timeslot timeslot1, Timeslot timeslot2) {
-        LocalDate date1 = timeslot1.getStart().toLocalDate();
-        LocalDate date2 = timeslot2.getStart().toLocalDate();
-        return date1.equals(date2);
+        return timeslot1.getStartDay() == timeslot2.getStartDay();
     }
 
     public boolean overlaps(Timeslot other) {
-        return !this.end.isBefore(other.start) && !this.start.isAfter(other.end);
+        return this.endMinute >= other.startMinute && this.startMinute <= other.endMinute;
     }
 
     public long getOverlapMinutes(Timeslot other) {
@@ -36,9 +112,27 @@ public class Timeslot {
             return 0;
         }
 
-        LocalDateTime overlapStart = this.start.isAfter(other.start) ? this.start : other.start;
-        LocalDateTime overlapEnd = this.end.isBefore(other.end) ? this.end : other.end;
+        int overlapStart = Math.max(this.startMinute, other.startMinute);
+        int overlapEnd = Math.min(this.endMinute, other.endMinute);
+
+        return overlapEnd - overlapStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Timeslot)) return false;
+        Timeslot timeslot = (Timeslot) o;
+        return startMinute == timeslot.startMinute && endMinute == timeslot.endMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * startMinute + endMinute;
+    }
 
-        return Duration.between(overlapStart, overlapEnd).toMinutes();
+    @Override
+    public String toString() {
+        return "Timeslot(start=" + getStart() + ", end=" + getEnd() + ")";
     }
 }
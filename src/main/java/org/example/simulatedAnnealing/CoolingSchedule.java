@@ -0,0 +1,61 @@
+package org.example.simulatedAnnealing;
+
+import lombok.Getter;
+
+public class CoolingSchedule {
+    /*
+     * Temperatures of SimulatedAnnealing, cool gives the temperature of the next step:
+     * GEOMETRIC  : T = T * coolingRate
+     * LINEAR     : T falls from the temperature of the start (or of the last reheat) to 0 in steps steps
+     * LUNDY_MEES : T = T / (1 + b * T), b gives the first step of GEOMETRIC from the initial temperature
+     * reheat raises the temperature to a ratio of the initial temperature and the cooling starts again from there.
+     * The temperature never falls under MIN_TEMPERATURE_RATIO of the initial temperature.
+     * */
+    private static final double MIN_TEMPERATURE_RATIO = 1e-4;
+
+    private final String cooling;
+    private final double coolingRate;
+    @Getter
+    private final double initialTemperature;
+    private final double steps;
+    private final double lundyMeesBeta;
+    private final double minTemperature;
+    @Getter
+    private double temperature;
+    private double reheatTemperature;
+    private int stepsSinceReheat;
+
+    public CoolingSchedule(String cooling, double coolingRate, double initialTemperature, double steps) {
+        this.cooling = cooling.trim().toUpperCase();
+        this.coolingRate = coolingRate;
+        this.initialTemperature = initialTemperature;
+        this.steps = Math.max(1, steps);
+        this.lundyMeesBeta = (1 / coolingRate - 1) / initialTemperature;
+        this.minTemperature = initialTemperature * MIN_TEMPERATURE_RATIO;
+        this.temperature = initialTemperature;
+        this.reheatTemperature = initialTemperature;
+    }
+
+    public double cool() {
+        stepsSinceReheat++;
+        switch (cooling) {
+            case "LINEAR":
+                temperature = reheatTemperature * (1 - stepsSinceReheat / steps);
+                break;
+            case "LUNDY_MEES":
+                temperature = temperature / (1 + lundyMeesBeta * temperature);
+                break;
+            default:
+                temperature = temperature * coolingRate;
+        }
+        temperature = Math.max(minTemperature, temperature);
+        return temperature;
+    }
+
+    public double reheat(double ratio) {
+        temperature = Math.max(minTemperature, initialTemperature * ratio);
+        reheatTemperature = temperature;
+        stepsSinceReheat = 0;
+        return temperature;
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.simulatedAnnealing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitness;
+import org.example.geneticAlgorithm.operators.ExamMoves;
+import org.example.geneticAlgorithm.solver.BestSoFar;
+import org.example.geneticAlgorithm.solver.SolverBudget;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.utils.ConfigHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+public class SimulatedAnnealing {
+    /*
+     * Single solution solver on the problem of a GeneticAlgorithm: its data (generateData), a chromosome of its
+     * Initialization, its random stream, budget and best so far, and its reports at the end (finish).
+     *
+     * A move changes the timeslot, classroom or invigilators of a random exam, or swaps two exams (ExamMoves).
+     * It is scored by delta updates of IncrementalFitness, so the weights of the constraints are the ones of Fitness.
+     * A move that makes the score worse by d is accepted with probability exp(-d / T).
+     * The initial temperature accepts a worse move with ANNEALING_INITIAL_ACCEPTANCE probability on average
+     * (from a sample of moves), it is lowered every ANNEALING_MOVES_PER_TEMPERATURE moves (CoolingSchedule):
+     * GEOMETRIC  : T = T * ANNEALING_COOLING_RATE
+     * LINEAR     : T falls from the initial (or reheat) temperature to 0 in ANNEALING_MAX_MOVES moves
+     * LUNDY_MEES : T = T / (1 + b * T), b gives the first step of GEOMETRIC
+     * When the best score does not improve for ANNEALING_REHEAT_AFTER temperatures, the temperature is raised to
+     * ANNEALING_REHEAT_RATIO of the initial temperature and the cooling starts again from there.
+     *
+     * Every temperature is a generation of the fitness score files, with the row of the current solution.
+     * The run stops after ANNEALING_MAX_MOVES moves or when the budget of the GA is exhausted.
+     * */
+    private static final Logger logger = LogManager.getLogger(SimulatedAnnealing.class);
+    private static final int CALIBRATION_MOVES = 200;
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final String cooling = ConfigHelper.getProperty("ANNEALING_COOLING").trim().toUpperCase();
+    private final double coolingRate = Double.parseDouble(ConfigHelper.getProperty("ANNEALING_COOLING_RATE"));
+    private final double initialAcceptance = Double.parseDouble(ConfigHelper.getProperty("ANNEALING_INITIAL_ACCEPTANCE"));
+    private final long maxMoves = Long.parseLong(ConfigHelper.getProperty("ANNEALING_MAX_MOVES"));
+    private final int movesPerTemperature = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("ANNEALING_MOVES_PER_TEMPERATURE")));
+    private final int reheatAfter = Integer.parseInt(ConfigHelper.getProperty("ANNEALING_REHEAT_AFTER"));
+    private final double reheatRatio = Double.parseDouble(ConfigHelper.getProperty("ANNEALING_REHEAT_RATIO"));
+
+    private IncrementalFitness incrementalFitness;
+    private ExamMoves examMoves;
+    private SplittableRandom random;
+    private Chromosome current;
+    private double score;
+
+    public SimulatedAnnealing(GeneticAlgorithm geneticAlgorithm) {
+        if (!cooling.equals("GEOMETRIC") && !cooling.equals("LINEAR") && !cooling.equals("LUNDY_MEES")) {
+            throw new IllegalArgumentException("Unknown ANNEALING_COOLING: " + cooling);
+        }
+        if (initialAcceptance <= 0 || initialAcceptance >= 1) {
+            throw new IllegalArgumentException("ANNEALING_INITIAL_ACCEPTANCE must be between 0 and 1: " + initialAcceptance);
+        }
+        this.geneticAlgorithm = geneticAlgorithm;
+    }
+
+    public double[] algorithm(boolean experiment, int experimentId) {
+        SolverBudget budget = geneticAlgorithm.getBudget();
+        BestSoFar bestSoFar = geneticAlgorithm.getBestSoFar();
+        budget.start();
+        bestSoFar.reset();
+        geneticAlgorithm.saveSeed(experiment, experimentId);
+        geneticAlgorithm.generateData();
+        current = geneticAlgorithm.createSolution();
+        random = geneticAlgorithm.getRandom().split();
+        examMoves = new ExamMoves(geneticAlgorithm.getProblemInstance());
+        examMoves.setRandom(random);
+        incrementalFitness = new IncrementalFitness(geneticAlgorithm.getProblemInstance());
+        score = incrementalFitness.load(current);
+        double initialScore = score;
+        current.setFitnessScore(score);
+        geneticAlgorithm.publishBest(current, 0);
+
+        CoolingSchedule coolingSchedule = new CoolingSchedule(cooling, coolingRate, initialTemperature(), (double) maxMoves / movesPerTemperature);
+        double temperature = coolingSchedule.getTemperature();
+        logger.info("Simulated annealing: initial fitness score " + score + ", initial temperature " + temperature + ", "
+                + cooling.toLowerCase() + " cooling.");
+
+        long moves = 0;
+        int step = 0;
+        int stepsWithoutImprovement = 0;
+        int reheats = 0;
+        while (moves < maxMoves && !budget.isExhausted(bestSoFar)) {
+            double stepBestScore = bestSoFar.getFitnessScore();
+            int accepted = 0;
+            for (int i = 0; i < movesPerTemperature && moves < maxMoves && !budget.isExhausted(bestSoFar); i++) {
+                moves++;
+                if (move(temperature)) {
+                    accepted++;
+                }
+                if (score > bestSoFar.getFitnessScore()) {
+                    current.setFitnessScore(score);
+                    geneticAlgorithm.publishBest(current, step + 1);
+                }
+            }
+            step++;
+            // one row per generation, the best solution is reported by finish
+            GeneticAlgorithm.saveFitnessScores(new ArrayList<>(Collections.singletonList(incrementalFitness.getConstraintScores())),
+                    experiment, experimentId);
+            logger.debug("Temperature " + temperature + ", accepted " + accepted + " moves, fitness score " + score
+                    + ", best fitness score " + bestSoFar.getFitnessScore());
+
+            stepsWithoutImprovement = bestSoFar.getFitnessScore() > stepBestScore ? 0 : stepsWithoutImprovement + 1;
+            if (reheatAfter > 0 && stepsWithoutImprovement >= reheatAfter) {
+                temperature = coolingSchedule.reheat(reheatRatio);
+                stepsWithoutImprovement = 0;
+                reheats++;
+                logger.info("Reheat " + reheats + " at move " + moves + ", temperature " + temperature + ", best fitness score "
+                        + bestSoFar.getFitnessScore());
+            } else {
+                temperature = coolingSchedule.cool();
+            }
+        }
+        logger.info("Simulated annealing: " + moves + " moves, " + step + " temperatures, " + reheats + " reheats, best fitness score "
+                + bestSoFar.getFitnessScore());
+
+        // the best solution is reported like the best chromosome of a GA population
+        geneticAlgorithm.setPopulation(new ArrayList<>(Collections.singletonList(bestSoFar.get().getChromosome())));
+        return geneticAlgorithm.finish(experiment, initialScore, Math.max(1, step));
+    }
+
+    private boolean move(double temperature) {
+        // applies a random move, keeps it if it is accepted and undoes it otherwise
+        ArrayList<EncodedExam> genes = current.getEncodedExams();
+        int gene = random.nextInt(genes.size());
+        EncodedExam original = genes.get(gene);
+        int moveType = random.nextInt(ExamMoves.MOVE_TYPE_COUNT + 1);
+        if (moveType < ExamMoves.MOVE_TYPE_COUNT) {
+            double movedScore = incrementalFitness.applyMove(current, gene, examMoves.move(original, moveType));
+            if (accept(movedScore - score, temperature)) {
+                score = movedScore;
+                return true;
+            }
+            incrementalFitness.applyMove(current, gene, original);
+            return false;
+        }
+
+        int otherGene = random.nextInt(genes.size());
+        if (otherGene == gene) {
+            return false;
+        }
+        EncodedExam otherOriginal = genes.get(otherGene);
+        EncodedExam[] swapped = examMoves.swap(original, otherOriginal);
+        incrementalFitness.applyMove(current, gene, swapped[0]);
+        double movedScore = incrementalFitness.applyMove(current, otherGene, swapped[1]);
+        if (accept(movedScore - score, temperature)) {
+            score = movedScore;
+            return true;
+        }
+        incrementalFitness.applyMove(current, otherGene, otherOriginal);
+        incrementalFitness.applyMove(current, gene, original);
+        return false;
+    }
+
+    private boolean accept(double delta, double temperature) {
+        return delta >= 0 || random.nextDouble() < Math.exp(delta / temperature);
+    }
+
+    private double initialTemperature() {
+        // mean worsening of a sample of moves, every move is undone
+        ArrayList<EncodedExam> genes = current.getEncodedExams();
+        double worsening = 0;
+        int worseMoves = 0;
+        for (int i = 0; i < CALIBRATION_MOVES; i++) {
+            int gene = random.nextInt(genes.size());
+            EncodedExam original = genes.get(gene);
+            double delta = incrementalFitness.applyMove(current, gene, examMoves.move(original, random.nextInt(ExamMoves.MOVE_TYPE_COUNT))) - score;
+            incrementalFitness.applyMove(current, gene, original);
+            if (delta < 0) {
+                worsening -= delta;
+                worseMoves++;
+            }
+        }
+        double meanWorsening = worseMoves > 0 ? worsening / worseMoves : 1e-3;
+        return -meanWorsening / Math.log(initialAcceptance);
+    }
+}
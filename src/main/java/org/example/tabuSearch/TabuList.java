@@ -0,0 +1,42 @@
+package org.example.tabuSearch;
+
+public class TabuList {
+    /*
+     * Fixed-size tabu memory of move attributes, a key (long) is tabu for tenure iterations after it is added.
+     * Keys are hashed into a table of a power of two size, a key replaces the key in its slot,
+     * so two keys of the same slot forget each other early: the memory never grows and a lookup is one probe.
+     * */
+    private final long[] keys;
+    private final long[] tabuUntil;
+    private final int mask;
+    private final int tenure;
+
+    public TabuList(int size, int tenure) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.keys = new long[capacity];
+        this.tabuUntil = new long[capacity];
+        this.mask = capacity - 1;
+        this.tenure = tenure;
+    }
+
+    public static long key(int kind, int course, int value) {
+        // kind in the top bits, then the course and the value (timeslot start minute, classroom id, ...)
+        return ((long) kind << 56) ^ ((long) course << 32) ^ (value & 0xFFFFFFFFL);
+    }
+
+    public void add(long key, long iteration) {
+        int slot = slot(key);
+        keys[slot] = key;
+        tabuUntil[slot] = iteration + tenure;
+    }
+
+    public boolean isTabu(long key, long iteration) {
+        int slot = slot(key);
+        return keys[slot] == key && tabuUntil[slot] > iteration;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
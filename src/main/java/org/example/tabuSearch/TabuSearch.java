@@ -0,0 +1,172 @@
+package org.example.tabuSearch;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.geneticAlgorithm.evaluation.IncrementalFitness;
+import org.example.geneticAlgorithm.operators.ExamMoves;
+import org.example.geneticAlgorithm.solver.BestSoFar;
+import org.example.geneticAlgorithm.solver.SolverBudget;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.ProblemInstance;
+import org.example.utils.ConfigHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+public class TabuSearch {
+    /*
+     * Tabu search on the problem of a GeneticAlgorithm, like SimulatedAnnealing: its data, a chromosome of its
+     * Initialization as the start, its random stream, budget and best so far, and its reports at the end.
+     *
+     * Every iteration samples TABU_CANDIDATES timeslot, classroom and invigilator moves (ExamMoves), scores them by
+     * delta updates of IncrementalFitness and undoes them, then makes the best move that is not tabu, even if it makes
+     * the current solution worse. Exams of the moves are picked among the exams in a hard constraint violation
+     * (a few random tries per move), so an iteration costs the same on large instances.
+     * An exam that leaves a timeslot or a classroom can not go back to it for TABU_TENURE iterations (TabuList),
+     * invigilator moves are never tabu. A tabu move is made anyway if it beats the best solution so far (aspiration).
+     *
+     * Every TABU_REPORT_INTERVAL iterations are a generation of the fitness score files, with the row of the current solution. The run stops after TABU_MAX_ITERATIONS iterations or when the budget of the GA is exhausted.
+     * */
+    private static final Logger logger = LogManager.getLogger(TabuSearch.class);
+    private static final int VIOLATED_EXAM_TRIES = 4;
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final int candidateCount = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("TABU_CANDIDATES")));
+    private final long maxIterations = Long.parseLong(ConfigHelper.getProperty("TABU_MAX_ITERATIONS"));
+    private final int reportInterval = Math.max(1, Integer.parseInt(ConfigHelper.getProperty("TABU_REPORT_INTERVAL")));
+    private final TabuList tabuList = new TabuList(Integer.parseInt(ConfigHelper.getProperty("TABU_LIST_SIZE")),
+            Integer.parseInt(ConfigHelper.getProperty("TABU_TENURE")));
+
+    private ProblemInstance problemInstance;
+    private IncrementalFitness incrementalFitness;
+    private ExamMoves examMoves;
+    private SplittableRandom random;
+    private Chromosome current;
+    private double score;
+    private long aspirationCount;
+
+    public TabuSearch(GeneticAlgorithm geneticAlgorithm) {
+        this.geneticAlgorithm = geneticAlgorithm;
+    }
+
+    public double[] algorithm(boolean experiment, int experimentId) {
+        SolverBudget budget = geneticAlgorithm.getBudget();
+        BestSoFar bestSoFar = geneticAlgorithm.getBestSoFar();
+        budget.start();
+        bestSoFar.reset();
+        geneticAlgorithm.saveSeed(experiment, experimentId);
+        geneticAlgorithm.generateData();
+        problemInstance = geneticAlgorithm.getProblemInstance();
+        current = geneticAlgorithm.createSolution();
+        random = geneticAlgorithm.getRandom().split();
+        examMoves = new ExamMoves(problemInstance);
+        examMoves.setRandom(random);
+        incrementalFitness = new IncrementalFitness(problemInstance);
+        score = incrementalFitness.load(current);
+        double initialScore = score;
+        current.setFitnessScore(score);
+        geneticAlgorithm.publishBest(current, 0);
+        logger.info("Tabu search: initial fitness score " + score + ", " + candidateCount + " candidates per iteration.");
+
+        long iteration = 0;
+        int generation = 0;
+        while (iteration < maxIterations && !budget.isExhausted(bestSoFar)) {
+            iteration++;
+            step(iteration, bestSoFar.getFitnessScore());
+            if (score > bestSoFar.getFitnessScore()) {
+                current.setFitnessScore(score);
+                geneticAlgorithm.publishBest(current, generation + 1);
+            }
+            if (iteration % reportInterval == 0) {
+                generation++;
+                // one row per generation, the best solution is reported by finish
+                GeneticAlgorithm.saveFitnessScores(new ArrayList<>(Collections.singletonList(incrementalFitness.getConstraintScores())),
+                        experiment, experimentId);
+                logger.debug("Iteration " + iteration + ", fitness score " + score + ", best fitness score " + bestSoFar.getFitnessScore());
+            }
+        }
+        logger.info("Tabu search: " + iteration + " iterations, " + aspirationCount + " tabu moves made by aspiration, best fitness score "
+                + bestSoFar.getFitnessScore());
+
+        // the best solution is reported like the best chromosome of a GA population
+        geneticAlgorithm.setPopulation(new ArrayList<>(Collections.singletonList(bestSoFar.get().getChromosome())));
+        return geneticAlgorithm.finish(experiment, initialScore, Math.max(1, generation));
+    }
+
+    private void step(long iteration, double bestScore) {
+        // makes the best candidate move that is not tabu or beats the best score
+        ArrayList<EncodedExam> genes = current.getEncodedExams();
+        int bestGene = -1;
+        int bestMoveType = -1;
+        EncodedExam bestMove = null;
+        double bestMoveScore = Double.NEGATIVE_INFINITY;
+        boolean bestMoveTabu = false;
+        for (int i = 0; i < candidateCount; i++) {
+            int gene = pickGene(genes.size());
+            int moveType = random.nextInt(ExamMoves.MOVE_TYPE_COUNT);
+            EncodedExam original = genes.get(gene);
+            EncodedExam move = examMoves.move(original, moveType);
+            double moveScore = incrementalFitness.applyMove(current, gene, move);
+            incrementalFitness.applyMove(current, gene, original);
+            if (moveScore <= bestMoveScore) {
+                continue;
+            }
+            boolean tabu = isTabu(move, moveType, iteration);
+            if (!isAllowed(tabu, moveScore, bestScore)) {
+                continue;
+            }
+            bestGene = gene;
+            bestMoveType = moveType;
+            bestMove = move;
+            bestMoveScore = moveScore;
+            bestMoveTabu = tabu;
+        }
+        if (bestMove == null) {
+            return;
+        }
+        EncodedExam original = genes.get(bestGene);
+        score = incrementalFitness.applyMove(current, bestGene, bestMove);
+        if (bestMoveTabu) {
+            aspirationCount++;
+        }
+        Long leftAttribute = attribute(original, bestMoveType);
+        if (leftAttribute != null) {
+            tabuList.add(leftAttribute, iteration);
+        }
+    }
+
+    static boolean isAllowed(boolean tabu, double moveScore, double bestScore) {
+        // aspiration: a tabu move is allowed if it beats the best score so far
+        return !tabu || moveScore > bestScore;
+    }
+
+    private int pickGene(int geneCount) {
+        int gene = random.nextInt(geneCount);
+        for (int i = 1; i < VIOLATED_EXAM_TRIES && !incrementalFitness.isViolated(gene); i++) {
+            gene = random.nextInt(geneCount);
+        }
+        return gene;
+    }
+
+    private boolean isTabu(EncodedExam move, int moveType, long iteration) {
+        Long attribute = attribute(move, moveType);
+        return attribute != null && tabuList.isTabu(attribute, iteration);
+    }
+
+    private Long attribute(EncodedExam exam, int moveType) {
+        // (exam, timeslot start) of timeslot moves and (exam, classroom) of classroom moves
+        int course = problemInstance.indexOfCourse(exam.getCourseCode());
+        switch (moveType) {
+            case ExamMoves.TIMESLOT:
+                return TabuList.key(ExamMoves.TIMESLOT, course, exam.getTimeSlot().getStartMinute());
+            case ExamMoves.CLASSROOM:
+                return TabuList.key(ExamMoves.CLASSROOM, course,
+                        exam.getClassroomCode() == null ? -1 : problemInstance.indexOfClassroom(exam.getClassroomCode()));
+            default:
+                return null;
+        }
+    }
+}
@@ -3,11 +3,10 @@ package org.example.utils;
 import java.util.*;
 
 public class DataStructureHelper {
-    public static <T> int getRandomElement(ArrayList<T> list) {
+    public static <T> int getRandomElement(ArrayList<T> list, SplittableRandom random) {
         if (list == null || list.isEmpty()) {
             throw new IllegalArgumentException("List is null or empty");
         }
-        Random random = new Random();
         return random.nextInt(list.size());
     }
 
@@ -83,34 +83,13 @@ public class FileHelper {
         }
     }
 
-    public static void writeHardFitnessScoresToFile(ArrayList<double[]> scoresList, String filePath) {
+    public static void writeConstraintScoresToFile(ArrayList<double[]> scoresList, String filePath, String[] header) {
+        // header comes from the active constraints (ConstraintPipeline.getHeader)
         try (FileWriter writer = new FileWriter(filePath, true)) {
-            String[] header = {"Chromosome id", "allExamsHaveRequiredTime", "allExamHaveRequiredInvigilatorCount", "classroomOverlapped",
-                    "allExamsHaveClassrooms", "classroomsHasCapacity", "invigilatorOverlapped",
-                    "studentOverlapped", "invigilatorAvailable", "startAndEndTimeDateViolated",
-                    "allExamsHaveRequiredEquipments", "noExamsHolidays", "examStartAndEndDateSame",
-                    "fitnessScore"};
             fitnessTableGenerator(scoresList, filePath, header, writer);
         } catch (IOException e) {
             logger.error("Error appending rows to CSV file: " + e.getMessage());
         }
-
-    }
-
-    public static void writeSoftFitnessScoresToFile(ArrayList<double[]> scoresList, String filePath) {
-
-        String[] header = {"Chromosome id", "studentMoreThanTwoExamSameDay",
-                "minimumGapBetweenExamsStudent", "invigilatorMoreThanThreeExamSameDay",
-                "minimumGapBetweenExamsInvigilator", "noExamsAtWeekends", "examsNotInAfternoon",
-                "popularExamsAtBeginning",
-                "fitnessScore"};
-
-        try (FileWriter writer = new FileWriter(filePath, true)) {
-            fitnessTableGenerator(scoresList, filePath, header, writer);
-        } catch (IOException e) {
-            logger.error("Error appending rows to CSV file: " + e.getMessage());
-        }
-
     }
 
     private static void fitnessTableGenerator(ArrayList<double[]> scoresList, String filePath, String[] header, FileWriter writer) throws IOException {
@@ -148,6 +127,15 @@ public class FileHelper {
         }
     }
 
+    public static void writeSeedToFile(long seed, String filePath) {
+        // seed of the run that wrote the files of the folder, RANDOM_SEED repeats the run
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("RANDOM_SEED=" + seed + "\n");
+        } catch (IOException e) {
+            logger.error("Error writing the seed file: " + e.getMessage());
+        }
+    }
+
     public static void saveHolidaysToFile() {
         Set<LocalDate> holidays = APIHelper.fetchHolidays();
         ObjectMapper mapper = new ObjectMapper();
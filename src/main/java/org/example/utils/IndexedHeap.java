@@ -0,0 +1,127 @@
+package org.example.utils;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+public class IndexedHeap {
+    /*
+     * Binary heap of int keys in [0, capacity), e.g. population slots.
+     * The heap position of every key is kept, so a key whose order changed is moved
+     * and any key is removed in O(log n) without searching for it.
+     *
+     * comparator(a, b) < 0 : key a is nearer to the top than key b,
+     * it is read every time keys are compared, so update(key) must be called after the order of a key changes.
+     * */
+    private static final int ABSENT = -1;
+
+    private final IntBinaryOperator comparator;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    public IndexedHeap(int capacity, IntBinaryOperator comparator) {
+        this.comparator = comparator;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    public void add(int key) {
+        if (contains(key)) {
+            throw new IllegalArgumentException("Key " + key + " is already in the heap");
+        }
+        heap[size] = key;
+        positions[key] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public int poll() {
+        int top = peek();
+        remove(top);
+        return top;
+    }
+
+    public void update(int key) {
+        int position = positionOf(key);
+        siftDown(siftUp(position));
+    }
+
+    public void remove(int key) {
+        int position = positionOf(key);
+        size--;
+        positions[key] = ABSENT;
+        if (position == size) {
+            return;
+        }
+        // the last key takes the place of the removed key
+        heap[position] = heap[size];
+        positions[heap[position]] = position;
+        siftDown(siftUp(position));
+    }
+
+    public boolean contains(int key) {
+        return positions[key] != ABSENT;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int positionOf(int key) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException("Key " + key + " is not in the heap");
+        }
+        return positions[key];
+    }
+
+    private int siftUp(int position) {
+        // returns the new position of the key
+        int key = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (comparator.applyAsInt(key, heap[parent]) >= 0) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(key, position);
+        return position;
+    }
+
+    private void siftDown(int position) {
+        int key = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.applyAsInt(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (comparator.applyAsInt(heap[child], key) >= 0) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(key, position);
+    }
+
+    private void move(int key, int position) {
+        heap[position] = key;
+        positions[key] = position;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class RandomService {
+    /*
+     * Seed of the run and the random streams split from it.
+     *
+     * RANDOM_SEED=<long> repeats a run, RANDOM_SEED= (empty) draws a new seed, the seed is logged
+     * and written next to the score files (GeneticAlgorithm.saveSeed).
+     *
+     * Nothing shares a generator: every GeneticAlgorithm splits its stream from the run stream when it is created,
+     * and gives a stream split from its own to every operator, island and the data generator.
+     * A stream is used by one thread, so there is no contention between threads,
+     * and the same seed gives the same run as long as streams are split in the same order.
+     * Streams are split on the thread that creates the consumers, never on the worker threads.
+     * */
+    private static final Logger logger = LogManager.getLogger(RandomService.class);
+    private static long seed;
+    private static SplittableRandom runStream;
+
+    static {
+        String configuredSeed = ConfigHelper.getProperty("RANDOM_SEED");
+        setSeed(configuredSeed == null || configuredSeed.trim().isEmpty() ? new SplittableRandom().nextLong() : Long.parseLong(configuredSeed.trim()));
+    }
+
+    public static synchronized void setSeed(long seed) {
+        RandomService.seed = seed;
+        RandomService.runStream = new SplittableRandom(seed);
+        logger.info("Random seed: " + seed);
+    }
+
+    public static synchronized long getSeed() {
+        return seed;
+    }
+
+    public static synchronized SplittableRandom split() {
+        return runStream.split();
+    }
+
+    public static void shuffle(List<?> list, SplittableRandom random) {
+        // Collections.shuffle with a SplittableRandom
+        for (int i = list.size() - 1; i > 0; i--) {
+            swap(list, i, random.nextInt(i + 1));
+        }
+    }
+
+    private static <T> void swap(List<T> list, int i, int j) {
+        list.set(i, list.set(j, list.get(i)));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example;
+
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.models.Timeslot;
+import org.example.utils.ConfigHelper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Data and configuration shared by the tests: the first day of the exam periods, random chromosomes of small problems
+ * and configuration properties that are given back in tearDown.
+ */
+public class TestFixtures
+{
+    // a Monday
+    public static final LocalDate START_DATE = LocalDate.of( 2024, 6, 3 );
+
+    private final Map<String, String> savedProperties = new HashMap<>();
+
+    /**
+     * Courses C0.., exams of 2 hours starting at 9:00 to 14:00 on the first 5 days from START_DATE,
+     * in classroom R0 to R2, with one or two of the invigilators I0 to I3.
+     */
+    public static Chromosome randomChromosome( Random random, long id, int courseCount )
+    {
+        ArrayList<EncodedExam> encodedExams = new ArrayList<>();
+        int firstDay = (int) START_DATE.toEpochDay() * Timeslot.MINUTES_PER_DAY;
+        for ( int course = 0; course < courseCount; course++ )
+        {
+            int start = firstDay + random.nextInt( 5 ) * Timeslot.MINUTES_PER_DAY + ( 9 + random.nextInt( 6 ) ) * 60;
+            ArrayList<String> invigilators = new ArrayList<>();
+            int invigilatorCount = 1 + random.nextInt( 2 );
+            while ( invigilators.size() < invigilatorCount )
+            {
+                String invigilator = "I" + random.nextInt( 4 );
+                if ( !invigilators.contains( invigilator ) )
+                {
+                    invigilators.add( invigilator );
+                }
+            }
+            encodedExams.add( new EncodedExam( "C" + course, "R" + random.nextInt( 3 ),
+                                               Timeslot.ofMinutes( start, start + 120 ), invigilators ) );
+        }
+        return new Chromosome( id, encodedExams, 0 );
+    }
+
+    /**
+     * Small generated problem, a few generations of it run in a few seconds.
+     */
+    public void setSmallProblem()
+    {
+        setProperty( "POPULATION_SIZE", "12" );
+        setProperty( "STUDENT_COUNT", "200" );
+        setProperty( "INVIGILATOR_COUNT", "40" );
+    }
+
+    public void setProperty( String key, String value )
+    {
+        if ( !savedProperties.containsKey( key ) )
+        {
+            savedProperties.put( key, ConfigHelper.getProperty( key ) );
+        }
+        ConfigHelper.setProperty( key, value );
+    }
+
+    public void restoreProperties()
+    {
+        for ( Map.Entry<String, String> entry : savedProperties.entrySet() )
+        {
+            ConfigHelper.setProperty( entry.getKey(), entry.getValue() );
+        }
+        savedProperties.clear();
+    }
+}
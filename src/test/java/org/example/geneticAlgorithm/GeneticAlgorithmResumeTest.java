@@ -0,0 +1,111 @@
+package org.example.geneticAlgorithm;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+import org.example.utils.FileHelper;
+import org.example.utils.RandomService;
+
+import java.io.File;
+import java.util.ArrayList;
+
+/**
+ * Runs a small generational GA straight through and again from its checkpoint, both runs must end with the same population,
+ * also with bounded and shared scores. Runs of the same seed must also end with the same population with and without
+ * checkpoints.
+ */
+public class GeneticAlgorithmResumeTest
+    extends TestCase
+{
+    private static final int EXPERIMENT_ID = 9021;
+    private static final long SEED = 17;
+
+    private final TestFixtures fixtures = new TestFixtures();
+    private File checkpointFile;
+    private long savedSeed;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        checkpointFile = File.createTempFile( "resume", ".checkpoint" );
+        savedSeed = RandomService.getSeed();
+        fixtures.setSmallProblem();
+        fixtures.setProperty( "MAX_GENERATIONS", "6" );
+        fixtures.setProperty( "CHECKPOINT_INTERVAL", "4" );
+        fixtures.setProperty( "CHECKPOINT_PATH", checkpointFile.getPath() );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        fixtures.restoreProperties();
+        RandomService.setSeed( savedSeed );
+        checkpointFile.delete();
+        FileHelper.deleteFolderContents( new File( "experiments/experiment_" + EXPERIMENT_ID ) );
+        new File( "experiments/experiment_" + EXPERIMENT_ID ).delete();
+    }
+
+    public void testResumedRunEndsWithTheSamePopulation()
+    {
+        assertResumedRunEndsWithTheSamePopulation();
+    }
+
+    public void testResumedRunKeepsBoundedAndSharedScores()
+    {
+        // scores of the checkpoint are upper bounds and shared scores, scoring them again would change the selection
+        fixtures.setProperty( "BOUNDED_FITNESS", "true" );
+        fixtures.setProperty( "FITNESS_SHARE", "true" );
+        // the cache is not checkpointed, a hit of the straight run is exact where the resumed run evaluates bounded
+        fixtures.setProperty( "FITNESS_CACHE_SIZE", "0" );
+        assertResumedRunEndsWithTheSamePopulation();
+    }
+
+    public void testCheckpointsDoNotChangeTheRun()
+    {
+        RandomService.setSeed( SEED );
+        GeneticAlgorithm withCheckpoints = new GeneticAlgorithm();
+        double[] withCheckpointsResult = withCheckpoints.algorithm( true, EXPERIMENT_ID );
+
+        fixtures.setProperty( "CHECKPOINT_INTERVAL", "0" );
+        RandomService.setSeed( SEED );
+        GeneticAlgorithm withoutCheckpoints = new GeneticAlgorithm();
+        double[] withoutCheckpointsResult = withoutCheckpoints.algorithm( true, EXPERIMENT_ID );
+
+        assertEquals( withCheckpointsResult[1], withoutCheckpointsResult[1] );
+        assertEquals( describe( withCheckpoints.getPopulation() ), describe( withoutCheckpoints.getPopulation() ) );
+    }
+
+    private void assertResumedRunEndsWithTheSamePopulation()
+    {
+        // the checkpoint of generation 4 is the last one, the straight run goes on to generation 6
+        GeneticAlgorithm straight = new GeneticAlgorithm();
+        double[] straightResult = straight.algorithm( true, EXPERIMENT_ID );
+        assertTrue( checkpointFile.length() > 0 );
+
+        GeneticAlgorithm resumed = new GeneticAlgorithm();
+        double[] resumedResult = resumed.resume( checkpointFile.toPath(), true, EXPERIMENT_ID );
+
+        assertEquals( straightResult[1], resumedResult[1] );
+        assertEquals( describe( straight.getPopulation() ), describe( resumed.getPopulation() ) );
+    }
+
+    private static String describe( ArrayList<Chromosome> population )
+    {
+        StringBuilder description = new StringBuilder();
+        for ( Chromosome chromosome : population )
+        {
+            description.append( chromosome.getChromosomeId() ).append( ' ' ).append( chromosome.getAge() ).append( ' ' )
+                .append( chromosome.getFitnessScore() ).append( ' ' ).append( chromosome.isBoundedFitness() ).append( ':' );
+            for ( EncodedExam exam : chromosome.getEncodedExams() )
+            {
+                description.append( ' ' ).append( exam.getCourseCode() ).append( '/' ).append( exam.getClassroomCode() ).append( '/' )
+                    .append( exam.getTimeSlot().getStartMinute() ).append( '-' ).append( exam.getTimeSlot().getEndMinute() )
+                    .append( exam.getInvigilators() );
+            }
+            description.append( '\n' );
+        }
+        return description.toString();
+    }
+}
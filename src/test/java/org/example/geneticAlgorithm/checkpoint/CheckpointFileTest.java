@@ -0,0 +1,171 @@
+package org.example.geneticAlgorithm.checkpoint;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.geneticAlgorithm.migration.ChromosomeSerializer;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * Writes a checkpoint and reads it back, the counters, the elite threshold and every chromosome with its score and bounded flag must survive.
+ * A checkpoint with an oversized problem data length must be rejected before anything is allocated for it.
+ */
+public class CheckpointFileTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 8;
+    private static final LocalDate END_DATE = START_DATE.plusDays( 5 );
+
+    private ProblemData problemData;
+    private ProblemInstance problemInstance;
+    private File checkpointFile;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, false, 0, 2, 0 ) );
+        }
+        ArrayList<Student> students = new ArrayList<>();
+        for ( int student = 0; student < 10; student++ )
+        {
+            students.add( new Student( "S" + student, "Name", "Surname", 6 ) );
+            courses.get( student % COURSE_COUNT ).getRegisteredStudents().add( "S" + student );
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < 3; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 50, false, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < 4; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 3 ) );
+        }
+        problemData = new ProblemData( courses, students, classrooms, invigilators, START_DATE, END_DATE, LocalTime.of( 9, 0 ),
+                                       LocalTime.of( 17, 0 ), 60, new HashSet<>( Collections.singleton( START_DATE.plusDays( 1 ) ) ) );
+        problemInstance = problemInstance( problemData );
+        checkpointFile = File.createTempFile( "checkpoint", ".bin" );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        checkpointFile.delete();
+    }
+
+    public void testWriteThenRead()
+        throws Exception
+    {
+        Random random = new Random( 7 );
+        ArrayList<Chromosome> population = new ArrayList<>();
+        for ( int i = 0; i < 6; i++ )
+        {
+            Chromosome chromosome = TestFixtures.randomChromosome( random, 100 + i, COURSE_COUNT );
+            // an exam can be without a classroom
+            EncodedExam exam = chromosome.getEncodedExams().get( 0 );
+            chromosome.getEncodedExams().set( 0, new EncodedExam( exam.getCourseCode(), null, exam.getTimeSlot(), exam.getInvigilators() ) );
+            chromosome.setAge( i );
+            chromosome.setFitnessScore( random.nextDouble() );
+            // every other chromosome only has the upper bound of its score
+            chromosome.setBoundedFitness( i % 2 == 1 );
+            population.add( chromosome );
+        }
+        Checkpoint written = new Checkpoint( 12, 0.25, 6, 106, 0.005, 0.07, 0.8, true, 3, 2, 424242L, 0.6125, population );
+        Files.write( checkpointFile.toPath(), CheckpointFile.encode( CheckpointFile.serialize( problemData ), written,
+                                                                     new ChromosomeSerializer( problemInstance ) ) );
+
+        final ProblemData[] readData = new ProblemData[1];
+        Checkpoint read = CheckpointFile.read( checkpointFile.toPath(), false, data -> {
+            readData[0] = data;
+            return problemInstance( data );
+        } );
+
+        assertEquals( COURSE_COUNT, readData[0].getCourses().size() );
+        assertEquals( problemData.getHolidays(), readData[0].getHolidays() );
+        assertEquals( problemData.getStartTime(), readData[0].getStartTime() );
+        assertEquals( "Room 2", readData[0].getClassrooms().get( 2 ).getClassroomName() );
+        assertEquals( "S1", readData[0].getCourses().get( 1 ).getRegisteredStudents().get( 0 ) );
+        assertEquals( 12, read.getGeneration() );
+        assertEquals( 0.25, read.getInitialBestFitness() );
+        assertEquals( 6, read.getPopulationSize() );
+        assertEquals( 106, read.getChromosomeIdCounter() );
+        assertEquals( 0.005, read.getLowMutationRate() );
+        assertEquals( 0.07, read.getHighMutationRate() );
+        assertEquals( 0.8, read.getCrossoverRate() );
+        assertTrue( read.isStable() );
+        assertEquals( 3, read.getGenerationsWithoutImprovement() );
+        assertEquals( 2, read.getGenerationsWithUnderImprovementThreshold() );
+        assertEquals( 424242L, read.getRandomSeed() );
+        assertEquals( 0.6125, read.getEliteThreshold() );
+        assertEquals( population.size(), read.getPopulation().size() );
+        for ( int i = 0; i < population.size(); i++ )
+        {
+            Chromosome expected = population.get( i );
+            Chromosome actual = read.getPopulation().get( i );
+            assertEquals( expected.getChromosomeId(), actual.getChromosomeId() );
+            assertEquals( expected.getAge(), actual.getAge() );
+            assertEquals( expected.getFitnessScore(), actual.getFitnessScore() );
+            assertEquals( expected.isBoundedFitness(), actual.isBoundedFitness() );
+            assertEquals( expected.getEncodedExams().size(), actual.getEncodedExams().size() );
+            for ( int gene = 0; gene < expected.getEncodedExams().size(); gene++ )
+            {
+                EncodedExam expectedExam = expected.getEncodedExams().get( gene );
+                EncodedExam actualExam = actual.getEncodedExams().get( gene );
+                assertEquals( expectedExam.getCourseCode(), actualExam.getCourseCode() );
+                assertEquals( expectedExam.getClassroomCode(), actualExam.getClassroomCode() );
+                assertEquals( expectedExam.getTimeSlot().getStartMinute(), actualExam.getTimeSlot().getStartMinute() );
+                assertEquals( expectedExam.getTimeSlot().getEndMinute(), actualExam.getTimeSlot().getEndMinute() );
+                assertEquals( expectedExam.getInvigilators(), actualExam.getInvigilators() );
+            }
+        }
+    }
+
+    public void testOversizedProblemDataIsRejected()
+        throws Exception
+    {
+        Checkpoint written = new Checkpoint( 1, 0, 0, 0, 0, 0, 0, false, 0, 0, 0L, 0, new ArrayList<Chromosome>() );
+        byte[] bytes = CheckpointFile.encode( CheckpointFile.serialize( problemData ), written, new ChromosomeSerializer( problemInstance ) );
+        // length of the problem data follows the magic and the version
+        ByteBuffer.wrap( bytes ).putInt( 8, Integer.MAX_VALUE );
+        Files.write( checkpointFile.toPath(), bytes );
+        try
+        {
+            CheckpointFile.read( checkpointFile.toPath(), false, data -> problemInstance( data ) );
+            fail( "an oversized problem data length must be rejected" );
+        }
+        catch ( IOException e )
+        {
+            assertTrue( e.getMessage().contains( "problem data length" ) );
+        }
+    }
+
+    private static ProblemInstance problemInstance( ProblemData data )
+    {
+        return new ProblemInstance( data.getCourses(), data.getClassrooms(), data.getInvigilators(), data.getStudents(),
+                                    data.getStartDate(), data.getEndDate(), data.getStartTime(), data.getEndTime(), data.getInterval(),
+                                    new HolidayCalendar( data.getStartDate(), data.getEndDate(), data.getHolidays() ) );
+    }
+}
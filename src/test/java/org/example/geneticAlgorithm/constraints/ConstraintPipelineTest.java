@@ -0,0 +1,150 @@
+package org.example.geneticAlgorithm.constraints;
+
+import junit.framework.TestCase;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+import org.example.models.Timeslot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * Adds a per-gene, a per-bucket and a whole-view rule to the built-in constraints, every gene and bucket must be
+ * visited once per chromosome and the built-in scores must stay the same as with the built-in pipeline.
+ */
+public class ConstraintPipelineTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 6;
+
+    private ProblemInstance problemInstance;
+    private Chromosome chromosome;
+    private int geneVisits;
+    private int classroomVisits;
+    private int wholeViewPunishments;
+
+    @Override
+    protected void setUp()
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        ArrayList<Student> students = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, false, 0, 2, 0 ) );
+            students.add( new Student( "S" + course, "Name", "Surname", 6 ) );
+            courses.get( course ).getRegisteredStudents().add( "S" + course );
+            courses.get( course ).getRegisteredStudents().add( "S" + ( course + 1 ) % COURSE_COUNT );
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < 3; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 30, false, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        invigilators.add( new Invigilator( "I0", "Name", "Surname", 3 ) );
+        HolidayCalendar holidayCalendar = new HolidayCalendar( START_DATE, START_DATE.plusDays( 6 ), Collections.<LocalDate>emptySet() );
+        problemInstance = new ProblemInstance( courses, classrooms, invigilators, students, START_DATE, START_DATE.plusDays( 6 ),
+                                               LocalTime.of( 9, 0 ), LocalTime.of( 18, 0 ), 60, holidayCalendar );
+
+        // two exams per day in classrooms R0 and R1, R2 stays empty
+        ArrayList<EncodedExam> encodedExams = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            int start = (int) START_DATE.plusDays( course / 2 ).toEpochDay() * Timeslot.MINUTES_PER_DAY + ( 9 + course % 2 ) * 60;
+            encodedExams.add( new EncodedExam( "C" + course, "R" + course % 2, Timeslot.ofMinutes( start, start + 120 ),
+                                               new ArrayList<>( Arrays.asList( "I0" ) ) ) );
+        }
+        chromosome = new Chromosome( 7, encodedExams, 0 );
+    }
+
+    public void testRulesShareOneTraversal()
+    {
+        ConstraintRegistry registry = ConstraintRegistry.createDefaultRegistry();
+        registry.register( BuiltInConstraint.perGene( "morningExams", false, 1, new BuiltInConstraint.GenePunishment()
+        {
+            @Override
+            public double punishment( ScheduleView view, int gene )
+            {
+                geneVisits++;
+                return Timeslot.minuteOfDay( view.getStartMinute( gene ) ) < 10 * 60 ? 1 : 0;
+            }
+        } ) );
+        registry.register( BuiltInConstraint.perBucket( "examsPerClassroom", true, 1, ConstraintVisitor.Traversal.CLASSROOMS,
+                                                        new BuiltInConstraint.BucketPunishment()
+        {
+            @Override
+            public double punishment( ScheduleView view, int classroom )
+            {
+                classroomVisits++;
+                return view.getClassroomExamCount( classroom ) > 2 ? 1 : 0;
+            }
+        } ) );
+        ConstraintPipeline pipeline = registry.compile( new HashSet<String>() );
+        assertFalse( pipeline.isBuiltInOnly() );
+
+        double[][] scores = new Fitness( problemInstance, pipeline ).fitnessScore( chromosome );
+        assertEquals( COURSE_COUNT, geneVisits );
+        // R2 has no exams, its bucket is not visited
+        assertEquals( 2, classroomVisits );
+        assertEquals( 1, pipeline.getTraversalCount() );
+        // 3 exams start at 9:00, R0 and R1 have 3 exams each
+        assertEquals( "morningExams", pipeline.getHeader( false )[8] );
+        assertEquals( Fitness.constraintScore( 3 ), scores[1][8] );
+        assertEquals( "examsPerClassroom", pipeline.getHeader( true )[13] );
+        assertEquals( Fitness.constraintScore( 2 ), scores[0][13] );
+
+        double[][] builtInScores = new Fitness( problemInstance, ConstraintRegistry.createDefaultRegistry()
+            .compile( new HashSet<String>() ) ).fitnessScore( chromosome );
+        for ( int row = 0; row < 2; row++ )
+        {
+            for ( int column = 1; column < builtInScores[row].length - 1; column++ )
+            {
+                assertEquals( "row " + row + ", constraint " + column, builtInScores[row][column], scores[row][column] );
+            }
+        }
+    }
+
+    public void testBoundedEvaluationSkipsThePunishmentStep()
+    {
+        ConstraintRegistry registry = ConstraintRegistry.createDefaultRegistry();
+        registry.register( new BuiltInConstraint( "wholeView", false, 1, () -> new ConstraintVisitor()
+        {
+            @Override
+            public Set<Traversal> getTraversals()
+            {
+                return EnumSet.noneOf( Traversal.class );
+            }
+
+            @Override
+            public double punishment( ScheduleView view )
+            {
+                wholeViewPunishments++;
+                return 0;
+            }
+        } ) );
+        Fitness fitness = new Fitness( problemInstance, registry.compile( new HashSet<String>() ) );
+
+        assertFalse( Fitness.isBounded( fitness.fitnessScore( chromosome ) ) );
+        assertEquals( 1, wholeViewPunishments );
+        // no score reaches the cutoff, the soft constraints are skipped
+        double[][] scores = fitness.fitnessScore( chromosome, Double.MAX_VALUE );
+        assertTrue( Fitness.isBounded( scores ) );
+        assertTrue( Double.isNaN( scores[1][8] ) );
+        assertEquals( 1, wholeViewPunishments );
+    }
+}
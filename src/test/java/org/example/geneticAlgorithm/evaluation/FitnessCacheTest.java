@@ -0,0 +1,135 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.PackedChromosome;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+import org.example.models.Timeslot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * Checks hits, misses and the least recently used eviction of the cache, and that a key does not depend on the gene order.
+ */
+public class FitnessCacheTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 6;
+
+    private ProblemInstance problemInstance;
+
+    @Override
+    protected void setUp()
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, false, 0, 2, 0 ) );
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < 3; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 50, false, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < 4; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 3 ) );
+        }
+        LocalDate endDate = START_DATE.plusDays( 5 );
+        problemInstance = new ProblemInstance( courses, classrooms, invigilators, new ArrayList<Student>(), START_DATE, endDate,
+                                               LocalTime.of( 9, 0 ), LocalTime.of( 17, 0 ), 60,
+                                               new HolidayCalendar( START_DATE, endDate, Collections.<LocalDate>emptySet() ) );
+    }
+
+    public void testMissThenHitWithTheIdOfTheRequestingChromosome()
+    {
+        FitnessCache fitnessCache = new FitnessCache( problemInstance, 10 );
+        Chromosome chromosome = TestFixtures.randomChromosome( new Random( 1 ), 7, COURSE_COUNT );
+        FitnessCache.GenotypeKey key = fitnessCache.keyOf( chromosome );
+        assertNull( fitnessCache.get( key, 7 ) );
+        assertEquals( 1, fitnessCache.getMissCount() );
+
+        double[][] scores = { { 7, 0.5, 0.25 }, { 7, 0.75, 0.5 }, { 7, 0.3 } };
+        fitnessCache.put( key, scores );
+        // the caller may change its rows later, the cache keeps its own copy
+        scores[2][1] = 0.9;
+
+        double[][] cached = fitnessCache.get( fitnessCache.keyOf( chromosome ), 42 );
+        assertNotNull( cached );
+        assertEquals( 1, fitnessCache.getHitCount() );
+        assertEquals( 42.0, cached[0][0] );
+        assertEquals( 42.0, cached[2][0] );
+        assertEquals( 0.3, cached[2][1] );
+        assertTrue( Arrays.equals( new double[]{ 42, 0.75, 0.5 }, cached[1] ) );
+
+        cached[2][1] = 0.1;
+        assertEquals( 0.3, fitnessCache.get( key, 1 )[2][1] );
+    }
+
+    public void testLeastRecentlyUsedEntryIsEvicted()
+    {
+        Random random = new Random( 2 );
+        FitnessCache fitnessCache = new FitnessCache( problemInstance, 2 );
+        FitnessCache.GenotypeKey key1 = fitnessCache.keyOf( TestFixtures.randomChromosome( random, 1, COURSE_COUNT ) );
+        FitnessCache.GenotypeKey key2 = fitnessCache.keyOf( TestFixtures.randomChromosome( random, 2, COURSE_COUNT ) );
+        FitnessCache.GenotypeKey key3 = fitnessCache.keyOf( TestFixtures.randomChromosome( random, 3, COURSE_COUNT ) );
+        fitnessCache.put( key1, scores( 0.1 ) );
+        fitnessCache.put( key2, scores( 0.2 ) );
+        // key1 is used, key2 becomes the least recently used entry
+        assertNotNull( fitnessCache.get( key1, 1 ) );
+        fitnessCache.put( key3, scores( 0.3 ) );
+
+        assertEquals( 2, fitnessCache.size() );
+        assertNull( fitnessCache.get( key2, 2 ) );
+        assertEquals( 0.1, fitnessCache.get( key1, 1 )[2][1] );
+        assertEquals( 0.3, fitnessCache.get( key3, 3 )[2][1] );
+    }
+
+    public void testKeyDoesNotDependOnGeneOrder()
+    {
+        Random random = new Random( 3 );
+        FitnessCache fitnessCache = new FitnessCache( problemInstance, 10 );
+        for ( int round = 0; round < 20; round++ )
+        {
+            Chromosome chromosome = TestFixtures.randomChromosome( random, 1, COURSE_COUNT );
+            ArrayList<EncodedExam> shuffled = new ArrayList<>( chromosome.getEncodedExams() );
+            Collections.shuffle( shuffled, random );
+            Chromosome shuffledChromosome = new Chromosome( 2, shuffled, 0 );
+            Chromosome packedChromosome = new Chromosome( 3, null, 0 );
+            packedChromosome.setPackedGenes( PackedChromosome.of( problemInstance, shuffled ) );
+
+            FitnessCache.GenotypeKey key = fitnessCache.keyOf( chromosome );
+            assertEquals( key, fitnessCache.keyOf( shuffledChromosome ) );
+            assertEquals( key.hashCode(), fitnessCache.keyOf( shuffledChromosome ).hashCode() );
+            assertEquals( key, fitnessCache.keyOf( packedChromosome ) );
+
+            // another start of one exam is another genotype
+            EncodedExam exam = shuffled.get( 0 );
+            Timeslot timeslot = exam.getTimeSlot();
+            shuffled.set( 0, new EncodedExam( exam.getCourseCode(), exam.getClassroomCode(),
+                                              Timeslot.ofMinutes( timeslot.getStartMinute() + 60, timeslot.getEndMinute() + 60 ),
+                                              exam.getInvigilators() ) );
+            assertFalse( key.equals( fitnessCache.keyOf( shuffledChromosome ) ) );
+        }
+    }
+
+    private static double[][] scores( double fitnessScore )
+    {
+        return new double[][]{ { 0, 1 }, { 0, 1 }, { 0, fitnessScore } };
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the packed distance against Fitness.hammingDistance and that sharing keeps the raw score of a chromosome.
+ */
+public class FitnessSharingTest
+    extends TestCase
+{
+    private static final int GENE_COUNT = 12;
+    private static final double EPSILON = 1e-12;
+
+    public void testPackedDistanceIsHammingDistance()
+    {
+        Random random = new Random( 3 );
+        HashMap<String, Integer> courseIds = new HashMap<>();
+        HashMap<String, Integer> classroomIds = new HashMap<>();
+        HashMap<String, Integer> invigilatorIds = new HashMap<>();
+        for ( int round = 0; round < 200; round++ )
+        {
+            Chromosome chromosome1 = randomChromosome( random, 1 );
+            Chromosome chromosome2 = randomChromosome( random, 2 );
+            FitnessSharing.PackedGenes genes1 =
+                new FitnessSharing.PackedGenes( chromosome1.getEncodedExams(), courseIds, classroomIds, invigilatorIds );
+            FitnessSharing.PackedGenes genes2 =
+                new FitnessSharing.PackedGenes( chromosome2.getEncodedExams(), courseIds, classroomIds, invigilatorIds );
+            assertEquals( Fitness.hammingDistance( chromosome1, chromosome2 ), FitnessSharing.distance( genes1, genes2 ), EPSILON );
+            assertEquals( Fitness.hammingDistance( chromosome2, chromosome1 ), FitnessSharing.distance( genes2, genes1 ), EPSILON );
+        }
+    }
+
+    public void testSampledNicheCountUsesHammingDistance()
+    {
+        // every other chromosome has the same genes, so any sample gives the same mean distance
+        Random random = new Random( 5 );
+        Chromosome other = randomChromosome( random, 0 );
+        for ( int round = 0; round < 50; round++ )
+        {
+            Chromosome chromosome = randomChromosome( random, 1 );
+            ArrayList<Chromosome> population = new ArrayList<>();
+            population.add( chromosome );
+            for ( int i = 0; i < 8; i++ )
+            {
+                Chromosome copy = new Chromosome( 10 + i, other.getEncodedExams(), 0 );
+                copy.setFitnessScore( 0.5 );
+                population.add( copy );
+            }
+            double fitnessScore = 0.01 + random.nextDouble();
+            chromosome.setFitnessScore( fitnessScore );
+            new FitnessSharing( null, 1, 3, new SplittableRandom( round ) ).share( population );
+
+            double meanDistance = Fitness.hammingDistance( chromosome, other ) / GENE_COUNT;
+            double expected = meanDistance == 0 ? fitnessScore : FitnessSharing.sharedScore( fitnessScore, meanDistance );
+            assertEquals( expected, chromosome.getFitnessScore(), EPSILON );
+        }
+    }
+
+    public void testSharingKeepsTheRawScore()
+    {
+        Random random = new Random( 11 );
+        ArrayList<Chromosome> population = new ArrayList<>();
+        double[] rawScores = new double[30];
+        for ( int i = 0; i < rawScores.length; i++ )
+        {
+            Chromosome chromosome = randomChromosome( random, i );
+            // low scores too, the mean distance per gene is then above them and sharing raises them
+            rawScores[i] = random.nextInt( 3 ) == 0 ? 0.001 * ( 1 + random.nextInt( 10 ) ) : random.nextDouble();
+            chromosome.setFitnessScore( rawScores[i] );
+            population.add( chromosome );
+        }
+        new FitnessSharing( null, 1, 0, new SplittableRandom( 1 ) ).share( population );
+
+        boolean raised = false;
+        for ( int i = 0; i < rawScores.length; i++ )
+        {
+            Chromosome chromosome = population.get( i );
+            double distanceSum = 0;
+            for ( Chromosome other : population )
+            {
+                if ( other != chromosome )
+                {
+                    distanceSum += Fitness.hammingDistance( chromosome, other ) / GENE_COUNT;
+                }
+            }
+            double meanDistance = distanceSum / ( rawScores.length - 1 );
+            assertEquals( rawScores[i], chromosome.getRawFitnessScore(), EPSILON );
+            assertEquals( 0.9 * rawScores[i] + 0.1 * meanDistance, chromosome.getFitnessScore(), EPSILON );
+            raised |= chromosome.getFitnessScore() > rawScores[i];
+        }
+        // a chromosome far from the others gets a diversity bonus
+        assertTrue( raised );
+
+        // sharing again starts from the raw scores, shared scores are not shared twice
+        double[] sharedScores = new double[rawScores.length];
+        for ( int i = 0; i < rawScores.length; i++ )
+        {
+            sharedScores[i] = population.get( i ).getFitnessScore();
+        }
+        new FitnessSharing( null, 1, 0, new SplittableRandom( 1 ) ).share( population );
+        for ( int i = 0; i < rawScores.length; i++ )
+        {
+            assertEquals( sharedScores[i], population.get( i ).getFitnessScore(), EPSILON );
+        }
+    }
+
+    private static Chromosome randomChromosome( Random random, long id )
+    {
+        Chromosome chromosome = TestFixtures.randomChromosome( random, id, GENE_COUNT );
+        // the gene order does not matter for the distance
+        Collections.shuffle( chromosome.getEncodedExams(), random );
+        return chromosome;
+    }
+}
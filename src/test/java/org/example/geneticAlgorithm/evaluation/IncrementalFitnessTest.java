@@ -0,0 +1,188 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import junit.framework.TestCase;
+import org.example.geneticAlgorithm.operators.ExamMoves;
+import org.example.geneticAlgorithm.operators.Fitness;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+import org.example.models.Timeslot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * Applies random moves through IncrementalFitness and compares every score with a full Fitness.fitnessScore.
+ */
+public class IncrementalFitnessTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 24;
+    private static final int STUDENT_COUNT = 120;
+    private static final int CLASSROOM_COUNT = 5;
+    private static final int INVIGILATOR_COUNT = 8;
+    private static final double EPSILON = 1e-9;
+    private static final LocalDate END_DATE = START_DATE.plusDays( 12 );
+
+    private ProblemInstance problemInstance;
+    private Fitness fitness;
+
+    @Override
+    protected void setUp()
+    {
+        Random random = new Random( 17 );
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, course % 5 == 0, random.nextInt( 2 ), 1 + random.nextInt( 3 ),
+                                     random.nextInt( 2 ) ) );
+        }
+        ArrayList<Student> students = new ArrayList<>();
+        for ( int student = 0; student < STUDENT_COUNT; student++ )
+        {
+            students.add( new Student( "S" + student, "Name", "Surname", 6 ) );
+            // a few courses per student, the first courses are more popular
+            int courseCount = 2 + random.nextInt( 4 );
+            for ( int k = 0; k < courseCount; k++ )
+            {
+                int course = Math.min( random.nextInt( COURSE_COUNT ), random.nextInt( COURSE_COUNT ) );
+                if ( !courses.get( course ).getRegisteredStudents().contains( "S" + student ) )
+                {
+                    courses.get( course ).getRegisteredStudents().add( "S" + student );
+                }
+            }
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < CLASSROOM_COUNT; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 10 + classroom * 15, classroom == 0, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < INVIGILATOR_COUNT; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 2 + invigilator % 3 ) );
+        }
+        HolidayCalendar holidayCalendar =
+            new HolidayCalendar( START_DATE, END_DATE, Collections.singleton( START_DATE.plusDays( 2 ) ) );
+        problemInstance = new ProblemInstance( courses, classrooms, invigilators, students, START_DATE, END_DATE,
+                                               LocalTime.of( 9, 0 ), LocalTime.of( 18, 0 ), 60, holidayCalendar );
+        fitness = new Fitness( problemInstance );
+    }
+
+    public void testRandomMovesScoreLikeFullEvaluation()
+    {
+        Random random = new Random( 23 );
+        ExamMoves examMoves = new ExamMoves( problemInstance );
+        examMoves.setRandom( new SplittableRandom( 29 ) );
+        for ( int round = 0; round < 5; round++ )
+        {
+            Chromosome chromosome = randomChromosome( random, round );
+            IncrementalFitness incrementalFitness = new IncrementalFitness( problemInstance );
+            assertScores( incrementalFitness.load( chromosome ), incrementalFitness, chromosome );
+
+            ArrayList<EncodedExam> genes = chromosome.getEncodedExams();
+            for ( int move = 0; move < 300; move++ )
+            {
+                int gene = random.nextInt( genes.size() );
+                EncodedExam original = genes.get( gene );
+                EncodedExam moved = random.nextInt( 3 ) == 0
+                    ? randomExam( random, original.getCourseCode() )
+                    : examMoves.move( original, random.nextInt( ExamMoves.MOVE_TYPE_COUNT ) );
+                double score = incrementalFitness.applyMove( chromosome, gene, moved );
+                assertScores( score, incrementalFitness, chromosome );
+                if ( random.nextInt( 4 ) == 0 )
+                {
+                    // undo
+                    score = incrementalFitness.applyMove( chromosome, gene, original );
+                    assertScores( score, incrementalFitness, chromosome );
+                }
+            }
+            assertTrue( incrementalFitness.isCurrent( chromosome ) );
+        }
+    }
+
+    public void testPooledStateIsLoadedFromTheNextChromosome()
+    {
+        Random random = new Random( 31 );
+        IncrementalFitnessStates states = new IncrementalFitnessStates( problemInstance );
+        Chromosome chromosome1 = randomChromosome( random, 1 );
+        Chromosome chromosome2 = randomChromosome( random, 2 );
+        IncrementalFitness state = states.acquire( chromosome1 );
+        state.applyMove( chromosome1, 0, randomExam( random, chromosome1.getEncodedExams().get( 0 ).getCourseCode() ) );
+        assertSame( state, states.getCurrent( chromosome1 ) );
+
+        // chromosome1 leaves the population, its state is reused for chromosome2
+        states.retainAll( Collections.singletonList( chromosome2 ) );
+        assertNull( states.getCurrent( chromosome1 ) );
+        assertSame( state, states.acquire( chromosome2 ) );
+        assertEquals( 1, states.getCreatedCount() );
+        assertScores( state.getScore(), state, chromosome2 );
+
+        // a change outside of the state makes it stale, it is loaded again
+        chromosome2.getEncodedExams().set( 1, randomExam( random, chromosome2.getEncodedExams().get( 1 ).getCourseCode() ) );
+        assertNull( states.getCurrent( chromosome2 ) );
+        IncrementalFitness reloaded = states.acquire( chromosome2 );
+        assertSame( state, reloaded );
+        assertEquals( 1, states.getCreatedCount() );
+        assertScores( reloaded.getScore(), reloaded, chromosome2 );
+    }
+
+    private void assertScores( double score, IncrementalFitness incrementalFitness, Chromosome chromosome )
+    {
+        double[][] expected = fitness.fitnessScore( chromosome );
+        double[][] actual = incrementalFitness.getConstraintScores();
+        assertEquals( expected[2][1], score, EPSILON );
+        for ( int row = 0; row < 2; row++ )
+        {
+            assertEquals( expected[row].length, actual[row].length );
+            for ( int column = 1; column < expected[row].length; column++ )
+            {
+                assertEquals( "row " + row + ", constraint " + column, expected[row][column], actual[row][column], EPSILON );
+            }
+        }
+    }
+
+    private Chromosome randomChromosome( Random random, long id )
+    {
+        ArrayList<EncodedExam> encodedExams = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            encodedExams.add( randomExam( random, "C" + course ) );
+        }
+        Collections.shuffle( encodedExams, random );
+        return new Chromosome( id, encodedExams, 0 );
+    }
+
+    private EncodedExam randomExam( Random random, String courseCode )
+    {
+        // also days out of the exam period, weekends, the holiday, hours out of the window and wrong lengths
+        int course = problemInstance.indexOfCourse( courseCode );
+        int hours = problemInstance.getBeforeExamPrepTime( course ) + problemInstance.getExamDuration( course )
+            + problemInstance.getAfterExamPrepTime( course ) + ( random.nextInt( 6 ) == 0 ? 1 : 0 );
+        int day = (int) START_DATE.toEpochDay() - 1 + random.nextInt( 15 );
+        int start = day * Timeslot.MINUTES_PER_DAY + ( 7 + random.nextInt( 14 ) ) * 60 + ( random.nextInt( 8 ) == 0 ? 30 : 0 );
+        ArrayList<String> invigilators = new ArrayList<>();
+        int invigilatorCount = 1 + random.nextInt( 3 );
+        while ( invigilators.size() < invigilatorCount )
+        {
+            String invigilator = "I" + random.nextInt( INVIGILATOR_COUNT );
+            if ( !invigilators.contains( invigilator ) )
+            {
+                invigilators.add( invigilator );
+            }
+        }
+        return new EncodedExam( courseCode, "R" + random.nextInt( CLASSROOM_COUNT ), Timeslot.ofMinutes( start, start + hours * 60 ),
+                                invigilators );
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.geneticAlgorithm.evaluation;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * Compares the sweep overlap count with the pairwise check.
+ */
+public class OverlapCounterTest
+    extends TestCase
+{
+
+    public void testTouchingIntervalsDoNotOverlap()
+    {
+        long[] starts = {0, 60, 120};
+        long[] ends = {60, 120, 180};
+        assertEquals( 0, new OverlapCounter().countOverlaps( starts, ends, 3 ) );
+    }
+
+    public void testSameAsPairwise()
+    {
+        Random random = new Random( 42 );
+        OverlapCounter overlapCounter = new OverlapCounter();
+        for ( int round = 0; round < 2000; round++ )
+        {
+            int count = random.nextInt( 12 );
+            long[] starts = new long[count];
+            long[] ends = new long[count];
+            for ( int i = 0; i < count; i++ )
+            {
+                // 30 minute grid, some empty and inverted intervals as well
+                starts[i] = random.nextInt( 20 ) * 30L;
+                ends[i] = starts[i] + ( random.nextInt( 8 ) - 1 ) * 30L;
+            }
+            assertEquals( OverlapCounter.countOverlapsPairwise( starts, ends, count ),
+                    overlapCounter.countOverlaps( starts, ends, count ) );
+        }
+    }
+}
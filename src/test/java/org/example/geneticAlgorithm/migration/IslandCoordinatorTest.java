@@ -0,0 +1,96 @@
+package org.example.geneticAlgorithm.migration;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.utils.FileHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a coordinator and two island workers over loopback sockets in this process, the coordinator must end with the best island.
+ */
+public class IslandCoordinatorTest
+    extends TestCase
+{
+    private static final int EXPERIMENT_ID = 9023;
+    private static final int ISLAND_COUNT = 2;
+
+    private final TestFixtures fixtures = new TestFixtures();
+
+    @Override
+    protected void setUp()
+    {
+        fixtures.setSmallProblem();
+        fixtures.setProperty( "MAX_GENERATIONS", "4" );
+        fixtures.setProperty( "ISLAND_MIGRATION_INTERVAL", "2" );
+        fixtures.setProperty( "ISLAND_BIND_ADDRESS", "127.0.0.1" );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        fixtures.restoreProperties();
+        FileHelper.deleteFolderContents( new File( "experiments/experiment_" + EXPERIMENT_ID ) );
+        new File( "experiments/experiment_" + EXPERIMENT_ID ).delete();
+    }
+
+    public void testCoordinatorAndWorkersOnLoopback()
+        throws Exception
+    {
+        final int port = freePort();
+        ExecutorService executor = Executors.newFixedThreadPool( ISLAND_COUNT + 1 );
+        try
+        {
+            Future<double[]> coordinator = executor.submit( new Callable<double[]>()
+            {
+                @Override
+                public double[] call()
+                {
+                    return new IslandCoordinator( port, ISLAND_COUNT ).algorithm( true, EXPERIMENT_ID );
+                }
+            } );
+            ArrayList<Future<Double>> workers = new ArrayList<>();
+            for ( int i = 0; i < ISLAND_COUNT; i++ )
+            {
+                workers.add( executor.submit( new Callable<Double>()
+                {
+                    @Override
+                    public Double call()
+                    {
+                        return new IslandWorker( "127.0.0.1", port ).run();
+                    }
+                } ) );
+            }
+
+            double bestOfIslands = Double.NEGATIVE_INFINITY;
+            for ( Future<Double> worker : workers )
+            {
+                bestOfIslands = Math.max( bestOfIslands, worker.get( 2, TimeUnit.MINUTES ) );
+            }
+            double[] result = coordinator.get( 2, TimeUnit.MINUTES );
+            assertEquals( bestOfIslands, result[1] );
+            assertTrue( result[1] > 0 );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int freePort()
+        throws IOException
+    {
+        try ( ServerSocket socket = new ServerSocket( 0 ) )
+        {
+            return socket.getLocalPort();
+        }
+    }
+}
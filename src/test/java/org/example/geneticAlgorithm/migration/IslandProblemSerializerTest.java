@@ -0,0 +1,151 @@
+package org.example.geneticAlgorithm.migration;
+
+import junit.framework.TestCase;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.Invigilator;
+import org.example.models.Student;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Writes an island problem and reads it back, and checks that a stream with an oversized count is rejected before anything is allocated for it.
+ */
+public class IslandProblemSerializerTest
+    extends TestCase
+{
+    public void testWriteThenRead()
+        throws IOException
+    {
+        IslandProblem written = problem();
+        IslandProblem read = IslandProblemSerializer.read( new DataInputStream( new ByteArrayInputStream( bytesOf( written ) ) ) );
+
+        assertEquals( 1, read.getIslandIndex() );
+        assertEquals( 3, read.getIslandCount() );
+        assertEquals( 20, read.getPopulationSize() );
+        assertEquals( 5, read.getMigrationInterval() );
+        assertEquals( 2, read.getMigrationCount() );
+        assertEquals( 2000000L, read.getChromosomeIdCounter() );
+        assertEquals( -42L, read.getRandomSeed() );
+
+        assertEquals( 2, read.getCourses().size() );
+        Course course = read.getCourses().get( 1 );
+        assertEquals( "MAT101", course.getCourseCode() );
+        assertEquals( "Mathematics", course.getCourseName() );
+        assertTrue( course.isPcExam() );
+        assertEquals( 1, course.getBeforeExamPrepTime() );
+        assertEquals( 2, course.getExamDuration() );
+        assertEquals( 0, course.getAfterExamPrepTime() );
+        assertEquals( Arrays.asList( "S1", "S2" ), course.getRegisteredStudents() );
+
+        Student student = read.getStudents().get( 0 );
+        assertEquals( "S1", student.getID() );
+        assertEquals( "Ayşe", student.getName() );
+        assertEquals( "Yılmaz", student.getSurname() );
+        assertNull( student.getDepartment() );
+        assertEquals( 2, student.getYear() );
+        assertEquals( 6, student.getMaxCoursesTakenCount() );
+        assertEquals( Arrays.asList( "MAT101" ), student.getRegisteredCourses() );
+
+        Classroom classroom = read.getClassrooms().get( 0 );
+        assertEquals( "R1", classroom.getClassroomCode() );
+        assertEquals( "Room 1", classroom.getClassroomName() );
+        assertEquals( 40, classroom.getCapacity() );
+        assertTrue( classroom.isPcLab() );
+        assertEquals( "projector", classroom.getClassroomProperties() );
+
+        Invigilator invigilator = read.getInvigilators().get( 0 );
+        assertEquals( "I1", invigilator.getID() );
+        assertEquals( 3, invigilator.getMaxCoursesMonitoredCount() );
+        assertTrue( invigilator.isAvailable() );
+
+        assertEquals( written.getStartDate(), read.getStartDate() );
+        assertEquals( written.getEndDate(), read.getEndDate() );
+        assertEquals( written.getStartTime(), read.getStartTime() );
+        assertEquals( written.getEndTime(), read.getEndTime() );
+        assertEquals( 30, read.getInterval() );
+        assertEquals( written.getHolidays(), read.getHolidays() );
+    }
+
+    public void testOversizedCountIsRejected()
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream( bytes );
+        for ( int i = 0; i < 5; i++ )
+        {
+            out.writeInt( 1 );
+        }
+        out.writeLong( 0 );
+        out.writeLong( 0 );
+        // course count
+        out.writeInt( Integer.MAX_VALUE );
+        out.flush();
+        try
+        {
+            IslandProblemSerializer.read( new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) );
+            fail( "an oversized course count must be rejected" );
+        }
+        catch ( IOException e )
+        {
+            assertTrue( e.getMessage().contains( "course count" ) );
+        }
+    }
+
+    public void testTruncatedStreamIsRejected()
+        throws IOException
+    {
+        byte[] bytes = bytesOf( problem() );
+        try
+        {
+            IslandProblemSerializer.read( new DataInputStream( new ByteArrayInputStream( Arrays.copyOf( bytes, bytes.length - 3 ) ) ) );
+            fail( "a truncated stream must be rejected" );
+        }
+        catch ( IOException e )
+        {
+            // EOFException
+        }
+    }
+
+    private static byte[] bytesOf( IslandProblem problem )
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream( bytes );
+        IslandProblemSerializer.write( out, problem );
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static IslandProblem problem()
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        courses.add( new Course( "PHY101", "Physics", false, 0, 2, 1 ) );
+        Course course = new Course( "MAT101", "Mathematics", true, 1, 2, 0 );
+        course.getRegisteredStudents().add( "S1" );
+        course.getRegisteredStudents().add( "S2" );
+        courses.add( course );
+        ArrayList<Student> students = new ArrayList<>();
+        students.add( new Student( "S1", "Ayşe", "Yılmaz", new ArrayList<>( Arrays.asList( "MAT101" ) ), null, 2 ) );
+        students.get( 0 ).setMaxCoursesTakenCount( 6 );
+        students.add( new Student( "S2", "Name", "Surname", 4 ) );
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        classrooms.add( new Classroom( "R1", "Room 1", 40, true, "projector" ) );
+        classrooms.add( new Classroom( "R2", "Room 2", 80, false, null ) );
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        invigilators.add( new Invigilator( "I1", "Name", "Surname", 3 ) );
+        LocalDate startDate = LocalDate.of( 2024, 6, 3 );
+        HashSet<LocalDate> holidays = new HashSet<>( Arrays.asList( startDate.plusDays( 2 ), startDate.plusDays( 9 ) ) );
+        return new IslandProblem( 1, 3, 20, 5, 2, 2000000L, -42L, courses, students, classrooms, invigilators, startDate,
+                                  startDate.plusDays( 14 ), LocalTime.of( 9, 0 ), LocalTime.of( 17, 30 ), 30, holidays );
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.geneticAlgorithm.operators;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.PackedChromosome;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * A copy made from released genes must be the same as source.copy(), genes of other courses are not reused
+ * and the pool keeps at most its capacity.
+ */
+public class ChromosomePoolTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 8;
+
+    private ProblemInstance problemInstance;
+
+    @Override
+    protected void setUp()
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, false, 0, 2, 0 ) );
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < 3; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 30, false, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < 4; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 3 ) );
+        }
+        HolidayCalendar holidayCalendar = new HolidayCalendar( START_DATE, START_DATE.plusDays( 6 ), Collections.<LocalDate>emptySet() );
+        problemInstance = new ProblemInstance( courses, classrooms, invigilators, new ArrayList<Student>(), START_DATE,
+                                               START_DATE.plusDays( 6 ), LocalTime.of( 9, 0 ), LocalTime.of( 18, 0 ), 60,
+                                               holidayCalendar );
+    }
+
+    public void testPooledCopyEqualsCopy()
+    {
+        ChromosomePool pool = new ChromosomePool( 4 );
+        Chromosome removed = packedChromosome( 1, COURSE_COUNT );
+        // the released genes had more invigilators per exam than the source
+        removed.getPackedGenes().setInvigilators( 2, new int[] { 0, 1, 2, 3 }, 4 );
+        PackedChromosome releasedGenes = removed.getPackedGenes();
+        pool.release( Collections.singletonList( removed ) );
+        assertNull( removed.getPackedGenes() );
+        assertEquals( 1, pool.getFreeCount() );
+
+        PackedChromosome source = packedChromosome( 2, COURSE_COUNT ).getPackedGenes();
+        PackedChromosome pooled = pool.copyOf( source );
+        assertSame( releasedGenes, pooled );
+        assertEquals( 1, pool.getReusedCount() );
+        assertGenes( source.copy(), pooled );
+        assertExams( source.copy().getEncodedExams(), pooled.getEncodedExams() );
+
+        // the copy does not share the genes of the source
+        pooled.swap( 0, 1 );
+        pooled.setInvigilators( 3, new int[] { 3, 3 }, 2 );
+        assertGenes( packedChromosome( 2, COURSE_COUNT ).getPackedGenes(), source );
+    }
+
+    public void testOtherCoursesAreNotReused()
+    {
+        ChromosomePool pool = new ChromosomePool( 4 );
+        pool.release( Collections.singletonList( packedChromosome( 1, COURSE_COUNT - 1 ) ) );
+
+        PackedChromosome source = packedChromosome( 2, COURSE_COUNT ).getPackedGenes();
+        PackedChromosome copy = pool.copyOf( source );
+        assertEquals( 1, pool.getAllocatedCount() );
+        assertEquals( 0, pool.getReusedCount() );
+        assertGenes( source, copy );
+        assertEquals( 0, pool.getFreeCount() );
+    }
+
+    public void testCapacity()
+    {
+        ChromosomePool pool = new ChromosomePool( 2 );
+        ArrayList<Chromosome> removed = new ArrayList<>();
+        for ( int id = 0; id < 3; id++ )
+        {
+            removed.add( packedChromosome( id, COURSE_COUNT ) );
+        }
+        // chromosomes without packed genes are skipped
+        removed.add( TestFixtures.randomChromosome( new Random( 9 ), 9, COURSE_COUNT ) );
+        pool.release( removed );
+        assertEquals( 2, pool.getFreeCount() );
+        assertEquals( 2, pool.getReleasedCount() );
+        for ( int id = 0; id < 3; id++ )
+        {
+            assertNull( removed.get( id ).getPackedGenes() );
+        }
+
+        pool.endGeneration( 1 );
+        assertEquals( 0, pool.getReleasedCount() );
+        assertEquals( 2, pool.getFreeCount() );
+    }
+
+    private Chromosome packedChromosome( long id, int courseCount )
+    {
+        Chromosome chromosome = TestFixtures.randomChromosome( new Random( id ), id, courseCount );
+        chromosome.setPackedGenes( PackedChromosome.of( problemInstance, chromosome.getEncodedExams() ) );
+        return chromosome;
+    }
+
+    private static void assertGenes( PackedChromosome expected, PackedChromosome actual )
+    {
+        assertTrue( actual.hasSameCourses( expected ) );
+        for ( int gene = 0; gene < expected.size(); gene++ )
+        {
+            assertEquals( expected.getStart( gene ), actual.getStart( gene ) );
+            assertEquals( expected.getEnd( gene ), actual.getEnd( gene ) );
+            assertEquals( expected.getClassroom( gene ), actual.getClassroom( gene ) );
+            assertEquals( expected.getInvigilatorCount( gene ), actual.getInvigilatorCount( gene ) );
+            for ( int k = 0; k < expected.getInvigilatorCount( gene ); k++ )
+            {
+                assertEquals( expected.getInvigilator( gene, k ), actual.getInvigilator( gene, k ) );
+            }
+        }
+    }
+
+    private static void assertExams( ArrayList<EncodedExam> expected, ArrayList<EncodedExam> actual )
+    {
+        // EncodedExam has no equals
+        assertEquals( expected.size(), actual.size() );
+        for ( int gene = 0; gene < expected.size(); gene++ )
+        {
+            assertEquals( expected.get( gene ).getCourseCode(), actual.get( gene ).getCourseCode() );
+            assertEquals( expected.get( gene ).getClassroomCode(), actual.get( gene ).getClassroomCode() );
+            assertEquals( expected.get( gene ).getTimeSlot(), actual.get( gene ).getTimeSlot() );
+            assertEquals( expected.get( gene ).getInvigilators(), actual.get( gene ).getInvigilators() );
+        }
+    }
+}
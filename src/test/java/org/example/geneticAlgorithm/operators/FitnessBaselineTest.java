@@ -0,0 +1,131 @@
+package org.example.geneticAlgorithm.operators;
+
+import junit.framework.TestCase;
+import org.example.geneticAlgorithm.constraints.ConstraintRegistry;
+import org.example.models.Chromosome;
+import org.example.models.Classroom;
+import org.example.models.Course;
+import org.example.models.EncodedExam;
+import org.example.models.HolidayCalendar;
+import org.example.models.Invigilator;
+import org.example.models.ProblemInstance;
+import org.example.models.Student;
+import org.example.models.Timeslot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Scores a seeded chromosome and compares every hard and soft constraint score with the scores the first version of
+ * Fitness gave it, before the constraints were rewritten on the problem instance, the conflict graph, the day buckets
+ * and int minutes.
+ * The expected overlap scores have the fix of getOverlappedPunishment, which added the running total again for every
+ * classroom, invigilator and student; with it, the first version gives the pair counts below.
+ */
+public class FitnessBaselineTest
+    extends TestCase
+{
+    private static final long SEED = 2;
+    private static final int COURSE_COUNT = 30;
+    private static final int STUDENT_COUNT = 150;
+    private static final int CLASSROOM_COUNT = 6;
+    private static final int INVIGILATOR_COUNT = 5;
+    // 2023-05-19 is a holiday of data/holidays.json, the first version read the holidays from there
+    private static final LocalDate PERIOD_START = LocalDate.of( 2023, 5, 15 );
+    private static final LocalDate PERIOD_END = LocalDate.of( 2023, 5, 26 );
+    private static final LocalDate HOLIDAY = LocalDate.of( 2023, 5, 19 );
+
+    // punishments: 4 time, 21 invigilator count, 2 classroom overlaps, 0 no classroom, 7 capacity, 15 invigilator overlaps,
+    // 13 student overlaps, 5 invigilator capacity, 1 out of the period, 8 equipment, 2 holiday, 0 over midnight
+    private static final double[] BASELINE_HARD_SCORES = { 0.2, 0.045454545454545456, 0.3333333333333333, 1.0, 0.125, 0.0625,
+        0.07142857142857142, 0.16666666666666666, 0.5, 0.1111111111111111, 0.3333333333333333, 1.0, 0.13333333333333333 };
+    // punishments: 2 students with more than two exams a day, 6 student gaps, 3 invigilators with more than three exams a day,
+    // 3 invigilator gaps, 3 weekend exams, 0.5148514851485142 afternoon proportion, 5 popular exams late
+    private static final double[] BASELINE_SOFT_SCORES = { 0.3333333333333333, 0.14285714285714285, 0.25, 0.25, 0.25,
+        0.6601307189542487, 0.16666666666666666, 0.23716873532371688 };
+    private static final double BASELINE_FITNESS_SCORE = 0.14371687353237167;
+
+    public void testScoresOfTheFirstVersion()
+    {
+        Random random = new Random( SEED );
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, course % 7 == 0, random.nextInt( 2 ), 1 + random.nextInt( 3 ),
+                                     random.nextInt( 2 ) ) );
+        }
+        ArrayList<Student> students = new ArrayList<>();
+        for ( int student = 0; student < STUDENT_COUNT; student++ )
+        {
+            students.add( new Student( "S" + student, "Name", "Surname", 6 ) );
+            // the first courses are more popular, the five most popular ones have different counts
+            int courseCount = 3 + random.nextInt( 4 );
+            for ( int k = 0; k < courseCount; k++ )
+            {
+                int course = Math.min( random.nextInt( COURSE_COUNT ), random.nextInt( COURSE_COUNT ) );
+                if ( !courses.get( course ).getRegisteredStudents().contains( "S" + student ) )
+                {
+                    courses.get( course ).getRegisteredStudents().add( "S" + student );
+                }
+            }
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < CLASSROOM_COUNT; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 15 + 15 * classroom, classroom == 0, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < INVIGILATOR_COUNT; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 2 + invigilator % 4 ) );
+        }
+
+        // also wrong lengths, hours out of the window, weekends, the holiday and a day after the period
+        ArrayList<EncodedExam> encodedExams = new ArrayList<>();
+        for ( Course course : courses )
+        {
+            int hours = course.getBeforeExamPrepTime() + course.getExamDuration() + course.getAfterExamPrepTime()
+                + ( random.nextInt( 8 ) == 0 ? 1 : 0 );
+            LocalDate day = PERIOD_START.plusDays( random.nextInt( 13 ) );
+            LocalTime start = LocalTime.of( 8 + random.nextInt( 10 ), 0 );
+            ArrayList<String> examInvigilators = new ArrayList<>();
+            int invigilatorCount = 1 + random.nextInt( 3 );
+            while ( examInvigilators.size() < invigilatorCount )
+            {
+                String invigilator = "I" + random.nextInt( INVIGILATOR_COUNT );
+                if ( !examInvigilators.contains( invigilator ) )
+                {
+                    examInvigilators.add( invigilator );
+                }
+            }
+            encodedExams.add( new EncodedExam( course.getCourseCode(), "R" + random.nextInt( CLASSROOM_COUNT ),
+                                               new Timeslot( day.atTime( start ), day.atTime( start ).plusHours( hours ) ),
+                                               examInvigilators ) );
+        }
+
+        ProblemInstance problemInstance = new ProblemInstance( courses, classrooms, invigilators, students, PERIOD_START, PERIOD_END,
+                                                               LocalTime.of( 9, 0 ), LocalTime.of( 18, 0 ), 60,
+                                                               new HolidayCalendar( PERIOD_START, PERIOD_END,
+                                                                                    Collections.singleton( HOLIDAY ) ) );
+        Fitness fitness = new Fitness( problemInstance, ConstraintRegistry.createDefaultRegistry().compile( new HashSet<String>() ) );
+        double[][] scores = fitness.fitnessScore( new Chromosome( 1, encodedExams, 0 ) );
+
+        assertRow( "hard", BASELINE_HARD_SCORES, scores[0] );
+        assertRow( "soft", BASELINE_SOFT_SCORES, scores[1] );
+        assertEquals( BASELINE_FITNESS_SCORE, scores[2][1], 1e-15 );
+    }
+
+    private static void assertRow( String name, double[] expected, double[] actual )
+    {
+        // the first column is the chromosome id
+        assertEquals( name, expected.length + 1, actual.length );
+        for ( int column = 0; column < expected.length; column++ )
+        {
+            assertEquals( name + " constraint " + ( column + 1 ), expected[column], actual[column + 1] );
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.geneticAlgorithm.operators;
+
+import junit.framework.TestCase;
+import org.example.models.Chromosome;
+import org.example.models.EncodedExam;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Checks that a chromosome with a bounded score is never kept as an elite, however high its upper bound is.
+ */
+public class ReplacementTest
+    extends TestCase
+{
+    private static final int POPULATION_SIZE = 10;
+
+    public void testBoundedChromosomeIsNotAnElite()
+    {
+        for ( int seed = 0; seed < 20; seed++ )
+        {
+            ArrayList<Chromosome> population = population();
+            Replacement replacement = new Replacement();
+            replacement.setPopulationSize( POPULATION_SIZE );
+            replacement.setElitismPercent( 0.2 );
+            replacement.setRandom( new SplittableRandom( seed ) );
+            // all but the elites are removed
+            replacement.randomReplacement( population, POPULATION_SIZE - 2 );
+
+            assertEquals( 2, population.size() );
+            for ( Chromosome chromosome : population )
+            {
+                assertFalse( chromosome.isBoundedFitness() );
+                assertTrue( chromosome.getChromosomeId() == 1 || chromosome.getChromosomeId() == 2 );
+            }
+        }
+    }
+
+    public void testWithExactFitness()
+    {
+        ArrayList<Chromosome> population = population();
+        ArrayList<Chromosome> exactChromosomes = Chromosome.withExactFitness( population );
+        assertEquals( POPULATION_SIZE - 1, exactChromosomes.size() );
+        assertFalse( exactChromosomes.contains( population.get( 0 ) ) );
+
+        population.get( 0 ).setBoundedFitness( false );
+        assertSame( population, Chromosome.withExactFitness( population ) );
+    }
+
+    private static ArrayList<Chromosome> population()
+    {
+        // chromosome 0 has the highest score, but it is only an upper bound
+        ArrayList<Chromosome> population = new ArrayList<>();
+        for ( int i = 0; i < POPULATION_SIZE; i++ )
+        {
+            Chromosome chromosome = new Chromosome( i, new ArrayList<EncodedExam>(), 0 );
+            chromosome.setFitnessScore( 1.0 - 0.05 * i );
+            chromosome.setBoundedFitness( i == 0 );
+            population.add( chromosome );
+        }
+        return population;
+    }
+}
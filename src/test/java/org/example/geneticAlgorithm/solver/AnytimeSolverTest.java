@@ -0,0 +1,68 @@
+package org.example.geneticAlgorithm.solver;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+import org.example.geneticAlgorithm.GeneticAlgorithm;
+import org.example.utils.FileHelper;
+
+import java.io.File;
+
+/**
+ * Runs a small GA through the anytime solver with far more generations than it can use, it must stop at the time budget
+ * or at the target score and return the best chromosome found so far.
+ */
+public class AnytimeSolverTest
+    extends TestCase
+{
+    private static final int EXPERIMENT_ID = 9022;
+    private static final int MAX_GENERATIONS = 100000;
+
+    private final TestFixtures fixtures = new TestFixtures();
+
+    @Override
+    protected void setUp()
+    {
+        fixtures.setSmallProblem();
+        fixtures.setProperty( "MAX_GENERATIONS", String.valueOf( MAX_GENERATIONS ) );
+        fixtures.setProperty( "GENERATIONS_WITHOUT_IMPROVEMENT", String.valueOf( MAX_GENERATIONS ) );
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        fixtures.restoreProperties();
+        FileHelper.deleteFolderContents( new File( "experiments/experiment_" + EXPERIMENT_ID ) );
+        new File( "experiments/experiment_" + EXPERIMENT_ID ).delete();
+    }
+
+    public void testStopsAtTheTimeBudget()
+    {
+        AnytimeSolver anytimeSolver = new AnytimeSolver( new GeneticAlgorithm(), 2000, Double.NaN );
+        double[] result = anytimeSolver.solve( true, EXPERIMENT_ID );
+
+        assertEquals( 0, anytimeSolver.getRemainingMillis() );
+        assertBestSoFar( anytimeSolver, result );
+        assertTrue( anytimeSolver.getBest().getGeneration() < MAX_GENERATIONS );
+    }
+
+    public void testStopsAtTheTargetScore()
+    {
+        // every scored population reaches the target, the run stops before its first generation
+        AnytimeSolver anytimeSolver = new AnytimeSolver( new GeneticAlgorithm(), 600000, 0.0 );
+        double[] result = anytimeSolver.solve( true, EXPERIMENT_ID );
+
+        assertTrue( anytimeSolver.getRemainingMillis() > 0 );
+        assertBestSoFar( anytimeSolver, result );
+        assertEquals( 0, anytimeSolver.getBest().getGeneration() );
+    }
+
+    private static void assertBestSoFar( AnytimeSolver anytimeSolver, double[] result )
+    {
+        BestSolution best = anytimeSolver.getBest();
+        assertNotNull( best );
+        assertNotNull( best.getChromosome() );
+        assertEquals( best.getFitnessScore(), best.getChromosome().getFitnessScore() );
+        // the last population can have lost the best chromosome, the best so far is never worse than it
+        assertTrue( best.getFitnessScore() >= result[1] );
+    }
+}
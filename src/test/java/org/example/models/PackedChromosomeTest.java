@@ -0,0 +1,185 @@
+package org.example.models;
+
+import junit.framework.TestCase;
+import org.example.TestFixtures;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.example.TestFixtures.START_DATE;
+
+/**
+ * Packs random chromosomes of TestFixtures and decodes them again, and checks that swap, setInvigilators and copyRange
+ * change only the genes they are given.
+ */
+public class PackedChromosomeTest
+    extends TestCase
+{
+    private static final int COURSE_COUNT = 10;
+
+    private ProblemInstance problemInstance;
+
+    @Override
+    protected void setUp()
+    {
+        ArrayList<Course> courses = new ArrayList<>();
+        for ( int course = 0; course < COURSE_COUNT; course++ )
+        {
+            courses.add( new Course( "C" + course, "Course " + course, false, 0, 2, 0 ) );
+        }
+        ArrayList<Classroom> classrooms = new ArrayList<>();
+        for ( int classroom = 0; classroom < 3; classroom++ )
+        {
+            classrooms.add( new Classroom( "R" + classroom, "Room " + classroom, 30, false, "" ) );
+        }
+        ArrayList<Invigilator> invigilators = new ArrayList<>();
+        for ( int invigilator = 0; invigilator < 4; invigilator++ )
+        {
+            invigilators.add( new Invigilator( "I" + invigilator, "Name", "Surname", 3 ) );
+        }
+        HolidayCalendar holidayCalendar = new HolidayCalendar( START_DATE, START_DATE.plusDays( 6 ), Collections.<LocalDate>emptySet() );
+        problemInstance = new ProblemInstance( courses, classrooms, invigilators, new ArrayList<Student>(), START_DATE,
+                                               START_DATE.plusDays( 6 ), LocalTime.of( 9, 0 ), LocalTime.of( 18, 0 ), 60,
+                                               holidayCalendar );
+    }
+
+    public void testEncodedExamsRoundTrip()
+    {
+        ArrayList<EncodedExam> encodedExams = TestFixtures.randomChromosome( new Random( 1 ), 1, COURSE_COUNT ).getEncodedExams();
+        encodedExams.get( 4 ).setClassroomCode( null );
+        // the genes are ordered by course, whatever the order of the exams
+        ArrayList<EncodedExam> shuffled = new ArrayList<>( encodedExams );
+        Collections.shuffle( shuffled, new Random( 2 ) );
+
+        PackedChromosome packed = PackedChromosome.of( problemInstance, shuffled );
+        assertEquals( COURSE_COUNT, packed.size() );
+        assertEquals( PackedChromosome.NO_CLASSROOM, packed.getClassroom( 4 ) );
+        assertExams( encodedExams, packed.getEncodedExams() );
+        // the decoded list is kept until the next change
+        assertSame( packed.getEncodedExams(), packed.getEncodedExams() );
+    }
+
+    public void testUnknownAndRepeatedCoursesAreRejected()
+    {
+        ArrayList<EncodedExam> encodedExams = TestFixtures.randomChromosome( new Random( 3 ), 1, COURSE_COUNT ).getEncodedExams();
+        encodedExams.add( encodedExams.get( 0 ) );
+        try
+        {
+            PackedChromosome.of( problemInstance, encodedExams );
+            fail( "C0 appears twice" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+        encodedExams.set( COURSE_COUNT, new EncodedExam( "C" + COURSE_COUNT, "R0", encodedExams.get( 0 ).getTimeSlot(),
+                                                         new ArrayList<>( Arrays.asList( "I0" ) ) ) );
+        try
+        {
+            PackedChromosome.of( problemInstance, encodedExams );
+            fail( "C" + COURSE_COUNT + " is not a course of the problem" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    public void testSwapKeepsTheCourses()
+    {
+        ArrayList<EncodedExam> encodedExams = TestFixtures.randomChromosome( new Random( 4 ), 1, COURSE_COUNT ).getEncodedExams();
+        PackedChromosome packed = PackedChromosome.of( problemInstance, encodedExams );
+        ArrayList<EncodedExam> before = packed.getEncodedExams();
+
+        packed.swap( 2, 7 );
+        ArrayList<EncodedExam> after = packed.getEncodedExams();
+        assertNotSame( before, after );
+        for ( int gene = 0; gene < COURSE_COUNT; gene++ )
+        {
+            int source = gene == 2 ? 7 : gene == 7 ? 2 : gene;
+            assertEquals( "C" + gene, after.get( gene ).getCourseCode() );
+            assertEquals( before.get( source ).getClassroomCode(), after.get( gene ).getClassroomCode() );
+            assertEquals( before.get( source ).getTimeSlot(), after.get( gene ).getTimeSlot() );
+            assertEquals( before.get( source ).getInvigilators(), after.get( gene ).getInvigilators() );
+        }
+    }
+
+    public void testSetInvigilatorsWidensTheRows()
+    {
+        ArrayList<EncodedExam> encodedExams = TestFixtures.randomChromosome( new Random( 5 ), 1, COURSE_COUNT ).getEncodedExams();
+        PackedChromosome packed = PackedChromosome.of( problemInstance, encodedExams );
+
+        // more invigilators than any exam had, order and duplicates are kept
+        packed.setInvigilators( 3, new int[] { 2, 0, 2, 1 }, 4 );
+        packed.setInvigilators( 5, new int[] { 3, 1 }, 1 );
+        ArrayList<EncodedExam> decoded = packed.getEncodedExams();
+        assertEquals( Arrays.asList( "I2", "I0", "I2", "I1" ), decoded.get( 3 ).getInvigilators() );
+        assertEquals( Arrays.asList( "I3" ), decoded.get( 5 ).getInvigilators() );
+        for ( int gene = 0; gene < COURSE_COUNT; gene++ )
+        {
+            if ( gene != 3 && gene != 5 )
+            {
+                assertEquals( encodedExams.get( gene ).getInvigilators(), decoded.get( gene ).getInvigilators() );
+            }
+        }
+    }
+
+    public void testCopyRange()
+    {
+        PackedChromosome first = PackedChromosome.of( problemInstance, TestFixtures
+            .randomChromosome( new Random( 6 ), 1, COURSE_COUNT ).getEncodedExams() );
+        PackedChromosome second = PackedChromosome.of( problemInstance, TestFixtures
+            .randomChromosome( new Random( 7 ), 2, COURSE_COUNT ).getEncodedExams() );
+        second.setInvigilators( 4, new int[] { 0, 1, 2 }, 3 );
+        ArrayList<EncodedExam> firstExams = first.getEncodedExams();
+        ArrayList<EncodedExam> secondExams = second.getEncodedExams();
+
+        PackedChromosome child = first.copy();
+        assertTrue( child.hasSameCourses( first ) );
+        assertExams( firstExams, child.getEncodedExams() );
+        child.copyRange( second, 3, 6 );
+        ArrayList<EncodedExam> childExams = child.getEncodedExams();
+        for ( int gene = 0; gene < COURSE_COUNT; gene++ )
+        {
+            EncodedExam expected = gene >= 3 && gene < 6 ? secondExams.get( gene ) : firstExams.get( gene );
+            assertExam( expected, childExams.get( gene ) );
+        }
+        // the parents do not change
+        assertExams( firstExams, first.getEncodedExams() );
+
+        PackedChromosome shorter = PackedChromosome.of( problemInstance, TestFixtures
+            .randomChromosome( new Random( 8 ), 3, COURSE_COUNT - 1 ).getEncodedExams() );
+        assertFalse( child.hasSameCourses( shorter ) );
+        try
+        {
+            child.copyRange( shorter, 0, 1 );
+            fail( "the chromosomes have different courses" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    static void assertExams( ArrayList<EncodedExam> expected, ArrayList<EncodedExam> actual )
+    {
+        assertEquals( expected.size(), actual.size() );
+        for ( int gene = 0; gene < expected.size(); gene++ )
+        {
+            assertExam( expected.get( gene ), actual.get( gene ) );
+        }
+    }
+
+    static void assertExam( EncodedExam expected, EncodedExam actual )
+    {
+        // EncodedExam has no equals
+        assertEquals( expected.getCourseCode(), actual.getCourseCode() );
+        assertEquals( expected.getCourseCode(), expected.getClassroomCode(), actual.getClassroomCode() );
+        assertEquals( expected.getCourseCode(), expected.getTimeSlot(), actual.getTimeSlot() );
+        assertEquals( expected.getCourseCode(), expected.getInvigilators(), actual.getInvigilators() );
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.simulatedAnnealing;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the temperatures of the cooling schedules, before and after a reheat.
+ */
+public class CoolingScheduleTest
+    extends TestCase
+{
+    private static final double EPSILON = 1e-12;
+
+    public void testGeometricMultipliesByTheRate()
+    {
+        CoolingSchedule schedule = new CoolingSchedule( "GEOMETRIC", 0.5, 8, 100 );
+        assertEquals( 8, schedule.getTemperature(), EPSILON );
+        assertEquals( 4, schedule.cool(), EPSILON );
+        assertEquals( 2, schedule.cool(), EPSILON );
+        assertEquals( 1, schedule.reheat( 0.125 ), EPSILON );
+        assertEquals( 1, schedule.getTemperature(), EPSILON );
+        assertEquals( 0.5, schedule.cool(), EPSILON );
+    }
+
+    public void testLinearFallsToTheMinimum()
+    {
+        CoolingSchedule schedule = new CoolingSchedule( "linear", 0.9, 10, 10 );
+        for ( int step = 1; step < 10; step++ )
+        {
+            assertEquals( 10 - step, schedule.cool(), EPSILON );
+        }
+        double minimum = schedule.cool();
+        assertTrue( minimum > 0 );
+        assertEquals( minimum, schedule.cool(), EPSILON );
+    }
+
+    public void testLinearDecaysFromTheReheatTemperature()
+    {
+        CoolingSchedule schedule = new CoolingSchedule( "LINEAR", 0.9, 10, 10 );
+        schedule.cool();
+        schedule.cool();
+        schedule.cool();
+        assertEquals( 7, schedule.getTemperature(), EPSILON );
+
+        assertEquals( 5, schedule.reheat( 0.5 ), EPSILON );
+        assertEquals( 4.5, schedule.cool(), EPSILON );
+        assertEquals( 4, schedule.cool(), EPSILON );
+        for ( int step = 3; step < 10; step++ )
+        {
+            schedule.cool();
+        }
+        assertEquals( 0.5, schedule.getTemperature(), EPSILON );
+        assertTrue( schedule.cool() < 0.5 );
+    }
+
+    public void testLundyMeesStartsLikeGeometricAndSlowsDown()
+    {
+        CoolingSchedule schedule = new CoolingSchedule( "LUNDY_MEES", 0.8, 10, 100 );
+        double previous = schedule.getTemperature();
+        double current = schedule.cool();
+        assertEquals( 8, current, EPSILON );
+        double previousRatio = current / previous;
+        for ( int step = 0; step < 50; step++ )
+        {
+            previous = current;
+            current = schedule.cool();
+            assertTrue( current < previous );
+            assertTrue( current / previous > previousRatio );
+            previousRatio = current / previous;
+        }
+
+        assertEquals( 5, schedule.reheat( 0.5 ), EPSILON );
+        assertTrue( schedule.cool() < 5 );
+    }
+
+    public void testTemperatureStaysAboveTheMinimum()
+    {
+        CoolingSchedule schedule = new CoolingSchedule( "GEOMETRIC", 0.01, 1, 100 );
+        for ( int step = 0; step < 10; step++ )
+        {
+            schedule.cool();
+        }
+        assertEquals( 1e-4, schedule.getTemperature(), EPSILON );
+        assertEquals( 1e-4, schedule.reheat( 0 ), EPSILON );
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.tabuSearch;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the tenure of the tabu list, keys of the same slot and the aspiration of tabu moves.
+ */
+public class TabuListTest
+    extends TestCase
+{
+
+    public void testKeyIsTabuForTenureIterations()
+    {
+        TabuList tabuList = new TabuList( 16, 3 );
+        long key = TabuList.key( 0, 5, 540 );
+        assertFalse( tabuList.isTabu( key, 10 ) );
+        tabuList.add( key, 10 );
+        assertTrue( tabuList.isTabu( key, 10 ) );
+        assertTrue( tabuList.isTabu( key, 12 ) );
+        assertFalse( tabuList.isTabu( key, 13 ) );
+
+        // adding it again starts the tenure again
+        tabuList.add( key, 20 );
+        assertTrue( tabuList.isTabu( key, 22 ) );
+        assertFalse( tabuList.isTabu( key, 23 ) );
+    }
+
+    public void testKeysOfDifferentAttributesDiffer()
+    {
+        assertFalse( TabuList.key( 0, 1, 2 ) == TabuList.key( 1, 1, 2 ) );
+        assertFalse( TabuList.key( 0, 1, 2 ) == TabuList.key( 0, 2, 2 ) );
+        assertFalse( TabuList.key( 0, 1, 2 ) == TabuList.key( 0, 1, 3 ) );
+        assertFalse( TabuList.key( 1, 1, -1 ) == TabuList.key( 1, 1, 0 ) );
+    }
+
+    public void testKeyOfTheSameSlotReplacesTheOlderKey()
+    {
+        // five keys in a table of four slots, at least two of them share a slot
+        long[] keys = new long[5];
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            keys[i] = TabuList.key( 0, i, 600 );
+        }
+        int collisions = 0;
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            for ( int j = 0; j < keys.length; j++ )
+            {
+                if ( i == j )
+                {
+                    continue;
+                }
+                TabuList tabuList = new TabuList( 4, 100 );
+                tabuList.add( keys[i], 1 );
+                tabuList.add( keys[j], 2 );
+                // the newer key is always kept, a key that is not added is never tabu
+                assertTrue( tabuList.isTabu( keys[j], 3 ) );
+                for ( int k = 0; k < keys.length; k++ )
+                {
+                    if ( k != i && k != j )
+                    {
+                        assertFalse( tabuList.isTabu( keys[k], 3 ) );
+                    }
+                }
+                if ( !tabuList.isTabu( keys[i], 3 ) )
+                {
+                    collisions++;
+                    // the evicted key can be added back, it evicts the other one then
+                    tabuList.add( keys[i], 3 );
+                    assertTrue( tabuList.isTabu( keys[i], 4 ) );
+                    assertFalse( tabuList.isTabu( keys[j], 4 ) );
+                }
+            }
+        }
+        assertTrue( collisions > 0 );
+    }
+
+    public void testAspirationAllowsATabuMoveThatBeatsTheBest()
+    {
+        assertTrue( TabuSearch.isAllowed( false, 0.2, 0.5 ) );
+        assertFalse( TabuSearch.isAllowed( true, 0.2, 0.5 ) );
+        assertFalse( TabuSearch.isAllowed( true, 0.5, 0.5 ) );
+        assertTrue( TabuSearch.isAllowed( true, 0.6, 0.5 ) );
+    }
+}
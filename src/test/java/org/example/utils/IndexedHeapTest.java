@@ -0,0 +1,80 @@
+package org.example.utils;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * Checks the top of the heap against a linear scan while keys change.
+ */
+public class IndexedHeapTest
+    extends TestCase
+{
+
+    public void testTopIsMinimumAfterUpdatesAndRemoves()
+    {
+        Random random = new Random( 7 );
+        int capacity = 50;
+        double[] values = new double[capacity];
+        IndexedHeap heap = new IndexedHeap( capacity, ( a, b ) -> Double.compare( values[a], values[b] ) );
+        for ( int key = 0; key < capacity; key++ )
+        {
+            values[key] = random.nextDouble();
+            heap.add( key );
+        }
+        for ( int round = 0; round < 5000; round++ )
+        {
+            int key = random.nextInt( capacity );
+            if ( heap.contains( key ) && random.nextInt( 4 ) == 0 )
+            {
+                heap.remove( key );
+            }
+            else
+            {
+                values[key] = random.nextDouble();
+                if ( heap.contains( key ) )
+                {
+                    heap.update( key );
+                }
+                else
+                {
+                    heap.add( key );
+                }
+            }
+            int minimum = -1;
+            int count = 0;
+            for ( int k = 0; k < capacity; k++ )
+            {
+                if ( heap.contains( k ) )
+                {
+                    count++;
+                    if ( minimum == -1 || values[k] < values[minimum] )
+                    {
+                        minimum = k;
+                    }
+                }
+            }
+            assertEquals( count, heap.size() );
+            if ( count > 0 )
+            {
+                assertEquals( values[minimum], values[heap.peek()] );
+            }
+        }
+    }
+
+    public void testPollReturnsKeysInOrder()
+    {
+        int[] values = {5, 3, 9, 1, 7};
+        IndexedHeap heap = new IndexedHeap( values.length, ( a, b ) -> Integer.compare( values[a], values[b] ) );
+        for ( int key = 0; key < values.length; key++ )
+        {
+            heap.add( key );
+        }
+        assertEquals( 3, heap.poll() );
+        assertEquals( 1, heap.poll() );
+        assertEquals( 0, heap.poll() );
+        assertEquals( 4, heap.poll() );
+        assertEquals( 2, heap.poll() );
+        assertTrue( heap.isEmpty() );
+    }
+}